@@ -18,6 +18,13 @@ public enum ErrorCode {
     REENTER_PASSWORD_NOT_THE_SAME("BAD_001", "Password and re-enter password must be the same"),
     REQUEST_ACCOUNTS_MUST_NOT_BE_EMPTY("BAD_002", "Request accounts must not be empty"),
     INVALID_REQUEST_DATA("BAD_003", "Invalid request data"),
+    UNSUPPORTED_IMPORT_FORMAT("BAD_004", "Unsupported import format. Use application/x-ndjson or text/csv"),
+    INVALID_IMPORT_FILE("BAD_005", "Import file could not be read"),
+    INVALID_DATE_RANGE("BAD_006", "Invalid date range"),
+    INVALID_CURSOR("BAD_007", "Invalid pagination cursor"),
+    INVALID_FILTER("BAD_008", "Invalid transaction filter"),
+    UNSUPPORTED_EXPORT_FORMAT("BAD_009", "Unsupported export format. Use csv or ndjson"),
+    INVALID_BUDGET_CYCLE("BAD_010", "Invalid budget cycle. Monthly cycles start on day 1-28, weekly cycles on day 1-7"),
 
 
     // Not found
@@ -45,7 +52,8 @@ public enum ErrorCode {
 
     // Server error
     SERVER_ERROR("SYS_001", "An unexpected error occurred"),
-    CALLING_TO_EXTERNAL_SERVICE_ERROR("SYS_002", "Error occur when calling to external service %s");
+    CALLING_TO_EXTERNAL_SERVICE_ERROR("SYS_002", "Error occur when calling to external service %s"),
+    PASSWORD_HASHING_BUSY("SYS_003", "Too many sign-in requests right now. Please try again shortly");
 
     private final String code;
     private final String message;
@@ -0,0 +1,17 @@
+package com.budget.buddy.core.config.exception;
+
+import lombok.Getter;
+
+@Getter
+public class ServiceUnavailableException extends RuntimeException {
+    private final ErrorCode errorCode;
+
+    public ServiceUnavailableException(ErrorCode errorCode) {
+        super(errorCode.getMessage());
+        this.errorCode = errorCode;
+    }
+
+    public String getErrorCode() {
+        return errorCode.getCode();
+    }
+}
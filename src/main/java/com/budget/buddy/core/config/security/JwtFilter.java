@@ -2,6 +2,7 @@ package com.budget.buddy.core.config.security;
 
 import com.budget.buddy.core.utils.JwtUtil;
 import com.budget.buddy.core.utils.RedisTokenService;
+import com.budget.buddy.core.utils.VerifiedToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,6 +16,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 public class JwtFilter extends OncePerRequestFilter {
@@ -33,25 +35,28 @@ public class JwtFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
         String authHeader = request.getHeader("Authorization");
-        String token = null;
-        String email = null;
 
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
-            email = jwtUtil.extractEmail(token);
-        }
-
-        if (email != null && SecurityContextHolder.getContext().getAuthentication() == null && jwtUtil.validateToken(token)) {
-            String jti = jwtUtil.extractJti(token);
-            if (redisTokenService.isAccessJtiActive(jti)) {
-                UserDetails userDetails = customUserDetailsService.loadUserByUsername(email);
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(userDetails.getUsername(), null, userDetails.getAuthorities());
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
+        // One parse and one signature check per request; an unusable token leaves the request unauthenticated
+        if (authHeader != null && authHeader.startsWith("Bearer ") && SecurityContextHolder.getContext().getAuthentication() == null) {
+            jwtUtil.verify(authHeader.substring(7))
+                    .filter(token -> redisTokenService.isAccessJtiActive(token.jti(), token.expiresAt()))
+                    .ifPresent(token -> authenticate(request, token));
         }
 
         chain.doFilter(request, response);
     }
+
+    // Locking or deactivating a user revokes the token's JTI, so an active JTI is enough to trust the embedded user id
+    private void authenticate(HttpServletRequest request, VerifiedToken token) {
+        UsernamePasswordAuthenticationToken authToken;
+        if (token.userId() != null) {
+            authToken = new UsernamePasswordAuthenticationToken(token.userId().toString(), null, List.of());
+        } else {
+            // Issued before the user id was embedded; only until those tokens expire
+            UserDetails userDetails = customUserDetailsService.loadUserByUsername(token.email());
+            authToken = new UsernamePasswordAuthenticationToken(userDetails.getUsername(), null, userDetails.getAuthorities());
+        }
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
 }
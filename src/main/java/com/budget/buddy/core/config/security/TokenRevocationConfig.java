@@ -0,0 +1,22 @@
+package com.budget.buddy.core.config.security;
+
+import com.budget.buddy.core.utils.RedisTokenService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+public class TokenRevocationConfig {
+
+    // Resubscribes on its own after a Redis outage; revocations missed meanwhile age out of the local cache
+    @Bean
+    public RedisMessageListenerContainer tokenRevocationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                          RedisTokenService redisTokenService) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(redisTokenService, new ChannelTopic(RedisTokenService.REVOCATION_CHANNEL));
+        return container;
+    }
+}
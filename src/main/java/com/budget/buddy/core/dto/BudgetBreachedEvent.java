@@ -0,0 +1,16 @@
+package com.budget.buddy.core.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record BudgetBreachedEvent(
+        Long userId,
+        Long budgetId,
+        Long categoryId,
+        String currency,
+        LocalDate cycleStartDate,
+        LocalDate cycleEndDate,
+        BigDecimal amount,
+        BigDecimal spentAmount
+) {
+}
@@ -0,0 +1,15 @@
+package com.budget.buddy.core.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record ThresholdBreachedEvent(
+        Long userId,
+        Long thresholdId,
+        Long categoryId,
+        String currency,
+        LocalDate date,
+        BigDecimal threshold,
+        BigDecimal totalAmount
+) {
+}
@@ -0,0 +1,78 @@
+package com.budget.buddy.core.utils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Bounded LRU of access JTIs confirmed active in Redis. Each is kept until the earlier of its token's expiry
+ * and the TTL, which bounds how long a lost revocation message can go unnoticed. A revoked JTI leaves a
+ * tombstone for the same TTL, so a Redis check that raced the revocation cannot cache it again.
+ */
+final class ActiveJtiCache {
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    // Values are System.nanoTime() deadlines; both maps are guarded by this
+    private final LinkedHashMap<String, Long> active = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, Long> revoked = new LinkedHashMap<>();
+
+    ActiveJtiCache(int maxEntries, Duration ttl) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    synchronized boolean isActive(String jti) {
+        Long deadline = active.get(jti);
+        if (deadline == null) {
+            return false;
+        }
+        if (deadline - System.nanoTime() <= 0) {
+            active.remove(jti);
+            return false;
+        }
+        return true;
+    }
+
+    synchronized void putActive(String jti, Instant expiresAt) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        Long tombstone = revoked.get(jti);
+        if (tombstone != null && tombstone - now > 0) {
+            return;
+        }
+
+        long lifetime = ttlNanos;
+        if (expiresAt != null) {
+            lifetime = Math.min(lifetime, Duration.between(Instant.now(), expiresAt).toNanos());
+        }
+        if (lifetime <= 0) {
+            return;
+        }
+        active.put(jti, now + lifetime);
+        trim(active);
+    }
+
+    synchronized void revoke(String jti) {
+        active.remove(jti);
+        if (maxEntries > 0) {
+            revoked.put(jti, System.nanoTime() + ttlNanos);
+            trim(revoked);
+        }
+    }
+
+    synchronized int size() {
+        return active.size();
+    }
+
+    private void trim(LinkedHashMap<String, Long> entries) {
+        Iterator<Long> eldest = entries.values().iterator();
+        while (entries.size() > maxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.budget.buddy.core.utils;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -15,11 +17,14 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.util.Collections;
 import java.util.Date;
+import java.util.Optional;
 import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
 public class JwtUtil {
+    static final String USER_ID_CLAIM = "uid";
+    static final String STATUS_VERSION_CLAIM = "sv";
 
     @Value("${jwt-secret}")
     private String secretKey;
@@ -40,6 +45,7 @@ public class JwtUtil {
     private long clockSkewSeconds;
 
     private SecretKey cachedSigningKey;
+    private JwtParser cachedParser;
     private Long cachedAccessTtlMs;
     private Long cachedRefreshTtlMs;
 
@@ -62,12 +68,15 @@ public class JwtUtil {
         }
     }
 
-    public String generateToken(String email) {
+    // The user id and status version let the request filter authenticate without reading the user table
+    public String generateToken(Long userId, String email, int statusVersion) {
         long now = System.currentTimeMillis();
 
         var builder = Jwts.builder()
                 .subject(email)
                 .id(generateJti())
+                .claim(USER_ID_CLAIM, userId)
+                .claim(STATUS_VERSION_CLAIM, statusVersion)
                 .claim("roles", Collections.emptyList())
                 .issuedAt(new Date(now))
                 .expiration(new Date(now + getAccessTtlMs()));
@@ -85,12 +94,14 @@ public class JwtUtil {
                 .compact();
     }
 
-    public String generateRefreshToken(String email) {
+    public String generateRefreshToken(Long userId, String email, int statusVersion) {
         long now = System.currentTimeMillis();
 
         var builder = Jwts.builder()
                 .subject(email)
                 .id(generateJti())
+                .claim(USER_ID_CLAIM, userId)
+                .claim(STATUS_VERSION_CLAIM, statusVersion)
                 .issuedAt(new Date(now))
                 .expiration(new Date(now + getRefreshTtlMs()));
 
@@ -107,6 +118,37 @@ public class JwtUtil {
                 .compact();
     }
 
+    /**
+     * Parses the token and checks its signature, issuer and expiry in one pass.
+     * Empty when any of them fails, so callers never see a half-checked token.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        if (StringUtils.isBlank(token)) {
+            return Optional.empty();
+        }
+
+        Claims claims;
+        VerifiedToken verified;
+        try {
+            claims = parseClaims(token).getPayload();
+            // Tokens minted before the user id was embedded have neither claim; claims of the wrong type are invalid
+            verified = new VerifiedToken(claims.getSubject(), claims.getId(),
+                    claims.get(USER_ID_CLAIM, Long.class), claims.get(STATUS_VERSION_CLAIM, Integer.class),
+                    claims.getExpiration() == null ? null : claims.getExpiration().toInstant());
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+
+        if (!StringUtils.isBlank(issuer) && !issuer.equals(claims.getIssuer())) {
+            return Optional.empty();
+        }
+        if (isExpired(claims.getExpiration()) || StringUtils.isBlank(verified.email())) {
+            return Optional.empty();
+        }
+
+        return Optional.of(verified);
+    }
+
     public String extractEmail(String token) {
         return parseClaims(token).getPayload().getSubject();
     }
@@ -116,13 +158,7 @@ public class JwtUtil {
     }
 
     public boolean validateToken(String token) {
-        var claims = parseClaims(token).getPayload();
-
-        if (!StringUtils.isBlank(issuer) && !issuer.equals(claims.getIssuer())) {
-            return false;
-        }
-
-        return !isExpired(claims.getExpiration());
+        return verify(token).isPresent();
     }
 
     private boolean isExpired(Date expiration) {
@@ -132,6 +168,15 @@ public class JwtUtil {
     }
 
     private Jws<Claims> parseClaims(String token) {
+        return getParser().parseSignedClaims(token);
+    }
+
+    // Immutable and thread-safe, so one parser serves every request; rebuilding it is harmless if two threads race
+    private JwtParser getParser() {
+        if (cachedParser != null) {
+            return cachedParser;
+        }
+
         var parserBuilder = Jwts.parser()
                 .verifyWith(getSigningKey())
                 .clockSkewSeconds(clockSkewSeconds);
@@ -140,9 +185,9 @@ public class JwtUtil {
             parserBuilder.requireIssuer(issuer);
         }
 
-        return parserBuilder
-                .build()
-                .parseSignedClaims(token);
+        JwtParser parser = parserBuilder.build();
+        cachedParser = parser;
+        return parser;
     }
 
     private String generateJti() {
@@ -0,0 +1,174 @@
+package com.budget.buddy.core.utils;
+
+import com.budget.buddy.core.config.exception.ErrorCode;
+import com.budget.buddy.core.config.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * BCrypt hashing on a small dedicated pool, so a login burst cannot occupy every request thread with CPU work.
+ * The queue is bounded: once it is full, or a hash waits longer than max-wait-ms, callers get
+ * {@link ErrorCode#PASSWORD_HASHING_BUSY} (503) straight away instead of piling up.
+ * Unless auth.password-hashing.cost is set, the cost is calibrated at startup to the highest value in
+ * [min-cost, max-cost] whose hash fits latency-budget-ms; {@link #needsRehash} reports stored hashes below it.
+ */
+@Service
+public class PasswordHasher {
+    private static final Logger logger = LogManager.getLogger(PasswordHasher.class);
+
+    private static final String METRIC_NAME = "auth.password-hashing";
+    private static final int CALIBRATION_SAMPLES = 5;
+
+    private final BCryptPasswordEncoder encoder;
+    private final int cost;
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitMs;
+
+    private final Counter rejected;
+    private final Counter timeouts;
+    private final Timer hashTime;
+
+    public PasswordHasher(MeterRegistry meterRegistry,
+                          @Value("${auth.password-hashing.threads:0}") int threads,
+                          @Value("${auth.password-hashing.queue-capacity:64}") int queueCapacity,
+                          @Value("${auth.password-hashing.max-wait-ms:2000}") long maxWaitMs,
+                          @Value("${auth.password-hashing.cost:0}") int cost,
+                          @Value("${auth.password-hashing.min-cost:10}") int minCost,
+                          @Value("${auth.password-hashing.max-cost:14}") int maxCost,
+                          @Value("${auth.password-hashing.latency-budget-ms:250}") long latencyBudgetMs) {
+        this.cost = cost > 0 ? cost : calibrate(minCost, maxCost, latencyBudgetMs);
+        this.encoder = new BCryptPasswordEncoder(this.cost);
+        this.maxWaitMs = maxWaitMs;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("password-hashing-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.rejected = counter(meterRegistry, "rejected");
+        this.timeouts = counter(meterRegistry, "timeout");
+        this.hashTime = Timer.builder(METRIC_NAME + ".duration")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".queue", executor, pool -> pool.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+        logger.info("Password hashing uses BCrypt cost {} on {} threads, queue capacity {}", this.cost, poolSize, queueCapacity);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder(METRIC_NAME)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    // Each cost step doubles the work, so one measurement at min-cost is enough to extrapolate
+    static int calibrate(int minCost, int maxCost, long latencyBudgetMs) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minCost);
+        probe.encode("calibration");
+        long fastest = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_SAMPLES; i++) {
+            long started = System.nanoTime();
+            probe.encode("calibration");
+            fastest = Math.min(fastest, System.nanoTime() - started);
+        }
+
+        long budget = Duration.ofMillis(latencyBudgetMs).toNanos();
+        int calibrated = minCost;
+        while (calibrated < maxCost && fastest << (calibrated + 1 - minCost) <= budget) {
+            calibrated++;
+        }
+        logger.info("Calibrated BCrypt cost {}: cost {} took {} µs, budget {} ms", calibrated, minCost,
+                fastest / 1000, latencyBudgetMs);
+        return calibrated;
+    }
+
+    public String encode(String rawPassword) {
+        return run(() -> encoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        // Users who only signed in with Google have no hash to check
+        if (encodedPassword == null || encodedPassword.isEmpty()) {
+            return false;
+        }
+        return run(() -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    public boolean needsRehash(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.isEmpty()) {
+            return false;
+        }
+        try {
+            return encoder.upgradeEncoding(encodedPassword);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    int queueDepth() {
+        return executor.getQueue().size();
+    }
+
+    <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                Timer.Sample sample = Timer.start();
+                try {
+                    return task.call();
+                } finally {
+                    sample.stop(hashTime);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceUnavailableException(ErrorCode.PASSWORD_HASHING_BUSY);
+        }
+
+        try {
+            return future.get(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timeouts.increment();
+            throw new ServiceUnavailableException(ErrorCode.PASSWORD_HASHING_BUSY);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException(ErrorCode.PASSWORD_HASHING_BUSY);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -1,17 +1,26 @@
 package com.budget.buddy.core.utils;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Base64;
-import java.util.Optional;
-import java.util.concurrent.TimeUnit;
+import java.util.List;
 
 /**
  * Simple Redis-backed token store for access JTIs and refresh tokens.
@@ -19,18 +28,90 @@ import java.util.concurrent.TimeUnit;
  * - access: jti:{jti} -> email (TTL = access token lifetime)
  * - refresh:{sha256(token)} -> email (TTL = refresh token lifetime)
  * - user:accessJti:{email} -> jti (TTL = access token lifetime)
+ * Active access JTIs are also kept in a local near-cache, so most requests never wait on Redis.
+ * Revocations are published on the access:jti:revoked channel and every instance drops the JTI on receipt.
+ * Issuing, rotating and ending a session are each one Lua script, so they take a single round trip and two
+ * concurrent refreshes with the same token cannot both succeed.
  */
 @Service
-@RequiredArgsConstructor
-public class RedisTokenService {
+public class RedisTokenService implements MessageListener {
     private static final Logger logger = LogManager.getLogger(RedisTokenService.class);
 
+    public static final String REVOCATION_CHANNEL = "access:jti:revoked";
+
     private final StringRedisTemplate redis;
     private static final String ACCESS_TOKEN_PROPERTY = "access:jti:";
     private static final String REFRESH_TOKEN_PROPERTY = "refresh:";
     private static final String USER_ACCESS_JTI_PROPERTY = "user:accessJti:";
+    private static final String METRIC_NAME = "auth.jti.cache";
+
+    // The last three KEYS are the user's JTI mapping, the new access JTI and the new refresh token. Revokes the
+    // mapped JTI (ARGV[5] is the access key prefix, ARGV[6] the revocation channel) and stores the new session.
+    // Returns the revoked JTI or ''
+    private static final String REPLACE_SESSION = """
+            local user = #KEYS - 2
+            local previous = redis.call('GET', KEYS[user])
+            if previous then
+              redis.call('DEL', ARGV[5] .. previous)
+              redis.call('PUBLISH', ARGV[6], previous)
+            end
+            redis.call('SET', KEYS[user + 1], ARGV[1], 'PX', ARGV[3])
+            redis.call('SET', KEYS[user], ARGV[2], 'PX', ARGV[3])
+            redis.call('SET', KEYS[user + 2], ARGV[1], 'PX', ARGV[4])
+            return previous or ''
+            """;
+
+    private static final RedisScript<String> ISSUE_SESSION = new DefaultRedisScript<>(REPLACE_SESSION, String.class);
+
+    // Nil when KEYS[1] is not a live refresh token of ARGV[1]; it is consumed otherwise
+    private static final RedisScript<String> ROTATE_SESSION = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) ~= ARGV[1] then
+              return false
+            end
+            redis.call('DEL', KEYS[1])
+            """ + REPLACE_SESSION, String.class);
+
+    // KEYS[2] is the refresh token to drop, if any
+    private static final RedisScript<String> END_SESSION = new DefaultRedisScript<>("""
+            local previous = redis.call('GET', KEYS[1])
+            if previous then
+              redis.call('DEL', ARGV[1] .. previous, KEYS[1])
+              redis.call('PUBLISH', ARGV[2], previous)
+            end
+            if KEYS[2] then
+              redis.call('DEL', KEYS[2])
+            end
+            return previous or ''
+            """, String.class);
+
+    private final ActiveJtiCache activeJtis;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter revocations;
+    private final Counter redisErrors;
+
+    public RedisTokenService(StringRedisTemplate redis,
+                             MeterRegistry meterRegistry,
+                             @Value("${jwt.active-jti-cache.max-entries:10000}") int maxEntries,
+                             @Value("${jwt.active-jti-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.redis = redis;
+        this.activeJtis = new ActiveJtiCache(maxEntries, Duration.ofSeconds(ttlSeconds));
+
+        this.hits = counter(meterRegistry, "hit");
+        this.misses = counter(meterRegistry, "miss");
+        this.revocations = counter(meterRegistry, "revocation");
+        this.redisErrors = counter(meterRegistry, "error");
+        Gauge.builder(METRIC_NAME + ".size", activeJtis, ActiveJtiCache::size)
+                .register(meterRegistry);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder(METRIC_NAME)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
 
-    private static String hashToken(String token) {
+    static String hashToken(String token) {
         try {
             MessageDigest digest = MessageDigest.getInstance("SHA-256");
             byte[] hashed = digest.digest(token.getBytes(StandardCharsets.UTF_8));
@@ -40,57 +121,91 @@ public class RedisTokenService {
         }
     }
 
-    public void storeAccessJti(String email, String jti, long ttlMs) {
-        if (jti == null) return;
+    // expiresAt caps how long the answer is reused locally; a JTI Redis cannot confirm counts as inactive
+    public boolean isAccessJtiActive(String jti, Instant expiresAt) {
+        if (jti == null) return false;
+        if (activeJtis.isActive(jti)) {
+            hits.increment();
+            return true;
+        }
+        misses.increment();
+
         String key = ACCESS_TOKEN_PROPERTY + jti;
-        redis.opsForValue().set(key, email, ttlMs, TimeUnit.MILLISECONDS);
+        boolean active;
+        try {
+            active = Boolean.TRUE.equals(redis.hasKey(key));
+        } catch (RuntimeException e) {
+            redisErrors.increment();
+            logger.warn("Failed to check access JTI '{}', treating it as inactive", jti, e);
+            return false;
+        }
+        if (active) {
+            activeJtis.putActive(jti, expiresAt);
+        }
+        return active;
     }
 
-    public boolean isAccessJtiActive(String jti) {
-        if (jti == null) return false;
-        String key = ACCESS_TOKEN_PROPERTY + jti;
-        Boolean active = redis.hasKey(key);
-        return Optional.ofNullable(active).orElse(false);
+    /**
+     * Replaces the user's session in one round trip: revokes the current access JTI, then stores the new
+     * access JTI, the user's JTI mapping and the refresh token.
+     */
+    public void issueSession(String email, String accessJti, long accessTtlMs, String refreshToken, long refreshTtlMs) {
+        String previous = redis.execute(ISSUE_SESSION, sessionKeys(email, accessJti, refreshToken),
+                sessionArgs(email, accessJti, accessTtlMs, refreshTtlMs));
+        forget(previous);
     }
 
-    public void revokeAccessJti(String jti) {
-        if (jti == null) return;
-        String key = ACCESS_TOKEN_PROPERTY + jti;
-        redis.delete(key);
+    /**
+     * Consumes {@code oldRefreshToken} and issues the new session in one atomic step.
+     * False when the old token is not a live refresh token of {@code email}; nothing is changed then.
+     */
+    public boolean rotateSession(String email, String oldRefreshToken, String accessJti, long accessTtlMs,
+                                 String refreshToken, long refreshTtlMs) {
+        List<String> keys = new ArrayList<>(List.of(REFRESH_TOKEN_PROPERTY + hashToken(oldRefreshToken)));
+        keys.addAll(sessionKeys(email, accessJti, refreshToken));
+        String previous = redis.execute(ROTATE_SESSION, keys, sessionArgs(email, accessJti, accessTtlMs, refreshTtlMs));
+        if (previous == null) {
+            return false;
+        }
+        forget(previous);
+        return true;
     }
 
-    public void storeRefreshToken(String email, String refreshToken, long ttlMs) {
-        String key = REFRESH_TOKEN_PROPERTY + hashToken(refreshToken);
-        redis.opsForValue().set(key, email, ttlMs, TimeUnit.MILLISECONDS);
+    // Revokes the user's current access JTI and, when given, the refresh token
+    public void endSession(String email, String refreshToken) {
+        List<String> keys = new ArrayList<>(List.of(USER_ACCESS_JTI_PROPERTY + email));
+        if (refreshToken != null) {
+            keys.add(REFRESH_TOKEN_PROPERTY + hashToken(refreshToken));
+        }
+        forget(redis.execute(END_SESSION, keys, ACCESS_TOKEN_PROPERTY, REVOCATION_CHANNEL));
     }
 
-    public boolean validateRefreshToken(String refreshToken, String expectedEmail) {
-        String key = REFRESH_TOKEN_PROPERTY + hashToken(refreshToken);
-        String email = redis.opsForValue().get(key);
-        return email != null && email.equals(expectedEmail);
+    private static List<String> sessionKeys(String email, String accessJti, String refreshToken) {
+        return List.of(USER_ACCESS_JTI_PROPERTY + email, ACCESS_TOKEN_PROPERTY + accessJti,
+                REFRESH_TOKEN_PROPERTY + hashToken(refreshToken));
     }
 
-    public void deleteRefreshToken(String refreshToken) {
-        String key = REFRESH_TOKEN_PROPERTY + hashToken(refreshToken);
-        redis.delete(key);
+    private static Object[] sessionArgs(String email, String accessJti, long accessTtlMs, long refreshTtlMs) {
+        return new Object[]{email, accessJti, String.valueOf(accessTtlMs), String.valueOf(refreshTtlMs),
+                ACCESS_TOKEN_PROPERTY, REVOCATION_CHANNEL};
     }
 
-    // Map the current access JTI for a user (by email). TTL should match access token lifetime
-    public void setUserAccessJti(String email, String jti, long ttlMs) {
-        if (email == null || jti == null) return;
-        String key = USER_ACCESS_JTI_PROPERTY + email;
-        redis.opsForValue().set(key, jti, ttlMs, TimeUnit.MILLISECONDS);
+    // The broadcast reaches this instance too; dropping the JTI now closes the gap until it arrives
+    private void forget(String revokedJti) {
+        if (revokedJti != null && !revokedJti.isEmpty()) {
+            activeJtis.revoke(revokedJti);
+        }
     }
 
-    public String getUserAccessJti(String email) {
-        if (email == null) return null;
-        String key = USER_ACCESS_JTI_PROPERTY + email;
-        return redis.opsForValue().get(key);
+    // Revocations published by any instance, this one included
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        activeJtis.revoke(new String(message.getBody(), StandardCharsets.UTF_8));
+        revocations.increment();
     }
 
-    public void clearUserAccessJti(String email) {
-        if (email == null) return;
-        String key = USER_ACCESS_JTI_PROPERTY + email;
+    public void deleteRefreshToken(String refreshToken) {
+        String key = REFRESH_TOKEN_PROPERTY + hashToken(refreshToken);
         redis.delete(key);
     }
 }
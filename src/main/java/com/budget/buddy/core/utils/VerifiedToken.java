@@ -0,0 +1,10 @@
+package com.budget.buddy.core.utils;
+
+import java.time.Instant;
+
+/**
+ * Claims of a token whose signature, issuer and expiry were checked by {@link JwtUtil#verify(String)}.
+ * {@code userId} and {@code statusVersion} are null for tokens minted before they were embedded.
+ */
+public record VerifiedToken(String email, String jti, Long userId, Integer statusVersion, Instant expiresAt) {
+}
@@ -1,5 +1,7 @@
 package com.budget.buddy.transaction.application.controller;
 
+import com.budget.buddy.transaction.application.dto.account.AccountBalanceHistoryResponse;
+import com.budget.buddy.transaction.application.dto.account.AccountBalancePoint;
 import com.budget.buddy.transaction.application.dto.account.AccountDTO;
 import com.budget.buddy.transaction.application.dto.account.AccountRetrieveResponse;
 import com.budget.buddy.transaction.application.dto.account.AccountTypeRetrieveResponse;
@@ -14,9 +16,11 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Tag(name = "Account Management", description = "CRUD APIs for managing user accounts and account types")
@@ -61,6 +65,34 @@ public class AccountController {
         return ResponseEntity.ok(accountService.retrieveAccount(accountId));
     }
 
+    @Operation(summary = "Get an account balance at a date", description = "Returns the closing balance of the account at the end of the given day (today when omitted).", responses = {
+            @ApiResponse(responseCode = "200", description = "Balance retrieved successfully",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = AccountBalancePoint.class))),
+            @ApiResponse(responseCode = "404", description = "Account not found", content = @Content())
+    })
+    @GetMapping("/{accountId}/balance")
+    public ResponseEntity<AccountBalancePoint> retrieveBalanceAsOf(
+            @PathVariable Long accountId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(accountService.retrieveBalanceAsOf(accountId, date));
+    }
+
+    @Operation(summary = "Get daily account balances", description = "Returns the closing balance for each day between from and to (inclusive, at most 366 days).", responses = {
+            @ApiResponse(responseCode = "200", description = "Balances retrieved successfully",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = AccountBalanceHistoryResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid date range", content = @Content()),
+            @ApiResponse(responseCode = "404", description = "Account not found", content = @Content())
+    })
+    @GetMapping("/{accountId}/balance/history")
+    public ResponseEntity<AccountBalanceHistoryResponse> retrieveBalanceHistory(
+            @PathVariable Long accountId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(accountService.retrieveBalanceHistory(accountId, from, to));
+    }
+
     @Operation(summary = "Update an existing account", description = "Updates the specified account if it belongs to the authenticated user.", responses = {
             @ApiResponse(responseCode = "204", description = "Account updated successfully"),
             @ApiResponse(responseCode = "404", description = "Account not found", content = @Content()),
@@ -1,6 +1,8 @@
 package com.budget.buddy.transaction.application.controller;
 
+import com.budget.buddy.transaction.application.dto.budget.BudgetCycleSettingDTO;
 import com.budget.buddy.transaction.application.dto.budget.BudgetDTO;
+import com.budget.buddy.transaction.application.dto.budget.BudgetTrendDTO;
 import com.budget.buddy.transaction.application.service.BudgetService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -9,14 +11,18 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
 @Tag(name = "Budget Management", description = "CRUD APIs for managing budget management")
+@Validated
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("/api/v1/budgets")
@@ -69,6 +75,19 @@ public class BudgetController {
         return ResponseEntity.status(200).body(budgetService.getAllBudgetsForCurrentUser(currency, startDate, endDate));
     }
 
+    @Operation(summary = "Compare my budgets over past cycles", description = "Returns spent and remaining amounts of every budget for the current cycle and the cycles before it, oldest first. Optionally filter by currency.", responses = {
+            @ApiResponse(responseCode = "200", description = "Budget trend retrieved successfully",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            array = @ArraySchema(schema = @Schema(implementation = BudgetTrendDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid number of cycles", content = @Content())
+    })
+    @GetMapping("/trend")
+    public ResponseEntity<List<BudgetTrendDTO>> getBudgetTrend(
+            @RequestParam(required = false) String currency,
+            @RequestParam(defaultValue = "6") @Min(1) @Max(24) int cycles) {
+        return ResponseEntity.status(200).body(budgetService.getBudgetTrend(currency, cycles));
+    }
+
     @Operation(summary = "Get a budget by ID", responses = {
             @ApiResponse(responseCode = "200", description = "Budget retrieved successfully",
                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
@@ -79,4 +98,25 @@ public class BudgetController {
     public ResponseEntity<Object> getBudget(@PathVariable Long id) {
         return ResponseEntity.status(200).body(budgetService.getBudgetById(id));
     }
+
+    @Operation(summary = "Get my budget cycle", description = "Returns how budget cycles are cut for the authenticated user, with the current cycle.", responses = {
+            @ApiResponse(responseCode = "200", description = "Budget cycle retrieved successfully",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = BudgetCycleSettingDTO.class)))
+    })
+    @GetMapping("/cycle")
+    public ResponseEntity<BudgetCycleSettingDTO> getCycleSetting() {
+        return ResponseEntity.status(200).body(budgetService.getCycleSetting());
+    }
+
+    @Operation(summary = "Update my budget cycle", description = "Sets the cycle length, start day and timezone used when listing budgets without dates.", responses = {
+            @ApiResponse(responseCode = "200", description = "Budget cycle updated successfully",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = BudgetCycleSettingDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid start day or timezone", content = @Content())
+    })
+    @PutMapping("/cycle")
+    public ResponseEntity<BudgetCycleSettingDTO> updateCycleSetting(@Valid @RequestBody BudgetCycleSettingDTO settingDTO) {
+        return ResponseEntity.status(200).body(budgetService.updateCycleSetting(settingDTO));
+    }
 }
@@ -2,6 +2,7 @@ package com.budget.buddy.transaction.application.controller;
 
 import com.budget.buddy.transaction.application.dto.threshold.ThresholdDTO;
 import com.budget.buddy.transaction.application.dto.threshold.ThresholdRequestDTO;
+import com.budget.buddy.transaction.application.dto.threshold.ThresholdSeriesDTO;
 import com.budget.buddy.transaction.application.service.ThresholdService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -11,10 +12,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Tag(name = "Threshold Management", description = "CRUD APIs for managing spending thresholds per category")
@@ -58,6 +61,23 @@ public class ThresholdController {
         return ResponseEntity.ok(thresholdService.viewAll());
     }
 
+    @Operation(summary = "Get daily totals against every threshold of the current user",
+            description = "Evaluates all thresholds over the date range (at most 366 days) in one pass. " +
+                    "With breachesOnly, only the days that went over each threshold are listed.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Threshold series retrieved successfully",
+                            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    array = @ArraySchema(schema = @Schema(implementation = ThresholdSeriesDTO.class)))),
+                    @ApiResponse(responseCode = "400", description = "Invalid date range", content = @Content())
+            })
+    @GetMapping("/daily")
+    public ResponseEntity<List<ThresholdSeriesDTO>> viewDailySeries(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "false") boolean breachesOnly) {
+        return ResponseEntity.ok(thresholdService.viewDailySeries(startDate, endDate, breachesOnly));
+    }
+
     @Operation(summary = "Update a threshold", responses = {
             @ApiResponse(responseCode = "200", description = "Threshold updated successfully",
                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
@@ -5,25 +5,35 @@ import com.budget.buddy.transaction.application.dto.threshold.ThresholdTransacti
 import com.budget.buddy.transaction.application.dto.transaction.RetrieveTransactionsParams;
 import com.budget.buddy.transaction.application.dto.transaction.TransactionDTO;
 import com.budget.buddy.transaction.application.dto.transaction.TransactionFilterCriteria;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionImportReport;
 import com.budget.buddy.transaction.application.dto.transaction.TransactionPagination;
 import com.budget.buddy.transaction.application.service.TransactionService;
+import com.budget.buddy.transaction.domain.enums.TransactionExportFormat;
+import com.budget.buddy.transaction.domain.enums.TransactionImportFormat;
+import com.budget.buddy.transaction.domain.enums.TransactionTotalMode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 
@@ -58,7 +68,23 @@ public class TransactionController {
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
-    @Operation(summary = "Search and paginate transactions", description = "Returns a paged list of transactions. Use query parameters for pagination and sorting (page, size). Optionally provide filter criteria in the request body to filter by fields like date range, category, account, amount, etc.", responses = {
+    @Operation(summary = "Stream-import transactions from a file", description = "Reads an NDJSON (application/x-ndjson) or CSV (text/csv, header row required) body line by line and commits valid rows in chunks. Rows failing validation or account/category ownership checks are counted per chunk instead of aborting the import; the first 100 are listed with their line and reason.", responses = {
+            @ApiResponse(responseCode = "200", description = "Import processed, see the per-chunk report",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = TransactionImportReport.class))),
+            @ApiResponse(responseCode = "400", description = "Unsupported format or unreadable file", content = @Content())
+    })
+    @PostMapping(path = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, TransactionImportFormat.CSV_MEDIA_TYPE})
+    public ResponseEntity<TransactionImportReport> importTransactions(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @Parameter(description = "Rows committed per chunk (defaults to the server setting)", example = "500")
+            @RequestParam(value = "chunkSize", required = false) @Min(1) @Max(5000) Integer chunkSize,
+            InputStream body) {
+        TransactionImportFormat format = TransactionImportFormat.fromContentType(contentType);
+        return ResponseEntity.ok(transactionService.importTransactions(body, format, chunkSize));
+    }
+
+    @Operation(summary = "Search and paginate transactions", description = "Returns a paged list of transactions. Use query parameters for pagination and sorting (page, size), or pass cursor (empty for the first page, then the returned nextCursor) for keyset paging that costs the same at any depth. With page/size, total picks how the total is reported: EXACT (default), NONE (has-next only, no count query) or ESTIMATED (database planner estimate). Optionally provide filter criteria in the request body to filter by fields like date range, category, account, amount, etc.", responses = {
             @ApiResponse(responseCode = "200", description = "Transactions retrieved successfully",
                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
                             schema = @Schema(implementation = TransactionPagination.class))
@@ -71,11 +97,48 @@ public class TransactionController {
             @RequestParam(value = "page", required = false) @Min(0) Integer page,
             @Parameter(description = "Page size (min 1, max 20)", example = "20")
             @RequestParam(value = "size", required = false) @Min(1) @Max(50) Integer size,
+            @Parameter(description = "Continuation token for keyset paging; send it empty for the first page. Page is ignored when present")
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "Total mode for page/size paging: EXACT, NONE or ESTIMATED", example = "EXACT")
+            @RequestParam(value = "total", required = false) String total,
             @Valid @RequestBody(required = false) TransactionFilterCriteria filterCriteria) {
-        RetrieveTransactionsParams request = new RetrieveTransactionsParams(page, size);
+        RetrieveTransactionsParams request = RetrieveTransactionsParams.builder()
+                .page(page)
+                .size(size)
+                .cursor(cursor)
+                .totalMode(TransactionTotalMode.from(total))
+                .build();
         return ResponseEntity.ok(transactionService.retrieveTransactions(request, filterCriteria));
     }
 
+    @Operation(summary = "Export filtered transactions", description = "Streams every transaction matching the filter as CSV (default, same columns the import reads) or NDJSON. Rows are read through a database cursor and written as they arrive, so large ledgers download with constant server memory. The filter query parameter takes the same JSON criteria as the inquiry body, URL-encoded, including sort.", responses = {
+            @ApiResponse(responseCode = "200", description = "Export streamed",
+                    content = {@Content(mediaType = TransactionImportFormat.CSV_MEDIA_TYPE),
+                            @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE)}),
+            @ApiResponse(responseCode = "400", description = "Unsupported format or invalid filter", content = @Content())
+    })
+    @GetMapping("/export")
+    public void exportTransactions(
+            @Parameter(description = "Export format: csv or ndjson", example = "csv")
+            @RequestParam(value = "format", required = false) String format,
+            @Parameter(description = "Filter criteria as URL-encoded JSON, same shape as the inquiry body")
+            @RequestParam(value = "filter", required = false) String filter,
+            HttpServletResponse response) {
+        TransactionExportFormat exportFormat = TransactionExportFormat.from(format);
+        transactionService.exportTransactions(filter, exportFormat, () -> {
+            response.setContentType(exportFormat.getMediaType() + ";charset=UTF-8");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                    .filename("transactions." + exportFormat.getExtension())
+                    .build()
+                    .toString());
+            try {
+                return response.getOutputStream();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
     @Operation(summary = "Update a transaction", description = "Updates an existing transaction for the authenticated user.", responses = {
             @ApiResponse(responseCode = "204", description = "Transaction updated successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content()),
@@ -0,0 +1,14 @@
+package com.budget.buddy.transaction.application.dto.account;
+
+import java.math.BigDecimal;
+
+public interface AccountBalanceDriftView {
+    Long getAccountId();
+
+    Long getUserId();
+
+    // Null when the account has no account_balance row at all
+    BigDecimal getStoredBalance();
+
+    BigDecimal getComputedBalance();
+}
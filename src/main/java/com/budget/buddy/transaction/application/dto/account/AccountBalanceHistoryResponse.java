@@ -0,0 +1,15 @@
+package com.budget.buddy.transaction.application.dto.account;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Daily closing balances of an account")
+public record AccountBalanceHistoryResponse(
+        @Schema(description = "Account ID", example = "1")
+        Long accountId,
+
+        @Schema(description = "One point per day, oldest first")
+        List<AccountBalancePoint> balances
+) {
+}
@@ -0,0 +1,16 @@
+package com.budget.buddy.transaction.application.dto.account;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Schema(description = "Account balance at the end of a day")
+public record AccountBalancePoint(
+        @Schema(description = "Date", example = "2025-01-31")
+        LocalDate date,
+
+        @Schema(description = "Closing balance", example = "1000.00")
+        BigDecimal balance
+) {
+}
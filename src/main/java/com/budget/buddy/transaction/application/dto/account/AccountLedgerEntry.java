@@ -0,0 +1,10 @@
+package com.budget.buddy.transaction.application.dto.account;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Signed amount booked against an account on a given day; negative entries undo earlier ones.
+ */
+public record AccountLedgerEntry(Long accountId, LocalDate date, BigDecimal amount) {
+}
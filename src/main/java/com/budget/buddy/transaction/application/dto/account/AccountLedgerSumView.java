@@ -0,0 +1,12 @@
+package com.budget.buddy.transaction.application.dto.account;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface AccountLedgerSumView {
+    Long getAccountId();
+
+    LocalDate getDate();
+
+    BigDecimal getAmount();
+}
@@ -0,0 +1,33 @@
+package com.budget.buddy.transaction.application.dto.budget;
+
+import com.budget.buddy.transaction.domain.enums.BudgetCyclePeriod;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+@Schema(description = "How the authenticated user's budget cycles are cut")
+public record BudgetCycleSettingDTO(
+        @NotNull(message = "Period is required")
+        @Schema(description = "Cycle length", example = "MONTHLY")
+        BudgetCyclePeriod period,
+
+        @Min(value = 1, message = "Start day must be at least 1")
+        @Max(value = 28, message = "Start day must be at most 28")
+        @Schema(description = "Day of month (1-28) for monthly cycles, ISO day of week (1 = Monday) for weekly cycles", example = "5")
+        int startDay,
+
+        @NotBlank(message = "Timezone is required")
+        @Schema(description = "IANA timezone used to decide which cycle is current", example = "Asia/Singapore")
+        String timezone,
+
+        @Schema(description = "First day of the current cycle", example = "2025-03-05", accessMode = Schema.AccessMode.READ_ONLY)
+        LocalDate currentStartDate,
+
+        @Schema(description = "Last day of the current cycle", example = "2025-04-04", accessMode = Schema.AccessMode.READ_ONLY)
+        LocalDate currentEndDate
+) {
+}
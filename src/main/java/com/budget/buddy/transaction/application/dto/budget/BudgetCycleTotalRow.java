@@ -0,0 +1,22 @@
+package com.budget.buddy.transaction.application.dto.budget;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One budget's rollup totals inside one cycle of a multi-cycle query. {@code cycle} is the index of the
+ * requested cycle the days fell in, or {@code null} for a budget without any spending in the range.
+ */
+public record BudgetCycleTotalRow(
+        Long budgetId,
+        Long categoryId,
+        String categoryName,
+        BigDecimal amount,
+        String currency,
+        String remarks,
+        LocalDateTime updatedAt,
+        Integer cycle,
+        BigDecimal spent,
+        BigDecimal net
+) {
+}
@@ -0,0 +1,45 @@
+package com.budget.buddy.transaction.application.dto.budget;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Schema(description = "Spent and remaining amounts of one budget over consecutive cycles, oldest first")
+public record BudgetTrendDTO(
+        @Schema(description = "Unique identifier of the budget", example = "1")
+        Long id,
+
+        @Schema(description = "ID of the category", example = "1")
+        Long categoryId,
+
+        @Schema(description = "Name of the category", example = "Food")
+        String categoryName,
+
+        @Schema(description = "Current amount of the budget, applied to every cycle", example = "49.9")
+        BigDecimal amount,
+
+        @Schema(description = "Currency of the budget", example = "SGD")
+        String currency,
+
+        List<Cycle> cycles
+) {
+    public record Cycle(
+            @Schema(description = "First day of the cycle", example = "2025-03-05")
+            LocalDate startDate,
+
+            @Schema(description = "Last day of the cycle", example = "2025-04-04")
+            LocalDate endDate,
+
+            @Schema(description = "Amount spent in the cycle", example = "20.5")
+            BigDecimal spentAmount,
+
+            @Schema(description = "Amount remaining in the cycle", example = "29.4")
+            BigDecimal remainingAmount,
+
+            @Schema(description = "Whether the cycle has ended", example = "true")
+            boolean closed
+    ) {
+    }
+}
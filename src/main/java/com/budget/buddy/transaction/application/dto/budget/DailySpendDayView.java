@@ -0,0 +1,18 @@
+package com.budget.buddy.transaction.application.dto.budget;
+
+import com.budget.buddy.transaction.domain.enums.Currency;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface DailySpendDayView {
+    Long getCategoryId();
+
+    Currency getCurrency();
+
+    LocalDate getSpendDate();
+
+    BigDecimal getSpent();
+
+    BigDecimal getNet();
+}
@@ -0,0 +1,25 @@
+package com.budget.buddy.transaction.application.dto.budget;
+
+import com.budget.buddy.transaction.domain.enums.Currency;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface DailySpendDriftView {
+    Long getUserId();
+
+    Long getCategoryId();
+
+    Currency getCurrency();
+
+    LocalDate getSpendDate();
+
+    // Null when the day has transactions but no daily_spend row at all
+    BigDecimal getStoredSpent();
+
+    BigDecimal getStoredNet();
+
+    BigDecimal getComputedSpent();
+
+    BigDecimal getComputedNet();
+}
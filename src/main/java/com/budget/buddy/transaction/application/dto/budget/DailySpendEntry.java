@@ -0,0 +1,24 @@
+package com.budget.buddy.transaction.application.dto.budget;
+
+import com.budget.buddy.transaction.domain.enums.Currency;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Change to one day of a category's totals in one currency; reversed entries undo earlier ones.
+ */
+public record DailySpendEntry(Long categoryId, Currency currency, LocalDate date, BigDecimal spent, BigDecimal net) {
+
+    public static DailySpendEntry booked(Long categoryId, Currency currency, LocalDate date, BigDecimal amount) {
+        return new DailySpendEntry(categoryId, currency, date, amount.signum() < 0 ? amount : BigDecimal.ZERO, amount);
+    }
+
+    public DailySpendEntry reversed() {
+        return new DailySpendEntry(categoryId, currency, date, spent.negate(), net.negate());
+    }
+
+    public DailySpendEntry plus(DailySpendEntry other) {
+        return new DailySpendEntry(categoryId, currency, date, spent.add(other.spent), net.add(other.net));
+    }
+}
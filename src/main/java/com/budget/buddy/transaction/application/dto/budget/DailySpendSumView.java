@@ -0,0 +1,9 @@
+package com.budget.buddy.transaction.application.dto.budget;
+
+import java.math.BigDecimal;
+
+public interface DailySpendSumView {
+    BigDecimal getSpent();
+
+    BigDecimal getNet();
+}
@@ -0,0 +1,13 @@
+package com.budget.buddy.transaction.application.dto.budget;
+
+import java.util.List;
+
+/**
+ * Published by every ledger write that changes spending, with the same per-day deltas the daily spend rollup
+ * was just given. Listeners see it only once the write has committed.
+ */
+public record SpendRecordedEvent(
+        Long userId,
+        List<DailySpendEntry> entries
+) {
+}
@@ -0,0 +1,10 @@
+package com.budget.buddy.transaction.application.dto.threshold;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface DailyAmountView {
+    LocalDate getDate();
+
+    BigDecimal getAmount();
+}
@@ -0,0 +1,12 @@
+package com.budget.buddy.transaction.application.dto.threshold;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface ThresholdDayView {
+    Long getThresholdId();
+
+    LocalDate getDate();
+
+    BigDecimal getAmount();
+}
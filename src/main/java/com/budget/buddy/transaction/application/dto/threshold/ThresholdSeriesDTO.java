@@ -0,0 +1,30 @@
+package com.budget.buddy.transaction.application.dto.threshold;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Schema(description = "Daily totals of one threshold's category and currency compared against the threshold")
+public record ThresholdSeriesDTO(
+        @Schema(description = "Threshold ID", example = "10")
+        Long id,
+
+        @Schema(description = "Category ID", example = "5")
+        Long categoryId,
+
+        @Schema(description = "Category name", example = "Food & Dining")
+        String categoryName,
+
+        @Schema(description = "Threshold amount", example = "20.00")
+        BigDecimal threshold,
+
+        @Schema(description = "Currency code", example = "SGD")
+        String currency,
+
+        @Schema(description = "Number of days in the range that went over the threshold", example = "3")
+        int breachedDays,
+
+        @Schema(description = "Daily summaries, oldest first")
+        List<ThresholdTransactionResponseDTO.DailyThresholdSummary> days
+) {}
@@ -1,5 +1,6 @@
 package com.budget.buddy.transaction.application.dto.transaction;
 
+import com.budget.buddy.transaction.domain.enums.TransactionTotalMode;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -13,4 +14,11 @@ import org.springframework.data.domain.Sort;
 public class RetrieveTransactionsParams {
     private Integer page;
     private Integer size;
+    // Non-null switches to keyset paging; blank requests the first page
+    private String cursor;
+    private TransactionTotalMode totalMode;
+
+    public RetrieveTransactionsParams(Integer page, Integer size) {
+        this(page, size, null, null);
+    }
 }
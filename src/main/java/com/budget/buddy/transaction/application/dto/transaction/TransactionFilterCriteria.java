@@ -10,6 +10,7 @@ import lombok.Data;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 @Data
@@ -49,10 +50,60 @@ public class TransactionFilterCriteria {
     @Schema(description = "Filter by remarks (case-insensitive)", example = "{\n  \"operator\": \"does not contain\",\n  \"value\": \"reimbursed\"\n}")
     private StringFilter remarks;
 
+    @Valid
+    @Schema(description = "Optional filter tree with nested AND/OR groups. It is ANDed with the flat filters above, so one request can "
+            + "express alternatives that previously needed several calls.",
+            example = "{\n  \"or\": [\n    {\"field\": \"category\", \"operator\": \"is\", \"values\": [10]},\n    {\"and\": [\n      {\"field\": \"name\", \"operator\": \"contains\", \"value\": \"grab\"},\n      {\"field\": \"amount\", \"operator\": \"<\", \"value\": -20}\n    ]}\n  ]\n}")
+    private TransactionFilterNode where;
+
     @Schema(description = "Optional sort string to order results. Supports multiple directives separated by ';' or '|' (e.g., 'date,desc;amount,asc'). Each directive supports: 'field,dir', 'field:dir', 'field dir', or just 'field'. Allowed fields: date, amount, name. Direction: asc or desc (defaults to desc when omitted). Invalid fields are ignored. If none are valid or absent, defaults to 'date desc'.",
             example = "date,desc;amount,asc")
     private String sort;
 
+    /**
+     * The flat filters as conditions ANDed with {@link #where}, or null when nothing filters. Both the SQL
+     * and the in-memory query paths evaluate this tree, so they cannot disagree on what the flat fields mean.
+     */
+    public TransactionFilterNode toFilterTree() {
+        List<TransactionFilterNode> nodes = new ArrayList<>();
+        if (accounts != null && accounts.getIds() != null && !accounts.getIds().isEmpty()) {
+            nodes.add(new TransactionFilterNode.Condition("account", accounts.getOperator(), null, null,
+                    accounts.getIds().stream().map(String::valueOf).toList()));
+        }
+        if (categories != null && categories.getIds() != null && !categories.getIds().isEmpty()) {
+            nodes.add(new TransactionFilterNode.Condition("category", categories.getOperator(), null, null,
+                    categories.getIds().stream().map(String::valueOf).toList()));
+        }
+        if (name != null && name.getValue() != null) {
+            nodes.add(new TransactionFilterNode.Condition("name", name.getOperator(), name.getValue(), null, null));
+        }
+        if (date != null && date.getStartDate() != null) {
+            String to = date.getEndDate() == null ? null : date.getEndDate().toString();
+            nodes.add(new TransactionFilterNode.Condition("date", date.getOperator(), date.getStartDate().toString(), to, null));
+        }
+        if (amount != null && amount.getValue() != null) {
+            nodes.add(new TransactionFilterNode.Condition("amount", amount.getOperator(), amount.getValue().toPlainString(), null, null));
+        }
+        if (currencies != null && currencies.getCurrencies() != null && !currencies.getCurrencies().isEmpty()) {
+            nodes.add(new TransactionFilterNode.Condition("currency", currencies.getOperator(), null, null, currencies.getCurrencies()));
+        }
+        if (types != null && types.getTypes() != null && !types.getTypes().isEmpty()) {
+            nodes.add(new TransactionFilterNode.Condition("type", types.getOperator(), null, null,
+                    types.getTypes().stream().map(CategoryType::name).toList()));
+        }
+        if (remarks != null && remarks.getValue() != null) {
+            nodes.add(new TransactionFilterNode.Condition("remarks", remarks.getOperator(), remarks.getValue(), null, null));
+        }
+        if (where != null) {
+            nodes.add(where);
+        }
+
+        if (nodes.isEmpty()) {
+            return null;
+        }
+        return nodes.size() == 1 ? nodes.getFirst() : new TransactionFilterNode.Group(nodes, null);
+    }
+
     @Data
     @Schema(description = "Case-insensitive text filter with an operator and a value.")
     public static class StringFilter {
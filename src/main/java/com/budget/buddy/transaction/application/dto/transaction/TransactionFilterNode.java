@@ -0,0 +1,85 @@
+package com.budget.buddy.transaction.application.dto.transaction;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Node of a boolean filter tree: either a group joining its children with AND or OR, or a single
+ * condition on one field. The JSON shape decides which one it is.
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.DEDUCTION)
+@JsonSubTypes({
+        @JsonSubTypes.Type(TransactionFilterNode.Group.class),
+        @JsonSubTypes.Type(TransactionFilterNode.Condition.class)
+})
+@Schema(description = "Filter tree node: a group with 'and' or 'or' children, or a condition with field, operator and value(s)",
+        oneOf = {TransactionFilterNode.Group.class, TransactionFilterNode.Condition.class})
+public sealed interface TransactionFilterNode permits TransactionFilterNode.Group, TransactionFilterNode.Condition {
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(name = "TransactionFilterGroup", description = "Children joined with AND or OR. Set exactly one of 'and' / 'or'.",
+            example = "{\n  \"or\": [\n    {\"field\": \"category\", \"operator\": \"is\", \"values\": [10]},\n    {\"field\": \"amount\", \"operator\": \"<=\", \"value\": -100}\n  ]\n}")
+    final class Group implements TransactionFilterNode {
+        @Valid
+        @Size(max = 20, message = "A group can hold at most 20 children")
+        @Schema(description = "Children that must all match")
+        private List<TransactionFilterNode> and;
+
+        @Valid
+        @Size(max = 20, message = "A group can hold at most 20 children")
+        @Schema(description = "Children of which at least one must match")
+        private List<TransactionFilterNode> or;
+
+        @AssertTrue(message = "A group needs exactly one non-empty 'and' or 'or' list")
+        public boolean hasSingleLogic() {
+            boolean hasAnd = and != null && !and.isEmpty();
+            boolean hasOr = or != null && !or.isEmpty();
+            return hasAnd != hasOr;
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(name = "TransactionFilterCondition", description = "Condition on one field. Text, amount and date operators are the same as the flat filters; "
+            + "account, category, type and currency take 'is' / 'is not' with a 'values' list.",
+            example = "{\n  \"field\": \"date\",\n  \"operator\": \"is between\",\n  \"value\": \"2025-09-01\",\n  \"to\": \"2025-09-30\"\n}")
+    final class Condition implements TransactionFilterNode {
+        @NotBlank
+        @Pattern(regexp = "(?i)^(name|remarks|amount|date|account|category|type|currency)$",
+                message = "Field must be one of: name, remarks, amount, date, account, category, type, currency")
+        @Schema(description = "Field to filter on", allowableValues = {"name", "remarks", "amount", "date", "account", "category", "type", "currency"}, example = "name")
+        private String field;
+
+        @NotBlank
+        @Schema(description = "Operator valid for the field", example = "contains")
+        private String operator;
+
+        @Size(max = 200, message = "Value length must be at most 200 characters")
+        @Schema(description = "Single value: text, amount or ISO-8601 date (start date for 'is between')", example = "grocery")
+        private String value;
+
+        @Schema(description = "End date for 'is between' (inclusive)", example = "2025-09-30")
+        private String to;
+
+        @Size(max = 100, message = "At most 100 values are allowed")
+        @Schema(description = "Values for 'is' / 'is not' on account, category, type and currency", example = "[1,2]")
+        private List<String> values;
+    }
+}
@@ -0,0 +1,61 @@
+package com.budget.buddy.transaction.application.dto.transaction;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Result of a streaming transaction import")
+public record TransactionImportReport(
+        @Schema(description = "Import format", example = "NDJSON")
+        String format,
+
+        @Schema(description = "Maximum rows committed per chunk", example = "500")
+        int chunkSize,
+
+        @Schema(description = "Data rows read from the file", example = "1200")
+        long totalRows,
+
+        @Schema(description = "Rows saved", example = "1195")
+        long importedRows,
+
+        @Schema(description = "Rows rejected", example = "5")
+        long rejectedRows,
+
+        @Schema(description = "First rejected rows of the whole import in line order, capped; the chunk counts include the rest")
+        List<RowError> errors,
+
+        @Schema(description = "Per-chunk commit results")
+        List<ChunkReport> chunks
+) {
+    @Schema(description = "Result of a single committed chunk")
+    public record ChunkReport(
+            @Schema(description = "1-based chunk number", example = "1")
+            int chunk,
+
+            @Schema(description = "First file line in this chunk", example = "2")
+            long firstLine,
+
+            @Schema(description = "Last file line in this chunk", example = "501")
+            long lastLine,
+
+            @Schema(description = "Rows saved in this chunk", example = "498")
+            int imported,
+
+            @Schema(description = "Rows rejected in this chunk", example = "2")
+            int rejected
+    ) {}
+
+    @Schema(description = "Reason a row was rejected")
+    public record RowError(
+            @Schema(description = "File line number", example = "17")
+            long line,
+
+            @Schema(description = "Error code", example = "NOT_FOUND_005")
+            String errorCode,
+
+            @Schema(description = "Error message", example = "Account not found")
+            String message
+    ) {}
+}
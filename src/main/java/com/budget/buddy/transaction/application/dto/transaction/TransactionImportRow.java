@@ -0,0 +1,7 @@
+package com.budget.buddy.transaction.application.dto.transaction;
+
+/**
+ * One parsed line of an import file, keyed by its 1-based line number in the upload.
+ */
+public record TransactionImportRow(long line, TransactionDTO transaction) {
+}
@@ -1,5 +1,7 @@
 package com.budget.buddy.transaction.application.dto.transaction;
 
+import com.budget.buddy.transaction.domain.enums.TransactionTotalMode;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -23,6 +25,8 @@ public class TransactionPagination {
     @Data
     @AllArgsConstructor
     @NoArgsConstructor
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     @Schema(description = "Paging info")
     public static class Pagination {
         @Schema(description = "Current page number", example = "1")
@@ -31,10 +35,23 @@ public class TransactionPagination {
         @Schema(description = "Page size", example = "20")
         private int size;
 
-        @Schema(description = "Total items", example = "125")
-        private long totalElements;
+        @Schema(description = "Total items; approximate in ESTIMATED mode, omitted in NONE mode and cursor mode", example = "125")
+        private Long totalElements;
 
-        @Schema(description = "Total pages", example = "7")
-        private int totalPages;
+        @Schema(description = "Total pages; approximate in ESTIMATED mode, omitted in NONE mode and cursor mode", example = "7")
+        private Integer totalPages;
+
+        @Schema(description = "Token for the next page in cursor mode, absent on the last page")
+        private String nextCursor;
+
+        @Schema(description = "How the total was obtained", example = "EXACT")
+        private TransactionTotalMode totalMode;
+
+        @Schema(description = "Whether another page follows this one", example = "true")
+        private Boolean hasNext;
+
+        public Pagination(int page, int size, long totalElements, int totalPages) {
+            this(page, size, totalElements, totalPages, null, TransactionTotalMode.EXACT, page + 1 < totalPages);
+        }
     }
 }
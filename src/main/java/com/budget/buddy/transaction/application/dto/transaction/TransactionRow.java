@@ -0,0 +1,26 @@
+package com.budget.buddy.transaction.application.dto.transaction;
+
+import com.budget.buddy.transaction.domain.enums.CategoryType;
+import com.budget.buddy.transaction.domain.enums.Currency;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Flat, read-only view of a transaction with the account and category columns the listing needs,
+ * selected in one joined query instead of walking lazy associations.
+ */
+public record TransactionRow(
+        Long id,
+        String name,
+        BigDecimal amount,
+        String remarks,
+        LocalDate date,
+        CategoryType type,
+        Long accountId,
+        String accountName,
+        Currency currency,
+        String accountTypeName,
+        Long categoryId,
+        String categoryName) {
+}
@@ -0,0 +1,36 @@
+package com.budget.buddy.transaction.application.job;
+
+import com.budget.buddy.transaction.application.dto.account.AccountBalanceDriftView;
+import com.budget.buddy.transaction.domain.service.AccountBalanceData;
+import lombok.RequiredArgsConstructor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Compares the materialized account balances against a full recomputation from the ledger.
+ * Disabled unless {@code transaction.balance.consistency-check.cron} is set; nothing stops every
+ * node from running it, so set the cron on one instance only.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccountBalanceConsistencyJob {
+    private static final Logger logger = LogManager.getLogger(AccountBalanceConsistencyJob.class);
+
+    private final AccountBalanceData accountBalanceData;
+
+    @Value("${transaction.balance.consistency-check.repair:false}")
+    private boolean repair;
+
+    @Scheduled(cron = "${transaction.balance.consistency-check.cron:-}")
+    public void run() {
+        long start = System.currentTimeMillis();
+        List<AccountBalanceDriftView> drifts = accountBalanceData.verifyBalances(repair);
+        logger.info("Account balance consistency check finished in {} ms: {} inconsistent account(s), repaired='{}'",
+                System.currentTimeMillis() - start, drifts.size(), repair && !drifts.isEmpty());
+    }
+}
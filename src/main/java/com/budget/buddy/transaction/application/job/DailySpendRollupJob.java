@@ -0,0 +1,54 @@
+package com.budget.buddy.transaction.application.job;
+
+import com.budget.buddy.transaction.application.dto.budget.DailySpendDriftView;
+import com.budget.buddy.transaction.domain.service.DailySpendData;
+import lombok.RequiredArgsConstructor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Keeps the daily spend rollup complete and honest. The backfill seeds every (user, category,
+ * currency, day) that has transactions but no rollup row, one batch per transaction; the check
+ * compares every rollup day against the same aggregate computed from the transaction table.
+ * Each is disabled unless its cron is set, and there is no cross-node lock: set the crons on one
+ * instance only, or every node will run the same full scans.
+ */
+@Component
+@RequiredArgsConstructor
+public class DailySpendRollupJob {
+    private static final Logger logger = LogManager.getLogger(DailySpendRollupJob.class);
+
+    private final DailySpendData dailySpendData;
+
+    @Value("${transaction.daily-spend.backfill.batch-size:200}")
+    private int backfillBatchSize;
+
+    @Value("${transaction.daily-spend.consistency-check.repair:false}")
+    private boolean repair;
+
+    @Scheduled(cron = "${transaction.daily-spend.backfill.cron:-}")
+    public void backfill() {
+        long start = System.currentTimeMillis();
+        long seeded = 0;
+        int batch;
+        // Each batch commits on its own and a seeded day never comes back, so an interrupted run resumes where it stopped
+        do {
+            batch = dailySpendData.backfillMissingDays(backfillBatchSize);
+            seeded += batch;
+        } while (batch == backfillBatchSize);
+        logger.info("Daily spend backfill finished in {} ms: {} day(s) seeded", System.currentTimeMillis() - start, seeded);
+    }
+
+    @Scheduled(cron = "${transaction.daily-spend.consistency-check.cron:-}")
+    public void verify() {
+        long start = System.currentTimeMillis();
+        List<DailySpendDriftView> drifts = dailySpendData.verifyRollup(repair);
+        logger.info("Daily spend consistency check finished in {} ms: {} inconsistent day(s), repaired='{}'",
+                System.currentTimeMillis() - start, drifts.size(), repair && !drifts.isEmpty());
+    }
+}
@@ -0,0 +1,21 @@
+package com.budget.buddy.transaction.application.listener;
+
+import com.budget.buddy.transaction.application.dto.budget.SpendRecordedEvent;
+import com.budget.buddy.transaction.domain.service.SpendAlertData;
+import lombok.RequiredArgsConstructor;
+import org.springframework.modulith.events.ApplicationModuleListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs after the write commits, on its own thread and transaction, so alerting never slows down or fails a write.
+ */
+@Component
+@RequiredArgsConstructor
+public class SpendAlertListener {
+    private final SpendAlertData spendAlertData;
+
+    @ApplicationModuleListener
+    public void onSpendRecorded(SpendRecordedEvent event) {
+        spendAlertData.detectBreaches(event.userId(), event.entries());
+    }
+}
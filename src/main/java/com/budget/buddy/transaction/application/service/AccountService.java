@@ -1,9 +1,12 @@
 package com.budget.buddy.transaction.application.service;
 
+import com.budget.buddy.transaction.application.dto.account.AccountBalanceHistoryResponse;
+import com.budget.buddy.transaction.application.dto.account.AccountBalancePoint;
 import com.budget.buddy.transaction.application.dto.account.AccountDTO;
 import com.budget.buddy.transaction.application.dto.account.AccountRetrieveResponse;
 import com.budget.buddy.transaction.application.dto.account.AccountTypeRetrieveResponse;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface AccountService {
@@ -19,4 +22,8 @@ public interface AccountService {
     AccountTypeRetrieveResponse retrieveAccountTypes();
 
     void deleteAccountTypeGroup(Long groupId);
+
+    AccountBalancePoint retrieveBalanceAsOf(Long accountId, LocalDate date);
+
+    AccountBalanceHistoryResponse retrieveBalanceHistory(Long accountId, LocalDate from, LocalDate to);
 }
@@ -2,7 +2,9 @@ package com.budget.buddy.transaction.application.service;
 
 import com.budget.buddy.transaction.application.dto.threshold.ThresholdDTO;
 import com.budget.buddy.transaction.application.dto.threshold.ThresholdRequestDTO;
+import com.budget.buddy.transaction.application.dto.threshold.ThresholdSeriesDTO;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface ThresholdService {
@@ -16,4 +18,6 @@ public interface ThresholdService {
     ThresholdDTO update(Long id, ThresholdRequestDTO request);
 
     void delete(Long id);
+
+    List<ThresholdSeriesDTO> viewDailySeries(LocalDate startDate, LocalDate endDate, boolean breachesOnly);
 }
@@ -5,15 +5,29 @@ import com.budget.buddy.transaction.application.dto.threshold.ThresholdTransacti
 import com.budget.buddy.transaction.application.dto.transaction.RetrieveTransactionsParams;
 import com.budget.buddy.transaction.application.dto.transaction.TransactionDTO;
 import com.budget.buddy.transaction.application.dto.transaction.TransactionFilterCriteria;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionImportReport;
 import com.budget.buddy.transaction.application.dto.transaction.TransactionPagination;
+import com.budget.buddy.transaction.domain.enums.TransactionExportFormat;
+import com.budget.buddy.transaction.domain.enums.TransactionImportFormat;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.function.Supplier;
 
 public interface TransactionService {
     void createTransaction(TransactionDTO transactionRequest);
 
     void createTransactions(List<TransactionDTO> transactionRequests);
 
+    TransactionImportReport importTransactions(InputStream input, TransactionImportFormat format, Integer chunkSize);
+
+    /**
+     * Validates the JSON filter, then writes every matching transaction to the stream from the supplier.
+     * The supplier is only called once the export is known to start, so errors can still be sent as JSON.
+     */
+    void exportTransactions(String filter, TransactionExportFormat format, Supplier<OutputStream> output);
+
     TransactionPagination retrieveTransactions(RetrieveTransactionsParams params, TransactionFilterCriteria filterCriteria);
 
     void updateTransaction(Long transactionId, TransactionDTO transactionRequest);
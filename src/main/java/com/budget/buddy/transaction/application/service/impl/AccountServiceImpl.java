@@ -1,23 +1,33 @@
 package com.budget.buddy.transaction.application.service.impl;
 
+import com.budget.buddy.core.config.exception.BadRequestException;
 import com.budget.buddy.core.config.exception.ConflictException;
 import com.budget.buddy.core.config.exception.ErrorCode;
+import com.budget.buddy.transaction.application.dto.account.AccountBalanceHistoryResponse;
+import com.budget.buddy.transaction.application.dto.account.AccountBalancePoint;
 import com.budget.buddy.transaction.application.dto.account.AccountDTO;
 import com.budget.buddy.transaction.application.dto.account.AccountRetrieveResponse;
 import com.budget.buddy.transaction.application.dto.account.AccountTypeRetrieveResponse;
 import com.budget.buddy.transaction.application.service.AccountService;
+import com.budget.buddy.transaction.domain.service.AccountBalanceData;
 import com.budget.buddy.transaction.domain.service.AccountData;
 import com.budget.buddy.transaction.domain.service.TransactionData;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class AccountServiceImpl implements AccountService {
+    static final long MAX_BALANCE_HISTORY_DAYS = 366;
+
     private final AccountData accountData;
     private final TransactionData transactionData;
+    private final AccountBalanceData accountBalanceData;
 
     @Override
     public void creteAccount(AccountDTO accountDTO) {
@@ -38,13 +48,11 @@ public class AccountServiceImpl implements AccountService {
         return accountData.retrieveAccount(accountId);
     }
 
+    @Transactional
     @Override
     public void deleteAccount(Long accountId) {
-        if (accountData.isTransactionExistedByAccountId(accountId)) {
-            transactionData.deleteTransactionByAccountId(List.of(accountId));
-        }
-
         accountData.checkAccountExists(accountId);
+        transactionData.deleteTransactionByAccountId(List.of(accountId));
         accountData.deleteAccount(accountId);
     }
 
@@ -64,13 +72,28 @@ public class AccountServiceImpl implements AccountService {
         return accountData.getAccountTypeGroups();
     }
 
+    @Transactional
     @Override
     public void deleteAccountTypeGroup(Long groupId) {
-        if (accountData.isTransactionExistedByGroupAccountId(groupId)) {
-            List<Long> accountIds = accountData.getAccountIdsByGroupId(groupId);
-            transactionData.deleteTransactionByAccountId(accountIds);
+        transactionData.deleteTransactionByAccountTypeGroupId(groupId);
+        accountData.deleteAccountTypeGroups(groupId);
+    }
+
+    @Override
+    public AccountBalancePoint retrieveBalanceAsOf(Long accountId, LocalDate date) {
+        accountData.checkAccountExists(accountId);
+
+        LocalDate asOf = date != null ? date : LocalDate.now();
+        return new AccountBalancePoint(asOf, accountBalanceData.getBalanceAsOf(accountId, asOf));
+    }
+
+    @Override
+    public AccountBalanceHistoryResponse retrieveBalanceHistory(Long accountId, LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to) || ChronoUnit.DAYS.between(from, to) >= MAX_BALANCE_HISTORY_DAYS) {
+            throw new BadRequestException(ErrorCode.INVALID_DATE_RANGE);
         }
 
-        accountData.deleteAccountTypeGroups(groupId);
+        accountData.checkAccountExists(accountId);
+        return new AccountBalanceHistoryResponse(accountId, accountBalanceData.getBalanceHistory(accountId, from, to));
     }
 }
@@ -1,6 +1,8 @@
 package com.budget.buddy.transaction.application.service.impl;
 
+import com.budget.buddy.transaction.application.dto.budget.BudgetCycleSettingDTO;
 import com.budget.buddy.transaction.application.dto.budget.BudgetDTO;
+import com.budget.buddy.transaction.application.dto.budget.BudgetTrendDTO;
 import com.budget.buddy.transaction.application.service.BudgetService;
 import com.budget.buddy.transaction.domain.service.BudgetData;
 import lombok.RequiredArgsConstructor;
@@ -38,4 +40,19 @@ public class BudgetServiceImpl implements BudgetService {
     public BudgetDTO getBudgetById(Long budgetId) {
         return budgetData.getBudgetById(budgetId);
     }
+
+    @Override
+    public List<BudgetTrendDTO> getBudgetTrend(String currency, int cycles) {
+        return budgetData.getBudgetTrend(currency, cycles);
+    }
+
+    @Override
+    public BudgetCycleSettingDTO getCycleSetting() {
+        return budgetData.getCycleSetting();
+    }
+
+    @Override
+    public BudgetCycleSettingDTO updateCycleSetting(BudgetCycleSettingDTO settingDTO) {
+        return budgetData.updateCycleSetting(settingDTO);
+    }
 }
@@ -4,6 +4,7 @@ import com.budget.buddy.transaction.application.dto.category.CategoryDTO;
 import com.budget.buddy.transaction.application.service.CategoryService;
 import com.budget.buddy.transaction.domain.service.BudgetData;
 import com.budget.buddy.transaction.domain.service.CategoryData;
+import com.budget.buddy.transaction.domain.service.ThresholdDataService;
 import com.budget.buddy.transaction.domain.service.TransactionData;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -17,6 +18,7 @@ public class CategoryServiceImpl implements CategoryService {
     private final CategoryData categoryData;
     private final TransactionData transactionData;
     private final BudgetData budgetData;
+    private final ThresholdDataService thresholdDataService;
 
     @Override
     public CategoryDTO createCategory(CategoryDTO categoryRequest) {
@@ -39,6 +41,7 @@ public class CategoryServiceImpl implements CategoryService {
     public void deleteCategory(Long categoryId) {
         transactionData.deleteTransactionByCategoryId(categoryId);
         budgetData.deleteBudgetByCategoryId(categoryId);
+        thresholdDataService.deleteByCategoryId(categoryId);
         categoryData.deleteCategory(categoryId);
     }
 
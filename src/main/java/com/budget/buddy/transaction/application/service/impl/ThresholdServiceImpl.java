@@ -1,18 +1,25 @@
 package com.budget.buddy.transaction.application.service.impl;
 
+import com.budget.buddy.core.config.exception.BadRequestException;
+import com.budget.buddy.core.config.exception.ErrorCode;
 import com.budget.buddy.transaction.application.dto.threshold.ThresholdDTO;
 import com.budget.buddy.transaction.application.dto.threshold.ThresholdRequestDTO;
+import com.budget.buddy.transaction.application.dto.threshold.ThresholdSeriesDTO;
 import com.budget.buddy.transaction.application.service.ThresholdService;
 import com.budget.buddy.transaction.domain.service.ThresholdDataService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class ThresholdServiceImpl implements ThresholdService {
 
+    static final long MAX_SERIES_DAYS = 366;
+
     private final ThresholdDataService thresholdDataService;
 
     @Override
@@ -39,4 +46,22 @@ public class ThresholdServiceImpl implements ThresholdService {
     public void delete(Long id) {
         thresholdDataService.delete(id);
     }
+
+    @Override
+    public List<ThresholdSeriesDTO> viewDailySeries(LocalDate startDate, LocalDate endDate, boolean breachesOnly) {
+        if (startDate == null || endDate == null || startDate.isAfter(endDate)
+                || ChronoUnit.DAYS.between(startDate, endDate) >= MAX_SERIES_DAYS) {
+            throw new BadRequestException(ErrorCode.INVALID_DATE_RANGE);
+        }
+
+        List<ThresholdSeriesDTO> series = thresholdDataService.getDailySeries(startDate, endDate);
+        if (!breachesOnly) {
+            return series;
+        }
+        return series.stream()
+                .map(threshold -> new ThresholdSeriesDTO(threshold.id(), threshold.categoryId(), threshold.categoryName(),
+                        threshold.threshold(), threshold.currency(), threshold.breachedDays(),
+                        threshold.days().stream().filter(day -> day.exceededAmount().signum() < 0).toList()))
+                .toList();
+    }
 }
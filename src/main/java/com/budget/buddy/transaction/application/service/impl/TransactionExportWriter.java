@@ -0,0 +1,127 @@
+package com.budget.buddy.transaction.application.service.impl;
+
+import com.budget.buddy.transaction.application.dto.transaction.TransactionRow;
+import com.budget.buddy.transaction.domain.enums.TransactionExportFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes exported rows one at a time so nothing but the current row and the output buffer is held in memory.
+ * CSV uses the column names the importer reads, so an export can be uploaded again as is.
+ * Closing flushes but leaves the underlying stream open for its owner.
+ */
+class TransactionExportWriter implements Closeable {
+
+    static final List<String> CSV_COLUMNS = List.of("id", "date", "name", "amount", "currency", "categoryType",
+            "accountId", "accountName", "accountType", "categoryId", "categoryName", "remarks");
+
+    private final TransactionExportFormat format;
+    private final Writer writer;
+    private final JsonGenerator generator;
+    private long rows;
+
+    TransactionExportWriter(OutputStream output, TransactionExportFormat format, ObjectMapper objectMapper) throws IOException {
+        this.format = format;
+        this.writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        if (format == TransactionExportFormat.NDJSON) {
+            this.generator = objectMapper.getFactory().createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        } else {
+            this.generator = null;
+            writeCsvLine(CSV_COLUMNS);
+            // Let the client see the response start before the first database round trip completes
+            writer.flush();
+        }
+    }
+
+    void write(TransactionRow row) throws IOException {
+        if (format == TransactionExportFormat.NDJSON) {
+            writeJson(row);
+        } else {
+            writeCsvLine(List.of(
+                    text(row.id()),
+                    text(row.date()),
+                    text(row.name()),
+                    row.amount() == null ? "" : row.amount().toPlainString(),
+                    text(row.currency()),
+                    text(row.type()),
+                    text(row.accountId()),
+                    text(row.accountName()),
+                    text(row.accountTypeName()),
+                    text(row.categoryId()),
+                    text(row.categoryName()),
+                    text(row.remarks())));
+        }
+
+        if (++rows == 1) {
+            flush();
+        }
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+    private void flush() throws IOException {
+        if (generator != null) {
+            generator.flush();
+        }
+        writer.flush();
+    }
+
+    // Field names follow TransactionDTO, so each line reads back as a transaction
+    private void writeJson(TransactionRow row) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", row.id());
+        generator.writeStringField("date", text(row.date()));
+        generator.writeStringField("name", row.name());
+        generator.writeNumberField("amount", row.amount());
+        generator.writeStringField("currency", text(row.currency()));
+        generator.writeStringField("categoryType", text(row.type()));
+        generator.writeNumberField("accountId", row.accountId());
+        generator.writeStringField("sourceAccountName", row.accountName());
+        generator.writeStringField("sourceAccountType", row.accountTypeName());
+        generator.writeNumberField("categoryId", row.categoryId());
+        generator.writeStringField("categoryName", row.categoryName());
+        if (row.remarks() != null) {
+            generator.writeStringField("remarks", row.remarks());
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private void writeCsvLine(List<String> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values.get(i)));
+        }
+        writer.write("\r\n");
+    }
+
+    static String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String text(Object value) {
+        return value == null ? "" : value.toString();
+    }
+}
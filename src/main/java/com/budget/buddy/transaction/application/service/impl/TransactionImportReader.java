@@ -0,0 +1,203 @@
+package com.budget.buddy.transaction.application.service.impl;
+
+import com.budget.buddy.core.config.exception.BadRequestException;
+import com.budget.buddy.core.config.exception.ErrorCode;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionDTO;
+import com.budget.buddy.transaction.domain.enums.CategoryType;
+import com.budget.buddy.transaction.domain.enums.TransactionImportFormat;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Reads an import upload one record at a time so only the current record is held in memory.
+ * CSV files need a header row. Quoted fields may span lines, as the export writes remarks with line
+ * breaks; those come back as {@code \n}. A record is reported under the line it starts on.
+ */
+class TransactionImportReader implements Closeable {
+
+    static final List<String> REQUIRED_CSV_COLUMNS = List.of("name", "amount", "accountid", "categoryid", "date", "categorytype");
+
+    // An unbalanced quote would otherwise pull the rest of the file into one record
+    static final int MAX_CSV_RECORD_CHARS = 64 * 1024;
+
+    private final BufferedReader reader;
+    private final TransactionImportFormat format;
+    private final ObjectMapper objectMapper;
+    private Map<String, Integer> csvColumns;
+    private long lineNumber;
+
+    TransactionImportReader(InputStream input, TransactionImportFormat format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns the next non-blank data record, or {@code null} at end of input.
+     */
+    ParsedLine next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            long startLine = lineNumber;
+            if (StringUtils.isBlank(line)) {
+                continue;
+            }
+
+            if (format == TransactionImportFormat.CSV && countQuotes(line) % 2 != 0) {
+                try {
+                    line = readQuotedContinuation(line);
+                } catch (IllegalArgumentException e) {
+                    return new ParsedLine(startLine, null, e.getMessage());
+                }
+            }
+
+            if (format == TransactionImportFormat.CSV && csvColumns == null) {
+                csvColumns = readCsvHeader(line);
+                continue;
+            }
+
+            try {
+                TransactionDTO transaction = format == TransactionImportFormat.CSV ? parseCsv(line) : parseJson(line);
+                return new ParsedLine(startLine, transaction, null);
+            } catch (IllegalArgumentException e) {
+                return new ParsedLine(startLine, null, e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    // Escaped quotes come in pairs, so an odd count means a quoted field is still open
+    private static int countQuotes(String text) {
+        int quotes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '"') {
+                quotes++;
+            }
+        }
+        return quotes;
+    }
+
+    private String readQuotedContinuation(String firstLine) throws IOException {
+        StringBuilder record = new StringBuilder(firstLine);
+        int quotes = countQuotes(firstLine);
+        String line;
+        while (quotes % 2 != 0) {
+            if ((line = reader.readLine()) == null) {
+                throw new IllegalArgumentException("Unterminated quoted field");
+            }
+            lineNumber++;
+            if (record.length() + line.length() > MAX_CSV_RECORD_CHARS) {
+                throw new IllegalArgumentException("Quoted field longer than " + MAX_CSV_RECORD_CHARS + " characters");
+            }
+            record.append('\n').append(line);
+            quotes += countQuotes(line);
+        }
+        return record.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private TransactionDTO parseJson(String line) {
+        try {
+            return objectMapper.readValue(line, TransactionDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private Map<String, Integer> readCsvHeader(String line) {
+        List<String> header = splitCsvLine(line);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+
+        if (!columns.keySet().containsAll(REQUIRED_CSV_COLUMNS)) {
+            throw new BadRequestException(ErrorCode.INVALID_IMPORT_FILE);
+        }
+        return columns;
+    }
+
+    private TransactionDTO parseCsv(String line) {
+        List<String> values = splitCsvLine(line);
+        try {
+            return TransactionDTO.builder()
+                    .name(csvValue(values, "name"))
+                    .amount(parse(csvValue(values, "amount"), BigDecimal::new))
+                    .accountId(parse(csvValue(values, "accountid"), Long::valueOf))
+                    .categoryId(parse(csvValue(values, "categoryid"), Long::valueOf))
+                    .date(parse(csvValue(values, "date"), LocalDate::parse))
+                    .categoryType(parse(csvValue(values, "categorytype"), v -> CategoryType.valueOf(v.toUpperCase(Locale.ROOT))))
+                    .remarks(csvValue(values, "remarks"))
+                    .targetAccountId(parse(csvValue(values, "targetaccountid"), Long::valueOf))
+                    .targetCategoryId(parse(csvValue(values, "targetcategoryid"), Long::valueOf))
+                    .build();
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed CSV value: " + e.getMessage());
+        }
+    }
+
+    private String csvValue(List<String> values, String column) {
+        Integer index = csvColumns.get(column);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        return StringUtils.trimToNull(values.get(index));
+    }
+
+    private static <T> T parse(String value, Function<String, T> parser) {
+        return value == null ? null : parser.apply(value);
+    }
+
+    static List<String> splitCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    record ParsedLine(long line, TransactionDTO transaction, String error) {
+    }
+}
@@ -13,22 +13,43 @@ import com.budget.buddy.transaction.application.dto.threshold.ThresholdTransacti
 import com.budget.buddy.transaction.application.dto.transaction.RetrieveTransactionsParams;
 import com.budget.buddy.transaction.application.dto.transaction.TransactionDTO;
 import com.budget.buddy.transaction.application.dto.transaction.TransactionFilterCriteria;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionImportReport;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionImportRow;
 import com.budget.buddy.transaction.application.dto.transaction.TransactionPagination;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionRow;
 import com.budget.buddy.transaction.application.service.TransactionService;
 import com.budget.buddy.transaction.domain.enums.CategoryType;
+import com.budget.buddy.transaction.domain.enums.TransactionExportFormat;
+import com.budget.buddy.transaction.domain.enums.TransactionImportFormat;
 import com.budget.buddy.transaction.domain.service.AccountData;
 import com.budget.buddy.transaction.domain.service.CategoryData;
 import com.budget.buddy.transaction.domain.service.ThresholdDataService;
 import com.budget.buddy.transaction.domain.service.TransactionData;
+import com.budget.buddy.transaction.domain.service.TransactionInquiryCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -39,6 +60,18 @@ public class TransactionServiceImpl implements TransactionService {
     private final ThresholdDataService thresholdDataService;
     private static final Logger logger = LogManager.getLogger(TransactionServiceImpl.class);
     private final CategoryData categoryData;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionInquiryCache transactionInquiryCache;
+
+    // Row errors listed in the report; beyond this only the per-chunk counts grow, so the report stays small
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    @Value("${transaction.import.chunk-size:500}")
+    private int defaultImportChunkSize;
+
+    @Value("${transaction.import.max-chunk-size:5000}")
+    private int maxImportChunkSize;
 
     @Override
     public void createTransaction(TransactionDTO transactionRequest) {
@@ -54,6 +87,142 @@ public class TransactionServiceImpl implements TransactionService {
         transactionData.createTransactions(transactionRequests);
     }
 
+    @Override
+    public TransactionImportReport importTransactions(InputStream input, TransactionImportFormat format, Integer chunkSize) {
+        int size = Math.min(chunkSize == null ? defaultImportChunkSize : chunkSize, maxImportChunkSize);
+        logger.info("Starting transaction import: format='{}', chunkSize='{}'", format, size);
+
+        List<TransactionImportReport.ChunkReport> chunks = new ArrayList<>();
+        List<TransactionImportReport.RowError> reportedErrors = new ArrayList<>();
+        List<TransactionImportRow> rows = new ArrayList<>(size);
+        List<TransactionImportReport.RowError> rowErrors = new ArrayList<>();
+        long firstLine = 0;
+        long lastLine = 0;
+
+        try (TransactionImportReader reader = new TransactionImportReader(input, format, objectMapper)) {
+            TransactionImportReader.ParsedLine parsed;
+            while ((parsed = reader.next()) != null) {
+                if (firstLine == 0) {
+                    firstLine = parsed.line();
+                }
+                lastLine = parsed.line();
+
+                String error = parsed.error() != null ? parsed.error() : validateImportRow(parsed.transaction());
+                if (error == null) {
+                    rows.add(new TransactionImportRow(parsed.line(), parsed.transaction()));
+                } else {
+                    rowErrors.add(new TransactionImportReport.RowError(parsed.line(), ErrorCode.INVALID_REQUEST_DATA.getCode(), error));
+                }
+
+                if (rows.size() + rowErrors.size() >= size) {
+                    chunks.add(commitImportChunk(chunks.size() + 1, firstLine, lastLine, rows, rowErrors, reportedErrors));
+                    rows = new ArrayList<>(size);
+                    rowErrors = new ArrayList<>();
+                    firstLine = 0;
+                }
+            }
+
+            if (!rows.isEmpty() || !rowErrors.isEmpty()) {
+                chunks.add(commitImportChunk(chunks.size() + 1, firstLine, lastLine, rows, rowErrors, reportedErrors));
+            }
+        } catch (IOException e) {
+            logger.error("Transaction import aborted after {} chunks: failed to read input", chunks.size(), e);
+            throw new BadRequestException(ErrorCode.INVALID_IMPORT_FILE);
+        }
+
+        long imported = chunks.stream().mapToLong(TransactionImportReport.ChunkReport::imported).sum();
+        long rejected = chunks.stream().mapToLong(TransactionImportReport.ChunkReport::rejected).sum();
+        logger.info("Finished transaction import: chunks='{}', imported='{}', rejected='{}'", chunks.size(), imported, rejected);
+
+        return new TransactionImportReport(format.name(), size, imported + rejected, imported, rejected, reportedErrors, chunks);
+    }
+
+    @Override
+    public void exportTransactions(String filter, TransactionExportFormat format, Supplier<OutputStream> output) {
+        TransactionFilterCriteria filterCriteria = parseFilter(filter);
+        logger.info("Starting transaction export: format='{}'", format);
+
+        transactionData.exportTransactions(filterCriteria, rows -> {
+            try (TransactionExportWriter writer = new TransactionExportWriter(output.get(), format, objectMapper)) {
+                Iterator<TransactionRow> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    writer.write(iterator.next());
+                }
+                logger.info("Finished transaction export: format='{}', rows='{}'", format, writer.rows());
+            } catch (IOException e) {
+                // Usually the client went away; the response is already committed, so there is nothing to report to it
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private TransactionFilterCriteria parseFilter(String filter) {
+        if (StringUtils.isBlank(filter)) {
+            return null;
+        }
+
+        TransactionFilterCriteria filterCriteria;
+        try {
+            filterCriteria = objectMapper.readValue(filter, TransactionFilterCriteria.class);
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException(ErrorCode.INVALID_FILTER);
+        }
+        if (!validator.validate(filterCriteria).isEmpty()) {
+            throw new BadRequestException(ErrorCode.INVALID_FILTER);
+        }
+        return filterCriteria;
+    }
+
+    private String validateImportRow(TransactionDTO transaction) {
+        Optional<String> violation = validator.validate(transaction).stream()
+                .map(ConstraintViolation::getMessage)
+                .findFirst();
+        if (violation.isPresent()) {
+            return violation.get();
+        }
+        if (transaction.getCategoryType() == null) {
+            return "Category type is required";
+        }
+        if (transaction.getDate().isAfter(LocalDate.now())) {
+            return "Transaction date must not be in the future";
+        }
+        if (CategoryType.TRANSFER.equals(transaction.getCategoryType()) && transaction.getTargetAccountId() == null) {
+            return "Target account ID is required for transfers";
+        }
+        return null;
+    }
+
+    private TransactionImportReport.ChunkReport commitImportChunk(int chunk, long firstLine, long lastLine,
+                                                                  List<TransactionImportRow> rows,
+                                                                  List<TransactionImportReport.RowError> rowErrors,
+                                                                  List<TransactionImportReport.RowError> reportedErrors) {
+        List<TransactionImportReport.RowError> errors = new ArrayList<>(rowErrors);
+        int imported = 0;
+
+        if (!rows.isEmpty()) {
+            // Each call is its own DB transaction, so earlier chunks stay committed if a later one fails
+            try {
+                List<TransactionImportReport.RowError> rejected = transactionData.importTransactions(rows);
+                errors.addAll(rejected);
+                imported = rows.size() - rejected.size();
+            } catch (RuntimeException e) {
+                logger.error("Transaction import chunk {} (lines {}-{}) rolled back", chunk, firstLine, lastLine, e);
+                rows.forEach(row -> errors.add(new TransactionImportReport.RowError(
+                        row.line(), ErrorCode.SERVER_ERROR.getCode(), ErrorCode.SERVER_ERROR.getMessage())));
+            }
+        }
+
+        errors.sort(Comparator.comparingLong(TransactionImportReport.RowError::line));
+        logger.info("Committed transaction import chunk {}: lines {}-{}, imported='{}', rejected='{}'",
+                chunk, firstLine, lastLine, imported, errors.size());
+
+        int room = MAX_REPORTED_ERRORS - reportedErrors.size();
+        if (room > 0) {
+            reportedErrors.addAll(errors.subList(0, Math.min(room, errors.size())));
+        }
+        return new TransactionImportReport.ChunkReport(chunk, firstLine, lastLine, imported, errors.size());
+    }
+
     private void validateTransferInfo(TransactionDTO transactionRequest) {
         CategoryType categoryType = transactionRequest.getCategoryType();
 
@@ -102,7 +271,8 @@ public class TransactionServiceImpl implements TransactionService {
     @Override
     public TransactionPagination retrieveTransactions(RetrieveTransactionsParams params, TransactionFilterCriteria filterCriteria) {
         logger.info("Retrieving transactions with params: {}", params);
-        return transactionData.retrieveTransactions(params, filterCriteria);
+        return transactionInquiryCache.getOrLoad(params, filterCriteria,
+                () -> transactionData.retrieveTransactions(params, filterCriteria));
     }
 
     @Override
@@ -0,0 +1,5 @@
+package com.budget.buddy.transaction.domain.enums;
+
+public enum BudgetCyclePeriod {
+    WEEKLY, MONTHLY
+}
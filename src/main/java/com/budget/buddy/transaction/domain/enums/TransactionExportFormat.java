@@ -0,0 +1,33 @@
+package com.budget.buddy.transaction.domain.enums;
+
+import com.budget.buddy.core.config.exception.BadRequestException;
+import com.budget.buddy.core.config.exception.ErrorCode;
+import lombok.Getter;
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+@Getter
+public enum TransactionExportFormat {
+    CSV(TransactionImportFormat.CSV_MEDIA_TYPE, "csv"),
+    NDJSON(MediaType.APPLICATION_NDJSON_VALUE, "ndjson");
+
+    private final String mediaType;
+    private final String extension;
+
+    TransactionExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public static TransactionExportFormat from(String value) {
+        if (value == null || value.isBlank()) {
+            return CSV;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(ErrorCode.UNSUPPORTED_EXPORT_FORMAT);
+        }
+    }
+}
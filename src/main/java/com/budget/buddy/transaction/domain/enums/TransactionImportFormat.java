@@ -0,0 +1,24 @@
+package com.budget.buddy.transaction.domain.enums;
+
+import com.budget.buddy.core.config.exception.BadRequestException;
+import com.budget.buddy.core.config.exception.ErrorCode;
+import org.springframework.http.MediaType;
+
+public enum TransactionImportFormat {
+    NDJSON, CSV;
+
+    public static final String CSV_MEDIA_TYPE = "text/csv";
+
+    public static TransactionImportFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            if (MediaType.APPLICATION_NDJSON.isCompatibleWith(mediaType)) {
+                return NDJSON;
+            }
+            if (MediaType.parseMediaType(CSV_MEDIA_TYPE).isCompatibleWith(mediaType)) {
+                return CSV;
+            }
+        }
+        throw new BadRequestException(ErrorCode.UNSUPPORTED_IMPORT_FORMAT);
+    }
+}
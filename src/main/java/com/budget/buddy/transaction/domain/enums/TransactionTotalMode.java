@@ -0,0 +1,25 @@
+package com.budget.buddy.transaction.domain.enums;
+
+import com.budget.buddy.core.config.exception.BadRequestException;
+import com.budget.buddy.core.config.exception.ErrorCode;
+
+import java.util.Locale;
+
+/**
+ * How {@code /inquiry} reports the total: an exact COUNT(*), no total at all (has-next only),
+ * or the PostgreSQL planner's row estimate.
+ */
+public enum TransactionTotalMode {
+    EXACT, NONE, ESTIMATED;
+
+    public static TransactionTotalMode from(String value) {
+        if (value == null || value.isBlank()) {
+            return EXACT;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(ErrorCode.INVALID_REQUEST_DATA);
+        }
+    }
+}
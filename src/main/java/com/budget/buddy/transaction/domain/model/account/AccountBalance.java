@@ -0,0 +1,32 @@
+package com.budget.buddy.transaction.domain.model.account;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Running balance of an account, kept in step with the ledger by {@code TransactionDataImpl}
+ * so reads never have to sum the transaction history.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(name = "account_balance")
+public class AccountBalance {
+    @Id
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private Long userId;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal balance;
+
+    @Column(name = "last_modified_date", nullable = false)
+    private LocalDateTime lastModifiedDate;
+}
@@ -0,0 +1,46 @@
+package com.budget.buddy.transaction.domain.model.account;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Closing balance of an account at the end of {@code balanceDate}, i.e. the sum of every
+ * transaction dated on or before that day. Backdated writes shift the checkpoints after them.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(name = "account_balance_checkpoint")
+@IdClass(AccountBalanceCheckpoint.Key.class)
+public class AccountBalanceCheckpoint {
+    @Id
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Id
+    @Column(name = "balance_date")
+    private LocalDate balanceDate;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal balance;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private Long accountId;
+        private LocalDate balanceDate;
+    }
+}
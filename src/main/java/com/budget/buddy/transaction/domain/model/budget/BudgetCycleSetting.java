@@ -0,0 +1,68 @@
+package com.budget.buddy.transaction.domain.model.budget;
+
+import com.budget.buddy.transaction.domain.enums.BudgetCyclePeriod;
+import com.budget.buddy.transaction.domain.vo.BudgetCycleVO;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * How a user's budget cycles are cut. Monthly cycles start on {@code startDay} (1-28) of every month,
+ * weekly cycles on ISO day of week {@code startDay} (1 = Monday). "Today" is taken in {@code timezone}.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(name = "budget_cycle_setting")
+public class BudgetCycleSetting {
+    public static final int DEFAULT_START_DAY = 5;
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false, length = 10)
+    @Enumerated(EnumType.STRING)
+    private BudgetCyclePeriod period;
+
+    @Column(name = "start_day", nullable = false)
+    private int startDay;
+
+    @Column(nullable = false, length = 64)
+    private String timezone;
+
+    // What users who never changed the setting get: monthly from the 5th, in the server's zone
+    public static BudgetCycleSetting defaults(Long userId) {
+        return new BudgetCycleSetting(userId, BudgetCyclePeriod.MONTHLY, DEFAULT_START_DAY, ZoneId.systemDefault().getId());
+    }
+
+    public LocalDate today() {
+        return LocalDate.now(ZoneId.of(timezone));
+    }
+
+    public BudgetCycleVO currentCycle() {
+        return cycleContaining(today());
+    }
+
+    public BudgetCycleVO cycleContaining(LocalDate date) {
+        if (period == BudgetCyclePeriod.WEEKLY) {
+            LocalDate start = date.with(TemporalAdjusters.previousOrSame(DayOfWeek.of(startDay)));
+            return new BudgetCycleVO(start, start.plusDays(6));
+        }
+
+        LocalDate start = date.getDayOfMonth() >= startDay
+                ? date.withDayOfMonth(startDay)
+                : date.minusMonths(1).withDayOfMonth(startDay);
+        return new BudgetCycleVO(start, start.plusMonths(1).minusDays(1));
+    }
+
+    public BudgetCycleVO previousCycle(BudgetCycleVO cycle) {
+        return cycleContaining(cycle.startDate().minusDays(1));
+    }
+}
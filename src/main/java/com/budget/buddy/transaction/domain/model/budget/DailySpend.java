@@ -0,0 +1,62 @@
+package com.budget.buddy.transaction.domain.model.budget;
+
+import com.budget.buddy.transaction.domain.enums.Currency;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Per-day totals of a user's transactions in one category and currency, kept in step with the
+ * ledger by {@code TransactionDataImpl} so budget summaries add up days instead of transactions.
+ * {@code spent} only sums the outgoing (negative) amounts, {@code net} sums all of them.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(name = "daily_spend")
+@IdClass(DailySpend.Key.class)
+public class DailySpend {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Id
+    @Column(length = 3)
+    @Enumerated(EnumType.STRING)
+    private Currency currency;
+
+    @Id
+    @Column(name = "spend_date")
+    private LocalDate spendDate;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal spent;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal net;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private Long userId;
+        private Long categoryId;
+        private Currency currency;
+        private LocalDate spendDate;
+    }
+}
@@ -0,0 +1,31 @@
+package com.budget.buddy.transaction.domain.service;
+
+import com.budget.buddy.transaction.application.dto.account.AccountBalanceDriftView;
+import com.budget.buddy.transaction.application.dto.account.AccountBalancePoint;
+import com.budget.buddy.transaction.application.dto.account.AccountLedgerEntry;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface AccountBalanceData {
+    /**
+     * Applies ledger writes to the running balances and daily checkpoints of the affected accounts.
+     * Must run inside the transaction that wrote the ledger rows.
+     */
+    void recordLedgerEntries(Long userId, List<AccountLedgerEntry> entries);
+
+    void resetAccounts(List<Long> accountIds, Long userId);
+
+    void resetAccountTypeGroup(Long groupId, Long userId);
+
+    BigDecimal getBalanceAsOf(Long accountId, LocalDate date);
+
+    List<AccountBalancePoint> getBalanceHistory(Long accountId, LocalDate from, LocalDate to);
+
+    /**
+     * Recomputes every account balance from the ledger and returns the accounts whose stored
+     * balance differs or is missing. When {@code repair} is set the stored rows are corrected.
+     */
+    List<AccountBalanceDriftView> verifyBalances(boolean repair);
+}
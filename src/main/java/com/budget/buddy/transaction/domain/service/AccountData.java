@@ -28,10 +28,4 @@ public interface AccountData {
     void deleteAccountTypeGroups(Long groupId);
 
     void checkAccountExists(Long accountId);
-
-    boolean isTransactionExistedByAccountId(Long accountId);
-
-    boolean isTransactionExistedByGroupAccountId(Long groupId);
-
-    List<Long> getAccountIdsByGroupId(Long groupId);
 }
@@ -1,6 +1,8 @@
 package com.budget.buddy.transaction.domain.service;
 
+import com.budget.buddy.transaction.application.dto.budget.BudgetCycleSettingDTO;
 import com.budget.buddy.transaction.application.dto.budget.BudgetDTO;
+import com.budget.buddy.transaction.application.dto.budget.BudgetTrendDTO;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -17,4 +19,10 @@ public interface BudgetData {
     List<BudgetDTO> getAllBudgetsForCurrentUser(String currency, LocalDate startDate, LocalDate endDate);
 
     BudgetDTO getBudgetById(Long budgetId);
+
+    List<BudgetTrendDTO> getBudgetTrend(String currency, int cycles);
+
+    BudgetCycleSettingDTO getCycleSetting();
+
+    BudgetCycleSettingDTO updateCycleSetting(BudgetCycleSettingDTO settingDTO);
 }
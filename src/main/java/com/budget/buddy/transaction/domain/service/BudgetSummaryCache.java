@@ -0,0 +1,47 @@
+package com.budget.buddy.transaction.domain.service;
+
+import com.budget.buddy.transaction.application.dto.budget.BudgetDTO;
+import com.budget.buddy.transaction.application.dto.threshold.ThresholdSeriesDTO;
+import com.budget.buddy.transaction.domain.vo.BudgetCycleVO;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public interface BudgetSummaryCache {
+    /**
+     * Returns the cached budget summaries of the user for the window and currency ({@code null} for all),
+     * or runs {@code loader} and caches its result.
+     */
+    List<BudgetDTO> getOrLoad(Long userId, LocalDate startDate, LocalDate endDate, String currency,
+                              Supplier<List<BudgetDTO>> loader);
+
+    /**
+     * The same entries for several windows read at once. {@code loader} is called at most once, with the windows
+     * that were not cached, and must return summaries for each of them.
+     */
+    Map<BudgetCycleVO, List<BudgetDTO>> getOrLoadAll(Long userId, List<BudgetCycleVO> windows, String currency,
+                                                     Function<List<BudgetCycleVO>, Map<BudgetCycleVO, List<BudgetDTO>>> loader);
+
+    /**
+     * Returns the cached daily threshold series of the user for the window, or runs {@code loader} and caches
+     * its result. Evicted together with the budget summaries of the same window.
+     */
+    List<ThresholdSeriesDTO> getOrLoadThresholdSeries(Long userId, LocalDate startDate, LocalDate endDate,
+                                                      Supplier<List<ThresholdSeriesDTO>> loader);
+
+    /**
+     * Drops, once the surrounding transaction commits, every cached window of the user that contains one of
+     * {@code dates}. Call from every path that changes spending on known days.
+     */
+    void evictDates(Long userId, Collection<LocalDate> dates);
+
+    /**
+     * Drops every cached window of the user once the surrounding transaction commits. Call when budgets,
+     * thresholds, categories or the cycle setting change, or when spending changes on days that are not known.
+     */
+    void evictAll(Long userId);
+}
@@ -0,0 +1,36 @@
+package com.budget.buddy.transaction.domain.service;
+
+import com.budget.buddy.transaction.application.dto.budget.DailySpendDriftView;
+import com.budget.buddy.transaction.application.dto.budget.DailySpendEntry;
+
+import java.util.List;
+
+public interface DailySpendData {
+    /**
+     * Applies ledger writes to the daily category totals. Must run inside the transaction that
+     * wrote the ledger rows.
+     */
+    void recordSpendEntries(Long userId, List<DailySpendEntry> entries);
+
+    void deleteCategory(Long categoryId, Long userId);
+
+    // The given accounts' share of the user's rollup rows, as entries that would add it
+    List<DailySpendEntry> sumAccounts(Long userId, List<Long> accountIds);
+
+    List<DailySpendEntry> sumAccountTypeGroup(Long userId, Long groupId);
+
+    // Recomputes every row of the user from the ledger; for drift repair
+    void rebuild(Long userId);
+
+    /**
+     * Seeds up to {@code limit} (user, category, currency, day) rows that have transactions but no rollup
+     * row yet, and returns how many it seeded. Rows that already exist are left alone.
+     */
+    int backfillMissingDays(int limit);
+
+    /**
+     * Recomputes every rollup day from the ledger and returns the days whose stored totals differ
+     * or are missing. When {@code repair} is set the affected users are rebuilt.
+     */
+    List<DailySpendDriftView> verifyRollup(boolean repair);
+}
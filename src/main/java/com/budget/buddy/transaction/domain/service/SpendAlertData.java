@@ -0,0 +1,13 @@
+package com.budget.buddy.transaction.domain.service;
+
+import com.budget.buddy.transaction.application.dto.budget.DailySpendEntry;
+
+import java.util.List;
+
+public interface SpendAlertData {
+    /**
+     * Checks the budgets and daily thresholds touched by {@code entries} against the committed rollup and
+     * publishes a breach event the first time one is exceeded in its cycle or day.
+     */
+    void detectBreaches(Long userId, List<DailySpendEntry> entries);
+}
@@ -1,8 +1,10 @@
 package com.budget.buddy.transaction.domain.service;
 
 import com.budget.buddy.transaction.application.dto.threshold.ThresholdDTO;
+import com.budget.buddy.transaction.application.dto.threshold.ThresholdSeriesDTO;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 public interface ThresholdDataService {
@@ -17,5 +19,9 @@ public interface ThresholdDataService {
 
     void delete(Long id);
 
+    void deleteByCategoryId(Long categoryId);
+
     ThresholdDTO getByCategoryIdAndCurrency(Long categoryId, String currency);
+
+    List<ThresholdSeriesDTO> getDailySeries(LocalDate startDate, LocalDate endDate);
 }
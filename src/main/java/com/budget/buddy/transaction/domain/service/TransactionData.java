@@ -5,21 +5,33 @@ import com.budget.buddy.transaction.application.dto.threshold.ThresholdTransacti
 import com.budget.buddy.transaction.application.dto.transaction.RetrieveTransactionsParams;
 import com.budget.buddy.transaction.application.dto.transaction.TransactionDTO;
 import com.budget.buddy.transaction.application.dto.transaction.TransactionFilterCriteria;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionImportReport;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionImportRow;
 import com.budget.buddy.transaction.application.dto.transaction.TransactionPagination;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionRow;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface TransactionData {
     void createTransaction(TransactionDTO transactionRequest);
 
     void createTransactions(List<TransactionDTO> transactionRequests);
 
+    List<TransactionImportReport.RowError> importTransactions(List<TransactionImportRow> rows);
+
     void deleteTransactionByAccountId(List<Long> accountIds);
 
+    void deleteTransactionByAccountTypeGroupId(Long groupId);
+
     void deleteTransactionByCategoryId(Long categoryId);
 
     TransactionPagination retrieveTransactions(RetrieveTransactionsParams params, TransactionFilterCriteria filterCriteria);
 
+    // Hands the filtered ledger to the consumer as a cursor-backed stream that is only open during the call
+    void exportTransactions(TransactionFilterCriteria filterCriteria, Consumer<Stream<TransactionRow>> consumer);
+
     void updateTransaction(Long transactionId, TransactionDTO transactionRequest);
 
     void deleteTransaction(Long transactionId);
@@ -0,0 +1,30 @@
+package com.budget.buddy.transaction.domain.service;
+
+import com.budget.buddy.transaction.application.dto.transaction.TransactionFilterCriteria;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionRow;
+import com.budget.buddy.transaction.domain.model.transaction.Transaction;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface TransactionHotStore {
+    /**
+     * Answers a listing from memory when the user's ledger is resident and current. Empty means the
+     * caller must query the database: the store is disabled, the user is not (yet) hot, the ledger
+     * changed on another instance, or the sort cannot be reproduced outside SQL.
+     */
+    Optional<HotPage> query(Long userId, TransactionFilterCriteria filterCriteria, Sort sort, long offset, int limit);
+
+    // Saved or updated rows, applied once the surrounding transaction commits
+    void recordSaved(Long userId, List<Transaction> transactions);
+
+    // Deleted rows, applied once the surrounding transaction commits
+    void recordDeleted(Long userId, List<Long> transactionIds);
+
+    // Drops the user's ledger; for writes that are not worth replaying row by row
+    void evict(Long userId);
+
+    record HotPage(List<TransactionRow> rows, long total) {
+    }
+}
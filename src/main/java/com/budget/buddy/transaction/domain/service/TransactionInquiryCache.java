@@ -0,0 +1,30 @@
+package com.budget.buddy.transaction.domain.service;
+
+import com.budget.buddy.transaction.application.dto.transaction.RetrieveTransactionsParams;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionFilterCriteria;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionPagination;
+
+import java.util.OptionalLong;
+import java.util.function.Supplier;
+
+public interface TransactionInquiryCache {
+    /**
+     * Returns the cached page for the current user's filters and paging, or runs {@code loader} and
+     * caches its result. Entries are keyed by the user's ledger version, so a write makes every
+     * older entry unreachable without tracking keys.
+     */
+    TransactionPagination getOrLoad(RetrieveTransactionsParams params, TransactionFilterCriteria filterCriteria,
+                                    Supplier<TransactionPagination> loader);
+
+    /**
+     * Moves the user to a new ledger version once the surrounding transaction commits.
+     * Call from every path that changes what a transaction listing would show.
+     */
+    void bumpLedgerVersion(Long userId);
+
+    /**
+     * The user's current ledger version as seen by every instance, or empty when the cache is disabled or
+     * Redis cannot be read. Anything holding ledger state outside the database compares against this.
+     */
+    OptionalLong ledgerVersion(Long userId);
+}
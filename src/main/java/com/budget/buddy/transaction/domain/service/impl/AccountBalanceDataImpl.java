@@ -0,0 +1,163 @@
+package com.budget.buddy.transaction.domain.service.impl;
+
+import com.budget.buddy.transaction.application.dto.account.AccountBalanceDriftView;
+import com.budget.buddy.transaction.application.dto.account.AccountBalancePoint;
+import com.budget.buddy.transaction.application.dto.account.AccountLedgerEntry;
+import com.budget.buddy.transaction.application.dto.account.AccountLedgerSumView;
+import com.budget.buddy.transaction.domain.model.account.AccountBalanceCheckpoint;
+import com.budget.buddy.transaction.domain.service.AccountBalanceData;
+import com.budget.buddy.transaction.infrastructure.repository.AccountBalanceCheckpointRepository;
+import com.budget.buddy.transaction.infrastructure.repository.AccountBalanceRepository;
+import com.budget.buddy.transaction.infrastructure.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class AccountBalanceDataImpl implements AccountBalanceData {
+    private static final Logger logger = LogManager.getLogger(AccountBalanceDataImpl.class);
+
+    private final AccountBalanceRepository accountBalanceRepository;
+    private final AccountBalanceCheckpointRepository checkpointRepository;
+    private final TransactionRepository transactionRepository;
+
+    @Transactional
+    @Override
+    public void recordLedgerEntries(Long userId, List<AccountLedgerEntry> entries) {
+        // accountId -> date -> delta, both sorted so row locks are always taken in the same order
+        Map<Long, TreeMap<LocalDate, BigDecimal>> deltas = entries.stream()
+                .collect(Collectors.groupingBy(
+                        AccountLedgerEntry::accountId,
+                        TreeMap::new,
+                        Collectors.groupingBy(
+                                AccountLedgerEntry::date,
+                                TreeMap::new,
+                                Collectors.reducing(BigDecimal.ZERO, AccountLedgerEntry::amount, BigDecimal::add))));
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate lastClosedDay = LocalDate.now().minusDays(1);
+
+        deltas.forEach((accountId, dailyDeltas) -> {
+            BigDecimal balanceDelta = dailyDeltas.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+            boolean locked = balanceDelta.signum() != 0 && applyBalanceDelta(userId, accountId, balanceDelta, now);
+
+            dailyDeltas.forEach((date, delta) -> {
+                if (delta.signum() != 0) {
+                    checkpointRepository.shiftBalancesFrom(accountId, date, delta);
+                }
+            });
+
+            // The balance row lock serializes writers per account, so only one of them creates the checkpoint
+            if (locked && !checkpointRepository.existsByAccountIdAndBalanceDate(accountId, lastClosedDay)) {
+                BigDecimal closing = getBalanceAsOf(accountId, lastClosedDay);
+                checkpointRepository.save(new AccountBalanceCheckpoint(accountId, lastClosedDay, closing));
+            }
+        });
+    }
+
+    private boolean applyBalanceDelta(Long userId, Long accountId, BigDecimal delta, LocalDateTime now) {
+        if (accountBalanceRepository.applyDelta(accountId, delta, now) > 0) {
+            return true;
+        }
+
+        // No row yet (account created before the backfill ran); seed it from the full history,
+        // which already includes this write because the query auto-flushes
+        logger.info("No balance row for accountId='{}', seeding it from the ledger", accountId);
+        accountBalanceRepository.seedBalance(accountId, userId, delta, now);
+        return false;
+    }
+
+    @Transactional
+    @Override
+    public void resetAccounts(List<Long> accountIds, Long userId) {
+        accountBalanceRepository.resetBalances(accountIds, userId, LocalDateTime.now());
+        int checkpoints = checkpointRepository.bulkDeleteByAccountIds(accountIds, userId);
+        logger.info("Reset balances for accountIds='{}', removed {} checkpoint(s)", accountIds, checkpoints);
+    }
+
+    @Transactional
+    @Override
+    public void resetAccountTypeGroup(Long groupId, Long userId) {
+        accountBalanceRepository.resetBalancesByAccountTypeGroupId(groupId, userId, LocalDateTime.now());
+        int checkpoints = checkpointRepository.bulkDeleteByAccountTypeGroupId(groupId, userId);
+        logger.info("Reset balances for groupId='{}', removed {} checkpoint(s)", groupId, checkpoints);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public BigDecimal getBalanceAsOf(Long accountId, LocalDate date) {
+        Optional<AccountBalanceCheckpoint> checkpoint =
+                checkpointRepository.findFirstByAccountIdAndBalanceDateLessThanEqualOrderByBalanceDateDesc(accountId, date);
+        if (checkpoint.isEmpty()) {
+            return transactionRepository.sumAmountBySourceAccountIdUntil(accountId, date);
+        }
+
+        AccountBalanceCheckpoint nearest = checkpoint.get();
+        if (nearest.getBalanceDate().equals(date)) {
+            return nearest.getBalance();
+        }
+        return nearest.getBalance().add(
+                transactionRepository.sumAmountBySourceAccountIdBetween(accountId, nearest.getBalanceDate(), date));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<AccountBalancePoint> getBalanceHistory(Long accountId, LocalDate from, LocalDate to) {
+        BigDecimal balance = getBalanceAsOf(accountId, from);
+
+        Map<LocalDate, BigDecimal> dailyAmounts = transactionRepository.sumDailyAmountsBySourceAccountId(accountId, from, to)
+                .stream()
+                .collect(Collectors.toMap(AccountLedgerSumView::getDate, AccountLedgerSumView::getAmount));
+
+        List<AccountBalancePoint> points = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            balance = balance.add(dailyAmounts.getOrDefault(day, BigDecimal.ZERO));
+            points.add(new AccountBalancePoint(day, balance));
+        }
+        return points;
+    }
+
+    @Transactional
+    @Override
+    public List<AccountBalanceDriftView> verifyBalances(boolean repair) {
+        List<AccountBalanceDriftView> drifted = accountBalanceRepository.findDriftedBalances();
+        List<AccountBalanceDriftView> missing = accountBalanceRepository.findMissingBalances();
+        logger.info("Account balance check: drifted='{}', missing='{}', repair='{}'", drifted.size(), missing.size(), repair);
+
+        for (AccountBalanceDriftView drift : drifted) {
+            logger.warn("Account balance drift: accountId='{}', userId='{}', stored='{}', computed='{}'",
+                    drift.getAccountId(), drift.getUserId(), drift.getStoredBalance(), drift.getComputedBalance());
+        }
+        for (AccountBalanceDriftView drift : missing) {
+            logger.warn("Account balance missing: accountId='{}', userId='{}', computed='{}'",
+                    drift.getAccountId(), drift.getUserId(), drift.getComputedBalance());
+        }
+
+        if (repair) {
+            LocalDateTime now = LocalDateTime.now();
+            // Applied as the difference, so deltas committed since the scan are kept rather than overwritten
+            drifted.forEach(drift -> accountBalanceRepository.applyDelta(drift.getAccountId(),
+                    drift.getComputedBalance().subtract(drift.getStoredBalance()), now));
+            // A row seeded by a concurrent write since the scan is already current, so nothing is added to it
+            missing.forEach(drift -> accountBalanceRepository.seedBalance(drift.getAccountId(), drift.getUserId(),
+                    BigDecimal.ZERO, now));
+        }
+
+        List<AccountBalanceDriftView> results = new ArrayList<>(drifted);
+        results.addAll(missing);
+        return results;
+    }
+}
@@ -6,14 +6,22 @@ import com.budget.buddy.transaction.application.dto.account.AccountDTO;
 import com.budget.buddy.transaction.application.dto.account.AccountFlatView;
 import com.budget.buddy.transaction.application.dto.account.AccountRetrieveResponse;
 import com.budget.buddy.transaction.application.dto.account.AccountTypeRetrieveResponse;
+import com.budget.buddy.transaction.application.dto.budget.DailySpendEntry;
 import com.budget.buddy.transaction.domain.enums.Currency;
 import com.budget.buddy.transaction.domain.model.account.Account;
+import com.budget.buddy.transaction.domain.model.account.AccountBalance;
 import com.budget.buddy.transaction.domain.model.account.AccountTypeGroup;
 import com.budget.buddy.transaction.domain.service.AccountData;
+import com.budget.buddy.transaction.domain.service.DailySpendData;
+import com.budget.buddy.transaction.domain.service.TransactionHotStore;
+import com.budget.buddy.transaction.domain.service.TransactionInquiryCache;
 import com.budget.buddy.transaction.domain.utils.TransactionUtils;
+import com.budget.buddy.transaction.infrastructure.repository.AccountBalanceRepository;
 import com.budget.buddy.transaction.infrastructure.repository.AccountRepository;
 import com.budget.buddy.transaction.infrastructure.repository.AccountTypeGroupRepository;
-import com.budget.buddy.transaction.infrastructure.repository.TransactionRepository;
+import com.budget.buddy.transaction.infrastructure.repository.InstallmentRepository;
+import com.budget.buddy.transaction.infrastructure.repository.SavingRepository;
+import com.budget.buddy.transaction.infrastructure.repository.SubscriptionRepository;
 import lombok.RequiredArgsConstructor;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -21,6 +29,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -33,7 +42,13 @@ public class AccountDataImpl implements AccountData {
     private final AccountRepository accountRepository;
     private final AccountTypeGroupRepository accountTypeGroupRepository;
     private final TransactionUtils transactionUtils;
-    private final TransactionRepository transactionRepository;
+    private final SavingRepository savingRepository;
+    private final InstallmentRepository installmentRepository;
+    private final SubscriptionRepository subscriptionRepository;
+    private final AccountBalanceRepository accountBalanceRepository;
+    private final TransactionInquiryCache transactionInquiryCache;
+    private final TransactionHotStore transactionHotStore;
+    private final DailySpendData dailySpendData;
     private static final Logger logger = LogManager.getLogger(AccountDataImpl.class);
 
     @Transactional
@@ -58,6 +73,8 @@ public class AccountDataImpl implements AccountData {
                 accountDTO.currency(),
                 accountDTO.savingAccount());
         accountRepository.save(newAccount);
+        accountBalanceRepository.save(new AccountBalance(newAccount.getId(), accountTypeGroup.getUserId(),
+                BigDecimal.ZERO, LocalDateTime.now()));
     }
 
     @Transactional(readOnly = true)
@@ -165,8 +182,17 @@ public class AccountDataImpl implements AccountData {
     @Transactional
     @Override
     public void deleteAccount(Long accountId) {
-        logger.info("Deleting account with id='{}' for user", accountId);
-        accountRepository.deleteById(accountId);
+        Long userId = transactionUtils.getCurrentUserId();
+        logger.info("Deleting account with id='{}' for userId='{}'", accountId, userId);
+
+        // Plans referencing the account go first, one bulk DELETE per table
+        int savings = savingRepository.bulkDeleteByAccountId(accountId, userId);
+        int installments = installmentRepository.bulkDeleteByAccountId(accountId, userId);
+        int subscriptions = subscriptionRepository.bulkDeleteByAccountId(accountId, userId);
+        accountBalanceRepository.bulkDeleteByAccountId(accountId, userId);
+        accountRepository.bulkDeleteByIdAndUserId(accountId, userId);
+        logger.info("Deleted account id='{}' with {} saving(s), {} installment(s), {} subscription(s)",
+                accountId, savings, installments, subscriptions);
     }
 
     @Transactional
@@ -189,10 +215,27 @@ public class AccountDataImpl implements AccountData {
             account.setAccountTypeGroup(accountTypeGroup);
         }
 
+        boolean currencyChanged = account.getCurrency() != accountDTO.currency();
+        // The account's whole history now counts towards budgets in the other currency
+        List<DailySpendEntry> moved = currencyChanged ? dailySpendData.sumAccounts(userId, List.of(accountId)) : List.of();
         account.setCurrency(accountDTO.currency());
         account.setName(accountDTO.name());
         account.setSavingAccount(accountDTO.savingAccount());
-        accountRepository.save(account);
+        if (currencyChanged) {
+            // Flushed first, so a rollup day seeded from the ledger already sees the new currency
+            accountRepository.saveAndFlush(account);
+            List<DailySpendEntry> entries = new ArrayList<>();
+            moved.forEach(day -> {
+                entries.add(day.reversed());
+                entries.add(new DailySpendEntry(day.categoryId(), accountDTO.currency(), day.date(), day.spent(), day.net()));
+            });
+            dailySpendData.recordSpendEntries(userId, entries);
+        } else {
+            accountRepository.save(account);
+        }
+        // Listings carry the account name, currency and type group
+        transactionInquiryCache.bumpLedgerVersion(userId);
+        transactionHotStore.evict(userId);
         logger.info("Account updated successfully: id='{}'", accountId);
     }
 
@@ -207,18 +250,21 @@ public class AccountDataImpl implements AccountData {
     @Transactional
     @Override
     public void deleteAccountTypeGroups(Long groupId) {
-        logger.info("Deleting all account type groups");
-
         Long userId = transactionUtils.getCurrentUserId();
+        logger.info("Deleting account type group id='{}' for userId='{}'", groupId, userId);
 
-        AccountTypeGroup groups = accountTypeGroupRepository.findBydId(groupId, userId)
-                .orElseThrow(() -> new NotFoundException(ErrorCode.ACCOUNT_TYPE_GROUP_NOT_FOUND));
-
-        List<Account> accounts = groups.getAccounts();
+        if (accountTypeGroupRepository.findBydId(groupId, userId).isEmpty()) {
+            throw new NotFoundException(ErrorCode.ACCOUNT_TYPE_GROUP_NOT_FOUND);
+        }
 
-        accountRepository.deleteAll(accounts);
-        accountTypeGroupRepository.deleteById(groupId);
-        logger.info("Deleted all account type groups");
+        int savings = savingRepository.bulkDeleteByAccountTypeGroupId(groupId, userId);
+        int installments = installmentRepository.bulkDeleteByAccountTypeGroupId(groupId, userId);
+        int subscriptions = subscriptionRepository.bulkDeleteByAccountTypeGroupId(groupId, userId);
+        accountBalanceRepository.bulkDeleteByAccountTypeGroupId(groupId, userId);
+        int accounts = accountRepository.bulkDeleteByAccountTypeGroupId(groupId);
+        accountTypeGroupRepository.bulkDeleteByIdAndUserId(groupId, userId);
+        logger.info("Deleted account type group id='{}' with {} account(s), {} saving(s), {} installment(s), {} subscription(s)",
+                groupId, accounts, savings, installments, subscriptions);
     }
 
     @Transactional(readOnly = true)
@@ -233,36 +279,6 @@ public class AccountDataImpl implements AccountData {
         }
     }
 
-    @Transactional(readOnly = true)
-    @Override
-    public boolean isTransactionExistedByAccountId(Long accountId) {
-        Long userId = transactionUtils.getCurrentUserId();
-        return transactionRepository.existsBySourceAccountIdAndUserId(accountId, userId);
-    }
-
-    @Transactional(readOnly = true)
-    @Override
-    public boolean isTransactionExistedByGroupAccountId(Long groupId) {
-        Long userId = transactionUtils.getCurrentUserId();
-
-        AccountTypeGroup groups = accountTypeGroupRepository.findBydId(groupId, userId)
-                .orElseThrow(() -> new NotFoundException(ErrorCode.ACCOUNT_TYPE_GROUP_NOT_FOUND));
-        List<Account> accounts = groups.getAccounts();
-        List<Long> accountIds = accounts.stream().map(Account::getId).toList();
-        return transactionRepository.existsBySourceAccountIdInAndUserId(accountIds, userId);
-    }
-
-    @Transactional(readOnly = true)
-    @Override
-    public List<Long> getAccountIdsByGroupId(Long groupId) {
-        Long userId = transactionUtils.getCurrentUserId();
-
-        AccountTypeGroup groups = accountTypeGroupRepository.findBydId(groupId, userId)
-                .orElseThrow(() -> new NotFoundException(ErrorCode.ACCOUNT_TYPE_GROUP_NOT_FOUND));
-        List<Account> accounts = groups.getAccounts();
-        return accounts.stream().map(Account::getId).toList();
-    }
-
     private AccountDTO buildAccountDTO(AccountFlatView view, Map<Long, BigDecimal> accountBalances) {
         return new AccountDTO(
                 view.getId(),
@@ -287,7 +303,7 @@ public class AccountDataImpl implements AccountData {
     }
 
     private Map<Long, BigDecimal> getAccountBalances(List<Long> accountIds, Long userId) {
-        List<AccountFlatView> accountBalances = accountRepository.retrieveAccountBalance(accountIds, userId);
+        List<AccountFlatView> accountBalances = accountBalanceRepository.findBalances(accountIds, userId);
         logger.info("Retrieving account balances for current user {} account IDs {}: {}", userId, accountIds, accountBalances.size());
 
         return accountBalances.stream()
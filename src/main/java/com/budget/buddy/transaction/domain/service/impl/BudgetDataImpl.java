@@ -1,24 +1,41 @@
 package com.budget.buddy.transaction.domain.service.impl;
 
+import com.budget.buddy.core.config.exception.BadRequestException;
 import com.budget.buddy.core.config.exception.ConflictException;
 import com.budget.buddy.core.config.exception.ErrorCode;
 import com.budget.buddy.core.config.exception.NotFoundException;
+import com.budget.buddy.transaction.application.dto.budget.BudgetCycleSettingDTO;
+import com.budget.buddy.transaction.application.dto.budget.BudgetCycleTotalRow;
 import com.budget.buddy.transaction.application.dto.budget.BudgetDTO;
+import com.budget.buddy.transaction.application.dto.budget.BudgetTrendDTO;
+import com.budget.buddy.transaction.domain.enums.BudgetCyclePeriod;
 import com.budget.buddy.transaction.domain.enums.Currency;
 import com.budget.buddy.transaction.domain.model.budget.Budget;
+import com.budget.buddy.transaction.domain.model.budget.BudgetCycleSetting;
 import com.budget.buddy.transaction.domain.model.category.Category;
 import com.budget.buddy.transaction.domain.service.BudgetData;
+import com.budget.buddy.transaction.domain.service.BudgetSummaryCache;
 import com.budget.buddy.transaction.domain.utils.TransactionUtils;
+import com.budget.buddy.transaction.domain.vo.BudgetCycleVO;
 import com.budget.buddy.transaction.domain.vo.MoneyVO;
+import com.budget.buddy.transaction.infrastructure.repository.BudgetCycleSettingRepository;
 import com.budget.buddy.transaction.infrastructure.repository.BudgetRepository;
 import com.budget.buddy.transaction.infrastructure.repository.CategoryRepository;
 import lombok.RequiredArgsConstructor;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.DateTimeException;
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -29,6 +46,8 @@ public class BudgetDataImpl implements BudgetData {
     private final BudgetRepository budgetRepository;
     private final TransactionUtils transactionUtils;
     private final CategoryRepository categoryRepository;
+    private final BudgetCycleSettingRepository budgetCycleSettingRepository;
+    private final BudgetSummaryCache budgetSummaryCache;
 
     @Override
     public void saveBudget(BudgetDTO budgetDTO) {
@@ -53,6 +72,7 @@ public class BudgetDataImpl implements BudgetData {
         // Logic to save the budget would go here
         Budget budget = new Budget(userId, category, moneyVO, budgetDTO.remarks());
         budgetRepository.save(budget);
+        budgetSummaryCache.evictAll(userId);
         logger.info("Budget saved successfully for categoryId='{}'", budgetDTO.categoryId());
     }
 
@@ -88,6 +108,7 @@ public class BudgetDataImpl implements BudgetData {
         budget.setMoney(newMoneyVO);
         budget.setRemarks(budgetDTO.remarks());
         budgetRepository.save(budget);
+        budgetSummaryCache.evictAll(userId);
         logger.info("Budget updated successfully for budgetId='{}'", budgetId);
     }
 
@@ -103,22 +124,18 @@ public class BudgetDataImpl implements BudgetData {
         }
 
         budgetRepository.deleteById(budgetId);
+        budgetSummaryCache.evictAll(userId);
         logger.info("Budget deleted successfully for budgetId='{}'", budgetId);
     }
 
+    @Transactional
     @Override
     public void deleteBudgetByCategoryId(Long categoryId) {
         Long userId = transactionUtils.getCurrentUserId();
 
-        List<Budget> budgetOptional = budgetRepository.findAllByUserIdAndCategoryId(userId, categoryId);
-        logger.info("Checking delete request how many budgets exist for userId='{}', categoryId='{}': {} budget(s)", userId, categoryId, budgetOptional.size());
-
-        if (budgetOptional.isEmpty()) {
-            return;
-        }
-
-        budgetRepository.deleteAll(budgetOptional);
-        logger.info("Budgets deleted successfully for categoryId='{}'", categoryId);
+        int deleted = budgetRepository.bulkDeleteByCategoryId(categoryId, userId);
+        budgetSummaryCache.evictAll(userId);
+        logger.info("Deleted {} budget(s) for userId='{}', categoryId='{}'", deleted, userId, categoryId);
     }
 
 
@@ -127,32 +144,31 @@ public class BudgetDataImpl implements BudgetData {
         Long userId = transactionUtils.getCurrentUserId();
         logger.info("Retrieving all budgets for userId='{}'", userId);
 
-        // Use provided dates or calculate default cycle window
+        // Use provided dates or the user's current cycle
         LocalDate effectiveStartDate = startDate;
         LocalDate effectiveEndDate = endDate;
-        
+
         if (effectiveStartDate == null || effectiveEndDate == null) {
-            LocalDate today = LocalDate.now();
-            if (today.getDayOfMonth() >= 5) {
-                effectiveStartDate = today.withDayOfMonth(5);
-                effectiveEndDate = today.plusMonths(1).withDayOfMonth(5);
-            } else {
-                effectiveStartDate = today.minusMonths(1).withDayOfMonth(5);
-                effectiveEndDate = today.withDayOfMonth(5);
-            }
+            BudgetCycleVO cycle = findCycleSetting(userId).currentCycle();
+            effectiveStartDate = cycle.startDate();
+            effectiveEndDate = cycle.endDate();
         }
 
-        if (currency != null) {
-            logger.info("Retrieving budgets for userId='{}' and currency='{}' between {} and {}", 
-                    userId, currency, effectiveStartDate, effectiveEndDate);
-            List<BudgetDTO> budgets = budgetRepository.findAllBudgetsForUserAndCurrency(userId, currency, effectiveStartDate, effectiveEndDate);
-            logger.info("Retrieved {} budgets for userId='{}' and currency='{}'", budgets.size(), userId, currency);
-            return budgets;
-        }
+        LocalDate start = effectiveStartDate;
+        LocalDate end = effectiveEndDate;
+        return budgetSummaryCache.getOrLoad(userId, start, end, currency, () -> {
+            if (currency != null) {
+                logger.info("Retrieving budgets for userId='{}' and currency='{}' between {} and {}",
+                        userId, currency, start, end);
+                List<BudgetDTO> budgets = budgetRepository.findAllBudgetsForUserAndCurrency(userId, currency, start, end);
+                logger.info("Retrieved {} budgets for userId='{}' and currency='{}'", budgets.size(), userId, currency);
+                return budgets;
+            }
 
-        List<BudgetDTO> budgets = budgetRepository.findAllBudgetsForUser(userId, effectiveStartDate, effectiveEndDate);
-        logger.info("Retrieved {} budgets for userId='{}'", budgets.size(), userId);
-        return budgets;
+            List<BudgetDTO> budgets = budgetRepository.findAllBudgetsForUser(userId, start, end);
+            logger.info("Retrieved {} budgets for userId='{}'", budgets.size(), userId);
+            return budgets;
+        });
     }
 
     @Override
@@ -161,4 +177,116 @@ public class BudgetDataImpl implements BudgetData {
         Optional<BudgetDTO> budgetDTO = budgetRepository.findBudgetDTOByIdAndUserId(budgetId, userId);
         return budgetDTO.orElseThrow(() -> new NotFoundException(ErrorCode.BUDGET_NOT_FOUND));
     }
+
+    @Override
+    public List<BudgetTrendDTO> getBudgetTrend(String currency, int cycles) {
+        Long userId = transactionUtils.getCurrentUserId();
+        BudgetCycleSetting setting = findCycleSetting(userId);
+
+        List<BudgetCycleVO> windows = new ArrayList<>();
+        BudgetCycleVO cycle = setting.currentCycle();
+        for (int i = 0; i < cycles; i++) {
+            windows.addFirst(cycle);
+            cycle = setting.previousCycle(cycle);
+        }
+        logger.info("Retrieving budget trend for userId='{}', currency='{}' over {} cycle(s) from {}",
+                userId, currency, cycles, windows.getFirst().startDate());
+
+        Map<BudgetCycleVO, List<BudgetDTO>> summaries = budgetSummaryCache.getOrLoadAll(userId, windows, currency,
+                missing -> loadCycleSummaries(userId, setting, currency, missing));
+
+        LocalDate today = setting.today();
+        Map<Long, BudgetTrendDTO> trends = new LinkedHashMap<>();
+        for (BudgetCycleVO window : windows) {
+            for (BudgetDTO budget : summaries.get(window)) {
+                trends.computeIfAbsent(budget.id(), id -> new BudgetTrendDTO(id, budget.categoryId(), budget.categoryName(),
+                                budget.amount(), budget.currency(), new ArrayList<>()))
+                        .cycles()
+                        .add(new BudgetTrendDTO.Cycle(window.startDate(), window.endDate(), budget.spentAmount(),
+                                budget.remainingAmount(), window.endDate().isBefore(today)));
+            }
+        }
+        return List.copyOf(trends.values());
+    }
+
+    // One grouped query for every cycle not in the cache, split back into what the listing returns per cycle
+    private Map<BudgetCycleVO, List<BudgetDTO>> loadCycleSummaries(Long userId, BudgetCycleSetting setting, String currency,
+                                                                  List<BudgetCycleVO> windows) {
+        // Cached windows can leave gaps; query the consecutive span and keep only the missing cycles
+        List<BudgetCycleVO> span = new ArrayList<>(List.of(windows.getFirst()));
+        while (span.getLast().endDate().isBefore(windows.getLast().endDate())) {
+            span.add(setting.cycleContaining(span.getLast().endDate().plusDays(1)));
+        }
+
+        List<BudgetCycleTotalRow> rows = budgetRepository.findCycleTotals(userId, currency, span);
+        Map<Long, BudgetCycleTotalRow> budgets = new LinkedHashMap<>();
+        Map<Long, Map<Integer, BudgetCycleTotalRow>> totals = new HashMap<>();
+        for (BudgetCycleTotalRow row : rows) {
+            budgets.putIfAbsent(row.budgetId(), row);
+            if (row.cycle() != null) {
+                totals.computeIfAbsent(row.budgetId(), id -> new HashMap<>()).put(row.cycle(), row);
+            }
+        }
+
+        Map<BudgetCycleVO, List<BudgetDTO>> summaries = new HashMap<>();
+        for (int i = 0; i < span.size(); i++) {
+            if (!windows.contains(span.get(i))) {
+                continue;
+            }
+            int index = i;
+            summaries.put(span.get(i), budgets.values().stream()
+                    .map(budget -> toSummary(budget, totals.getOrDefault(budget.budgetId(), Map.of()).get(index), currency))
+                    .toList());
+        }
+        logger.info("Aggregated {} budget(s) over {} cycle(s) for userId='{}'", budgets.size(), span.size(), userId);
+        return summaries;
+    }
+
+    // Mirrors the listing queries: the all-currency listing counts outgoing amounts, the per-currency one nets refunds
+    private static BudgetDTO toSummary(BudgetCycleTotalRow budget, BudgetCycleTotalRow total, String currency) {
+        BigDecimal spent = total == null ? BigDecimal.ZERO : currency == null ? total.spent() : total.net();
+        return new BudgetDTO(budget.budgetId(), budget.categoryId(), budget.categoryName(), budget.amount(), spent,
+                budget.amount().add(spent), budget.currency(), budget.remarks(), budget.updatedAt());
+    }
+
+    @Override
+    public BudgetCycleSettingDTO getCycleSetting() {
+        Long userId = transactionUtils.getCurrentUserId();
+        return toDTO(findCycleSetting(userId));
+    }
+
+    @Transactional
+    @Override
+    public BudgetCycleSettingDTO updateCycleSetting(BudgetCycleSettingDTO settingDTO) {
+        Long userId = transactionUtils.getCurrentUserId();
+
+        if (settingDTO.period() == BudgetCyclePeriod.WEEKLY && settingDTO.startDay() > 7) {
+            throw new BadRequestException(ErrorCode.INVALID_BUDGET_CYCLE);
+        }
+        String timezone;
+        try {
+            timezone = ZoneId.of(settingDTO.timezone()).getId();
+        } catch (DateTimeException e) {
+            logger.info("Rejected budget cycle timezone '{}' for userId='{}'", settingDTO.timezone(), userId);
+            throw new BadRequestException(ErrorCode.INVALID_BUDGET_CYCLE);
+        }
+
+        BudgetCycleSetting setting = budgetCycleSettingRepository.save(
+                new BudgetCycleSetting(userId, settingDTO.period(), settingDTO.startDay(), timezone));
+        // No eviction: summaries are cached per explicit window, and the new cycles simply map to other windows
+        logger.info("Budget cycle updated for userId='{}': period='{}', startDay='{}', timezone='{}'",
+                userId, setting.getPeriod(), setting.getStartDay(), setting.getTimezone());
+        return toDTO(setting);
+    }
+
+    private BudgetCycleSetting findCycleSetting(Long userId) {
+        return budgetCycleSettingRepository.findById(userId)
+                .orElseGet(() -> BudgetCycleSetting.defaults(userId));
+    }
+
+    private static BudgetCycleSettingDTO toDTO(BudgetCycleSetting setting) {
+        BudgetCycleVO cycle = setting.currentCycle();
+        return new BudgetCycleSettingDTO(setting.getPeriod(), setting.getStartDay(), setting.getTimezone(),
+                cycle.startDate(), cycle.endDate());
+    }
 }
@@ -0,0 +1,331 @@
+package com.budget.buddy.transaction.domain.service.impl;
+
+import com.budget.buddy.transaction.application.dto.budget.BudgetDTO;
+import com.budget.buddy.transaction.application.dto.threshold.ThresholdSeriesDTO;
+import com.budget.buddy.transaction.domain.service.BudgetSummaryCache;
+import com.budget.buddy.transaction.domain.vo.BudgetCycleVO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Budget summaries per user and window. Keys:
+ * - budget:summary:{userId} -> hash of "{start}|{end}|{currency or ALL}" -> summaries JSON
+ *                              and "{start}|{end}|THRESHOLDS" -> daily threshold series JSON
+ *   (TTL = transaction.budget-summary-cache.ttl-seconds, renewed on every write)
+ * - budget:summary:generation:{userId} -> counter bumped after commit, before every eviction (no TTL)
+ * A spending change only drops the windows containing the changed day, so closed cycles stay cached
+ * while the current one is being written to. A load stores its result only if the generation is still the
+ * one read before loading, so a load racing a commit cannot put the old totals back after the eviction.
+ * When Redis is unreachable every load goes to the database.
+ */
+@Service
+public class BudgetSummaryCacheImpl implements BudgetSummaryCache {
+    private static final Logger logger = LogManager.getLogger(BudgetSummaryCacheImpl.class);
+
+    private static final String SUMMARY_PROPERTY = "budget:summary:";
+    private static final String GENERATION_PROPERTY = "budget:summary:generation:";
+    private static final String ALL_CURRENCIES = "ALL";
+    private static final String THRESHOLDS = "THRESHOLDS";
+    private static final String METRIC_NAME = "budget.summary.cache";
+    private static final TypeReference<List<BudgetDTO>> SUMMARIES = new TypeReference<>() {
+    };
+    private static final TypeReference<List<ThresholdSeriesDTO>> THRESHOLD_SERIES = new TypeReference<>() {
+    };
+
+    // KEYS[1] is the user's hash, KEYS[2] the generation; ARGV[1] is the generation read before loading,
+    // ARGV[2] the TTL in ms, then field/value pairs. Returns 0 without writing when an eviction came in between
+    private static final RedisScript<Long> WRITE_IF_CURRENT = new DefaultRedisScript<>("""
+            if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[1] then
+              return 0
+            end
+            for i = 3, #ARGV, 2 do
+              redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])
+            end
+            redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redis;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Duration ttl;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final Counter staleLoads;
+    private final Counter redisErrors;
+
+    public BudgetSummaryCacheImpl(StringRedisTemplate redis,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${transaction.budget-summary-cache.enabled:true}") boolean enabled,
+                                  @Value("${transaction.budget-summary-cache.ttl-seconds:3600}") long ttlSeconds) {
+        this.redis = redis;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+
+        this.hits = counter(meterRegistry, "hit");
+        this.misses = counter(meterRegistry, "miss");
+        this.evictions = counter(meterRegistry, "eviction");
+        this.staleLoads = counter(meterRegistry, "stale");
+        this.redisErrors = counter(meterRegistry, "error");
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder(METRIC_NAME)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public List<BudgetDTO> getOrLoad(Long userId, LocalDate startDate, LocalDate endDate, String currency,
+                                     Supplier<List<BudgetDTO>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        return getOrLoad(userId, field(startDate, endDate, currency), SUMMARIES, loader);
+    }
+
+    @Override
+    public List<ThresholdSeriesDTO> getOrLoadThresholdSeries(Long userId, LocalDate startDate, LocalDate endDate,
+                                                             Supplier<List<ThresholdSeriesDTO>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        // Shares the user's hash, so the evictions of spending on a day drop the series of every window holding it
+        return getOrLoad(userId, field(startDate, endDate, THRESHOLDS), THRESHOLD_SERIES, loader);
+    }
+
+    private <T> T getOrLoad(Long userId, String field, TypeReference<T> type, Supplier<T> loader) {
+        String key = SUMMARY_PROPERTY + userId;
+        T cached = read(key, field, type);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+
+        String generation = readGeneration(userId);
+        T loaded = loader.get();
+        if (generation != null) {
+            writeAll(userId, generation, Map.of(field, loaded));
+        }
+        return loaded;
+    }
+
+    @Override
+    public Map<BudgetCycleVO, List<BudgetDTO>> getOrLoadAll(Long userId, List<BudgetCycleVO> windows, String currency,
+                                                            Function<List<BudgetCycleVO>, Map<BudgetCycleVO, List<BudgetDTO>>> loader) {
+        if (!enabled) {
+            return loader.apply(windows);
+        }
+
+        String key = SUMMARY_PROPERTY + userId;
+        String generation = readGeneration(userId);
+        List<Object> fields = windows.stream()
+                .map(window -> (Object) field(window.startDate(), window.endDate(), currency))
+                .toList();
+        List<Object> cached = readAll(key, fields);
+
+        Map<BudgetCycleVO, List<BudgetDTO>> summaries = new LinkedHashMap<>();
+        List<BudgetCycleVO> missing = new ArrayList<>();
+        for (int i = 0; i < windows.size(); i++) {
+            List<BudgetDTO> entry = cached == null ? null : parse(key, fields.get(i), cached.get(i));
+            if (entry == null) {
+                missing.add(windows.get(i));
+            }
+            summaries.put(windows.get(i), entry);
+        }
+        hits.increment(windows.size() - missing.size());
+        misses.increment(missing.size());
+        if (missing.isEmpty()) {
+            return summaries;
+        }
+
+        Map<BudgetCycleVO, List<BudgetDTO>> loaded = loader.apply(missing);
+        Map<Object, Object> entries = new HashMap<>();
+        for (BudgetCycleVO window : missing) {
+            List<BudgetDTO> entry = loaded.getOrDefault(window, List.of());
+            summaries.put(window, entry);
+            entries.put(field(window.startDate(), window.endDate(), currency), entry);
+        }
+        if (generation != null) {
+            writeAll(userId, generation, entries);
+        }
+        return summaries;
+    }
+
+    @Override
+    public void evictDates(Long userId, Collection<LocalDate> dates) {
+        if (!enabled || dates.isEmpty()) {
+            return;
+        }
+        Set<LocalDate> changed = new TreeSet<>(dates);
+        afterCommit(() -> {
+            incrementGeneration(userId);
+            deleteWindows(userId, changed);
+        });
+    }
+
+    @Override
+    public void evictAll(Long userId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> {
+            incrementGeneration(userId);
+            deleteAll(userId);
+        });
+    }
+
+    // Evicting before commit would let a concurrent read cache the old totals again
+    private static void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+
+    // Bumped before the fields are deleted, so a load that read the old generation can no longer store its result
+    private void incrementGeneration(Long userId) {
+        try {
+            redis.opsForValue().increment(GENERATION_PROPERTY + userId);
+        } catch (RuntimeException e) {
+            redisErrors.increment();
+            logger.warn("Failed to bump budget summary generation for userId='{}'", userId, e);
+        }
+    }
+
+    private String readGeneration(Long userId) {
+        try {
+            String generation = redis.opsForValue().get(GENERATION_PROPERTY + userId);
+            return generation == null ? "0" : generation;
+        } catch (RuntimeException e) {
+            redisErrors.increment();
+            logger.warn("Budget summary generation unavailable for userId='{}', not caching this load", userId, e);
+            return null;
+        }
+    }
+
+    void deleteWindows(Long userId, Set<LocalDate> dates) {
+        String key = SUMMARY_PROPERTY + userId;
+        try {
+            Object[] stale = redis.opsForHash().keys(key).stream()
+                    .filter(field -> dates.stream().anyMatch(window(field.toString())::contains))
+                    .toArray();
+            if (stale.length > 0) {
+                redis.opsForHash().delete(key, stale);
+                evictions.increment(stale.length);
+            }
+        } catch (RuntimeException e) {
+            redisErrors.increment();
+            logger.warn("Failed to evict budget summaries for userId='{}', dropping all of them", userId, e);
+            deleteAll(userId);
+        }
+    }
+
+    private void deleteAll(Long userId) {
+        try {
+            if (Boolean.TRUE.equals(redis.delete(SUMMARY_PROPERTY + userId))) {
+                evictions.increment();
+            }
+        } catch (RuntimeException e) {
+            redisErrors.increment();
+            logger.warn("Failed to evict budget summaries for userId='{}', they expire after {}", userId, ttl, e);
+        }
+    }
+
+    private List<Object> readAll(String key, List<Object> fields) {
+        try {
+            return redis.opsForHash().multiGet(key, fields);
+        } catch (RuntimeException e) {
+            redisErrors.increment();
+            logger.warn("Failed to read cached budget summaries '{}'", key, e);
+            return null;
+        }
+    }
+
+    private List<BudgetDTO> parse(String key, Object field, Object json) {
+        try {
+            return json == null ? null : objectMapper.readValue(json.toString(), SUMMARIES);
+        } catch (JsonProcessingException e) {
+            redisErrors.increment();
+            logger.warn("Failed to read cached budget summaries '{}' '{}'", key, field, e);
+            return null;
+        }
+    }
+
+    private void writeAll(Long userId, String generation, Map<?, ?> summaries) {
+        String key = SUMMARY_PROPERTY + userId;
+        try {
+            List<Object> args = new ArrayList<>(List.of(generation, String.valueOf(ttl.toMillis())));
+            for (Map.Entry<?, ?> summary : summaries.entrySet()) {
+                args.add(summary.getKey().toString());
+                args.add(objectMapper.writeValueAsString(summary.getValue()));
+            }
+            Long written = redis.execute(WRITE_IF_CURRENT, List.of(key, GENERATION_PROPERTY + userId), args.toArray());
+            if (written != null && written == 0) {
+                staleLoads.increment();
+                logger.debug("Budget summaries for userId='{}' changed while loading, not caching them", userId);
+            }
+        } catch (JsonProcessingException | RuntimeException e) {
+            redisErrors.increment();
+            logger.warn("Failed to cache budget summaries '{}'", key, e);
+        }
+    }
+
+    private <T> T read(String key, String field, TypeReference<T> type) {
+        try {
+            Object json = redis.opsForHash().get(key, field);
+            return json == null ? null : objectMapper.readValue(json.toString(), type);
+        } catch (JsonProcessingException | RuntimeException e) {
+            redisErrors.increment();
+            logger.warn("Failed to read cached budget summaries '{}' '{}'", key, field, e);
+            return null;
+        }
+    }
+
+    static String field(LocalDate startDate, LocalDate endDate, String currency) {
+        return startDate + "|" + endDate + "|" + (currency == null ? ALL_CURRENCIES : currency);
+    }
+
+    static BudgetCycleVO window(String field) {
+        String[] parts = field.split("\\|");
+        return new BudgetCycleVO(LocalDate.parse(parts[0]), LocalDate.parse(parts[1]));
+    }
+}
@@ -5,7 +5,10 @@ import com.budget.buddy.core.config.exception.NotFoundException;
 import com.budget.buddy.transaction.application.dto.category.CategoryDTO;
 import com.budget.buddy.transaction.application.mapper.CategoryMapper;
 import com.budget.buddy.transaction.domain.model.category.Category;
+import com.budget.buddy.transaction.domain.service.BudgetSummaryCache;
 import com.budget.buddy.transaction.domain.service.CategoryData;
+import com.budget.buddy.transaction.domain.service.TransactionHotStore;
+import com.budget.buddy.transaction.domain.service.TransactionInquiryCache;
 import com.budget.buddy.transaction.domain.utils.TransactionUtils;
 import com.budget.buddy.transaction.domain.vo.CategoryVO;
 import com.budget.buddy.transaction.infrastructure.repository.CategoryRepository;
@@ -26,6 +29,9 @@ public class CategoryDataImpl implements CategoryData {
     private final CategoryMapper categoryMapper;
     private final TransactionUtils transactionUtils;
     private final TransactionRepository transactionRepository;
+    private final TransactionInquiryCache transactionInquiryCache;
+    private final TransactionHotStore transactionHotStore;
+    private final BudgetSummaryCache budgetSummaryCache;
 
     @Override
     @Transactional
@@ -76,7 +82,7 @@ public class CategoryDataImpl implements CategoryData {
     @Transactional
     @Override
     public void deleteCategory(Long categoryId) {
-        categoryRepository.deleteById(categoryId);
+        categoryRepository.bulkDeleteByIdAndUserId(categoryId, transactionUtils.getCurrentUserId());
 
         logger.info("Deleted category id={} for", categoryId);
     }
@@ -99,6 +105,10 @@ public class CategoryDataImpl implements CategoryData {
 
         category.setIdentity(new CategoryVO(categoryRequest.name()));
         category = categoryRepository.save(category);
+        // Listings and budget summaries carry the category name
+        transactionInquiryCache.bumpLedgerVersion(userId);
+        transactionHotStore.evict(userId);
+        budgetSummaryCache.evictAll(userId);
         logger.info("Updated category id={} for", categoryId);
 
         return categoryMapper.toDto(category);
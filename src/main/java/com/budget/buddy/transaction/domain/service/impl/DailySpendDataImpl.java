@@ -0,0 +1,149 @@
+package com.budget.buddy.transaction.domain.service.impl;
+
+import com.budget.buddy.transaction.application.dto.budget.DailySpendDayView;
+import com.budget.buddy.transaction.application.dto.budget.DailySpendDriftView;
+import com.budget.buddy.transaction.application.dto.budget.DailySpendEntry;
+import com.budget.buddy.transaction.domain.service.BudgetSummaryCache;
+import com.budget.buddy.transaction.domain.service.DailySpendData;
+import com.budget.buddy.transaction.infrastructure.repository.DailySpendRepository;
+import lombok.RequiredArgsConstructor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class DailySpendDataImpl implements DailySpendData {
+    private static final Logger logger = LogManager.getLogger(DailySpendDataImpl.class);
+
+    // Rows are always updated in this order so concurrent writers cannot deadlock on each other
+    private static final Comparator<DailySpendEntry> ROW_ORDER = Comparator.comparing(DailySpendEntry::categoryId)
+            .thenComparing(DailySpendEntry::currency)
+            .thenComparing(DailySpendEntry::date);
+
+    private final DailySpendRepository dailySpendRepository;
+    private final BudgetSummaryCache budgetSummaryCache;
+
+    @Transactional
+    @Override
+    public void recordSpendEntries(Long userId, List<DailySpendEntry> entries) {
+        Map<DailySpendEntry, DailySpendEntry> deltas = entries.stream()
+                .collect(Collectors.toMap(entry -> entry, entry -> entry, DailySpendEntry::plus, () -> new TreeMap<>(ROW_ORDER)));
+
+        List<LocalDate> changedDates = new ArrayList<>();
+        deltas.values().forEach(delta -> {
+            if (delta.spent().signum() == 0 && delta.net().signum() == 0) {
+                return;
+            }
+            int updated = dailySpendRepository.applyDelta(userId, delta.categoryId(), delta.currency(), delta.date(),
+                    delta.spent(), delta.net());
+            if (updated == 0) {
+                seedDay(userId, delta);
+            }
+            changedDates.add(delta.date());
+        });
+        budgetSummaryCache.evictDates(userId, changedDates);
+    }
+
+    private void seedDay(Long userId, DailySpendEntry delta) {
+        // No row yet (first write for the day, or a user the backfill has not reached); seed it from the
+        // ledger, which already includes this write because the query auto-flushes
+        logger.debug("No daily spend row for userId='{}', categoryId='{}', currency='{}', date='{}', seeding it",
+                userId, delta.categoryId(), delta.currency(), delta.date());
+        dailySpendRepository.seedDay(userId, delta.categoryId(), delta.currency().name(), delta.date(),
+                delta.spent(), delta.net());
+    }
+
+    @Transactional
+    @Override
+    public void deleteCategory(Long categoryId, Long userId) {
+        int deleted = dailySpendRepository.bulkDeleteByCategoryId(categoryId, userId);
+        budgetSummaryCache.evictAll(userId);
+        logger.info("Removed {} daily spend row(s) for userId='{}', categoryId='{}'", deleted, userId, categoryId);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<DailySpendEntry> sumAccounts(Long userId, List<Long> accountIds) {
+        return toEntries(dailySpendRepository.sumLedgerByAccountIds(userId, accountIds));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<DailySpendEntry> sumAccountTypeGroup(Long userId, Long groupId) {
+        return toEntries(dailySpendRepository.sumLedgerByAccountTypeGroupId(userId, groupId));
+    }
+
+    private static List<DailySpendEntry> toEntries(List<DailySpendDayView> days) {
+        return days.stream()
+                .map(day -> new DailySpendEntry(day.getCategoryId(), day.getCurrency(), day.getSpendDate(),
+                        day.getSpent(), day.getNet()))
+                .toList();
+    }
+
+    @Transactional
+    @Override
+    public void rebuild(Long userId) {
+        int deleted = dailySpendRepository.bulkDeleteByUserId(userId);
+        int inserted = dailySpendRepository.insertFromLedger(userId);
+        budgetSummaryCache.evictAll(userId);
+        logger.info("Rebuilt daily spend for userId='{}': removed {} row(s), inserted {} row(s)", userId, deleted, inserted);
+    }
+
+    @Transactional
+    @Override
+    public int backfillMissingDays(int limit) {
+        List<DailySpendDriftView> missing = dailySpendRepository.findMissingDays(PageRequest.of(0, limit));
+        // Seeded with a zero delta: a row a concurrent first write inserted since the query is left as it is
+        missing.forEach(day -> dailySpendRepository.seedDay(day.getUserId(), day.getCategoryId(),
+                day.getCurrency().name(), day.getSpendDate(), BigDecimal.ZERO, BigDecimal.ZERO));
+        missing.stream()
+                .collect(Collectors.groupingBy(DailySpendDriftView::getUserId, TreeMap::new,
+                        Collectors.mapping(DailySpendDriftView::getSpendDate, Collectors.toList())))
+                .forEach(budgetSummaryCache::evictDates);
+        return missing.size();
+    }
+
+    @Transactional
+    @Override
+    public List<DailySpendDriftView> verifyRollup(boolean repair) {
+        List<DailySpendDriftView> drifted = dailySpendRepository.findDriftedDays();
+        List<DailySpendDriftView> missing = dailySpendRepository.findMissingDays(Pageable.unpaged());
+        logger.info("Daily spend check: drifted='{}', missing='{}', repair='{}'", drifted.size(), missing.size(), repair);
+
+        for (DailySpendDriftView drift : drifted) {
+            logger.warn("Daily spend drift: userId='{}', categoryId='{}', currency='{}', date='{}', stored='{}'/'{}', computed='{}'/'{}'",
+                    drift.getUserId(), drift.getCategoryId(), drift.getCurrency(), drift.getSpendDate(),
+                    drift.getStoredSpent(), drift.getStoredNet(), drift.getComputedSpent(), drift.getComputedNet());
+        }
+        for (DailySpendDriftView drift : missing) {
+            logger.warn("Daily spend missing: userId='{}', categoryId='{}', currency='{}', date='{}', computed='{}'/'{}'",
+                    drift.getUserId(), drift.getCategoryId(), drift.getCurrency(), drift.getSpendDate(),
+                    drift.getComputedSpent(), drift.getComputedNet());
+        }
+
+        List<DailySpendDriftView> results = new ArrayList<>(drifted);
+        results.addAll(missing);
+
+        if (repair) {
+            results.stream()
+                    .map(DailySpendDriftView::getUserId)
+                    .collect(Collectors.toCollection(TreeSet::new))
+                    .forEach(this::rebuild);
+        }
+        return results;
+    }
+}
@@ -0,0 +1,546 @@
+package com.budget.buddy.transaction.domain.service.impl;
+
+import com.budget.buddy.transaction.application.dto.transaction.TransactionFilterNode;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionFilterNode.Condition;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionFilterNode.Group;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionRow;
+import com.budget.buddy.transaction.domain.enums.CategoryType;
+import com.budget.buddy.transaction.domain.enums.Currency;
+import com.budget.buddy.transaction.domain.service.TransactionHotStore;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * One user's ledger held column by column, rows kept in ascending id order. Dates are epoch days and
+ * amounts are cents, so filters and sorts compare primitives; only text conditions touch strings, and
+ * those compare against lower-cased copies made once per row.
+ * Filter semantics mirror TransactionFilterCompiler: text compares lower-cased and literally, a null
+ * remark matches no text condition, and currency resolves through the row's account.
+ */
+final class HotLedger {
+    // Rough per-row footprint of the primitive columns, the string references and typical name/remarks text
+    static final long ESTIMATED_BYTES_PER_ROW = 200;
+
+    private static final int PRIMITIVE_BYTES_PER_ROW = 8 + 4 + 8 + 8 + 8 + 1 + 4 * 4;
+    private static final int STRING_OVERHEAD = 40;
+    private static final CategoryType[] TYPES = CategoryType.values();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Ledger version this copy matches: the version it was loaded at plus one per write applied since
+    private long expectedVersion;
+
+    private int size;
+    private long[] ids;
+    private int[] epochDays;
+    private long[] amountCents;
+    private long[] accountIds;
+    private long[] categoryIds;
+    private byte[] types;
+    private String[] names;
+    private String[] lowerNames;
+    private String[] remarks;
+    private String[] lowerRemarks;
+    private long stringBytes;
+
+    private final Map<Long, AccountInfo> accounts = new HashMap<>();
+    private final Map<Long, String> categories = new HashMap<>();
+
+    HotLedger(List<TransactionRow> rows, long version) {
+        int capacity = Math.max(16, rows.size());
+        this.ids = new long[capacity];
+        this.epochDays = new int[capacity];
+        this.amountCents = new long[capacity];
+        this.accountIds = new long[capacity];
+        this.categoryIds = new long[capacity];
+        this.types = new byte[capacity];
+        this.names = new String[capacity];
+        this.lowerNames = new String[capacity];
+        this.remarks = new String[capacity];
+        this.lowerRemarks = new String[capacity];
+        this.expectedVersion = version;
+
+        List<TransactionRow> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.comparing(TransactionRow::id));
+        for (TransactionRow row : sorted) {
+            write(size++, row);
+        }
+    }
+
+    boolean isAt(long version) {
+        lock.readLock().lock();
+        try {
+            return expectedVersion == version;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) ids.length * PRIMITIVE_BYTES_PER_ROW + stringBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // One committed write; the version advances once however many rows it touched
+    void upsert(List<TransactionRow> rows) {
+        lock.writeLock().lock();
+        try {
+            for (TransactionRow row : rows) {
+                int index = Arrays.binarySearch(ids, 0, size, row.id());
+                if (index >= 0) {
+                    release(index);
+                } else {
+                    index = -index - 1;
+                    ensureCapacity(size + 1);
+                    shift(index, index + 1, size - index);
+                    size++;
+                }
+                write(index, row);
+            }
+            expectedVersion++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(List<Long> transactionIds) {
+        lock.writeLock().lock();
+        try {
+            for (Long id : transactionIds) {
+                int index = Arrays.binarySearch(ids, 0, size, id);
+                if (index >= 0) {
+                    release(index);
+                    shift(index + 1, index, size - index - 1);
+                    size--;
+                    clearStrings(size);
+                }
+            }
+            expectedVersion++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Filters, orders and pages like the SQL path. Returns null when the filter holds a value that cannot
+     * be compared exactly in cents, so the caller falls back to the database.
+     */
+    TransactionHotStore.HotPage query(TransactionFilterNode filter, Sort sort, long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            IntPredicate predicate = filter == null ? row -> true : compile(filter);
+            if (predicate == null) {
+                return null;
+            }
+
+            int[] matches = new int[size];
+            int count = 0;
+            for (int row = 0; row < size; row++) {
+                if (predicate.test(row)) {
+                    matches[count++] = row;
+                }
+            }
+
+            long end = Math.min(offset + limit, count);
+            if (offset >= end) {
+                return new TransactionHotStore.HotPage(List.of(), count);
+            }
+
+            int[] ordered = order(matches, count, (int) end, sort);
+            List<TransactionRow> page = new ArrayList<>((int) (end - offset));
+            for (int i = (int) offset; i < end; i++) {
+                page.add(toRow(ordered[i]));
+            }
+            return new TransactionHotStore.HotPage(page, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(int index, TransactionRow row) {
+        ids[index] = row.id();
+        epochDays[index] = Math.toIntExact(row.date().toEpochDay());
+        amountCents[index] = toCents(row.amount());
+        accountIds[index] = row.accountId();
+        categoryIds[index] = row.categoryId();
+        types[index] = (byte) row.type().ordinal();
+        names[index] = row.name();
+        lowerNames[index] = lower(row.name());
+        remarks[index] = row.remarks();
+        lowerRemarks[index] = lower(row.remarks());
+        stringBytes += stringBytes(index);
+
+        accounts.put(row.accountId(), new AccountInfo(row.accountName(), row.currency(), row.accountTypeName()));
+        categories.put(row.categoryId(), row.categoryName());
+    }
+
+    private void release(int index) {
+        stringBytes -= stringBytes(index);
+    }
+
+    private long stringBytes(int index) {
+        return bytesOf(names[index]) + bytesOf(remarks[index])
+                + (lowerNames[index] == names[index] ? 0 : bytesOf(lowerNames[index]))
+                + (lowerRemarks[index] == remarks[index] ? 0 : bytesOf(lowerRemarks[index]));
+    }
+
+    private static long bytesOf(String value) {
+        return value == null ? 0 : STRING_OVERHEAD + 2L * value.length();
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(required, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, capacity);
+        epochDays = Arrays.copyOf(epochDays, capacity);
+        amountCents = Arrays.copyOf(amountCents, capacity);
+        accountIds = Arrays.copyOf(accountIds, capacity);
+        categoryIds = Arrays.copyOf(categoryIds, capacity);
+        types = Arrays.copyOf(types, capacity);
+        names = Arrays.copyOf(names, capacity);
+        lowerNames = Arrays.copyOf(lowerNames, capacity);
+        remarks = Arrays.copyOf(remarks, capacity);
+        lowerRemarks = Arrays.copyOf(lowerRemarks, capacity);
+    }
+
+    private void shift(int from, int to, int length) {
+        System.arraycopy(ids, from, ids, to, length);
+        System.arraycopy(epochDays, from, epochDays, to, length);
+        System.arraycopy(amountCents, from, amountCents, to, length);
+        System.arraycopy(accountIds, from, accountIds, to, length);
+        System.arraycopy(categoryIds, from, categoryIds, to, length);
+        System.arraycopy(types, from, types, to, length);
+        System.arraycopy(names, from, names, to, length);
+        System.arraycopy(lowerNames, from, lowerNames, to, length);
+        System.arraycopy(remarks, from, remarks, to, length);
+        System.arraycopy(lowerRemarks, from, lowerRemarks, to, length);
+    }
+
+    private void clearStrings(int index) {
+        names[index] = null;
+        lowerNames[index] = null;
+        remarks[index] = null;
+        lowerRemarks[index] = null;
+    }
+
+    private TransactionRow toRow(int index) {
+        AccountInfo account = accounts.get(accountIds[index]);
+        return new TransactionRow(
+                ids[index],
+                names[index],
+                BigDecimal.valueOf(amountCents[index], 2),
+                remarks[index],
+                LocalDate.ofEpochDay(epochDays[index]),
+                TYPES[types[index]],
+                accountIds[index],
+                account.name(),
+                account.currency(),
+                account.typeName(),
+                categoryIds[index],
+                categories.get(categoryIds[index]));
+    }
+
+    // numeric(19,2) rounds half away from zero on write, which is what HALF_UP does
+    static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static String lower(String value) {
+        if (value == null) {
+            return null;
+        }
+        String lowered = value.toLowerCase(Locale.ROOT);
+        return lowered.equals(value) ? value : lowered;
+    }
+
+    // ---- Filters ----
+
+    private IntPredicate compile(TransactionFilterNode node) {
+        return switch (node) {
+            case Group group -> {
+                boolean or = group.getOr() != null && !group.getOr().isEmpty();
+                List<TransactionFilterNode> children = or ? group.getOr() : group.getAnd();
+                IntPredicate[] compiled = new IntPredicate[children.size()];
+                for (int i = 0; i < compiled.length; i++) {
+                    compiled[i] = compile(children.get(i));
+                    if (compiled[i] == null) {
+                        yield null;
+                    }
+                }
+                yield or ? anyOf(compiled) : allOf(compiled);
+            }
+            case Condition condition -> compileCondition(condition);
+        };
+    }
+
+    private static IntPredicate anyOf(IntPredicate[] predicates) {
+        return row -> {
+            for (IntPredicate predicate : predicates) {
+                if (predicate.test(row)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    private static IntPredicate allOf(IntPredicate[] predicates) {
+        return row -> {
+            for (IntPredicate predicate : predicates) {
+                if (!predicate.test(row)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    // The SQL path has already bound this tree, so values and operators are known to be valid here
+    private IntPredicate compileCondition(Condition condition) {
+        String operator = normalize(condition.getOperator());
+        return switch (normalize(condition.getField())) {
+            case "name" -> text(lowerNames, operator, condition.getValue());
+            case "remarks" -> text(lowerRemarks, operator, condition.getValue());
+            case "amount" -> amount(operator, new BigDecimal(condition.getValue().trim()));
+            case "date" -> date(operator, condition);
+            case "account" -> ids(accountIds, operator, parseIds(condition.getValues()));
+            case "category" -> ids(categoryIds, operator, parseIds(condition.getValues()));
+            case "type" -> types(operator, condition.getValues());
+            case "currency" -> ids(accountIds, operator, accountsIn(condition.getValues()));
+            default -> null;
+        };
+    }
+
+    private IntPredicate text(String[] column, String operator, String value) {
+        String needle = value.trim().toLowerCase(Locale.ROOT);
+        Predicate<String> test = switch (operator) {
+            case "is" -> needle::equals;
+            case "is not" -> text -> !needle.equals(text);
+            case "contains" -> text -> text.contains(needle);
+            case "does not contain" -> text -> !text.contains(needle);
+            case "starts with" -> text -> text.startsWith(needle);
+            case "ends with" -> text -> text.endsWith(needle);
+            default -> null;
+        };
+        if (test == null) {
+            return null;
+        }
+        // NULL compares as unknown in SQL, so a missing remark matches neither an operator nor its negation
+        return row -> column[row] != null && test.test(column[row]);
+    }
+
+    /**
+     * Compares cents against the filter value without a BigDecimal per row: with f = floor(value * 100),
+     * an integer c is above the value exactly when c > f, and equal only when value * 100 is whole.
+     */
+    private IntPredicate amount(String operator, BigDecimal value) {
+        BigDecimal scaled = value.movePointRight(2);
+        BigDecimal floor = scaled.setScale(0, RoundingMode.FLOOR);
+        boolean whole = scaled.compareTo(floor) == 0;
+        long cents;
+        try {
+            cents = floor.longValueExact();
+        } catch (ArithmeticException e) {
+            return null;
+        }
+
+        long[] column = amountCents;
+        return switch (operator) {
+            case "=" -> whole ? row -> column[row] == cents : row -> false;
+            case "!=" -> whole ? row -> column[row] != cents : row -> true;
+            case ">" -> row -> column[row] > cents;
+            case ">=" -> whole ? row -> column[row] >= cents : row -> column[row] > cents;
+            case "<" -> whole ? row -> column[row] < cents : row -> column[row] <= cents;
+            case "<=" -> row -> column[row] <= cents;
+            default -> null;
+        };
+    }
+
+    private IntPredicate date(String operator, Condition condition) {
+        int[] column = epochDays;
+        int start = (int) LocalDate.parse(condition.getValue().trim()).toEpochDay();
+        return switch (operator) {
+            case "is" -> row -> column[row] == start;
+            case "is between" -> {
+                int end = (int) LocalDate.parse(condition.getTo().trim()).toEpochDay();
+                yield row -> column[row] >= start && column[row] <= end;
+            }
+            default -> null;
+        };
+    }
+
+    private IntPredicate ids(long[] column, String operator, long[] sortedIds) {
+        return switch (operator) {
+            case "is" -> row -> Arrays.binarySearch(sortedIds, column[row]) >= 0;
+            case "is not" -> row -> Arrays.binarySearch(sortedIds, column[row]) < 0;
+            default -> null;
+        };
+    }
+
+    private IntPredicate types(String operator, List<String> values) {
+        boolean[] listed = new boolean[TYPES.length];
+        for (String value : values) {
+            listed[CategoryType.valueOf(value.trim().toUpperCase(Locale.ROOT)).ordinal()] = true;
+        }
+        byte[] column = types;
+        return switch (operator) {
+            case "is" -> row -> listed[column[row]];
+            case "is not" -> row -> !listed[column[row]];
+            default -> null;
+        };
+    }
+
+    private static long[] parseIds(List<String> values) {
+        long[] parsed = values.stream().mapToLong(value -> Long.parseLong(value.trim())).toArray();
+        Arrays.sort(parsed);
+        return parsed;
+    }
+
+    // Currency lives on the account, so the condition becomes a condition on the ledger's account ids
+    private long[] accountsIn(List<String> codes) {
+        List<String> wanted = codes.stream().map(code -> code.trim().toUpperCase(Locale.ROOT)).toList();
+        long[] matching = accounts.entrySet().stream()
+                .filter(entry -> wanted.contains(entry.getValue().currency().name()))
+                .mapToLong(Map.Entry::getKey)
+                .toArray();
+        Arrays.sort(matching);
+        return matching;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // ---- Ordering ----
+
+    /**
+     * The first {@code k} matches in sort order. Rows are stored by ascending id, so an id-only sort is a
+     * slice; anything else keeps the best k in a bounded max-heap and heap-sorts it, O(n log k).
+     */
+    private int[] order(int[] matches, int count, int k, Sort sort) {
+        List<Sort.Order> orders = sort.toList();
+        if (orders.size() == 1 && "id".equals(orders.getFirst().getProperty())) {
+            int[] ordered = new int[k];
+            for (int i = 0; i < k; i++) {
+                ordered[i] = orders.getFirst().isAscending() ? matches[i] : matches[count - 1 - i];
+            }
+            return ordered;
+        }
+
+        RowComparator comparator = comparator(orders);
+        int[] heap = new int[k];
+        int heapSize = 0;
+        for (int i = 0; i < count; i++) {
+            int row = matches[i];
+            if (heapSize < k) {
+                heap[heapSize] = row;
+                siftUp(heap, heapSize++, comparator);
+            } else if (comparator.compare(row, heap[0]) < 0) {
+                heap[0] = row;
+                siftDown(heap, 0, heapSize, comparator);
+            }
+        }
+        for (int end = heapSize - 1; end > 0; end--) {
+            int top = heap[0];
+            heap[0] = heap[end];
+            heap[end] = top;
+            siftDown(heap, 0, end, comparator);
+        }
+        return heap;
+    }
+
+    private RowComparator comparator(List<Sort.Order> orders) {
+        RowComparator[] keys = new RowComparator[orders.size()];
+        for (int i = 0; i < keys.length; i++) {
+            Sort.Order order = orders.get(i);
+            RowComparator key = switch (order.getProperty()) {
+                case "date" -> (a, b) -> Integer.compare(epochDays[a], epochDays[b]);
+                case "amount" -> (a, b) -> Long.compare(amountCents[a], amountCents[b]);
+                case "id" -> (a, b) -> Long.compare(ids[a], ids[b]);
+                default -> throw new IllegalArgumentException("Unsupported sort property " + order.getProperty());
+            };
+            keys[i] = order.isAscending() ? key : (a, b) -> key.compare(b, a);
+        }
+        return (a, b) -> {
+            for (RowComparator key : keys) {
+                int result = key.compare(a, b);
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return 0;
+        };
+    }
+
+    private static void siftUp(int[] heap, int index, RowComparator comparator) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (comparator.compare(heap[index], heap[parent]) <= 0) {
+                return;
+            }
+            swap(heap, index, parent);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int index, int size, RowComparator comparator) {
+        while (true) {
+            int largest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && comparator.compare(heap[left], heap[largest]) > 0) {
+                largest = left;
+            }
+            if (right < size && comparator.compare(heap[right], heap[largest]) > 0) {
+                largest = right;
+            }
+            if (largest == index) {
+                return;
+            }
+            swap(heap, index, largest);
+            index = largest;
+        }
+    }
+
+    private static void swap(int[] heap, int i, int j) {
+        int tmp = heap[i];
+        heap[i] = heap[j];
+        heap[j] = tmp;
+    }
+
+    @FunctionalInterface
+    private interface RowComparator {
+        int compare(int a, int b);
+    }
+
+    private record AccountInfo(String name, Currency currency, String typeName) {
+    }
+}
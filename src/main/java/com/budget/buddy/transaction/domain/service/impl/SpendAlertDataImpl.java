@@ -0,0 +1,202 @@
+package com.budget.buddy.transaction.domain.service.impl;
+
+import com.budget.buddy.core.dto.BudgetBreachedEvent;
+import com.budget.buddy.core.dto.ThresholdBreachedEvent;
+import com.budget.buddy.transaction.application.dto.budget.DailySpendEntry;
+import com.budget.buddy.transaction.domain.enums.Currency;
+import com.budget.buddy.transaction.domain.model.budget.Budget;
+import com.budget.buddy.transaction.domain.model.budget.BudgetCycleSetting;
+import com.budget.buddy.transaction.domain.model.threshold.Threshold;
+import com.budget.buddy.transaction.domain.service.SpendAlertData;
+import com.budget.buddy.transaction.domain.vo.BudgetCycleVO;
+import com.budget.buddy.transaction.infrastructure.repository.BudgetCycleSettingRepository;
+import com.budget.buddy.transaction.infrastructure.repository.BudgetRepository;
+import com.budget.buddy.transaction.infrastructure.repository.DailySpendRepository;
+import com.budget.buddy.transaction.infrastructure.repository.ThresholdRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Breach detection per write instead of per poll. The daily spend rollup is already kept up to date by every write,
+ * so the totals a write can push over a limit are one rollup row (thresholds are daily) or the rows of one cycle
+ * (budgets), never the transactions behind them. Keys:
+ * - budget:breach:{userId}:{budgetId}:{cycleStart} -> set once the cycle's budget was reported as exceeded
+ * - threshold:breach:{userId}:{thresholdId}:{date} -> set once the day's threshold was reported as exceeded
+ * Both expire after their window ends and are cleared when spending drops back under the limit, so a limit is
+ * reported again only if it is exceeded again. When Redis is unreachable breaches are reported every time.
+ */
+@Service
+public class SpendAlertDataImpl implements SpendAlertData {
+    private static final Logger logger = LogManager.getLogger(SpendAlertDataImpl.class);
+
+    private static final String BUDGET_BREACH_PROPERTY = "budget:breach:";
+    private static final String THRESHOLD_BREACH_PROPERTY = "threshold:breach:";
+    private static final String METRIC_NAME = "transaction.spend-alert";
+    private static final Comparator<DailySpendEntry> DAY_ORDER = Comparator.comparing(DailySpendEntry::categoryId)
+            .thenComparing(DailySpendEntry::currency)
+            .thenComparing(DailySpendEntry::date);
+
+    private final BudgetRepository budgetRepository;
+    private final ThresholdRepository thresholdRepository;
+    private final DailySpendRepository dailySpendRepository;
+    private final BudgetCycleSettingRepository budgetCycleSettingRepository;
+    private final StringRedisTemplate redis;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final boolean enabled;
+
+    private final Counter budgetBreaches;
+    private final Counter thresholdBreaches;
+    private final Counter redisErrors;
+
+    public SpendAlertDataImpl(BudgetRepository budgetRepository,
+                              ThresholdRepository thresholdRepository,
+                              DailySpendRepository dailySpendRepository,
+                              BudgetCycleSettingRepository budgetCycleSettingRepository,
+                              StringRedisTemplate redis,
+                              ApplicationEventPublisher applicationEventPublisher,
+                              MeterRegistry meterRegistry,
+                              @Value("${transaction.spend-alerts.enabled:true}") boolean enabled) {
+        this.budgetRepository = budgetRepository;
+        this.thresholdRepository = thresholdRepository;
+        this.dailySpendRepository = dailySpendRepository;
+        this.budgetCycleSettingRepository = budgetCycleSettingRepository;
+        this.redis = redis;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.enabled = enabled;
+
+        this.budgetBreaches = counter(meterRegistry, "budget");
+        this.thresholdBreaches = counter(meterRegistry, "threshold");
+        this.redisErrors = counter(meterRegistry, "redis-error");
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder(METRIC_NAME)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void detectBreaches(Long userId, List<DailySpendEntry> entries) {
+        if (!enabled) {
+            return;
+        }
+
+        Map<DailySpendEntry, DailySpendEntry> days = entries.stream()
+                .collect(Collectors.toMap(entry -> entry, entry -> entry, DailySpendEntry::plus, () -> new TreeMap<>(DAY_ORDER)));
+        BudgetCycleSetting setting = budgetCycleSettingRepository.findById(userId)
+                .orElseGet(() -> BudgetCycleSetting.defaults(userId));
+
+        Map<CycleKey, BigDecimal> cycles = new LinkedHashMap<>();
+        Map<ThresholdKey, Optional<Threshold>> thresholds = new HashMap<>();
+        for (DailySpendEntry day : days.values()) {
+            if (day.net().signum() != 0) {
+                Optional<Threshold> threshold = thresholds.computeIfAbsent(new ThresholdKey(day.categoryId(), day.currency()),
+                        key -> thresholdRepository.findByCategoryIdAndUserIdAndCurrency(key.categoryId(), userId, key.currency()));
+                threshold.ifPresent(value -> checkThreshold(userId, value, day, setting));
+            }
+            if (day.spent().signum() != 0) {
+                cycles.merge(new CycleKey(day.categoryId(), day.currency(), setting.cycleContaining(day.date())),
+                        day.spent(), BigDecimal::add);
+            }
+        }
+
+        cycles.forEach((cycle, spent) -> budgetRepository
+                .findByCategoryIdAndMoney_CurrencyAndUserId(cycle.categoryId(), cycle.currency().name(), userId)
+                .ifPresent(budget -> checkBudget(userId, budget, cycle, spent, setting)));
+    }
+
+    // Same rule as the threshold inquiry: the day is over when threshold + net total < 0; a zero threshold is off
+    private void checkThreshold(Long userId, Threshold threshold, DailySpendEntry day, BudgetCycleSetting setting) {
+        if (threshold.getThreshold().signum() == 0) {
+            return;
+        }
+
+        BigDecimal total = dailySpendRepository.sumRange(userId, day.categoryId(), day.currency(), day.date(), day.date()).getNet();
+        String marker = THRESHOLD_BREACH_PROPERTY + userId + ":" + threshold.getId() + ":" + day.date();
+        if (threshold.getThreshold().add(total).signum() >= 0) {
+            clear(marker);
+            return;
+        }
+        if (day.net().signum() > 0 || !mark(marker, expiresAfter(day.date(), setting))) {
+            return;
+        }
+
+        logger.info("Threshold breached: userId='{}', thresholdId='{}', date='{}', threshold='{}', total='{}'",
+                userId, threshold.getId(), day.date(), threshold.getThreshold(), total);
+        thresholdBreaches.increment();
+        applicationEventPublisher.publishEvent(new ThresholdBreachedEvent(userId, threshold.getId(), day.categoryId(),
+                day.currency().name(), day.date(), threshold.getThreshold(), total));
+    }
+
+    // Same rule as the budget listing: the cycle is over when amount + spent < 0
+    private void checkBudget(Long userId, Budget budget, CycleKey cycle, BigDecimal spentDelta, BudgetCycleSetting setting) {
+        BudgetCycleVO window = cycle.cycle();
+        BigDecimal spent = dailySpendRepository.sumRange(userId, cycle.categoryId(), cycle.currency(),
+                window.startDate(), window.endDate()).getSpent();
+        BigDecimal amount = budget.getMoney().getAmount();
+        String marker = BUDGET_BREACH_PROPERTY + userId + ":" + budget.getId() + ":" + window.startDate();
+        if (amount.add(spent).signum() >= 0) {
+            clear(marker);
+            return;
+        }
+        if (spentDelta.signum() > 0 || !mark(marker, expiresAfter(window.endDate(), setting))) {
+            return;
+        }
+
+        logger.info("Budget breached: userId='{}', budgetId='{}', cycle='{}'..'{}', amount='{}', spent='{}'",
+                userId, budget.getId(), window.startDate(), window.endDate(), amount, spent);
+        budgetBreaches.increment();
+        applicationEventPublisher.publishEvent(new BudgetBreachedEvent(userId, budget.getId(), cycle.categoryId(),
+                cycle.currency().name(), window.startDate(), window.endDate(), amount, spent));
+    }
+
+    private static Duration expiresAfter(LocalDate lastDay, BudgetCycleSetting setting) {
+        return Duration.ofDays(Math.max(1, ChronoUnit.DAYS.between(setting.today(), lastDay) + 2));
+    }
+
+    private boolean mark(String marker, Duration ttl) {
+        try {
+            return Boolean.TRUE.equals(redis.opsForValue().setIfAbsent(marker, "1", ttl));
+        } catch (RuntimeException e) {
+            redisErrors.increment();
+            logger.warn("Failed to record breach '{}', reporting it anyway", marker, e);
+            return true;
+        }
+    }
+
+    private void clear(String marker) {
+        try {
+            redis.delete(marker);
+        } catch (RuntimeException e) {
+            redisErrors.increment();
+            logger.warn("Failed to clear breach '{}'", marker, e);
+        }
+    }
+
+    private record ThresholdKey(Long categoryId, Currency currency) {
+    }
+
+    private record CycleKey(Long categoryId, Currency currency, BudgetCycleVO cycle) {
+    }
+}
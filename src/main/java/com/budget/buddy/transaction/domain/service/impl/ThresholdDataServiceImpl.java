@@ -4,9 +4,13 @@ import com.budget.buddy.core.config.exception.ConflictException;
 import com.budget.buddy.core.config.exception.ErrorCode;
 import com.budget.buddy.core.config.exception.NotFoundException;
 import com.budget.buddy.transaction.application.dto.threshold.ThresholdDTO;
+import com.budget.buddy.transaction.application.dto.threshold.ThresholdDayView;
+import com.budget.buddy.transaction.application.dto.threshold.ThresholdSeriesDTO;
+import com.budget.buddy.transaction.application.dto.threshold.ThresholdTransactionResponseDTO;
 import com.budget.buddy.transaction.domain.enums.Currency;
 import com.budget.buddy.transaction.domain.model.category.Category;
 import com.budget.buddy.transaction.domain.model.threshold.Threshold;
+import com.budget.buddy.transaction.domain.service.BudgetSummaryCache;
 import com.budget.buddy.transaction.domain.service.ThresholdDataService;
 import com.budget.buddy.transaction.domain.utils.TransactionUtils;
 import com.budget.buddy.transaction.infrastructure.repository.CategoryRepository;
@@ -15,9 +19,14 @@ import lombok.RequiredArgsConstructor;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -27,7 +36,9 @@ public class ThresholdDataServiceImpl implements ThresholdDataService {
     private final ThresholdRepository thresholdRepository;
     private final CategoryRepository categoryRepository;
     private final TransactionUtils transactionUtils;
+    private final BudgetSummaryCache budgetSummaryCache;
 
+    @Transactional
     @Override
     public ThresholdDTO create(Long categoryId, BigDecimal threshold, String currency) {
         Long userId = transactionUtils.getCurrentUserId();
@@ -36,7 +47,10 @@ public class ThresholdDataServiceImpl implements ThresholdDataService {
         Category category = validateAndGetOwnedCategory(userId, categoryId);
 
         Threshold entity = new Threshold(userId, category, threshold, Currency.valueOf(currency));
-        return toDTO(thresholdRepository.save(entity));
+        Threshold saved = thresholdRepository.save(entity);
+        // Deferred to after commit, so a concurrent series load cannot cache the thresholds without this one
+        budgetSummaryCache.evictAll(userId);
+        return toDTO(saved);
     }
 
     @Override
@@ -57,6 +71,7 @@ public class ThresholdDataServiceImpl implements ThresholdDataService {
                 .toList();
     }
 
+    @Transactional
     @Override
     public ThresholdDTO update(Long id, Long categoryId, BigDecimal threshold, String currency) {
         Long userId = transactionUtils.getCurrentUserId();
@@ -72,9 +87,12 @@ public class ThresholdDataServiceImpl implements ThresholdDataService {
 
         existing.setThreshold(threshold);
         existing.setCurrency(Currency.valueOf(currency));
-        return toDTO(thresholdRepository.save(existing));
+        Threshold saved = thresholdRepository.save(existing);
+        budgetSummaryCache.evictAll(userId);
+        return toDTO(saved);
     }
 
+    @Transactional
     @Override
     public void delete(Long id) {
         Long userId = transactionUtils.getCurrentUserId();
@@ -82,6 +100,16 @@ public class ThresholdDataServiceImpl implements ThresholdDataService {
         Threshold existing = thresholdRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new NotFoundException(ErrorCode.THRESHOLD_NOT_FOUND));
         thresholdRepository.delete(existing);
+        budgetSummaryCache.evictAll(userId);
+    }
+
+    @Transactional
+    @Override
+    public void deleteByCategoryId(Long categoryId) {
+        Long userId = transactionUtils.getCurrentUserId();
+        int deleted = thresholdRepository.bulkDeleteByCategoryId(categoryId, userId);
+        budgetSummaryCache.evictAll(userId);
+        logger.info("Deleted {} threshold(s) for userId='{}', categoryId='{}'", deleted, userId, categoryId);
     }
 
     @Override
@@ -93,6 +121,40 @@ public class ThresholdDataServiceImpl implements ThresholdDataService {
         return threshold == null ? null : toDTO(threshold);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public List<ThresholdSeriesDTO> getDailySeries(LocalDate startDate, LocalDate endDate) {
+        Long userId = transactionUtils.getCurrentUserId();
+        return budgetSummaryCache.getOrLoadThresholdSeries(userId, startDate, endDate, () -> {
+            logger.info("Evaluating all thresholds for userId='{}' between {} and {}", userId, startDate, endDate);
+            Map<Long, List<ThresholdDayView>> days = thresholdRepository.findDailyTotalsForUser(userId, startDate, endDate)
+                    .stream()
+                    .collect(Collectors.groupingBy(ThresholdDayView::getThresholdId));
+
+            return thresholdRepository.findAllByUserIdOrderByIdAsc(userId).stream()
+                    .map(threshold -> toSeries(threshold, days.getOrDefault(threshold.getId(), List.of())))
+                    .toList();
+        });
+    }
+
+    // Same comparison as the single-category threshold inquiry: a zero threshold never counts as exceeded
+    private ThresholdSeriesDTO toSeries(Threshold threshold, List<ThresholdDayView> days) {
+        BigDecimal limit = threshold.getThreshold();
+        List<ThresholdTransactionResponseDTO.DailyThresholdSummary> summaries = new ArrayList<>(days.size());
+        int breachedDays = 0;
+        for (ThresholdDayView day : days) {
+            BigDecimal exceededAmount = limit.signum() == 0 ? BigDecimal.ZERO : limit.add(day.getAmount());
+            if (exceededAmount.signum() < 0) {
+                breachedDays++;
+            }
+            summaries.add(new ThresholdTransactionResponseDTO.DailyThresholdSummary(day.getDate(), day.getAmount(),
+                    limit, exceededAmount));
+        }
+        return new ThresholdSeriesDTO(threshold.getId(), threshold.getCategory().getId(),
+                threshold.getCategory().getIdentity().getName(), limit, threshold.getCurrency().name(), breachedDays,
+                summaries);
+    }
+
     private Category validateAndGetOwnedCategory(Long userId, Long categoryId) {
         return categoryRepository.findByIdAndUserId(categoryId, userId)
                 .orElseThrow(() -> new ConflictException(ErrorCode.CATEGORY_NOT_FOUND));
@@ -3,21 +3,35 @@ package com.budget.buddy.transaction.domain.service.impl;
 import com.budget.buddy.core.config.exception.ErrorCode;
 import com.budget.buddy.core.config.exception.BadRequestException;
 
+import org.apache.commons.lang3.EnumUtils;
 import org.apache.commons.lang3.StringUtils;
 import com.budget.buddy.core.config.exception.ConflictException;
 import com.budget.buddy.core.config.exception.NotFoundException;
+import com.budget.buddy.transaction.application.dto.account.AccountLedgerEntry;
+import com.budget.buddy.transaction.application.dto.budget.DailySpendEntry;
+import com.budget.buddy.transaction.application.dto.budget.SpendRecordedEvent;
+import com.budget.buddy.transaction.application.dto.threshold.DailyAmountView;
 import com.budget.buddy.transaction.application.dto.threshold.ThresholdTransactionQuery;
 import com.budget.buddy.transaction.application.dto.threshold.ThresholdTransactionResponseDTO;
 import com.budget.buddy.transaction.application.dto.transaction.RetrieveTransactionsParams;
 import com.budget.buddy.transaction.application.dto.transaction.TransactionDTO;
 import com.budget.buddy.transaction.application.dto.transaction.TransactionFilterCriteria;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionImportReport;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionImportRow;
 import com.budget.buddy.transaction.application.dto.transaction.TransactionPagination;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionRow;
 import com.budget.buddy.transaction.domain.enums.CategoryType;
+import com.budget.buddy.transaction.domain.enums.Currency;
 import com.budget.buddy.transaction.domain.enums.Direction;
+import com.budget.buddy.transaction.domain.enums.TransactionTotalMode;
 import com.budget.buddy.transaction.domain.model.account.Account;
 import com.budget.buddy.transaction.domain.model.category.Category;
 import com.budget.buddy.transaction.domain.model.transaction.Transaction;
+import com.budget.buddy.transaction.domain.service.AccountBalanceData;
+import com.budget.buddy.transaction.domain.service.DailySpendData;
 import com.budget.buddy.transaction.domain.service.TransactionData;
+import com.budget.buddy.transaction.domain.service.TransactionHotStore;
+import com.budget.buddy.transaction.domain.service.TransactionInquiryCache;
 import com.budget.buddy.transaction.domain.utils.TransactionUtils;
 import com.budget.buddy.transaction.infrastructure.repository.AccountRepository;
 import com.budget.buddy.transaction.infrastructure.repository.CategoryRepository;
@@ -26,10 +40,15 @@ import com.budget.buddy.transaction.infrastructure.repository.TransactionSpecifi
 import lombok.RequiredArgsConstructor;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -37,6 +56,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -49,6 +69,14 @@ public class TransactionDataImpl implements TransactionData {
     private final CategoryRepository categoryRepository;
     private final AccountRepository accountRepository;
     private final TransactionSpecification transactionSpecification;
+    private final AccountBalanceData accountBalanceData;
+    private final DailySpendData dailySpendData;
+    private final TransactionInquiryCache transactionInquiryCache;
+    private final TransactionHotStore transactionHotStore;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Value("${transaction.export.fetch-size:1000}")
+    private int exportFetchSize;
     private static final Logger logger = LogManager.getLogger(TransactionDataImpl.class);
 
     @Transactional
@@ -62,18 +90,12 @@ public class TransactionDataImpl implements TransactionData {
     public void createTransactions(List<TransactionDTO> transactionRequests) {
         Long userId = transactionUtils.getCurrentUserId();
 
-        Set<Long> allAccountIds = transactionRequests.stream()
-                .flatMap(dto -> Stream.of(dto.getAccountId(), dto.getTargetAccountId()))
-                .filter(Objects::nonNull)
-                .collect(Collectors.toSet());
+        Set<Long> allAccountIds = collectAccountIds(transactionRequests);
         logger.info("Creating transaction: userId='{}', accountIds='{}'", userId, allAccountIds);
 
         List<Account> accounts = validateAndGetAccounts(userId, new ArrayList<>(allAccountIds));
 
-        Set<Long> allCategoryIds = transactionRequests.stream()
-                .flatMap(dto -> Stream.of(dto.getCategoryId(), dto.getTargetCategoryId()))
-                .filter(Objects::nonNull)
-                .collect(Collectors.toSet());
+        Set<Long> allCategoryIds = collectCategoryIds(transactionRequests);
         logger.info("Creating transaction: userId='{}', categoryIds='{}'", userId, allCategoryIds);
 
         List<Category> categories = validateAndGetCategories(userId, new ArrayList<>(allCategoryIds));
@@ -84,36 +106,97 @@ public class TransactionDataImpl implements TransactionData {
         List<Transaction> transactions = new ArrayList<>();
 
         for (TransactionDTO transactionRequest : transactionRequests) {
-            Category sourceCategory = categoryMap.get(transactionRequest.getCategoryId());
-            Account sourceAccount = accountMap.get(transactionRequest.getAccountId());
-            if (sourceCategory == null || sourceAccount == null) {
-                throw new NotFoundException(ErrorCode.CATEGORY_NOT_FOUND);
-            } 
-
-            CategoryType categoryType = transactionRequest.getCategoryType();
-            Direction direction = CategoryType.INCOME.equals(categoryType) ? Direction.IN : Direction.OUT;
-
-            Transaction sourceTransaction = buildTransaction(userId, sourceAccount, sourceCategory, transactionRequest,
-                    direction, categoryType);
-            transactions.add(sourceTransaction);
-
-            if (CategoryType.TRANSFER.equals(categoryType)) {
-                Account targetAccount = accountMap.get(transactionRequest.getTargetAccountId());
-                if (targetAccount == null) {
-                    throw new NotFoundException(ErrorCode.ACCOUNT_NOT_FOUND);
-                }
-
-                Category targetCategory = categoryMap.get(transactionRequest.getTargetCategoryId());
-                if (targetCategory == null) {
-                    throw new NotFoundException(ErrorCode.CATEGORY_NOT_FOUND);
-                }
-
-                Transaction targetTransaction = buildTransaction(userId, targetAccount, targetCategory, transactionRequest, Direction.IN, categoryType);
-                transactions.add(targetTransaction);
+            transactions.addAll(buildTransactions(userId, transactionRequest, accountMap, categoryMap));
+        }
+
+        transactionRepository.saveAll(transactions);
+        accountBalanceData.recordLedgerEntries(userId, toLedgerEntries(transactions));
+        recordSpend(userId, toSpendEntries(transactions));
+        transactionInquiryCache.bumpLedgerVersion(userId);
+        transactionHotStore.recordSaved(userId, transactions);
+    }
+
+    @Transactional
+    @Override
+    public List<TransactionImportReport.RowError> importTransactions(List<TransactionImportRow> rows) {
+        Long userId = transactionUtils.getCurrentUserId();
+        List<TransactionDTO> transactionRequests = rows.stream().map(TransactionImportRow::transaction).toList();
+
+        Set<Long> allAccountIds = collectAccountIds(transactionRequests);
+        Set<Long> allCategoryIds = collectCategoryIds(transactionRequests);
+        logger.info("Importing transaction chunk: userId='{}', rows='{}', accountIds='{}', categoryIds='{}'",
+                userId, rows.size(), allAccountIds, allCategoryIds);
+
+        // Same ownership rules as createTransactions, but a failing row is reported instead of aborting the chunk
+        Map<Long, Account> accountMap = getAccounts(userId, new ArrayList<>(allAccountIds)).stream()
+                .collect(Collectors.toMap(Account::getId, Function.identity()));
+        Map<Long, Category> categoryMap = getCategories(userId, new ArrayList<>(allCategoryIds)).stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+
+        List<Transaction> transactions = new ArrayList<>();
+        List<TransactionImportReport.RowError> errors = new ArrayList<>();
+
+        for (TransactionImportRow row : rows) {
+            try {
+                transactions.addAll(buildTransactions(userId, row.transaction(), accountMap, categoryMap));
+            } catch (NotFoundException e) {
+                errors.add(new TransactionImportReport.RowError(row.line(), e.getErrorCode(), e.getMessage()));
             }
         }
 
         transactionRepository.saveAll(transactions);
+        accountBalanceData.recordLedgerEntries(userId, toLedgerEntries(transactions));
+        recordSpend(userId, toSpendEntries(transactions));
+        transactionInquiryCache.bumpLedgerVersion(userId);
+        transactionHotStore.recordSaved(userId, transactions);
+        logger.info("Imported transaction chunk: userId='{}', saved='{}', rejected='{}'", userId, transactions.size(), errors.size());
+        return errors;
+    }
+
+    private Set<Long> collectAccountIds(List<TransactionDTO> transactionRequests) {
+        return transactionRequests.stream()
+                .flatMap(dto -> Stream.of(dto.getAccountId(), dto.getTargetAccountId()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private Set<Long> collectCategoryIds(List<TransactionDTO> transactionRequests) {
+        return transactionRequests.stream()
+                .flatMap(dto -> Stream.of(dto.getCategoryId(), dto.getTargetCategoryId()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private List<Transaction> buildTransactions(Long userId, TransactionDTO transactionRequest,
+                                                Map<Long, Account> accountMap, Map<Long, Category> categoryMap) {
+        Category sourceCategory = categoryMap.get(transactionRequest.getCategoryId());
+        Account sourceAccount = accountMap.get(transactionRequest.getAccountId());
+        if (sourceCategory == null || sourceAccount == null) {
+            throw new NotFoundException(ErrorCode.CATEGORY_NOT_FOUND);
+        }
+
+        CategoryType categoryType = transactionRequest.getCategoryType();
+        Direction direction = CategoryType.INCOME.equals(categoryType) ? Direction.IN : Direction.OUT;
+
+        Transaction sourceTransaction = buildTransaction(userId, sourceAccount, sourceCategory, transactionRequest,
+                direction, categoryType);
+
+        if (!CategoryType.TRANSFER.equals(categoryType)) {
+            return List.of(sourceTransaction);
+        }
+
+        Account targetAccount = accountMap.get(transactionRequest.getTargetAccountId());
+        if (targetAccount == null) {
+            throw new NotFoundException(ErrorCode.ACCOUNT_NOT_FOUND);
+        }
+
+        Category targetCategory = categoryMap.get(transactionRequest.getTargetCategoryId());
+        if (targetCategory == null) {
+            throw new NotFoundException(ErrorCode.CATEGORY_NOT_FOUND);
+        }
+
+        Transaction targetTransaction = buildTransaction(userId, targetAccount, targetCategory, transactionRequest, Direction.IN, categoryType);
+        return List.of(sourceTransaction, targetTransaction);
     }
 
     private Transaction buildTransaction(Long userId, Account account, Category category, TransactionDTO dto, Direction direction, CategoryType categoryType) {
@@ -130,32 +213,90 @@ public class TransactionDataImpl implements TransactionData {
         );
     }
 
+    private List<AccountLedgerEntry> toLedgerEntries(List<Transaction> transactions) {
+        return transactions.stream()
+                .map(t -> new AccountLedgerEntry(t.getSourceAccount().getId(), t.getDate(), t.getAmount()))
+                .toList();
+    }
+
+    private List<DailySpendEntry> toSpendEntries(List<Transaction> transactions) {
+        return transactions.stream()
+                .map(this::toSpendEntry)
+                .toList();
+    }
+
+    private DailySpendEntry toSpendEntry(Transaction transaction) {
+        return DailySpendEntry.booked(transaction.getCategory().getId(), transaction.getSourceAccount().getCurrency(),
+                transaction.getDate(), transaction.getAmount());
+    }
+
+    private static List<DailySpendEntry> reversed(List<DailySpendEntry> entries) {
+        return entries.stream().map(DailySpendEntry::reversed).toList();
+    }
+
+    // Listeners of the event run after commit, so alerting sees the rollup including this write
+    private void recordSpend(Long userId, List<DailySpendEntry> entries) {
+        dailySpendData.recordSpendEntries(userId, entries);
+        applicationEventPublisher.publishEvent(new SpendRecordedEvent(userId, entries));
+    }
+
     @Transactional
     @Override
     public void deleteTransactionByAccountId(List<Long> accountIds) {
         Long userId = transactionUtils.getCurrentUserId();
-        List<Transaction> transactions = transactionRepository.findTransactionBySourceAccountIdInAndUserId(accountIds, userId);
-        transactionRepository.deleteAll(transactions);
+        List<DailySpendEntry> removed = dailySpendData.sumAccounts(userId, accountIds);
+        int deleted = transactionRepository.bulkDeleteBySourceAccountIds(accountIds, userId);
+        accountBalanceData.resetAccounts(accountIds, userId);
+        dailySpendData.recordSpendEntries(userId, reversed(removed));
+        transactionInquiryCache.bumpLedgerVersion(userId);
+        transactionHotStore.evict(userId);
+        logger.info("Deleted {} transactions for userId='{}', accountIds='{}'", deleted, userId, accountIds);
+    }
+
+    @Transactional
+    @Override
+    public void deleteTransactionByAccountTypeGroupId(Long groupId) {
+        Long userId = transactionUtils.getCurrentUserId();
+        List<DailySpendEntry> removed = dailySpendData.sumAccountTypeGroup(userId, groupId);
+        int deleted = transactionRepository.bulkDeleteByAccountTypeGroupId(groupId, userId);
+        accountBalanceData.resetAccountTypeGroup(groupId, userId);
+        dailySpendData.recordSpendEntries(userId, reversed(removed));
+        transactionInquiryCache.bumpLedgerVersion(userId);
+        transactionHotStore.evict(userId);
+        logger.info("Deleted {} transactions for userId='{}', groupId='{}'", deleted, userId, groupId);
     }
 
     @Transactional
     @Override
     public void deleteTransactionByCategoryId(Long categoryId) {
         Long userId = transactionUtils.getCurrentUserId();
-        List<Transaction> transactions = transactionRepository.findTransactionByCategoryIdAndUserId(categoryId, userId);
-        transactionRepository.deleteAll(transactions);
+        List<AccountLedgerEntry> reversals = transactionRepository.sumAmountBySourceAccountAndDateForCategory(categoryId, userId)
+                .stream()
+                .map(sum -> new AccountLedgerEntry(sum.getAccountId(), sum.getDate(), sum.getAmount().negate()))
+                .toList();
+        int deleted = transactionRepository.bulkDeleteByCategoryId(categoryId, userId);
+        accountBalanceData.recordLedgerEntries(userId, reversals);
+        dailySpendData.deleteCategory(categoryId, userId);
+        transactionInquiryCache.bumpLedgerVersion(userId);
+        transactionHotStore.evict(userId);
+        logger.info("Deleted {} transactions for userId='{}', categoryId='{}'", deleted, userId, categoryId);
     }
 
     @Transactional(readOnly = true)
     @Override
     public TransactionPagination retrieveTransactions(RetrieveTransactionsParams params, TransactionFilterCriteria filterCriteria) {
+        if (params.getCursor() != null) {
+            return retrieveTransactionsAfterCursor(params, filterCriteria);
+        }
+
         int page = Optional.ofNullable(params.getPage()).orElse(0);
         int size = Optional.ofNullable(params.getSize()).orElse(20);
+        TransactionTotalMode totalMode = Optional.ofNullable(params.getTotalMode()).orElse(TransactionTotalMode.EXACT);
 
         Pageable pageable = PageRequest.of(page, size);
 
-        String sort = filterCriteria.getSort();
-        logger.info("Fetching transactions with page {} size {} sort {}", page, size, sort);
+        String sort = filterCriteria != null ? filterCriteria.getSort() : null;
+        logger.info("Fetching transactions with page {} size {} sort {} total {}", page, size, sort, totalMode);
 
         if (StringUtils.isBlank(sort)) {
             sort = "id,desc";
@@ -163,21 +304,139 @@ public class TransactionDataImpl implements TransactionData {
 
         Specification<Transaction> specification = transactionSpecification.buildSpecification(filterCriteria, sort);
 
-        Page<Transaction> transactionPage = transactionRepository.findAll(specification, pageable);
+        // Built first either way, so an invalid filter is rejected the same whether or not the ledger is in memory
+        Optional<TransactionHotStore.HotPage> hotPage = transactionHotStore.query(transactionUtils.getCurrentUserId(),
+                filterCriteria, transactionSpecification.resolveSort(sort), pageable.getOffset(), size);
+        if (hotPage.isPresent()) {
+            return toPagination(hotPage.get(), pageable, totalMode);
+        }
 
-        List<TransactionDTO> transactionDTOList = transactionPage.getContent()
-                .stream()
+        if (totalMode == TransactionTotalMode.EXACT) {
+            List<TransactionRow> rows = transactionRepository.findRows(specification, pageable.getOffset(), size);
+            // Like findAll(spec, pageable): the COUNT(*) is skipped when this page already reveals the total
+            Page<TransactionRow> transactionPage =
+                    PageableExecutionUtils.getPage(rows, pageable, () -> transactionRepository.count(specification));
+
+            TransactionPagination.Pagination pagination = new TransactionPagination.Pagination(
+                    transactionPage.getNumber(),
+                    transactionPage.getSize(),
+                    transactionPage.getTotalElements(),
+                    transactionPage.getTotalPages()
+            );
+
+            return new TransactionPagination(pagination, toDtos(transactionPage.getContent()));
+        }
+
+        Slice<TransactionRow> slice = transactionRepository.findSlice(specification, pageable);
+
+        TransactionPagination.Pagination.PaginationBuilder pagination = TransactionPagination.Pagination.builder()
+                .page(slice.getNumber())
+                .size(slice.getSize())
+                .totalMode(totalMode)
+                .hasNext(slice.hasNext());
+
+        if (totalMode == TransactionTotalMode.ESTIMATED) {
+            long total = estimateTotal(slice, specification, filterCriteria);
+            pagination.totalElements(total)
+                    .totalPages((int) ((total + size - 1) / size));
+        }
+
+        return new TransactionPagination(pagination.build(), toDtos(slice.getContent()));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void exportTransactions(TransactionFilterCriteria filterCriteria, Consumer<Stream<TransactionRow>> consumer) {
+        String sort = filterCriteria != null ? filterCriteria.getSort() : null;
+        if (StringUtils.isBlank(sort)) {
+            sort = "id,desc";
+        }
+
+        // Built before the consumer runs, so an invalid filter is rejected before anything is written
+        Specification<Transaction> specification = transactionSpecification.buildSpecification(filterCriteria, sort);
+        logger.info("Exporting transactions with sort {} fetch size {}", sort, exportFetchSize);
+
+        try (Stream<TransactionRow> rows = transactionRepository.streamRows(specification, exportFetchSize)) {
+            consumer.accept(rows);
+        }
+    }
+
+    // An in-memory page knows its exact total, which also settles hasNext and the ESTIMATED total
+    private TransactionPagination toPagination(TransactionHotStore.HotPage hotPage, Pageable pageable, TransactionTotalMode totalMode) {
+        if (totalMode == TransactionTotalMode.EXACT) {
+            Page<TransactionRow> transactionPage = new PageImpl<>(hotPage.rows(), pageable, hotPage.total());
+            TransactionPagination.Pagination pagination = new TransactionPagination.Pagination(
+                    transactionPage.getNumber(),
+                    transactionPage.getSize(),
+                    transactionPage.getTotalElements(),
+                    transactionPage.getTotalPages()
+            );
+            return new TransactionPagination(pagination, toDtos(hotPage.rows()));
+        }
+
+        TransactionPagination.Pagination.PaginationBuilder pagination = TransactionPagination.Pagination.builder()
+                .page(pageable.getPageNumber())
+                .size(pageable.getPageSize())
+                .totalMode(totalMode)
+                .hasNext(pageable.getOffset() + hotPage.rows().size() < hotPage.total());
+
+        if (totalMode == TransactionTotalMode.ESTIMATED) {
+            pagination.totalElements(hotPage.total())
+                    .totalPages((int) ((hotPage.total() + pageable.getPageSize() - 1) / pageable.getPageSize()));
+        }
+
+        return new TransactionPagination(pagination.build(), toDtos(hotPage.rows()));
+    }
+
+    private long estimateTotal(Slice<TransactionRow> slice, Specification<Transaction> specification,
+                               TransactionFilterCriteria filterCriteria) {
+        long seen = slice.getPageable().getOffset() + slice.getNumberOfElements();
+        // A short, non-empty page is the last one, so the total is already known exactly
+        if (!slice.hasNext() && slice.hasContent()) {
+            return seen;
+        }
+
+        Long userId = transactionUtils.getCurrentUserId();
+        long estimate = transactionRepository.estimateCount(filterCriteria, userId)
+                .orElseGet(() -> transactionRepository.count(specification));
+        // Never report fewer rows than the caller can already see
+        return slice.hasNext() ? Math.max(estimate, seen + 1) : estimate;
+    }
+
+    private List<TransactionDTO> toDtos(List<TransactionRow> rows) {
+        return rows.stream()
                 .map(this::toDto)
                 .toList();
+    }
 
-        TransactionPagination.Pagination pagination = new TransactionPagination.Pagination(
-                transactionPage.getNumber(),
-                transactionPage.getSize(),
-                transactionPage.getTotalElements(),
-                transactionPage.getTotalPages()
-        );
+    // Seek instead of OFFSET: one extra row tells whether another page exists, so no count query is needed
+    private TransactionPagination retrieveTransactionsAfterCursor(RetrieveTransactionsParams params, TransactionFilterCriteria filterCriteria) {
+        int size = Optional.ofNullable(params.getSize()).orElse(20);
+        String sort = filterCriteria != null ? filterCriteria.getSort() : null;
+        logger.info("Fetching transactions after cursor with size {} sort {}", size, sort);
 
-        return new TransactionPagination(pagination, transactionDTOList);
+        if (StringUtils.isBlank(sort)) {
+            sort = "id,desc";
+        }
+
+        Specification<Transaction> specification =
+                transactionSpecification.buildKeysetSpecification(filterCriteria, sort, params.getCursor());
+
+        List<TransactionRow> rows = transactionRepository.findRows(specification, 0, size + 1);
+
+        boolean hasNext = rows.size() > size;
+        List<TransactionRow> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? transactionSpecification.buildCursor(content.getLast(), sort) : null;
+
+        TransactionPagination.Pagination pagination = TransactionPagination.Pagination.builder()
+                .page(0)
+                .size(size)
+                .nextCursor(nextCursor)
+                .totalMode(TransactionTotalMode.NONE)
+                .hasNext(hasNext)
+                .build();
+
+        return new TransactionPagination(pagination, toDtos(content));
     }
 
     @Transactional
@@ -193,6 +452,10 @@ public class TransactionDataImpl implements TransactionData {
         logger.info("Found existing transaction: id='{}', oldAmount='{}', oldCategoryId='{}', oldAccountId='{}'",
                 existing.getId(), existing.getAmount(), existing.getCategory().getId(), existing.getSourceAccount().getId());
 
+        AccountLedgerEntry reversal = new AccountLedgerEntry(existing.getSourceAccount().getId(), existing.getDate(),
+                existing.getAmount().negate());
+        DailySpendEntry spendReversal = toSpendEntry(existing).reversed();
+
         Account sourceAccount = getAccount(userId, transactionRequest.getAccountId());
         Category category = getCategory(userId, transactionRequest.getCategoryId());
 
@@ -221,6 +484,11 @@ public class TransactionDataImpl implements TransactionData {
                 transactionRequest.getName(), transactionRequest.getDate(), transactionRequest.getRemarks());
 
         transactionRepository.save(existing);
+        accountBalanceData.recordLedgerEntries(userId, List.of(reversal, new AccountLedgerEntry(sourceAccount.getId(),
+                transactionRequest.getDate(), signedAmount)));
+        recordSpend(userId, List.of(spendReversal, toSpendEntry(existing)));
+        transactionInquiryCache.bumpLedgerVersion(userId);
+        transactionHotStore.recordSaved(userId, List.of(existing));
 
         logger.info("Successfully saved updated transaction: transactionId='{}', userId='{}'", transactionId, userId);
     }
@@ -240,29 +508,32 @@ public class TransactionDataImpl implements TransactionData {
         }
 
         transactionRepository.delete(existing);
+        accountBalanceData.recordLedgerEntries(userId, List.of(new AccountLedgerEntry(existing.getSourceAccount().getId(),
+                existing.getDate(), existing.getAmount().negate())));
+        recordSpend(userId, List.of(toSpendEntry(existing).reversed()));
+        transactionInquiryCache.bumpLedgerVersion(userId);
+        transactionHotStore.recordDeleted(userId, List.of(existing.getId()));
         logger.info("Successfully deleted transaction: transactionId='{}', userId='{}'", transactionId, userId);
     }
 
-    private TransactionDTO toDto(Transaction transaction) {
-        Account sourceAccount = transaction.getSourceAccount();
-
+    private TransactionDTO toDto(TransactionRow row) {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd-MM-yyyy");
-        String formattedDate = transaction.getDate().format(formatter);
+        String formattedDate = row.date().format(formatter);
 
         return TransactionDTO.builder()
-                .id(transaction.getId())
-                .name(transaction.getName())
-                .amount(transaction.getAmount())
-                .remarks(transaction.getRemarks())
-                .date(transaction.getDate())
+                .id(row.id())
+                .name(row.name())
+                .amount(row.amount())
+                .remarks(row.remarks())
+                .date(row.date())
                 .formattedDate(formattedDate)
-                .sourceAccountName(sourceAccount.getName())
-                .categoryName(transaction.getCategory().getIdentity().getName())
-                .currency(sourceAccount.getCurrency().name())
-                .categoryType(transaction.getType())
-                .accountId(transaction.getSourceAccount().getId())
-                .sourceAccountType(transaction.getSourceAccount().getAccountTypeGroup().getName())
-                .categoryId(transaction.getCategory().getId())
+                .sourceAccountName(row.accountName())
+                .categoryName(row.categoryName())
+                .currency(row.currency().name())
+                .categoryType(row.type())
+                .accountId(row.accountId())
+                .sourceAccountType(row.accountTypeName())
+                .categoryId(row.categoryId())
                 .build();
     }
 
@@ -306,43 +577,23 @@ public class TransactionDataImpl implements TransactionData {
         logger.info("Getting transactions grouped by date: userId='{}', categoryId='{}', startDate='{}', endDate='{}', currency='{}'",
                 userId, query.categoryId(), query.startDate(), query.endDate(), query.currency());
 
-        TransactionFilterCriteria filterCriteria = new TransactionFilterCriteria();
-
-        TransactionFilterCriteria.IdsFilter categoriesFilter = new TransactionFilterCriteria.IdsFilter();
-        categoriesFilter.setOperator("is");
-        categoriesFilter.setIds(List.of(query.categoryId()));
-        filterCriteria.setCategories(categoriesFilter);
-
-        TransactionFilterCriteria.DateFilter dateFilter = new TransactionFilterCriteria.DateFilter();
-        dateFilter.setOperator("is between");
-        dateFilter.setStartDate(query.startDate());
-        dateFilter.setEndDate(query.endDate());
-        filterCriteria.setDate(dateFilter);
-
-        TransactionFilterCriteria.CurrenciesFilter currenciesFilter = new TransactionFilterCriteria.CurrenciesFilter();
-        currenciesFilter.setOperator("is");
-        currenciesFilter.setCurrencies(List.of(query.currency()));
-        filterCriteria.setCurrencies(currenciesFilter);
-
-        Specification<Transaction> specification = transactionSpecification.buildSpecification(filterCriteria, "date,asc");
-        List<Transaction> transactions = transactionRepository.findAll(specification);
-
-        Map<LocalDate, BigDecimal> dailyTotals = transactions.stream()
-                .collect(Collectors.groupingBy(
-                        Transaction::getDate,
-                        TreeMap::new,
-                        Collectors.reducing(BigDecimal.ZERO, Transaction::getAmount, BigDecimal::add)
-                ));
-
-        return dailyTotals.entrySet().stream()
-                .map(entry -> {
-                    LocalDate date = entry.getKey();
-                    BigDecimal totalAmount = entry.getValue();
-                    BigDecimal exceededAmount = query.threshold().compareTo(BigDecimal.ZERO) == 0  ? BigDecimal.ZERO : query.threshold().add(totalAmount);
-                    return new ThresholdTransactionResponseDTO.DailyThresholdSummary(
-                            date, totalAmount, query.threshold(), exceededAmount
-                    );
-                })
-                .toList();
+        if (!EnumUtils.isValidEnum(Currency.class, query.currency())) {
+            logger.info("No transactions can match currency='{}'", query.currency());
+            return List.of();
+        }
+
+        // Aggregated per day in the database and read through a cursor, so memory depends on days, not transactions
+        try (Stream<DailyAmountView> days = transactionRepository.streamDailyAmountsForCategory(userId, query.categoryId(),
+                Currency.valueOf(query.currency()), query.startDate(), query.endDate())) {
+            return days
+                    .map(day -> {
+                        BigDecimal totalAmount = day.getAmount();
+                        BigDecimal exceededAmount = query.threshold().compareTo(BigDecimal.ZERO) == 0  ? BigDecimal.ZERO : query.threshold().add(totalAmount);
+                        return new ThresholdTransactionResponseDTO.DailyThresholdSummary(
+                                day.getDate(), totalAmount, query.threshold(), exceededAmount
+                        );
+                    })
+                    .toList();
+        }
     }
 }
@@ -0,0 +1,290 @@
+package com.budget.buddy.transaction.domain.service.impl;
+
+import com.budget.buddy.transaction.application.dto.transaction.TransactionFilterCriteria;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionRow;
+import com.budget.buddy.transaction.domain.model.account.Account;
+import com.budget.buddy.transaction.domain.model.transaction.Transaction;
+import com.budget.buddy.transaction.domain.service.TransactionHotStore;
+import com.budget.buddy.transaction.domain.service.TransactionInquiryCache;
+import com.budget.buddy.transaction.infrastructure.repository.TransactionRepository;
+import com.budget.buddy.transaction.infrastructure.repository.TransactionSpecification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Opt-in in-memory copy of the ledgers of users with at least transaction.hot-store.min-rows transactions.
+ * A ledger is loaded on the user's first listing and kept until the LRU needs its memory back.
+ * Local writes are replayed into the copy after commit. Before serving, the copy's version is checked
+ * against the shared ledger version from {@link TransactionInquiryCache}: a mismatch means another
+ * instance wrote, and the copy is dropped. Without a readable version the store is never used.
+ */
+@Service
+public class TransactionHotStoreImpl implements TransactionHotStore {
+    private static final Logger logger = LogManager.getLogger(TransactionHotStoreImpl.class);
+
+    private static final String METRIC_NAME = "transaction.hot-store";
+    private static final Set<String> SORTABLE_FIELDS = Set.of("date", "amount", "id");
+    private static final int MAX_TRACKED_COLD_USERS = 10_000;
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionSpecification transactionSpecification;
+    private final TransactionInquiryCache transactionInquiryCache;
+    private final boolean enabled;
+    private final long memoryBudgetBytes;
+    private final long minRows;
+    private final long retryAfterNanos;
+
+    // Access-ordered, so iteration starts at the least recently queried ledger; guarded by this
+    private final LinkedHashMap<Long, HotLedger> ledgers = new LinkedHashMap<>(16, 0.75f, true);
+    // Users not worth loading (too small, or recently stale) until the stored nanoTime
+    private final Map<Long, Long> coldUntil = new ConcurrentHashMap<>();
+    private final Set<Long> loading = ConcurrentHashMap.newKeySet();
+
+    private final Counter hits;
+    private final Counter fallbacks;
+    private final Counter loads;
+    private final Counter evictions;
+    private final Counter staleEvictions;
+
+    public TransactionHotStoreImpl(TransactionRepository transactionRepository,
+                                   TransactionSpecification transactionSpecification,
+                                   TransactionInquiryCache transactionInquiryCache,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${transaction.hot-store.enabled:false}") boolean enabled,
+                                   @Value("${transaction.hot-store.memory-budget-mb:256}") long memoryBudgetMb,
+                                   @Value("${transaction.hot-store.min-rows:20000}") long minRows,
+                                   @Value("${transaction.hot-store.retry-after-seconds:60}") long retryAfterSeconds) {
+        this.transactionRepository = transactionRepository;
+        this.transactionSpecification = transactionSpecification;
+        this.transactionInquiryCache = transactionInquiryCache;
+        this.enabled = enabled;
+        this.memoryBudgetBytes = memoryBudgetMb * 1024 * 1024;
+        this.minRows = minRows;
+        this.retryAfterNanos = Duration.ofSeconds(retryAfterSeconds).toNanos();
+
+        this.hits = counter(meterRegistry, "hit");
+        this.fallbacks = counter(meterRegistry, "fallback");
+        this.loads = counter(meterRegistry, "load");
+        this.evictions = counter(meterRegistry, "eviction");
+        this.staleEvictions = counter(meterRegistry, "stale");
+        Gauge.builder(METRIC_NAME + ".bytes", this, TransactionHotStoreImpl::residentBytes)
+                .register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".users", this, TransactionHotStoreImpl::residentUsers)
+                .register(meterRegistry);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder(METRIC_NAME)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<HotPage> query(Long userId, TransactionFilterCriteria filterCriteria, Sort sort, long offset, int limit) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        // Name order depends on the database collation, which Java cannot reproduce exactly
+        if (sort == null || !sort.stream().allMatch(order -> SORTABLE_FIELDS.contains(order.getProperty()))) {
+            fallbacks.increment();
+            return Optional.empty();
+        }
+
+        OptionalLong version = transactionInquiryCache.ledgerVersion(userId);
+        if (version.isEmpty()) {
+            fallbacks.increment();
+            return Optional.empty();
+        }
+
+        HotLedger ledger = resident(userId);
+        if (ledger == null) {
+            ledger = load(userId, version.getAsLong());
+        } else if (!ledger.isAt(version.getAsLong())) {
+            logger.info("Hot ledger for userId='{}' is behind the shared ledger version, dropping it", userId);
+            drop(userId, ledger);
+            staleEvictions.increment();
+            markCold(userId);
+            ledger = null;
+        }
+        if (ledger == null) {
+            fallbacks.increment();
+            return Optional.empty();
+        }
+
+        HotPage page = ledger.query(filterCriteria == null ? null : filterCriteria.toFilterTree(), sort, offset, limit);
+        if (page == null) {
+            fallbacks.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(page);
+    }
+
+    @Override
+    public void recordSaved(Long userId, List<Transaction> transactions) {
+        if (!enabled || resident(userId) == null) {
+            return;
+        }
+        // Converted now, while the associations can still be read in the surrounding transaction
+        List<TransactionRow> rows = transactions.stream().map(TransactionHotStoreImpl::toRow).toList();
+        afterCommit(userId, ledger -> ledger.upsert(rows));
+    }
+
+    @Override
+    public void recordDeleted(Long userId, List<Long> transactionIds) {
+        if (!enabled || resident(userId) == null) {
+            return;
+        }
+        List<Long> ids = List.copyOf(transactionIds);
+        afterCommit(userId, ledger -> ledger.remove(ids));
+    }
+
+    @Override
+    public void evict(Long userId) {
+        if (!enabled) {
+            return;
+        }
+        HotLedger ledger = resident(userId);
+        if (ledger != null) {
+            drop(userId, ledger);
+            evictions.increment();
+        }
+    }
+
+    private void afterCommit(Long userId, Consumer<HotLedger> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(userId, change);
+                }
+            });
+        } else {
+            apply(userId, change);
+        }
+    }
+
+    // A ledger loaded after the write was recorded also advances here and then fails the version check; that is safe
+    void apply(Long userId, Consumer<HotLedger> change) {
+        HotLedger ledger = resident(userId);
+        if (ledger != null) {
+            change.accept(ledger);
+            rebalance(userId);
+        }
+    }
+
+    private HotLedger load(Long userId, long version) {
+        Long until = coldUntil.get(userId);
+        if (until != null) {
+            if (until - System.nanoTime() > 0) {
+                return null;
+            }
+            coldUntil.remove(userId);
+        }
+        // One loader per user; concurrent requests go to the database meanwhile
+        if (!loading.add(userId)) {
+            return null;
+        }
+
+        try {
+            Specification<Transaction> specification = transactionSpecification.buildSpecification(null, "id,asc");
+            long count = transactionRepository.count(specification);
+            if (count < minRows || count * HotLedger.ESTIMATED_BYTES_PER_ROW > memoryBudgetBytes) {
+                markCold(userId);
+                return null;
+            }
+
+            long started = System.nanoTime();
+            // The version was read before the rows, so a write racing the load leaves the copy behind, never ahead
+            HotLedger ledger = new HotLedger(transactionRepository.findRows(specification, 0, Integer.MAX_VALUE), version);
+            admit(userId, ledger);
+            loads.increment();
+            logger.info("Loaded hot ledger for userId='{}': rows='{}', bytes='{}', took {} ms", userId, ledger.size(),
+                    ledger.estimatedBytes(), Duration.ofNanos(System.nanoTime() - started).toMillis());
+            return ledger;
+        } finally {
+            loading.remove(userId);
+        }
+    }
+
+    private synchronized HotLedger resident(Long userId) {
+        return ledgers.get(userId);
+    }
+
+    private synchronized void admit(Long userId, HotLedger ledger) {
+        ledgers.put(userId, ledger);
+        rebalance(userId);
+    }
+
+    // Evicts least recently used ledgers, never the one just touched, until the budget holds again
+    private synchronized void rebalance(Long userId) {
+        long total = residentBytes();
+        Iterator<Map.Entry<Long, HotLedger>> eldest = ledgers.entrySet().iterator();
+        while (total > memoryBudgetBytes && eldest.hasNext()) {
+            Map.Entry<Long, HotLedger> entry = eldest.next();
+            if (entry.getKey().equals(userId)) {
+                continue;
+            }
+            total -= entry.getValue().estimatedBytes();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private synchronized void drop(Long userId, HotLedger ledger) {
+        ledgers.remove(userId, ledger);
+    }
+
+    private void markCold(Long userId) {
+        if (coldUntil.size() >= MAX_TRACKED_COLD_USERS) {
+            coldUntil.clear();
+        }
+        coldUntil.put(userId, System.nanoTime() + retryAfterNanos);
+    }
+
+    synchronized long residentBytes() {
+        return ledgers.values().stream().mapToLong(HotLedger::estimatedBytes).sum();
+    }
+
+    synchronized int residentUsers() {
+        return ledgers.size();
+    }
+
+    static TransactionRow toRow(Transaction transaction) {
+        Account account = transaction.getSourceAccount();
+        return new TransactionRow(
+                transaction.getId(),
+                transaction.getName(),
+                BigDecimal.valueOf(HotLedger.toCents(transaction.getAmount()), 2),
+                transaction.getRemarks(),
+                transaction.getDate(),
+                transaction.getType(),
+                account.getId(),
+                account.getName(),
+                account.getCurrency(),
+                account.getAccountTypeGroup().getName(),
+                transaction.getCategory().getId(),
+                transaction.getCategory().getIdentity().getName());
+    }
+}
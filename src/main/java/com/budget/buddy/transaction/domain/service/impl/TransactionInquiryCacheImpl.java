@@ -0,0 +1,321 @@
+package com.budget.buddy.transaction.domain.service.impl;
+
+import com.budget.buddy.transaction.application.dto.transaction.RetrieveTransactionsParams;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionFilterCriteria;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionPagination;
+import com.budget.buddy.transaction.domain.service.TransactionInquiryCache;
+import com.budget.buddy.transaction.domain.utils.TransactionUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * Two-tier cache for transaction listings. Keys:
+ * - ledger:version:{userId} -> counter bumped after every committed ledger write (no TTL)
+ * - inquiry:{userId}:{version}:{sha256(filters + paging)} -> page JSON (TTL = transaction.inquiry-cache.ttl-seconds)
+ * The local tier holds the same keys in a bounded LRU, so only the version lookup goes to Redis on a hit.
+ * When Redis is unreachable the cache steps aside and every inquiry goes to the database.
+ */
+@Service
+public class TransactionInquiryCacheImpl implements TransactionInquiryCache {
+    private static final Logger logger = LogManager.getLogger(TransactionInquiryCacheImpl.class);
+
+    private static final String LEDGER_VERSION_PROPERTY = "ledger:version:";
+    private static final String INQUIRY_PROPERTY = "inquiry:";
+    private static final String METRIC_NAME = "transaction.inquiry.cache";
+
+    private final StringRedisTemplate redis;
+    private final ObjectMapper objectMapper;
+    private final TransactionUtils transactionUtils;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final LocalTier localTier;
+
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter redisHits;
+    private final Counter redisMisses;
+    private final Counter redisErrors;
+
+    public TransactionInquiryCacheImpl(StringRedisTemplate redis,
+                                       ObjectMapper objectMapper,
+                                       TransactionUtils transactionUtils,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${transaction.inquiry-cache.enabled:true}") boolean enabled,
+                                       @Value("${transaction.inquiry-cache.local-max-entries:2000}") int localMaxEntries,
+                                       @Value("${transaction.inquiry-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.redis = redis;
+        this.objectMapper = objectMapper;
+        this.transactionUtils = transactionUtils;
+        this.enabled = enabled;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+
+        this.localHits = counter(meterRegistry, "local", "hit");
+        this.localMisses = counter(meterRegistry, "local", "miss");
+        this.redisHits = counter(meterRegistry, "redis", "hit");
+        this.redisMisses = counter(meterRegistry, "redis", "miss");
+        this.redisErrors = counter(meterRegistry, "redis", "error");
+        this.localTier = new LocalTier(localMaxEntries,
+                counter(meterRegistry, "local", "eviction"),
+                counter(meterRegistry, "local", "expired"));
+        Gauge.builder(METRIC_NAME + ".size", localTier, LocalTier::size)
+                .tag("tier", "local")
+                .register(meterRegistry);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder(METRIC_NAME)
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public TransactionPagination getOrLoad(RetrieveTransactionsParams params, TransactionFilterCriteria filterCriteria,
+                                           Supplier<TransactionPagination> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        Long userId = transactionUtils.getCurrentUserId();
+        Long version = readLedgerVersion(userId);
+        if (version == null) {
+            return loader.get();
+        }
+
+        String key = INQUIRY_PROPERTY + userId + ":" + version + ":" + fingerprint(params, filterCriteria);
+        TransactionPagination cached = localTier.get(key);
+        if (cached != null) {
+            localHits.increment();
+            return cached;
+        }
+        localMisses.increment();
+
+        cached = readRedis(key);
+        if (cached != null) {
+            redisHits.increment();
+            localTier.put(key, cached, ttl);
+            return cached;
+        }
+        redisMisses.increment();
+
+        TransactionPagination loaded = loader.get();
+        writeRedis(key, loaded);
+        localTier.put(key, loaded, ttl);
+        return loaded;
+    }
+
+    @Override
+    public void bumpLedgerVersion(Long userId) {
+        if (!enabled) {
+            return;
+        }
+
+        // Bumping before commit would let a concurrent read cache the old rows under the new version
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    incrementLedgerVersion(userId);
+                }
+            });
+        } else {
+            incrementLedgerVersion(userId);
+        }
+    }
+
+    @Override
+    public OptionalLong ledgerVersion(Long userId) {
+        if (!enabled) {
+            return OptionalLong.empty();
+        }
+        Long version = readLedgerVersion(userId);
+        return version == null ? OptionalLong.empty() : OptionalLong.of(version);
+    }
+
+    private void incrementLedgerVersion(Long userId) {
+        try {
+            redis.opsForValue().increment(LEDGER_VERSION_PROPERTY + userId);
+        } catch (RuntimeException e) {
+            redisErrors.increment();
+            logger.warn("Failed to bump ledger version for userId='{}', cached listings expire after {}", userId, ttl, e);
+        }
+    }
+
+    private Long readLedgerVersion(Long userId) {
+        try {
+            String version = redis.opsForValue().get(LEDGER_VERSION_PROPERTY + userId);
+            return version == null ? 0L : Long.parseLong(version);
+        } catch (RuntimeException e) {
+            redisErrors.increment();
+            logger.warn("Ledger version unavailable for userId='{}', bypassing inquiry cache", userId, e);
+            return null;
+        }
+    }
+
+    private TransactionPagination readRedis(String key) {
+        try {
+            String json = redis.opsForValue().get(key);
+            return json == null ? null : objectMapper.readValue(json, TransactionPagination.class);
+        } catch (JsonProcessingException | RuntimeException e) {
+            redisErrors.increment();
+            logger.warn("Failed to read cached inquiry '{}'", key, e);
+            return null;
+        }
+    }
+
+    private void writeRedis(String key, TransactionPagination page) {
+        try {
+            redis.opsForValue().set(key, objectMapper.writeValueAsString(page), ttl);
+        } catch (JsonProcessingException | RuntimeException e) {
+            redisErrors.increment();
+            logger.warn("Failed to cache inquiry '{}'", key, e);
+        }
+    }
+
+    /**
+     * Hashes the filters and paging so that requests differing only in operator case, whitespace
+     * or the order of listed ids, types and currencies share an entry.
+     */
+    private String fingerprint(RetrieveTransactionsParams params, TransactionFilterCriteria filterCriteria) {
+        ObjectNode key = objectMapper.createObjectNode();
+        key.set("filter", normalize(objectMapper.valueToTree(filterCriteria)));
+        key.put("page", params.getPage());
+        key.put("size", params.getSize());
+        key.put("cursor", params.getCursor());
+        key.put("total", params.getTotalMode() == null ? null : params.getTotalMode().name());
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hashed = digest.digest(objectMapper.writeValueAsString(key).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hashed);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize inquiry key", e);
+        }
+    }
+
+    private static JsonNode normalize(JsonNode node) {
+        if (node instanceof ObjectNode object) {
+            // Rebuild with sorted field names so the serialized form does not depend on property order
+            Map<String, JsonNode> fields = new TreeMap<>();
+            for (Map.Entry<String, JsonNode> field : object.properties()) {
+                fields.put(field.getKey(), normalizeField(field.getKey(), field.getValue()));
+            }
+            ObjectNode sorted = object.objectNode();
+            sorted.setAll(fields);
+            return sorted;
+        }
+        if (node instanceof ArrayNode array && isScalarArray(array)) {
+            List<JsonNode> values = new ArrayList<>();
+            array.forEach(values::add);
+            values.sort(Comparator.comparing(JsonNode::asText));
+            ArrayNode distinct = array.arrayNode();
+            JsonNode previous = null;
+            for (JsonNode value : values) {
+                if (previous == null || !previous.equals(value)) {
+                    distinct.add(value);
+                }
+                previous = value;
+            }
+            return distinct;
+        }
+        return node;
+    }
+
+    private static JsonNode normalizeField(String name, JsonNode value) {
+        if (("operator".equals(name) || "sort".equals(name)) && value.isTextual()) {
+            return TextNode.valueOf(value.asText().trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT));
+        }
+        return normalize(value);
+    }
+
+    private static boolean isScalarArray(ArrayNode array) {
+        for (JsonNode value : array) {
+            if (value.isContainerNode()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Access-ordered LRU bounded by entry count. Expired entries are dropped when they are read.
+     */
+    static final class LocalTier {
+        private final int maxEntries;
+        private final Counter evictions;
+        private final Counter expirations;
+        private final LinkedHashMap<String, LocalEntry> entries;
+
+        LocalTier(int maxEntries, Counter evictions, Counter expirations) {
+            this.maxEntries = maxEntries;
+            this.evictions = evictions;
+            this.expirations = expirations;
+            this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        }
+
+        synchronized TransactionPagination get(String key) {
+            LocalEntry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAtNanos() - System.nanoTime() <= 0) {
+                entries.remove(key);
+                expirations.increment();
+                return null;
+            }
+            return entry.page();
+        }
+
+        synchronized void put(String key, TransactionPagination page, Duration ttl) {
+            if (maxEntries <= 0) {
+                return;
+            }
+            entries.put(key, new LocalEntry(page, System.nanoTime() + ttl.toNanos()));
+            Iterator<LocalEntry> eldest = entries.values().iterator();
+            while (entries.size() > maxEntries && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+
+    private record LocalEntry(TransactionPagination page, long expiresAtNanos) {
+    }
+}
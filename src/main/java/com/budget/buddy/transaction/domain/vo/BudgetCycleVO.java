@@ -0,0 +1,13 @@
+package com.budget.buddy.transaction.domain.vo;
+
+import java.time.LocalDate;
+
+/**
+ * One budget cycle, both ends inclusive.
+ */
+public record BudgetCycleVO(LocalDate startDate, LocalDate endDate) {
+
+    public boolean contains(LocalDate date) {
+        return !date.isBefore(startDate) && !date.isAfter(endDate);
+    }
+}
@@ -0,0 +1,32 @@
+package com.budget.buddy.transaction.infrastructure.repository;
+
+import com.budget.buddy.transaction.domain.model.account.AccountBalanceCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface AccountBalanceCheckpointRepository extends JpaRepository<AccountBalanceCheckpoint, AccountBalanceCheckpoint.Key> {
+    Optional<AccountBalanceCheckpoint> findFirstByAccountIdAndBalanceDateLessThanEqualOrderByBalanceDateDesc(Long accountId, LocalDate date);
+
+    boolean existsByAccountIdAndBalanceDate(Long accountId, LocalDate date);
+
+    @Modifying
+    @Query("UPDATE AccountBalanceCheckpoint c SET c.balance = c.balance + :delta " +
+            "WHERE c.accountId = :accountId AND c.balanceDate >= :date")
+    int shiftBalancesFrom(Long accountId, LocalDate date, BigDecimal delta);
+
+    @Modifying
+    @Query("DELETE FROM AccountBalanceCheckpoint c WHERE c.accountId IN (:accountIds) AND c.accountId IN " +
+            "(SELECT a.id FROM Account a JOIN a.accountTypeGroup g WHERE g.userId = :userId)")
+    int bulkDeleteByAccountIds(List<Long> accountIds, Long userId);
+
+    @Modifying
+    @Query("DELETE FROM AccountBalanceCheckpoint c WHERE c.accountId IN " +
+            "(SELECT a.id FROM Account a JOIN a.accountTypeGroup g WHERE g.id = :groupId AND g.userId = :userId)")
+    int bulkDeleteByAccountTypeGroupId(Long groupId, Long userId);
+}
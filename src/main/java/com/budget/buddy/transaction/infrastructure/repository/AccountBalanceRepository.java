@@ -0,0 +1,81 @@
+package com.budget.buddy.transaction.infrastructure.repository;
+
+import com.budget.buddy.transaction.application.dto.account.AccountBalanceDriftView;
+import com.budget.buddy.transaction.application.dto.account.AccountFlatView;
+import com.budget.buddy.transaction.domain.model.account.AccountBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AccountBalanceRepository extends JpaRepository<AccountBalance, Long> {
+    @Query("""
+            SELECT b.accountId AS id, b.balance AS amount
+            FROM AccountBalance b
+            WHERE b.userId = :userId AND b.accountId IN (:accountIds)
+            """)
+    List<AccountFlatView> findBalances(List<Long> accountIds, Long userId);
+
+    // Relative update so concurrent writers never lose each other's delta
+    @Modifying
+    @Query("UPDATE AccountBalance b SET b.balance = b.balance + :delta, b.lastModifiedDate = :now " +
+            "WHERE b.accountId = :accountId")
+    int applyDelta(Long accountId, BigDecimal delta, LocalDateTime now);
+
+    /**
+     * Seeds a missing balance row from the account's full history, which already holds the caller's write.
+     * If a concurrent first write inserted the row in the meantime, only {@code delta} is added to it, so
+     * two first writes to the same account never collide on the primary key.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO account_balance (account_id, user_id, balance, last_modified_date)
+            SELECT :accountId, :userId, COALESCE(SUM(t.amount), 0), :now
+            FROM transaction t
+            WHERE t.source_account_id = :accountId
+            ON CONFLICT (account_id)
+                DO UPDATE SET balance = account_balance.balance + :delta, last_modified_date = :now
+            """, nativeQuery = true)
+    int seedBalance(Long accountId, Long userId, BigDecimal delta, LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE AccountBalance b SET b.balance = 0, b.lastModifiedDate = :now " +
+            "WHERE b.accountId IN (:accountIds) AND b.userId = :userId")
+    int resetBalances(List<Long> accountIds, Long userId, LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE AccountBalance b SET b.balance = 0, b.lastModifiedDate = :now " +
+            "WHERE b.userId = :userId AND b.accountId IN " +
+            "(SELECT a.id FROM Account a WHERE a.accountTypeGroup.id = :groupId)")
+    int resetBalancesByAccountTypeGroupId(Long groupId, Long userId, LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM AccountBalance b WHERE b.accountId = :accountId AND b.userId = :userId")
+    int bulkDeleteByAccountId(Long accountId, Long userId);
+
+    @Modifying
+    @Query("DELETE FROM AccountBalance b WHERE b.userId = :userId AND b.accountId IN " +
+            "(SELECT a.id FROM Account a WHERE a.accountTypeGroup.id = :groupId)")
+    int bulkDeleteByAccountTypeGroupId(Long groupId, Long userId);
+
+    @Query("""
+            SELECT b.accountId AS accountId, b.userId AS userId, b.balance AS storedBalance,
+                   COALESCE(SUM(t.amount), 0) AS computedBalance
+            FROM AccountBalance b LEFT JOIN Transaction t ON t.sourceAccount.id = b.accountId
+            GROUP BY b.accountId, b.userId, b.balance
+            HAVING b.balance <> COALESCE(SUM(t.amount), 0)
+            """)
+    List<AccountBalanceDriftView> findDriftedBalances();
+
+    @Query("""
+            SELECT a.id AS accountId, g.userId AS userId, COALESCE(SUM(t.amount), 0) AS computedBalance
+            FROM Account a JOIN a.accountTypeGroup g
+                        LEFT JOIN Transaction t ON t.sourceAccount.id = a.id
+            WHERE NOT EXISTS (SELECT 1 FROM AccountBalance b WHERE b.accountId = a.id)
+            GROUP BY a.id, g.userId
+            """)
+    List<AccountBalanceDriftView> findMissingBalances();
+}
@@ -3,6 +3,7 @@ package com.budget.buddy.transaction.infrastructure.repository;
 import com.budget.buddy.transaction.application.dto.account.AccountFlatView;
 import com.budget.buddy.transaction.domain.model.account.Account;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
@@ -24,16 +25,6 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
             """)
     List<AccountFlatView> retrieveAllAccountsBySavingAccount(Long userId, Boolean savingAccount);
 
-    @Query("""
-            SELECT a.id AS id, COALESCE(SUM(t.amount), 0) AS amount, a.savingAccount
-            FROM Account a JOIN a.accountTypeGroup g
-                        LEFT JOIN Transaction t ON a.id = t.sourceAccount.id
-            WHERE g.userId = :userId AND a.id IN (:accountIds)
-            GROUP BY a.id
-            ORDER BY a.id
-            """)
-    List<AccountFlatView> retrieveAccountBalance(List<Long> accountIds, Long userId);
-
     @Query("SELECT a.id AS id, a.name AS name, a.currency AS currency, g.name AS groupName, g.id AS groupId, a.savingAccount " +
             "FROM Account a JOIN a.accountTypeGroup g " +
             "WHERE g.userId = :userId AND a.id = :accountId " +
@@ -63,4 +54,13 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
             "WHERE g.userId = :userId AND a.id IN (:accountId) " +
             "ORDER BY g.name, a.name")
     List<AccountFlatView> retrieveByAccountIdIn(Long userId, List<Long> accountId);
+
+    @Modifying
+    @Query("DELETE FROM Account a WHERE a.id = :accountId AND a.accountTypeGroup.id IN " +
+            "(SELECT g.id FROM AccountTypeGroup g WHERE g.userId = :userId)")
+    int bulkDeleteByIdAndUserId(Long accountId, Long userId);
+
+    @Modifying
+    @Query("DELETE FROM Account a WHERE a.accountTypeGroup.id = :groupId")
+    int bulkDeleteByAccountTypeGroupId(Long groupId);
 }
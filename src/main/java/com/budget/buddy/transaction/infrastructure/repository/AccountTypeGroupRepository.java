@@ -3,6 +3,7 @@ package com.budget.buddy.transaction.infrastructure.repository;
 import com.budget.buddy.transaction.domain.model.account.AccountTypeGroup;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.lang.NonNull;
 
@@ -16,4 +17,8 @@ public interface AccountTypeGroupRepository extends JpaRepository<AccountTypeGro
     Optional<AccountTypeGroup> findBydId(Long id, Long userId);
 
     List<AccountTypeGroup> findAllByUserId(Long currentUserId);
+
+    @Modifying
+    @Query("DELETE FROM AccountTypeGroup g WHERE g.id = :id AND g.userId = :userId")
+    int bulkDeleteByIdAndUserId(Long id, Long userId);
 }
@@ -0,0 +1,12 @@
+package com.budget.buddy.transaction.infrastructure.repository;
+
+import com.budget.buddy.transaction.application.dto.budget.BudgetCycleTotalRow;
+import com.budget.buddy.transaction.domain.vo.BudgetCycleVO;
+
+import java.util.List;
+
+public interface BudgetCycleRepository {
+    // Rollup totals of every budget of the user (optionally one currency) per cycle, from a single grouped query.
+    // Cycles must be consecutive and in ascending order; rows carry the index of their cycle
+    List<BudgetCycleTotalRow> findCycleTotals(Long userId, String currency, List<BudgetCycleVO> cycles);
+}
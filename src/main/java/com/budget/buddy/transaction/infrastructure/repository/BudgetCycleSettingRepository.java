@@ -0,0 +1,7 @@
+package com.budget.buddy.transaction.infrastructure.repository;
+
+import com.budget.buddy.transaction.domain.model.budget.BudgetCycleSetting;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface BudgetCycleSettingRepository extends JpaRepository<BudgetCycleSetting, Long> {
+}
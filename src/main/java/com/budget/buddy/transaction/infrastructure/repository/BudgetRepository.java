@@ -3,30 +3,33 @@ package com.budget.buddy.transaction.infrastructure.repository;
 import com.budget.buddy.transaction.application.dto.budget.BudgetDTO;
 import com.budget.buddy.transaction.domain.model.budget.Budget;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.time.LocalDate;
 import java.util.Optional;
 
-public interface BudgetRepository extends JpaRepository<Budget, Long> {
+public interface BudgetRepository extends JpaRepository<Budget, Long>, BudgetCycleRepository {
     boolean existsByCategoryIdAndMoney_CurrencyAndUserId(Long categoryId, String currency, Long userId);
 
+    Optional<Budget> findByCategoryIdAndMoney_CurrencyAndUserId(Long categoryId, String currency, Long userId);
+
+    // Sums one daily_spend row per day of the window instead of every transaction in it
     @Query("""
             SELECT b.id                                                                 AS id,
                    b.category.id                                                        AS caegoryID,
                    c.identity.name                                                      AS categoryName,
                    MAX(b.money.amount)                                                  AS amount,
-                   COALESCE(SUM(CASE WHEN t.amount < 0 THEN t.amount ELSE 0 END), 0)    AS spentAmount,
-                   COALESCE(MAX(b.money.amount), 0) -
-                   COALESCE(SUM(CASE WHEN t.amount < 0 THEN -t.amount ELSE 0 END), 0)   AS remainingAmount,
+                   COALESCE(SUM(d.spent), 0)                                            AS spentAmount,
+                   COALESCE(MAX(b.money.amount), 0) +
+                   COALESCE(SUM(d.spent), 0)                                            AS remainingAmount,
                    b.money.currency                                                     AS currency,
                    b.remarks                                                            AS remarks,
                    b.lastModifiedDate                                                   AS updatedAt
             FROM Budget b
                      JOIN Category c ON c.id = b.category.id
-                     LEFT JOIN Transaction t ON t.category.id = c.id AND t.sourceAccount.currency = b.money.currency AND t.date >= :startDate AND t.date <= :endDate
-                     LEFT JOIN Account a ON a.id = t.sourceAccount.id
+                     LEFT JOIN DailySpend d ON d.userId = b.userId AND d.categoryId = c.id AND d.currency = b.money.currency AND d.spendDate >= :startDate AND d.spendDate <= :endDate
             WHERE b.userId = :userId
             GROUP BY b.id, b.category.id, c.identity.name, b.money.currency, b.remarks
             """)
@@ -38,16 +41,15 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
                    b.category.id                                                        AS caegoryID,
                    c.identity.name                                                      AS categoryName,
                    MAX(b.money.amount)                                                  AS amount,
-                   COALESCE(SUM(t.amount), 0)                                           AS spentAmount,
+                   COALESCE(SUM(d.net), 0)                                              AS spentAmount,
                    COALESCE(MAX(b.money.amount), 0) +
-                   COALESCE(SUM(t.amount), 0)                                           AS remainingAmount,
+                   COALESCE(SUM(d.net), 0)                                              AS remainingAmount,
                    b.money.currency                                                     AS currency,
                    b.remarks                                                            AS remarks,
                    b.lastModifiedDate                                                   AS updatedAt
             FROM Budget b
                      JOIN Category c ON c.id = b.category.id
-                     LEFT JOIN Transaction t ON t.category.id = c.id AND t.sourceAccount.currency = b.money.currency AND t.date >= :startDate AND t.date <= :endDate
-                     LEFT JOIN Account a ON a.id = t.sourceAccount.id
+                     LEFT JOIN DailySpend d ON d.userId = b.userId AND d.categoryId = c.id AND d.currency = b.money.currency AND d.spendDate >= :startDate AND d.spendDate <= :endDate
             WHERE b.userId = :userId AND b.money.currency = :currency
             GROUP BY b.id, b.category.id, c.identity.name, b.money.currency, b.remarks
             """)
@@ -69,7 +71,7 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
                    b.lastModifiedDate                                                   AS updatedAt
             FROM Budget b
                      JOIN Category c ON c.id = b.category.id
-                     LEFT JOIN Transaction t ON t.category.id = c.id AND t.sourceAccount.currency = b.money.currency
+                     LEFT JOIN Transaction t ON t.userId = b.userId AND t.category.id = c.id AND t.sourceAccount.currency = b.money.currency
                      LEFT JOIN Account a ON a.id = t.sourceAccount.id
             WHERE b.id = :id AND b.userId = :userId
             GROUP BY b.id, b.category.id, c.identity.name, b.money.currency, b.remarks
@@ -77,4 +79,8 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
     Optional<BudgetDTO> findBudgetDTOByIdAndUserId(Long id, Long userId);
 
     List<Budget> findAllByUserIdAndCategoryId(Long userId, Long categoryId);
+
+    @Modifying
+    @Query("DELETE FROM Budget b WHERE b.userId = :userId AND b.category.id = :categoryId")
+    int bulkDeleteByCategoryId(Long categoryId, Long userId);
 }
@@ -2,6 +2,7 @@ package com.budget.buddy.transaction.infrastructure.repository;
 
 import com.budget.buddy.transaction.domain.model.category.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
@@ -15,4 +16,8 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     List<Category> findAllByUserId(Long userId);
 
     List<Category> findByIdInAndUserId(List<Long> ids, Long userId);
+
+    @Modifying
+    @Query("DELETE FROM Category c WHERE c.id = :id AND c.userId = :userId")
+    int bulkDeleteByIdAndUserId(Long id, Long userId);
 }
@@ -0,0 +1,117 @@
+package com.budget.buddy.transaction.infrastructure.repository;
+
+import com.budget.buddy.transaction.application.dto.budget.DailySpendDayView;
+import com.budget.buddy.transaction.application.dto.budget.DailySpendDriftView;
+import com.budget.buddy.transaction.application.dto.budget.DailySpendSumView;
+import com.budget.buddy.transaction.domain.enums.Currency;
+import com.budget.buddy.transaction.domain.model.budget.DailySpend;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DailySpendRepository extends JpaRepository<DailySpend, DailySpend.Key> {
+    // Relative update so concurrent writers never lose each other's delta
+    @Modifying
+    @Query("UPDATE DailySpend d SET d.spent = d.spent + :spent, d.net = d.net + :net " +
+            "WHERE d.userId = :userId AND d.categoryId = :categoryId AND d.currency = :currency AND d.spendDate = :spendDate")
+    int applyDelta(Long userId, Long categoryId, Currency currency, LocalDate spendDate, BigDecimal spent, BigDecimal net);
+
+    /**
+     * Seeds a day that has no row yet from the ledger, which already holds the caller's write. If a concurrent
+     * first write inserted the row in the meantime, only the caller's delta is added to it instead, so two
+     * first writes of the same day never collide on the primary key.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO daily_spend (user_id, category_id, currency, spend_date, spent, net)
+            SELECT :userId, :categoryId, :currency, :spendDate,
+                   COALESCE(SUM(CASE WHEN t.amount < 0 THEN t.amount ELSE 0 END), 0), COALESCE(SUM(t.amount), 0)
+            FROM transaction t
+                     JOIN account a ON a.id = t.source_account_id
+            WHERE t.user_id = :userId AND t.category_id = :categoryId AND a.currency = :currency AND t.date = :spendDate
+            ON CONFLICT (user_id, category_id, currency, spend_date)
+                DO UPDATE SET spent = daily_spend.spent + :spent, net = daily_spend.net + :net
+            """, nativeQuery = true)
+    int seedDay(Long userId, Long categoryId, String currency, LocalDate spendDate, BigDecimal spent, BigDecimal net);
+
+    // What the given accounts contribute to each rollup row, so removing or moving them is a delta, not a rebuild
+    @Query("""
+            SELECT t.category.id AS categoryId, a.currency AS currency, t.date AS spendDate,
+                   SUM(CASE WHEN t.amount < 0 THEN t.amount ELSE 0 END) AS spent, SUM(t.amount) AS net
+            FROM Transaction t JOIN t.sourceAccount a
+            WHERE t.userId = :userId AND a.id IN (:accountIds)
+            GROUP BY t.category.id, a.currency, t.date
+            """)
+    List<DailySpendDayView> sumLedgerByAccountIds(Long userId, List<Long> accountIds);
+
+    @Query("""
+            SELECT t.category.id AS categoryId, a.currency AS currency, t.date AS spendDate,
+                   SUM(CASE WHEN t.amount < 0 THEN t.amount ELSE 0 END) AS spent, SUM(t.amount) AS net
+            FROM Transaction t JOIN t.sourceAccount a
+            WHERE t.userId = :userId AND a.accountTypeGroup.id = :groupId
+            GROUP BY t.category.id, a.currency, t.date
+            """)
+    List<DailySpendDayView> sumLedgerByAccountTypeGroupId(Long userId, Long groupId);
+
+    // Reads at most one row per day of the window, however many transactions the days hold
+    @Query("""
+            SELECT COALESCE(SUM(d.spent), 0) AS spent,
+                   COALESCE(SUM(d.net), 0)   AS net
+            FROM DailySpend d
+            WHERE d.userId = :userId AND d.categoryId = :categoryId AND d.currency = :currency
+              AND d.spendDate >= :startDate AND d.spendDate <= :endDate
+            """)
+    DailySpendSumView sumRange(Long userId, Long categoryId, Currency currency, LocalDate startDate, LocalDate endDate);
+
+    @Modifying
+    @Query("DELETE FROM DailySpend d WHERE d.userId = :userId")
+    int bulkDeleteByUserId(Long userId);
+
+    @Modifying
+    @Query("DELETE FROM DailySpend d WHERE d.userId = :userId AND d.categoryId = :categoryId")
+    int bulkDeleteByCategoryId(Long categoryId, Long userId);
+
+    // Recomputes all of a user's rows from the ledger; callers delete the old rows first
+    @Modifying
+    @Query("""
+            INSERT INTO DailySpend (userId, categoryId, currency, spendDate, spent, net)
+            SELECT t.userId, t.category.id, a.currency, t.date,
+                   SUM(CASE WHEN t.amount < 0 THEN t.amount ELSE 0 END), SUM(t.amount)
+            FROM Transaction t JOIN t.sourceAccount a
+            WHERE t.userId = :userId
+            GROUP BY t.userId, t.category.id, a.currency, t.date
+            """)
+    int insertFromLedger(Long userId);
+
+    @Query("""
+            SELECT d.userId AS userId, d.categoryId AS categoryId, d.currency AS currency, d.spendDate AS spendDate,
+                   d.spent AS storedSpent, d.net AS storedNet,
+                   COALESCE(SUM(CASE WHEN t.amount < 0 THEN t.amount ELSE 0 END), 0) AS computedSpent,
+                   COALESCE(SUM(t.amount), 0) AS computedNet
+            FROM DailySpend d
+                     LEFT JOIN Transaction t ON t.userId = d.userId AND t.category.id = d.categoryId
+                         AND t.sourceAccount.currency = d.currency AND t.date = d.spendDate
+            GROUP BY d.userId, d.categoryId, d.currency, d.spendDate, d.spent, d.net
+            HAVING d.spent <> COALESCE(SUM(CASE WHEN t.amount < 0 THEN t.amount ELSE 0 END), 0)
+                OR d.net <> COALESCE(SUM(t.amount), 0)
+            """)
+    List<DailySpendDriftView> findDriftedDays();
+
+    // Ordered the way writers lock rows, so the backfill's batches cannot deadlock with them
+    @Query("""
+            SELECT t.userId AS userId, t.category.id AS categoryId, a.currency AS currency, t.date AS spendDate,
+                   SUM(CASE WHEN t.amount < 0 THEN t.amount ELSE 0 END) AS computedSpent,
+                   SUM(t.amount) AS computedNet
+            FROM Transaction t JOIN t.sourceAccount a
+            WHERE NOT EXISTS (SELECT 1 FROM DailySpend d WHERE d.userId = t.userId AND d.categoryId = t.category.id
+                                                         AND d.currency = a.currency AND d.spendDate = t.date)
+            GROUP BY t.userId, t.category.id, a.currency, t.date
+            ORDER BY t.userId, t.category.id, a.currency, t.date
+            """)
+    List<DailySpendDriftView> findMissingDays(Pageable pageable);
+}
@@ -3,6 +3,8 @@ package com.budget.buddy.transaction.infrastructure.repository;
 import com.budget.buddy.transaction.domain.model.installment.Installment;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.Collection;
 import java.util.List;
@@ -16,4 +18,13 @@ public interface InstallmentRepository extends JpaRepository<Installment, Long>
     List<Installment> findAllByUserIdOrderByDueDateAscIdAsc(Long userId);
 
     void deleteAllByIdInAndUserId(Collection<Long> ids, Long userId);
+
+    @Modifying
+    @Query("DELETE FROM Installment i WHERE i.userId = :userId AND i.account.id = :accountId")
+    int bulkDeleteByAccountId(Long accountId, Long userId);
+
+    @Modifying
+    @Query("DELETE FROM Installment i WHERE i.userId = :userId AND i.account.id IN " +
+            "(SELECT a.id FROM Account a WHERE a.accountTypeGroup.id = :groupId)")
+    int bulkDeleteByAccountTypeGroupId(Long groupId, Long userId);
 }
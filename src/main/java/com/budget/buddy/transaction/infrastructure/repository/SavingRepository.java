@@ -3,6 +3,8 @@ package com.budget.buddy.transaction.infrastructure.repository;
 import com.budget.buddy.transaction.domain.model.saving.Saving;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.Collection;
 import java.util.List;
@@ -19,4 +21,13 @@ public interface SavingRepository extends JpaRepository<Saving, Long> {
     List<Saving> findAllByUserIdAndMoney_CurrencyOrderByDateAscIdAsc(Long userId, String currency);
 
     void deleteAllByIdInAndUserId(Collection<Long> ids, Long userId);
+
+    @Modifying
+    @Query("DELETE FROM Saving s WHERE s.userId = :userId AND s.account.id = :accountId")
+    int bulkDeleteByAccountId(Long accountId, Long userId);
+
+    @Modifying
+    @Query("DELETE FROM Saving s WHERE s.userId = :userId AND s.account.id IN " +
+            "(SELECT a.id FROM Account a WHERE a.accountTypeGroup.id = :groupId)")
+    int bulkDeleteByAccountTypeGroupId(Long groupId, Long userId);
 }
@@ -3,6 +3,8 @@ package com.budget.buddy.transaction.infrastructure.repository;
 import com.budget.buddy.transaction.domain.model.subscription.Subscription;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.Collection;
 import java.util.List;
@@ -16,4 +18,13 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, Long
     List<Subscription> findAllByUserIdOrderByPayDayAscIdAsc(Long userId);
 
     void deleteAllByIdInAndUserId(Collection<Long> ids, Long userId);
+
+    @Modifying
+    @Query("DELETE FROM Subscription s WHERE s.userId = :userId AND s.account.id = :accountId")
+    int bulkDeleteByAccountId(Long accountId, Long userId);
+
+    @Modifying
+    @Query("DELETE FROM Subscription s WHERE s.userId = :userId AND s.account.id IN " +
+            "(SELECT a.id FROM Account a WHERE a.accountTypeGroup.id = :groupId)")
+    int bulkDeleteByAccountTypeGroupId(Long groupId, Long userId);
 }
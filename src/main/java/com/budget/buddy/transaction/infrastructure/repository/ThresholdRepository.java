@@ -1,9 +1,13 @@
 package com.budget.buddy.transaction.infrastructure.repository;
 
+import com.budget.buddy.transaction.application.dto.threshold.ThresholdDayView;
 import com.budget.buddy.transaction.domain.model.threshold.Threshold;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +23,24 @@ public interface ThresholdRepository extends JpaRepository<Threshold, Long> {
 
     boolean existsByCategoryIdAndUserId(Long categoryId, Long userId);
 
+    @Modifying
+    @Query("DELETE FROM Threshold t WHERE t.userId = :userId AND t.category.id = :categoryId")
+    int bulkDeleteByCategoryId(Long categoryId, Long userId);
+
     @EntityGraph(attributePaths = {"category"})
     Optional<Threshold> findByCategoryIdAndUserIdAndCurrency(Long categoryId, Long userId, com.budget.buddy.transaction.domain.enums.Currency currency);
+
+    // The rollup already holds one net total per category, currency and day, so every threshold of the user is
+    // evaluated with a single join instead of one ledger scan each. A row left at zero by deletes has no
+    // transactions behind it and is skipped; a day whose transactions offset each other still has spending
+    @Query("""
+            SELECT th.id AS thresholdId, d.spendDate AS date, d.net AS amount
+            FROM Threshold th, DailySpend d
+            WHERE th.userId = :userId AND d.userId = th.userId
+              AND d.categoryId = th.category.id AND d.currency = th.currency
+              AND d.spendDate >= :startDate AND d.spendDate <= :endDate
+              AND (d.spent <> 0 OR d.net <> 0)
+            ORDER BY th.id, d.spendDate
+            """)
+    List<ThresholdDayView> findDailyTotalsForUser(Long userId, LocalDate startDate, LocalDate endDate);
 }
@@ -0,0 +1,26 @@
+package com.budget.buddy.transaction.infrastructure.repository;
+
+import com.budget.buddy.transaction.application.dto.transaction.TransactionFilterCriteria;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionRow;
+import com.budget.buddy.transaction.domain.model.transaction.Transaction;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
+
+public interface TransactionInquiryRepository {
+    // Flat rows in the specification's order from a single joined SELECT; no entities are hydrated
+    List<TransactionRow> findRows(Specification<Transaction> specification, long offset, int limit);
+
+    // The same rows read through a server-side cursor; the caller must close the stream inside a transaction
+    Stream<TransactionRow> streamRows(Specification<Transaction> specification, int fetchSize);
+
+    // OFFSET page without the COUNT(*); one extra row tells whether a next page exists
+    Slice<TransactionRow> findSlice(Specification<Transaction> specification, Pageable pageable);
+
+    // Planner row estimate for the filtered ledger; empty when the database cannot provide one
+    OptionalLong estimateCount(TransactionFilterCriteria criteria, Long userId);
+}
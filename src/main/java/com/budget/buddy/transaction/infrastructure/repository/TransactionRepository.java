@@ -1,23 +1,68 @@
 package com.budget.buddy.transaction.infrastructure.repository;
 
+import com.budget.buddy.transaction.application.dto.account.AccountLedgerSumView;
+import com.budget.buddy.transaction.application.dto.threshold.DailyAmountView;
+import com.budget.buddy.transaction.domain.enums.Currency;
 import com.budget.buddy.transaction.domain.model.transaction.Transaction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction> {
-    boolean existsBySourceAccountIdAndUserId(Long accountId, Long userId);
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction>,
+        TransactionInquiryRepository {
+    boolean existsByCategoryIdAndUserId(Long categoryId, Long userId);
 
-    boolean existsBySourceAccountIdInAndUserId(List<Long> accountIds, Long userId);
+    java.util.Optional<Transaction> findByIdAndUserId(Long id, Long userId);
 
-    boolean existsByCategoryIdAndUserId(Long categoryId, Long userId);
+    @Modifying
+    @Query("DELETE FROM Transaction t WHERE t.userId = :userId AND t.sourceAccount.id IN (:accountIds)")
+    int bulkDeleteBySourceAccountIds(List<Long> accountIds, Long userId);
 
-    List<Transaction> findTransactionBySourceAccountIdInAndUserId(List<Long> accountId, Long userId);
+    @Modifying
+    @Query("DELETE FROM Transaction t WHERE t.userId = :userId AND t.sourceAccount.id IN " +
+            "(SELECT a.id FROM Account a WHERE a.accountTypeGroup.id = :groupId)")
+    int bulkDeleteByAccountTypeGroupId(Long groupId, Long userId);
 
-    List<Transaction> findTransactionByCategoryIdAndUserId(Long categoryId, Long userId);
+    @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t " +
+            "WHERE t.sourceAccount.id = :accountId AND t.date <= :until")
+    BigDecimal sumAmountBySourceAccountIdUntil(Long accountId, LocalDate until);
 
-    java.util.Optional<Transaction> findByIdAndUserId(Long id, Long userId);
+    @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t " +
+            "WHERE t.sourceAccount.id = :accountId AND t.date > :after AND t.date <= :until")
+    BigDecimal sumAmountBySourceAccountIdBetween(Long accountId, LocalDate after, LocalDate until);
+
+    @Query("SELECT t.sourceAccount.id AS accountId, t.date AS date, SUM(t.amount) AS amount FROM Transaction t " +
+            "WHERE t.sourceAccount.id = :accountId AND t.date > :after AND t.date <= :until " +
+            "GROUP BY t.sourceAccount.id, t.date ORDER BY t.date")
+    List<AccountLedgerSumView> sumDailyAmountsBySourceAccountId(Long accountId, LocalDate after, LocalDate until);
+
+    @Query("SELECT t.sourceAccount.id AS accountId, t.date AS date, SUM(t.amount) AS amount FROM Transaction t " +
+            "WHERE t.userId = :userId AND t.category.id = :categoryId GROUP BY t.sourceAccount.id, t.date")
+    List<AccountLedgerSumView> sumAmountBySourceAccountAndDateForCategory(Long categoryId, Long userId);
+
+    // One row per day, in date order; the caller must close the stream inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t.date AS date, SUM(t.amount) AS amount FROM Transaction t " +
+            "WHERE t.userId = :userId AND t.category.id = :categoryId AND t.sourceAccount.currency = :currency " +
+            "AND t.date >= :startDate AND t.date <= :endDate GROUP BY t.date ORDER BY t.date")
+    Stream<DailyAmountView> streamDailyAmountsForCategory(Long userId, Long categoryId, Currency currency,
+                                                          LocalDate startDate, LocalDate endDate);
+
+    @Modifying
+    @Query("DELETE FROM Transaction t WHERE t.userId = :userId AND t.category.id = :categoryId")
+    int bulkDeleteByCategoryId(Long categoryId, Long userId);
 }
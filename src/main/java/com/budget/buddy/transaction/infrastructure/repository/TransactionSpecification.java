@@ -1,9 +1,22 @@
 package com.budget.buddy.transaction.infrastructure.repository;
 
 import com.budget.buddy.transaction.application.dto.transaction.TransactionFilterCriteria;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionRow;
 import com.budget.buddy.transaction.domain.model.transaction.Transaction;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 public interface TransactionSpecification {
     Specification<Transaction> buildSpecification(TransactionFilterCriteria criteria, String sort);
+
+    /**
+     * Same filters and ordering as {@link #buildSpecification}, with {@code id} appended as a tiebreaker and,
+     * when a cursor is given, restricted to the rows that come after it. Blank cursor means the first page.
+     */
+    Specification<Transaction> buildKeysetSpecification(TransactionFilterCriteria criteria, String sort, String cursor);
+
+    String buildCursor(TransactionRow last, String sort);
+
+    // The full ordering both specifications apply, id tiebreak included
+    Sort resolveSort(String sort);
 }
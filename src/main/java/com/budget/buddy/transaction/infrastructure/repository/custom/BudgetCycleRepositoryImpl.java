@@ -0,0 +1,77 @@
+package com.budget.buddy.transaction.infrastructure.repository.custom;
+
+import com.budget.buddy.transaction.application.dto.budget.BudgetCycleTotalRow;
+import com.budget.buddy.transaction.domain.vo.BudgetCycleVO;
+import com.budget.buddy.transaction.infrastructure.repository.BudgetCycleRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class BudgetCycleRepositoryImpl implements BudgetCycleRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BudgetCycleTotalRow> findCycleTotals(Long userId, String currency, List<BudgetCycleVO> cycles) {
+        if (cycles.isEmpty()) {
+            return List.of();
+        }
+
+        TypedQuery<Object[]> query = entityManager.createQuery(cycleTotalsQuery(cycles, currency != null), Object[].class)
+                .setParameter("userId", userId)
+                .setParameter("startDate", cycles.getFirst().startDate())
+                .setParameter("endDate", cycles.getLast().endDate());
+        if (currency != null) {
+            query.setParameter("currency", currency);
+        }
+
+        return query.getResultList().stream()
+                .map(row -> new BudgetCycleTotalRow(
+                        (Long) row[0],
+                        (Long) row[1],
+                        (String) row[2],
+                        (BigDecimal) row[3],
+                        (String) row[4],
+                        (String) row[5],
+                        (LocalDateTime) row[6],
+                        row[7] == null ? null : ((Number) row[7]).intValue(),
+                        (BigDecimal) row[8],
+                        (BigDecimal) row[9]))
+                .toList();
+    }
+
+    /**
+     * Same join as the budget listing, spread over the whole range and grouped by the cycle each rollup day falls
+     * in. Cycles are consecutive, so a day belongs to the latest cycle whose start it is not before. Cycle starts
+     * are inlined as date literals rather than bound, since PostgreSQL only accepts a grouped CASE whose select and
+     * GROUP BY copies are textually identical.
+     */
+    static String cycleTotalsQuery(List<BudgetCycleVO> cycles, boolean byCurrency) {
+        StringBuilder bucket = new StringBuilder("CASE");
+        for (int i = cycles.size() - 1; i > 0; i--) {
+            bucket.append(" WHEN d.spendDate >= ").append(dateLiteral(cycles.get(i).startDate())).append(" THEN ").append(i);
+        }
+        bucket.append(" WHEN d.spendDate IS NOT NULL THEN 0 END");
+
+        return """
+                SELECT b.id, b.category.id, c.identity.name, MAX(b.money.amount), b.money.currency, b.remarks, b.lastModifiedDate,
+                       %s AS bucket,
+                       COALESCE(SUM(d.spent), 0), COALESCE(SUM(d.net), 0)
+                FROM Budget b
+                         JOIN Category c ON c.id = b.category.id
+                         LEFT JOIN DailySpend d ON d.userId = b.userId AND d.categoryId = c.id AND d.currency = b.money.currency AND d.spendDate >= :startDate AND d.spendDate <= :endDate
+                WHERE b.userId = :userId%s
+                GROUP BY b.id, b.category.id, c.identity.name, b.money.currency, b.remarks, bucket
+                """.formatted(bucket, byCurrency ? " AND b.money.currency = :currency" : "");
+    }
+
+    private static String dateLiteral(LocalDate date) {
+        return "{d '" + date + "'}";
+    }
+}
@@ -0,0 +1,361 @@
+package com.budget.buddy.transaction.infrastructure.repository.custom;
+
+import com.budget.buddy.core.config.exception.BadRequestException;
+import com.budget.buddy.core.config.exception.ErrorCode;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionFilterCriteria;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionFilterNode;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionFilterNode.Condition;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionFilterNode.Group;
+import com.budget.buddy.transaction.domain.enums.CategoryType;
+import com.budget.buddy.transaction.domain.enums.Currency;
+import com.budget.buddy.transaction.domain.model.transaction.Transaction;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.util.CollectionUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Compiles transaction filters into reusable plans. A plan depends only on the shape of the filter
+ * (fields, operators and AND/OR nesting), so operator parsing and predicate selection happen once per
+ * shape; each request then only converts its values into the plan's parameter slots.
+ */
+final class TransactionFilterCompiler {
+    static final int MAX_DEPTH = 5;
+    static final int MAX_CONDITIONS = 50;
+    private static final int MAX_CACHED_PLANS = 1000;
+
+    private static final String FIELD_NAME = "name";
+    private static final String FIELD_REMARKS = "remarks";
+    private static final String FIELD_AMOUNT = "amount";
+    private static final String FIELD_DATE = "date";
+    private static final String FIELD_ACCOUNT = "account";
+    private static final String FIELD_CATEGORY = "category";
+    private static final String FIELD_TYPE = "type";
+    private static final String FIELD_CURRENCY = "currency";
+    private static final String OPERATOR_IS = "is";
+    private static final String OPERATOR_IS_NOT = "is not";
+    private static final String OPERATOR_IS_BETWEEN = "is between";
+
+    // Entity attribute names
+    private static final String ATTRIBUTE_SOURCE_ACCOUNT = "sourceAccount";
+    private static final String ATTRIBUTE_CATEGORY = "category";
+    private static final String ATTRIBUTE_ID = "id";
+    private static final String ATTRIBUTE_CURRENCY = "currency";
+    private static final String ATTRIBUTE_TYPE = "type";
+
+    private static final char LIKE_ESCAPE = '\\';
+    private static final Set<String> CURRENCY_CODES = Arrays.stream(Currency.values())
+            .map(Enum::name)
+            .collect(Collectors.toUnmodifiableSet());
+
+    private final Map<String, Plan> plans = new ConcurrentHashMap<>();
+
+    BoundFilter bind(TransactionFilterCriteria criteria) {
+        TransactionFilterNode tree = criteria == null ? null : criteria.toFilterTree();
+        if (tree == null) {
+            return BoundFilter.NONE;
+        }
+
+        StringBuilder shape = new StringBuilder();
+        List<Condition> conditions = new ArrayList<>();
+        describe(tree, 1, shape, conditions);
+        if (conditions.size() > MAX_CONDITIONS) {
+            throw new BadRequestException(ErrorCode.INVALID_FILTER);
+        }
+
+        Plan plan = plans.get(shape.toString());
+        if (plan == null) {
+            // Shapes come from clients, so keep the cache bounded; recompiling is cheap
+            if (plans.size() >= MAX_CACHED_PLANS) {
+                plans.clear();
+            }
+            plan = plans.computeIfAbsent(shape.toString(), key -> compile(tree));
+        }
+
+        Object[] parameters = new Object[conditions.size()];
+        for (int i = 0; i < parameters.length; i++) {
+            parameters[i] = plan.binders().get(i).apply(conditions.get(i));
+        }
+        return new BoundFilter(plan, parameters);
+    }
+
+    int cachedPlans() {
+        return plans.size();
+    }
+
+    /**
+     * Writes the cache key for the tree's shape and collects its conditions in slot order. Field and
+     * operator text is used as sent, length-prefixed so that no two shapes share a key.
+     */
+    private void describe(TransactionFilterNode node, int depth, StringBuilder shape, List<Condition> conditions) {
+        if (depth > MAX_DEPTH) {
+            throw new BadRequestException(ErrorCode.INVALID_FILTER);
+        }
+
+        switch (node) {
+            case Group group -> {
+                boolean or = isOr(group);
+                shape.append(or ? "or(" : "and(");
+                for (TransactionFilterNode child : children(group)) {
+                    if (child == null) {
+                        throw new BadRequestException(ErrorCode.INVALID_FILTER);
+                    }
+                    describe(child, depth + 1, shape, conditions);
+                }
+                shape.append(')');
+            }
+            case Condition condition -> {
+                String field = String.valueOf(condition.getField());
+                String operator = String.valueOf(condition.getOperator());
+                shape.append(field.length()).append(':').append(field)
+                        .append(operator.length()).append(':').append(operator)
+                        .append(';');
+                conditions.add(condition);
+            }
+        }
+    }
+
+    private Plan compile(TransactionFilterNode tree) {
+        List<Function<Condition, Object>> binders = new ArrayList<>();
+        PlanNode root = compile(tree, binders);
+        return new Plan(root, List.copyOf(binders));
+    }
+
+    private PlanNode compile(TransactionFilterNode node, List<Function<Condition, Object>> binders) {
+        return switch (node) {
+            case Group group -> new GroupPlan(isOr(group), children(group).stream()
+                    .map(child -> compile(child, binders))
+                    .toList());
+            case Condition condition -> {
+                int slot = binders.size();
+                CompiledCondition compiled = compileCondition(normalize(condition.getField()), normalize(condition.getOperator()));
+                binders.add(compiled.binder());
+                yield new ConditionPlan(slot, compiled.factory());
+            }
+        };
+    }
+
+    private CompiledCondition compileCondition(String field, String operator) {
+        return switch (field) {
+            case FIELD_NAME, FIELD_REMARKS -> compileText(field, operator);
+            case FIELD_AMOUNT -> compileAmount(operator);
+            case FIELD_DATE -> compileDate(operator);
+            case FIELD_ACCOUNT -> compileIn(operator, root -> root.get(ATTRIBUTE_SOURCE_ACCOUNT).get(ATTRIBUTE_ID),
+                    condition -> parseList(condition, Long::valueOf));
+            case FIELD_CATEGORY -> compileIn(operator, root -> root.get(ATTRIBUTE_CATEGORY).get(ATTRIBUTE_ID),
+                    condition -> parseList(condition, Long::valueOf));
+            case FIELD_TYPE -> compileIn(operator, root -> root.get(ATTRIBUTE_TYPE),
+                    condition -> parseList(condition, value -> CategoryType.valueOf(value.toUpperCase(Locale.ROOT))));
+            case FIELD_CURRENCY -> compileIn(operator, root -> root.get(ATTRIBUTE_SOURCE_ACCOUNT).get(ATTRIBUTE_CURRENCY),
+                    TransactionFilterCompiler::parseCurrencies);
+            default -> throw new BadRequestException(ErrorCode.INVALID_FILTER);
+        };
+    }
+
+    private CompiledCondition compileText(String field, String operator) {
+        // lower(column) matches the trigram index expressions on PostgreSQL (changelog 012); other
+        // databases evaluate the same predicates without an index
+        Function<Root<Transaction>, Expression<String>> path = root -> root.get(field);
+        return switch (operator) {
+            case OPERATOR_IS -> new CompiledCondition(TransactionFilterCompiler::lowered,
+                    (root, builder, value) -> builder.equal(builder.lower(path.apply(root)), value));
+            case OPERATOR_IS_NOT -> new CompiledCondition(TransactionFilterCompiler::lowered,
+                    (root, builder, value) -> builder.notEqual(builder.lower(path.apply(root)), value));
+            case "contains" -> new CompiledCondition(condition -> "%" + escapeLike(lowered(condition)) + "%",
+                    (root, builder, value) -> builder.like(builder.lower(path.apply(root)), (String) value, LIKE_ESCAPE));
+            case "does not contain" -> new CompiledCondition(condition -> "%" + escapeLike(lowered(condition)) + "%",
+                    (root, builder, value) -> builder.notLike(builder.lower(path.apply(root)), (String) value, LIKE_ESCAPE));
+            case "starts with" -> new CompiledCondition(condition -> escapeLike(lowered(condition)) + "%",
+                    (root, builder, value) -> builder.like(builder.lower(path.apply(root)), (String) value, LIKE_ESCAPE));
+            case "ends with" -> new CompiledCondition(condition -> "%" + escapeLike(lowered(condition)),
+                    (root, builder, value) -> builder.like(builder.lower(path.apply(root)), (String) value, LIKE_ESCAPE));
+            default -> throw new BadRequestException(ErrorCode.INVALID_FILTER);
+        };
+    }
+
+    private CompiledCondition compileAmount(String operator) {
+        Function<Condition, Object> binder = condition -> parse(required(condition.getValue()), BigDecimal::new);
+        Function<Root<Transaction>, Expression<BigDecimal>> path = root -> root.get(FIELD_AMOUNT);
+        return switch (operator) {
+            case "=" -> new CompiledCondition(binder,
+                    (root, builder, value) -> builder.equal(path.apply(root), value));
+            case "!=" -> new CompiledCondition(binder,
+                    (root, builder, value) -> builder.notEqual(path.apply(root), value));
+            case ">" -> new CompiledCondition(binder,
+                    (root, builder, value) -> builder.greaterThan(path.apply(root), (BigDecimal) value));
+            case "<" -> new CompiledCondition(binder,
+                    (root, builder, value) -> builder.lessThan(path.apply(root), (BigDecimal) value));
+            case ">=" -> new CompiledCondition(binder,
+                    (root, builder, value) -> builder.greaterThanOrEqualTo(path.apply(root), (BigDecimal) value));
+            case "<=" -> new CompiledCondition(binder,
+                    (root, builder, value) -> builder.lessThanOrEqualTo(path.apply(root), (BigDecimal) value));
+            default -> throw new BadRequestException(ErrorCode.INVALID_FILTER);
+        };
+    }
+
+    private CompiledCondition compileDate(String operator) {
+        Function<Root<Transaction>, Expression<LocalDate>> path = root -> root.get(FIELD_DATE);
+        return switch (operator) {
+            case OPERATOR_IS -> new CompiledCondition(
+                    condition -> parse(required(condition.getValue()), LocalDate::parse),
+                    (root, builder, value) -> builder.equal(path.apply(root), value));
+            case OPERATOR_IS_BETWEEN -> new CompiledCondition(
+                    TransactionFilterCompiler::parseDateRange,
+                    (root, builder, value) -> {
+                        LocalDate[] range = (LocalDate[]) value;
+                        return builder.between(path.apply(root), range[0], range[1]);
+                    });
+            default -> throw new BadRequestException(ErrorCode.INVALID_FILTER);
+        };
+    }
+
+    private CompiledCondition compileIn(String operator, Function<Root<Transaction>, Expression<?>> path,
+                                        Function<Condition, Object> binder) {
+        return switch (operator) {
+            case OPERATOR_IS -> new CompiledCondition(binder, (root, builder, value) -> {
+                Collection<?> values = (Collection<?>) value;
+                return values.isEmpty() ? builder.disjunction() : path.apply(root).in(values);
+            });
+            case OPERATOR_IS_NOT -> new CompiledCondition(binder, (root, builder, value) -> {
+                Collection<?> values = (Collection<?>) value;
+                return values.isEmpty() ? builder.conjunction() : path.apply(root).in(values).not();
+            });
+            default -> throw new BadRequestException(ErrorCode.INVALID_FILTER);
+        };
+    }
+
+    private static String lowered(Condition condition) {
+        return required(condition.getValue()).trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Search text is literal: '%' and '_' typed by the user must not act as wildcards
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+    private static LocalDate[] parseDateRange(Condition condition) {
+        LocalDate start = parse(required(condition.getValue()), LocalDate::parse);
+        LocalDate end = parse(required(condition.getTo()), LocalDate::parse);
+        if (end.isBefore(start)) {
+            throw new BadRequestException(ErrorCode.INVALID_DATE_RANGE);
+        }
+        return new LocalDate[]{start, end};
+    }
+
+    private static <T> List<T> parseList(Condition condition, Function<String, T> parser) {
+        List<String> values = condition.getValues();
+        if (CollectionUtils.isEmpty(values)) {
+            throw new BadRequestException(ErrorCode.INVALID_FILTER);
+        }
+        return values.stream().map(value -> parse(required(value), parser)).distinct().toList();
+    }
+
+    // Codes the ledger has no accounts in cannot match anything, so they are dropped rather than rejected
+    private static List<Currency> parseCurrencies(Condition condition) {
+        if (CollectionUtils.isEmpty(condition.getValues())) {
+            throw new BadRequestException(ErrorCode.INVALID_FILTER);
+        }
+        return condition.getValues().stream()
+                .map(value -> required(value).trim().toUpperCase(Locale.ROOT))
+                .filter(CURRENCY_CODES::contains)
+                .map(Currency::valueOf)
+                .distinct()
+                .toList();
+    }
+
+    private static <T> T parse(String value, Function<String, T> parser) {
+        try {
+            return parser.apply(value.trim());
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException(ErrorCode.INVALID_FILTER);
+        }
+    }
+
+    private static String required(String value) {
+        if (value == null || value.isBlank()) {
+            throw new BadRequestException(ErrorCode.INVALID_FILTER);
+        }
+        return value;
+    }
+
+    private static boolean isOr(Group group) {
+        boolean hasAnd = !CollectionUtils.isEmpty(group.getAnd());
+        boolean hasOr = !CollectionUtils.isEmpty(group.getOr());
+        if (hasAnd == hasOr) {
+            throw new BadRequestException(ErrorCode.INVALID_FILTER);
+        }
+        return hasOr;
+    }
+
+    private static List<TransactionFilterNode> children(Group group) {
+        return isOr(group) ? group.getOr() : group.getAnd();
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @FunctionalInterface
+    private interface PredicateFactory {
+        Predicate create(Root<Transaction> root, CriteriaBuilder builder, Object value);
+    }
+
+    private record CompiledCondition(Function<Condition, Object> binder, PredicateFactory factory) {
+    }
+
+    private sealed interface PlanNode permits GroupPlan, ConditionPlan {
+        Predicate toPredicate(Root<Transaction> root, CriteriaBuilder builder, Object[] parameters);
+    }
+
+    private record GroupPlan(boolean or, List<PlanNode> children) implements PlanNode {
+        @Override
+        public Predicate toPredicate(Root<Transaction> root, CriteriaBuilder builder, Object[] parameters) {
+            Predicate[] predicates = children.stream()
+                    .map(child -> child.toPredicate(root, builder, parameters))
+                    .toArray(Predicate[]::new);
+            return or ? builder.or(predicates) : builder.and(predicates);
+        }
+    }
+
+    private record ConditionPlan(int slot, PredicateFactory factory) implements PlanNode {
+        @Override
+        public Predicate toPredicate(Root<Transaction> root, CriteriaBuilder builder, Object[] parameters) {
+            return factory.create(root, builder, parameters[slot]);
+        }
+    }
+
+    /**
+     * Compiled form of one filter shape: the predicate tree and, per parameter slot, how to read the
+     * slot's typed value from its condition.
+     */
+    record Plan(PlanNode root, List<Function<Condition, Object>> binders) {
+    }
+
+    /**
+     * A plan with one request's values. {@link #toPredicate} returns null when there is nothing to filter.
+     */
+    record BoundFilter(Plan plan, Object[] parameters) {
+        static final BoundFilter NONE = new BoundFilter(null, new Object[0]);
+
+        Predicate toPredicate(Root<Transaction> root, CriteriaBuilder builder) {
+            return plan == null ? null : plan.root().toPredicate(root, builder, parameters);
+        }
+    }
+}
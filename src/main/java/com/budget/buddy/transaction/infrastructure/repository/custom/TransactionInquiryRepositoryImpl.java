@@ -0,0 +1,164 @@
+package com.budget.buddy.transaction.infrastructure.repository.custom;
+
+import com.budget.buddy.transaction.application.dto.transaction.TransactionFilterCriteria;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionRow;
+import com.budget.buddy.transaction.domain.enums.CategoryType;
+import com.budget.buddy.transaction.domain.model.transaction.Transaction;
+import com.budget.buddy.transaction.infrastructure.repository.TransactionInquiryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.CollectionUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+public class TransactionInquiryRepositoryImpl implements TransactionInquiryRepository {
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TransactionRow> findRows(Specification<Transaction> specification, long offset, int limit) {
+        return entityManager.createQuery(rowQuery(specification))
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<TransactionRow> streamRows(Specification<Transaction> specification, int fetchSize) {
+        // Rows are constructor projections, so nothing piles up in the persistence context while scrolling
+        return entityManager.createQuery(rowQuery(specification))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private CriteriaQuery<TransactionRow> rowQuery(Specification<Transaction> specification) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransactionRow> query = builder.createQuery(TransactionRow.class);
+        Root<Transaction> root = query.from(Transaction.class);
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return query.select(TransactionSpecificationImpl.selectRow(root, builder));
+    }
+
+    @Override
+    public Slice<TransactionRow> findSlice(Specification<Transaction> specification, Pageable pageable) {
+        List<TransactionRow> rows = findRows(specification, pageable.getOffset(), pageable.getPageSize() + 1);
+
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<TransactionRow> content = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    /**
+     * Reads the row estimate off the top plan node of an EXPLAIN over the column-level filters
+     * (date, accounts, categories, types, amount). Text and currency filters are left out, so the
+     * estimate errs on the high side when they are used.
+     */
+    @Override
+    public OptionalLong estimateCount(TransactionFilterCriteria criteria, Long userId) {
+        // The planner estimate below only models the flat filters; OR trees fall back to an exact count
+        if (!isPostgres() || (criteria != null && criteria.getWhere() != null)) {
+            return OptionalLong.empty();
+        }
+
+        StringBuilder sql = new StringBuilder("EXPLAIN SELECT 1 FROM transaction t WHERE t.user_id = :userId");
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("userId", userId);
+        if (criteria != null) {
+            appendIdsFilter(sql, parameters, criteria.getAccounts(), "t.source_account_id", "accountIds");
+            appendIdsFilter(sql, parameters, criteria.getCategories(), "t.category_id", "categoryIds");
+            appendTypesFilter(sql, parameters, criteria.getTypes());
+            appendDateFilter(sql, parameters, criteria.getDate());
+            appendAmountFilter(sql, parameters, criteria.getAmount());
+        }
+
+        // Not caught: a failed statement aborts the surrounding PostgreSQL transaction, so no fallback
+        // count could run after it anyway. The guards above keep the SQL to columns and operators it knows.
+        Query query = entityManager.createNativeQuery(sql.toString());
+        parameters.forEach(query::setParameter);
+        Object topNode = query.getResultList().getFirst();
+        Matcher matcher = PLAN_ROWS.matcher(String.valueOf(topNode));
+        return matcher.find() ? OptionalLong.of(Long.parseLong(matcher.group(1))) : OptionalLong.empty();
+    }
+
+    private boolean isPostgres() {
+        return entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect() instanceof PostgreSQLDialect;
+    }
+
+    private void appendIdsFilter(StringBuilder sql, Map<String, Object> parameters,
+                                 TransactionFilterCriteria.IdsFilter filter, String column, String name) {
+        if (filter == null || CollectionUtils.isEmpty(filter.getIds())) {
+            return;
+        }
+        sql.append(" AND ").append(column).append(isNot(filter.getOperator()) ? " NOT IN (:" : " IN (:").append(name).append(')');
+        parameters.put(name, filter.getIds());
+    }
+
+    private void appendTypesFilter(StringBuilder sql, Map<String, Object> parameters, TransactionFilterCriteria.TypesFilter filter) {
+        if (filter == null || CollectionUtils.isEmpty(filter.getTypes())) {
+            return;
+        }
+        sql.append(" AND t.type").append(isNot(filter.getOperator()) ? " NOT IN (:types)" : " IN (:types)");
+        parameters.put("types", filter.getTypes().stream().map(CategoryType::name).toList());
+    }
+
+    private void appendDateFilter(StringBuilder sql, Map<String, Object> parameters, TransactionFilterCriteria.DateFilter filter) {
+        if (filter == null || filter.getStartDate() == null) {
+            return;
+        }
+        if (filter.getEndDate() == null) {
+            sql.append(" AND t.date = :startDate");
+        } else {
+            sql.append(" AND t.date BETWEEN :startDate AND :endDate");
+            parameters.put("endDate", filter.getEndDate());
+        }
+        parameters.put("startDate", filter.getStartDate());
+    }
+
+    private void appendAmountFilter(StringBuilder sql, Map<String, Object> parameters, TransactionFilterCriteria.AmountFilter filter) {
+        if (filter == null || filter.getValue() == null) {
+            return;
+        }
+        // Operators are whitelisted here as well as by the DTO since they end up in the SQL text
+        String operator = switch (filter.getOperator().trim()) {
+            case "=", ">", "<", ">=", "<=" -> filter.getOperator().trim();
+            case "!=" -> "<>";
+            default -> null;
+        };
+        if (operator != null) {
+            sql.append(" AND t.amount ").append(operator).append(" :amount");
+            parameters.put("amount", filter.getValue());
+        }
+    }
+
+    private boolean isNot(String operator) {
+        return "is not".equals(operator.trim().toLowerCase(Locale.ROOT));
+    }
+}
@@ -1,20 +1,35 @@
 package com.budget.buddy.transaction.infrastructure.repository.custom;
 
+import com.budget.buddy.core.config.exception.BadRequestException;
+import com.budget.buddy.core.config.exception.ErrorCode;
 import com.budget.buddy.transaction.application.dto.transaction.TransactionFilterCriteria;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionRow;
 import com.budget.buddy.transaction.domain.model.transaction.Transaction;
 import com.budget.buddy.transaction.infrastructure.repository.TransactionSpecification;
 import com.budget.buddy.transaction.domain.utils.TransactionUtils;
 import jakarta.persistence.criteria.*;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
-import org.springframework.util.CollectionUtils;
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
@@ -30,32 +45,23 @@ public class TransactionSpecificationImpl implements TransactionSpecification {
     private static final String FIELD_REMARKS = "remarks";
     private static final String FIELD_CURRENCY = "currency";
     private static final String FIELD_USER_ID = "userId";
-    private static final String FIELD_IS_NOT = "is not";
-    private static final String FIELD_IS = "is";
+    private static final String FIELD_ACCOUNT_TYPE_GROUP = "accountTypeGroup";
+    private static final String FIELD_IDENTITY = "identity";
 
     private static final Set<String> VALID_SORT_FIELDS = Set.of(FIELD_DATE, FIELD_AMOUNT, FIELD_NAME, FIELD_ID);
+    private static final String CURSOR_SEPARATOR = ".";
+    private static final int MAX_CACHED_SORTS = 256;
 
     private final TransactionUtils transactionUtils;
+    private final TransactionFilterCompiler filterCompiler = new TransactionFilterCompiler();
+    private final Map<String, List<SortKey>> sortKeys = new ConcurrentHashMap<>();
+    private final Map<String, List<SortKey>> keysetKeys = new ConcurrentHashMap<>();
 
     @Override
     public Specification<Transaction> buildSpecification(TransactionFilterCriteria criteria, String sort) {
+        TransactionFilterCompiler.BoundFilter filter = filterCompiler.bind(criteria);
         return (root, query, builder) -> {
-            List<Predicate> predicates = new ArrayList<>();
-
-            // Always restrict by current user
-            Long userId = transactionUtils.getCurrentUserId();
-            predicates.add(builder.equal(root.get(FIELD_USER_ID), userId));
-
-            if (criteria != null) {
-                addAccountFilter(criteria, root, predicates);
-                addCategoryFilter(criteria, root, predicates);
-                addNameFilter(criteria, root, builder, predicates);
-                addDateFilter(criteria, root, builder, predicates);
-                addAmountFilter(criteria, root, builder, predicates);
-                addCurrenciesFilter(criteria, root, predicates);
-                addTypesFilter(criteria, root, predicates);
-                addRemarksFilter(criteria, root, builder, predicates);
-            }
+            List<Predicate> predicates = buildPredicates(filter, root, builder);
 
             // Apply sorting (default: date desc)
             if (query != null) {
@@ -66,178 +72,112 @@ public class TransactionSpecificationImpl implements TransactionSpecification {
         };
     }
 
-    private void addAccountFilter(TransactionFilterCriteria criteria, Root<Transaction> root, List<Predicate> predicates) {
-        TransactionFilterCriteria.IdsFilter accounts = criteria.getAccounts();
-        filterIDs(root, predicates, accounts, FIELD_SOURCE_ACCOUNT);
-    }
+    @Override
+    public Specification<Transaction> buildKeysetSpecification(TransactionFilterCriteria criteria, String sort, String cursor) {
+        TransactionFilterCompiler.BoundFilter filter = filterCompiler.bind(criteria);
+        List<SortKey> keys = resolveKeysetKeys(sort);
+        List<Object> lastValues = StringUtils.isBlank(cursor) ? null : decodeCursor(cursor, keys);
 
-    private void addCategoryFilter(TransactionFilterCriteria criteria, Root<Transaction> root, List<Predicate> predicates) {
-        TransactionFilterCriteria.IdsFilter categories = criteria.getCategories();
-        filterIDs(root, predicates, categories, FIELD_CATEGORY);
-    }
+        return (root, query, builder) -> {
+            List<Predicate> predicates = buildPredicates(filter, root, builder);
 
-    private void filterIDs(Root<Transaction> root, List<Predicate> predicates, TransactionFilterCriteria.IdsFilter idsFilter, String fieldCategory) {
-        if (idsFilter != null && !CollectionUtils.isEmpty(idsFilter.getIds())) {
-            String op = normalize(idsFilter.getOperator());
-            Expression<Long> path = root.get(fieldCategory).get(FIELD_ID).as(Long.class);
-            if (FIELD_IS.equals(op)) {
-                predicates.add(path.in(idsFilter.getIds()));
-            } else if (FIELD_IS_NOT.equals(op)) {
-                predicates.add(path.in(idsFilter.getIds()).not());
+            if (lastValues != null) {
+                predicates.add(buildSeekPredicate(root, builder, keys, lastValues));
             }
-        }
-    }
-
-    private void addNameFilter(TransactionFilterCriteria criteria, Root<Transaction> root, CriteriaBuilder builder, List<Predicate> predicates) {
-        if (criteria.getName() != null && criteria.getName().getValue() != null) {
-            String value = safeTrim(criteria.getName().getValue());
-            String operator = normalize(criteria.getName().getOperator());
-            addTextFilter(root, builder, predicates, FIELD_NAME, value, operator);
-        }
-    }
 
-    private void addDateFilter(TransactionFilterCriteria criteria, Root<Transaction> root, CriteriaBuilder builder, List<Predicate> predicates) {
-        if (criteria.getDate() != null) {
-            TransactionFilterCriteria.DateFilter dateRange = criteria.getDate();
-            String operator = normalize(dateRange.getOperator());
-            if (FIELD_IS.equals(operator) && dateRange.getStartDate() != null) {
-                predicates.add(builder.equal(root.get(FIELD_DATE), dateRange.getStartDate()));
-            } else if ("is between".equals(operator) && dateRange.getStartDate() != null && dateRange.getEndDate() != null) {
-                predicates.add(builder.between(root.get(FIELD_DATE), dateRange.getStartDate(), dateRange.getEndDate()));
+            if (query != null) {
+                query.orderBy(keys.stream().map(key -> toOrder(root, builder, key)).toList());
             }
-        }
-    }
 
-    private void addAmountFilter(TransactionFilterCriteria criteria, Root<Transaction> root, CriteriaBuilder builder, List<Predicate> predicates) {
-        if (criteria.getAmount() != null && criteria.getAmount().getValue() != null) {
-            String operator = normalize(criteria.getAmount().getOperator());
-            BigDecimal value = criteria.getAmount().getValue();
-            Expression<BigDecimal> amountPath = root.get(FIELD_AMOUNT).as(BigDecimal.class);
-            switch (operator) {
-                case "=":
-                    predicates.add(builder.equal(amountPath, value));
-                    break;
-                case "!=":
-                    predicates.add(builder.notEqual(amountPath, value));
-                    break;
-                case ">":
-                    predicates.add(builder.greaterThan(amountPath, value));
-                    break;
-                case "<":
-                    predicates.add(builder.lessThan(amountPath, value));
-                    break;
-                case ">=":
-                    predicates.add(builder.greaterThanOrEqualTo(amountPath, value));
-                    break;
-                case "<=":
-                    predicates.add(builder.lessThanOrEqualTo(amountPath, value));
-                    break;
-                default:
-                    // ignore invalid operator to avoid leaking details; DTO validation should prevent this
-                    break;
-            }
-        }
+            return builder.and(predicates.toArray(new Predicate[0]));
+        };
     }
 
-    private void addCurrenciesFilter(TransactionFilterCriteria criteria, Root<Transaction> root, List<Predicate> predicates) {
-        TransactionFilterCriteria.CurrenciesFilter currencies = criteria.getCurrencies();
-        if (currencies != null && !CollectionUtils.isEmpty(currencies.getCurrencies())) {
-            String op = normalize(currencies.getOperator());
-            Expression<?> path = root.get(FIELD_SOURCE_ACCOUNT).get(FIELD_CURRENCY);
-            if (FIELD_IS.equals(op)) {
-                predicates.add(path.in(currencies.getCurrencies()));
-            } else if (FIELD_IS_NOT.equals(op)) {
-                predicates.add(path.in(currencies.getCurrencies()).not());
-            }
+    @Override
+    public String buildCursor(TransactionRow last, String sort) {
+        List<SortKey> keys = resolveKeysetKeys(sort);
+        StringJoiner joiner = new StringJoiner(CURSOR_SEPARATOR);
+        joiner.add(signature(keys));
+        for (SortKey key : keys) {
+            joiner.add(encode(valueOf(last, key.field())));
         }
+        return encode(joiner.toString());
     }
 
-    private void addTypesFilter(TransactionFilterCriteria criteria, Root<Transaction> root, List<Predicate> predicates) {
-        TransactionFilterCriteria.TypesFilter types = criteria.getTypes();
-        if (types != null && !CollectionUtils.isEmpty(types.getTypes())) {
-            String op = normalize(types.getOperator());
-            if (FIELD_IS.equals(op)) {
-                predicates.add(root.get(FIELD_TYPE).in(types.getTypes()));
-            } else if (FIELD_IS_NOT.equals(op)) {
-                predicates.add(root.get(FIELD_TYPE).in(types.getTypes()).not());
-            }
-        }
+    /**
+     * Constructor projection onto {@link TransactionRow}. The associations are reached through implicit
+     * joins, which Hibernate shares with the filter paths, so a page is always a single SELECT.
+     */
+    static Selection<TransactionRow> selectRow(Root<Transaction> root, CriteriaBuilder builder) {
+        Path<Object> account = root.get(FIELD_SOURCE_ACCOUNT);
+        Path<Object> category = root.get(FIELD_CATEGORY);
+        return builder.construct(TransactionRow.class,
+                root.get(FIELD_ID),
+                root.get(FIELD_NAME),
+                root.get(FIELD_AMOUNT),
+                root.get(FIELD_REMARKS),
+                root.get(FIELD_DATE),
+                root.get(FIELD_TYPE),
+                account.get(FIELD_ID),
+                account.get(FIELD_NAME),
+                account.get(FIELD_CURRENCY),
+                account.get(FIELD_ACCOUNT_TYPE_GROUP).get(FIELD_NAME),
+                category.get(FIELD_ID),
+                category.get(FIELD_IDENTITY).get(FIELD_NAME));
     }
 
-    private void addRemarksFilter(TransactionFilterCriteria criteria, Root<Transaction> root, CriteriaBuilder builder, List<Predicate> predicates) {
-        if (criteria.getRemarks() != null && criteria.getRemarks().getValue() != null) {
-            String value = safeTrim(criteria.getRemarks().getValue());
-            String operator = normalize(criteria.getRemarks().getOperator());
-            addTextFilter(root, builder, predicates, FIELD_REMARKS, value, operator);
+    private List<Predicate> buildPredicates(TransactionFilterCompiler.BoundFilter filter, Root<Transaction> root, CriteriaBuilder builder) {
+        List<Predicate> predicates = new ArrayList<>();
+
+        // Always restrict by current user
+        Long userId = transactionUtils.getCurrentUserId();
+        predicates.add(builder.equal(root.get(FIELD_USER_ID), userId));
+
+        Predicate filterPredicate = filter.toPredicate(root, builder);
+        if (filterPredicate != null) {
+            predicates.add(filterPredicate);
         }
+        return predicates;
     }
 
-    private void addTextFilter(Root<Transaction> root,
-                               CriteriaBuilder builder,
-                               List<Predicate> predicates,
-                               String field,
-                               String value,
-                               String operator) {
-        if (value == null) return;
-        Expression<String> path = builder.lower(root.get(field));
-        String lowered = value.toLowerCase(Locale.ROOT);
-        String pattern;
-        switch (operator) {
-            case FIELD_IS:
-                predicates.add(builder.equal(path, lowered));
-                break;
-            case FIELD_IS_NOT:
-                predicates.add(builder.notEqual(path, lowered));
-                break;
-            case "contains":
-                pattern = "%" + lowered + "%";
-                predicates.add(builder.like(path, pattern));
-                break;
-            case "does not contain":
-                pattern = "%" + lowered + "%";
-                predicates.add(builder.notLike(path, pattern));
-                break;
-            case "starts with":
-                pattern = lowered + "%";
-                predicates.add(builder.like(path, pattern));
-                break;
-            case "ends with":
-                pattern = "%" + lowered;
-                predicates.add(builder.like(path, pattern));
-                break;
-            default:
-                // ignore invalid operator
-                break;
-        }
+    @Override
+    public Sort resolveSort(String sort) {
+        return Sort.by(resolveKeysetKeys(sort).stream()
+                .map(key -> key.desc() ? Sort.Order.desc(key.field()) : Sort.Order.asc(key.field()))
+                .toList());
     }
 
+    // Closed with the id tiebreak so that rows with equal sort values keep a stable order across pages
     private void applySorting(Root<Transaction> root, CriteriaQuery<?> query, CriteriaBuilder builder, String sort) {
-        List<Order> orders = buildOrders(root, builder, sort);
+        List<Order> orders = resolveKeysetKeys(sort).stream()
+                .map(key -> toOrder(root, builder, key))
+                .toList();
         query.orderBy(orders);
     }
 
-    private List<Order> buildOrders(Root<Transaction> root, CriteriaBuilder builder, String sort) {
-        List<Order> orders = new ArrayList<>();
-        if (sort == null || sort.isBlank()) {
-            orders.add(builder.desc(root.get(FIELD_DATE)));
-            return orders;
-        }
+    private List<SortKey> parseSortKeys(String sort) {
+        return cached(sortKeys, sort == null ? "" : sort, this::parseSortDirectives);
+    }
 
-        String[] directives = sort.trim().split("[;|]");
-        for (String raw : directives) {
-            Order order = parseDirectiveToOrder(root, builder, raw);
-            if (order != null) {
-                orders.add(order);
+    private List<SortKey> parseSortDirectives(String sort) {
+        List<SortKey> keys = new ArrayList<>();
+        if (sort != null && !sort.isBlank()) {
+            String[] directives = sort.trim().split("[;|]");
+            for (String raw : directives) {
+                SortKey key = parseDirective(raw);
+                if (key != null) {
+                    keys.add(key);
+                }
             }
         }
 
-        if (orders.isEmpty()) {
-            orders.add(builder.desc(root.get(FIELD_DATE)));
+        if (keys.isEmpty()) {
+            keys.add(new SortKey(FIELD_DATE, true));
         }
-        return orders;
+        return List.copyOf(keys);
     }
 
-    private Order parseDirectiveToOrder(Root<Transaction> root, CriteriaBuilder builder, String directive) {
+    private SortKey parseDirective(String directive) {
         if (directive == null) {
             return null;
         }
@@ -264,15 +204,117 @@ public class TransactionSpecificationImpl implements TransactionSpecification {
             return null; // ignore invalid fields for safety
         }
 
-        boolean desc = !"asc".equalsIgnoreCase(dir);
-        return desc ? builder.desc(root.get(field)) : builder.asc(root.get(field));
+        return new SortKey(field, !"asc".equalsIgnoreCase(dir));
+    }
+
+    private Order toOrder(Root<Transaction> root, CriteriaBuilder builder, SortKey key) {
+        return key.desc() ? builder.desc(root.get(key.field())) : builder.asc(root.get(key.field()));
+    }
+
+    /**
+     * Sort keys for seek paging: duplicates dropped and the list closed with {@code id}, so every row
+     * has a unique position and the last row of a page fully identifies where the next one starts.
+     */
+    private List<SortKey> resolveKeysetKeys(String sort) {
+        return cached(keysetKeys, sort == null ? "" : sort, this::resolveKeysetDirectives);
+    }
+
+    private List<SortKey> resolveKeysetDirectives(String sort) {
+        List<SortKey> keys = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (SortKey key : parseSortKeys(sort)) {
+            if (seen.add(key.field())) {
+                keys.add(key);
+            }
+            if (FIELD_ID.equals(key.field())) {
+                return List.copyOf(keys);
+            }
+        }
+        keys.add(new SortKey(FIELD_ID, keys.getLast().desc()));
+        return List.copyOf(keys);
+    }
+
+    // Sort strings come from clients, so the caches are bounded; parsing again after a reset is cheap
+    private static <T> T cached(Map<String, T> cache, String key, Function<String, T> loader) {
+        T value = cache.get(key);
+        if (value == null) {
+            if (cache.size() >= MAX_CACHED_SORTS) {
+                cache.clear();
+            }
+            value = cache.computeIfAbsent(key, loader);
+        }
+        return value;
+    }
+
+    // (k1, k2, id) after (v1, v2, v3)  =>  k1 > v1 OR (k1 = v1 AND k2 > v2) OR (k1 = v1 AND k2 = v2 AND id > v3)
+    private Predicate buildSeekPredicate(Root<Transaction> root, CriteriaBuilder builder, List<SortKey> keys, List<Object> lastValues) {
+        List<Predicate> branches = new ArrayList<>();
+        List<Predicate> equalities = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            SortKey key = keys.get(i);
+            List<Predicate> branch = new ArrayList<>(equalities);
+            branch.add(after(builder, root.get(key.field()), (Comparable<?>) lastValues.get(i), key.desc()));
+            branches.add(builder.and(branch.toArray(new Predicate[0])));
+            equalities.add(builder.equal(root.get(key.field()), lastValues.get(i)));
+        }
+        return builder.or(branches.toArray(new Predicate[0]));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate after(CriteriaBuilder builder, Path path, Comparable value, boolean desc) {
+        return desc ? builder.lessThan(path, value) : builder.greaterThan(path, value);
+    }
+
+    private List<Object> decodeCursor(String cursor, List<SortKey> keys) {
+        try {
+            String[] parts = decode(cursor).split(Pattern.quote(CURSOR_SEPARATOR), -1);
+            // A cursor is only valid for the ordering it was issued under
+            if (parts.length != keys.size() + 1 || !signature(keys).equals(parts[0])) {
+                throw new BadRequestException(ErrorCode.INVALID_CURSOR);
+            }
+
+            List<Object> values = new ArrayList<>();
+            for (int i = 0; i < keys.size(); i++) {
+                values.add(parseValue(keys.get(i).field(), decode(parts[i + 1])));
+            }
+            return values;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException(ErrorCode.INVALID_CURSOR);
+        }
+    }
+
+    private String valueOf(TransactionRow row, String field) {
+        return switch (field) {
+            case FIELD_DATE -> row.date().toString();
+            case FIELD_AMOUNT -> row.amount().toPlainString();
+            case FIELD_NAME -> row.name();
+            default -> row.id().toString();
+        };
+    }
+
+    private Object parseValue(String field, String value) {
+        return switch (field) {
+            case FIELD_DATE -> LocalDate.parse(value);
+            case FIELD_AMOUNT -> new BigDecimal(value);
+            case FIELD_NAME -> value;
+            default -> Long.valueOf(value);
+        };
+    }
+
+    private String signature(List<SortKey> keys) {
+        return keys.stream()
+                .map(key -> key.field() + (key.desc() ? ":desc" : ":asc"))
+                .collect(Collectors.joining(","));
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
     }
 
-    private String normalize(String operator) {
-        return operator.trim().toLowerCase(Locale.ROOT);
+    private static String decode(String value) {
+        return new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
     }
 
-    private String safeTrim(String s) {
-        return s == null ? null : s.trim();
+    private record SortKey(String field, boolean desc) {
     }
 }
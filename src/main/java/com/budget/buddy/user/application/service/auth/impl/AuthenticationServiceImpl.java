@@ -3,10 +3,13 @@ package com.budget.buddy.user.application.service.auth.impl;
 import com.budget.buddy.core.config.exception.AuthException;
 import com.budget.buddy.core.config.exception.BadRequestException;
 import com.budget.buddy.core.config.exception.ErrorCode;
+import com.budget.buddy.core.config.exception.ServiceUnavailableException;
 import com.budget.buddy.core.dto.SendVerificationEmailEvent;
 import com.budget.buddy.core.utils.ApplicationUtil;
 import com.budget.buddy.core.utils.JwtUtil;
+import com.budget.buddy.core.utils.PasswordHasher;
 import com.budget.buddy.core.utils.RedisTokenService;
+import com.budget.buddy.core.utils.VerifiedToken;
 import com.budget.buddy.user.application.constant.UserApplicationConstant;
 import com.budget.buddy.user.application.dto.LoginResponse;
 import com.budget.buddy.user.application.dto.ResetPasswordRequest;
@@ -20,7 +23,6 @@ import lombok.RequiredArgsConstructor;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -35,7 +37,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
     private final UserData userData;
     private final ApplicationEventPublisher applicationEventPublisher;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtUtil jwtUtil;
     private final RedisTokenService redisTokenService;
 
@@ -126,7 +128,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
         user.setFailedAttempts(0);
         user.setLocked(false);
         user.setEmailAddress(newEmailVO);
-        user.setPassword(passwordEncoder.encode(request.password()));
+        user.setPassword(passwordHasher.encode(request.password()));
 
         userData.saveUser(user);
         userData.deleteUserVerification(verification);
@@ -151,7 +153,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
             throw new AuthException(ErrorCode.ACCOUNT_LOCKED);
         }
 
-        if (!passwordEncoder.matches(password, user.getPassword())) {
+        if (!passwordHasher.matches(password, user.getPassword())) {
             logger.warn("Login failed: Invalid password for email {}", email);
 
             // Increment failed attempts
@@ -162,25 +164,34 @@ public class AuthenticationServiceImpl implements AuthenticationService {
             }
 
             userData.saveUser(user);
+            if (user.isLocked()) {
+                // Requests trust the user id in the access token, so its JTI is what ends the session
+                revokeAccessToken(email, null);
+            }
 
             throw new AuthException(ErrorCode.LOGIN_FAILED);
         }
 
+        // Hashes below the configured cost are upgraded while the plain password is at hand
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            try {
+                user.setPassword(passwordHasher.encode(password));
+                logger.info("Password hash upgraded to cost {} for email: {}", passwordHasher.getCost(), email);
+            } catch (ServiceUnavailableException e) {
+                logger.warn("Password rehash skipped for email {}: hashing pool is busy", email);
+            }
+        }
+
         // Reset failed attempts on successful login
         user.setFailedAttempts(0);
         userData.saveUser(user);
 
-        revokeAccessToken(email, null);
-
-        String token = jwtUtil.generateToken(email);
-        String refreshToken = jwtUtil.generateRefreshToken(email);
+        String token = jwtUtil.generateToken(user.getId(), email, user.getStatusVersion());
+        String refreshToken = jwtUtil.generateRefreshToken(user.getId(), email, user.getStatusVersion());
 
-        // Store access token JTI and refresh token in Redis with respective TTLs
-        String accessJti = jwtUtil.extractJti(token);
-        long accessTtlMs = jwtUtil.getAccessTtlMs();
-        redisTokenService.storeAccessJti(email, accessJti, accessTtlMs);
-        redisTokenService.setUserAccessJti(email, accessJti, accessTtlMs);
-        redisTokenService.storeRefreshToken(email, refreshToken, jwtUtil.getRefreshTtlMs());
+        // Revoke the previous access token and store the new JTI and refresh token in one Redis round trip
+        redisTokenService.issueSession(email, jwtUtil.extractJti(token), jwtUtil.getAccessTtlMs(),
+                refreshToken, jwtUtil.getRefreshTtlMs());
 
         LoginResponse loginResponse = new LoginResponse(token, refreshToken);
         logger.info("Login successful for email: {}, tokens generated and stored in Redis", email);
@@ -189,32 +200,33 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
     @Override
     public LoginResponse refreshToken(String refreshToken) {
-        // Extract email from the refresh token itself (no auth context required)
-        String email = jwtUtil.extractEmail(refreshToken);
+        // Basic JWT validation (signature, issuer, expiration); the email comes from the token itself
+        VerifiedToken verified = jwtUtil.verify(refreshToken)
+                .orElseThrow(() -> {
+                    logger.warn("Refresh failed: invalid refresh token");
+                    return new AuthException(ErrorCode.INVALID_REFRESH_TOKEN);
+                });
+        String email = verified.email();
 
-        // Basic JWT validation (signature, issuer, expiration)
-        if (!jwtUtil.validateToken(refreshToken)) {
-            logger.warn("Refresh failed: invalid refresh token for {}", email);
-            throw new AuthException(ErrorCode.INVALID_REFRESH_TOKEN);
-        }
+        // Requests no longer read the user table, so this is where a locked or deactivated user is turned away
+        User user = userData.findActiveUser(email)
+                .filter(active -> verified.statusVersion() == null || verified.statusVersion() == active.getStatusVersion())
+                .orElseThrow(() -> {
+                    logger.warn("Refresh failed: account status of {} changed since the token was issued", email);
+                    redisTokenService.deleteRefreshToken(refreshToken);
+                    return new AuthException(ErrorCode.INVALID_REFRESH_TOKEN);
+                });
+
+        String newAccessToken = jwtUtil.generateToken(user.getId(), email, user.getStatusVersion());
+        String newRefreshToken = jwtUtil.generateRefreshToken(user.getId(), email, user.getStatusVersion());
 
-        // Validate refresh token existence in Redis for the given user
-        if (!redisTokenService.validateRefreshToken(refreshToken, email)) {
+        // Consume the old refresh token and store the new pair atomically, so only one of two concurrent refreshes wins
+        if (!redisTokenService.rotateSession(email, refreshToken, jwtUtil.extractJti(newAccessToken),
+                jwtUtil.getAccessTtlMs(), newRefreshToken, jwtUtil.getRefreshTtlMs())) {
             logger.warn("Refresh failed: refresh token not found in Redis or email mismatch for {}", email);
             throw new AuthException(ErrorCode.INVALID_REFRESH_TOKEN);
         }
 
-        // Rotate: delete the old refresh token and create a new pair
-        revokeAccessToken(email, refreshToken);
-
-        String newAccessToken = jwtUtil.generateToken(email);
-        String newRefreshToken = jwtUtil.generateRefreshToken(email);
-
-        // Store new tokens
-        String newAccessJti = jwtUtil.extractJti(newAccessToken);
-        redisTokenService.storeAccessJti(email, newAccessJti, jwtUtil.getAccessTtlMs());
-        redisTokenService.storeRefreshToken(email, newRefreshToken, jwtUtil.getRefreshTtlMs());
-
         logger.info("Refresh successful for email: {}", email);
         return new LoginResponse(newAccessToken, newRefreshToken);
     }
@@ -227,19 +239,9 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     }
 
     private void revokeAccessToken(String email, String refreshToken) {
-        // Clear existing access JTI for this user (if any) before issuing a new one
+        // Clear the user's current access JTI (if any) and the given refresh token
         try {
-            String existingJti = redisTokenService.getUserAccessJti(email);
-            if (existingJti != null) {
-                redisTokenService.revokeAccessJti(existingJti);
-                redisTokenService.clearUserAccessJti(email);
-                logger.debug("Cleared existing JTI for email: {} -> {}", email, existingJti);
-            }
-
-            if (refreshToken != null) {
-                redisTokenService.deleteRefreshToken(refreshToken);
-            }
-
+            redisTokenService.endSession(email, refreshToken);
         } catch (Exception e) {
             logger.warn("Failed to clear existing JTI for email: {}", email);
         }
@@ -91,19 +91,16 @@ public class GoogleAuthServiceImpl implements GoogleAuthService {
             throw new AuthException(ErrorCode.ACCOUNT_LOCKED);
         }
 
-        revokeAccessToken(email);
-
-        String token = jwtUtil.generateToken(email);
-        String refreshToken = jwtUtil.generateRefreshToken(email);
+        String token = jwtUtil.generateToken(user.getId(), email, user.getStatusVersion());
+        String refreshToken = jwtUtil.generateRefreshToken(user.getId(), email, user.getStatusVersion());
 
         // Store access token JTI and refresh token in Redis with respective TTLs
         String accessJti = jwtUtil.extractJti(token);
         long accessTtlMs = jwtUtil.getAccessTtlMs();
         long refreshTtlMs = jwtUtil.getRefreshTtlMs();
         logger.debug("Storing tokens in Redis for email: {} (access TTL: {} ms, refresh TTL: {} ms)", email, accessTtlMs, refreshTtlMs);
-        redisTokenService.storeAccessJti(email, accessJti, accessTtlMs);
-        redisTokenService.setUserAccessJti(email, accessJti, accessTtlMs);
-        redisTokenService.storeRefreshToken(email, refreshToken, refreshTtlMs);
+        // Also revokes the access token of the user's previous session
+        redisTokenService.issueSession(email, accessJti, accessTtlMs, refreshToken, refreshTtlMs);
 
         LoginResponse loginResponse = new LoginResponse(token, refreshToken);
         long totalMs = (System.nanoTime() - flowStartNs) / 1_000_000L;
@@ -111,21 +108,6 @@ public class GoogleAuthServiceImpl implements GoogleAuthService {
         return loginResponse;
     }
 
-    private void revokeAccessToken(String email) {
-        // Clear existing access JTI for this user (if any) before issuing a new one
-        try {
-            String existingJti = redisTokenService.getUserAccessJti(email);
-            if (existingJti != null && !existingJti.isBlank()) {
-                redisTokenService.revokeAccessJti(existingJti);
-                redisTokenService.clearUserAccessJti(email);
-                logger.debug("Cleared existing JTI for email: {} -> {}", email, existingJti);
-            }
-
-        } catch (Exception e) {
-            logger.warn("Failed to clear existing JTI for email: {}", email, e);
-        }
-    }
-
     private GoogleUserInfo getUserInfo(String accessToken) {
         long startNs = System.nanoTime();
         logger.debug("Requesting Google user info");
@@ -30,4 +30,22 @@ public class User extends BaseEntity {
 
     @Column(name = "is_locked", nullable = false)
     private boolean locked;
+
+    // Carried in issued tokens; a refresh token minted under an older version is refused
+    @Column(name = "status_version", nullable = false)
+    private int statusVersion;
+
+    public void setLocked(boolean locked) {
+        if (this.locked != locked) {
+            statusVersion++;
+        }
+        this.locked = locked;
+    }
+
+    public void setEmailAddress(EmailAddressVO emailAddress) {
+        if (this.emailAddress != null && emailAddress != null && this.emailAddress.isActive() != emailAddress.isActive()) {
+            statusVersion++;
+        }
+        this.emailAddress = emailAddress;
+    }
 }
@@ -31,7 +31,7 @@ public class UserDataImpl implements UserData {
 
     @Override
     public User saveNewUser(EmailAddressVO email) {
-        User user = new User(email, null, 0, false);
+        User user = new User(email, null, 0, false, 0);
         return userRepository.save(user);
     }
 
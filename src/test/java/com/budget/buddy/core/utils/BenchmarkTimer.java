@@ -0,0 +1,41 @@
+package com.budget.buddy.core.utils;
+
+import java.util.Arrays;
+
+/**
+ * Timing shared by the {@code @Tag("benchmark")} tests, which only run with {@code mvn test -Pbenchmark}.
+ * Every measurement starts with one unrecorded run, so the first sample does not pay for cold caches,
+ * connections or code the JIT has not compiled yet, and reports the median so one GC pause cannot skew it.
+ */
+public final class BenchmarkTimer {
+
+    public static final int SAMPLES = 7;
+
+    private BenchmarkTimer() {
+    }
+
+    @FunctionalInterface
+    public interface Sample<E extends Exception> {
+        void run() throws E;
+    }
+
+    public static <E extends Exception> double medianMillis(Sample<E> sample) throws E {
+        return medianMillis(SAMPLES, sample);
+    }
+
+    public static <E extends Exception> double medianMillis(int samples, Sample<E> sample) throws E {
+        return medianNanos(samples, sample) / 1_000_000.0;
+    }
+
+    public static <E extends Exception> long medianNanos(int samples, Sample<E> sample) throws E {
+        sample.run();
+        long[] elapsed = new long[samples];
+        for (int i = 0; i < samples; i++) {
+            long startNs = System.nanoTime();
+            sample.run();
+            elapsed[i] = System.nanoTime() - startNs;
+        }
+        Arrays.sort(elapsed);
+        return elapsed[samples / 2];
+    }
+}
@@ -0,0 +1,89 @@
+package com.budget.buddy.core.utils;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+
+    static final String SECRET = Encoders.BASE64.encode("0123456789abcdef0123456789abcdef".getBytes());
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = jwtUtil("budget-buddy");
+    }
+
+    static JwtUtil jwtUtil(String issuer) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "issuer", issuer);
+        ReflectionTestUtils.setField(jwtUtil, "keyId", "");
+        ReflectionTestUtils.setField(jwtUtil, "accessTtl", "30m");
+        ReflectionTestUtils.setField(jwtUtil, "refreshTtl", "7d");
+        ReflectionTestUtils.setField(jwtUtil, "clockSkewSeconds", 30L);
+        return jwtUtil;
+    }
+
+    @Test
+    void verify_returnsTheClaimsOfAValidToken() {
+        String token = jwtUtil.generateToken(1L, "user@example.com", 0);
+
+        VerifiedToken verified = jwtUtil.verify(token).orElseThrow();
+
+        assertEquals("user@example.com", verified.email());
+        assertEquals(1L, verified.userId());
+        assertEquals(0, verified.statusVersion());
+        assertEquals(jwtUtil.extractJti(token), verified.jti());
+        assertTrue(verified.expiresAt().isAfter(new Date().toInstant()));
+    }
+
+    @Test
+    void verify_rejectsTamperedMalformedAndForeignTokens() {
+        String token = jwtUtil.generateToken(1L, "user@example.com", 0);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertEquals(Optional.empty(), jwtUtil.verify(tampered));
+        assertEquals(Optional.empty(), jwtUtil.verify("not-a-jwt"));
+        assertEquals(Optional.empty(), jwtUtil.verify(""));
+        assertEquals(Optional.empty(), jwtUtil.verify(jwtUtil("someone-else").generateToken(1L, "user@example.com", 0)));
+    }
+
+    @Test
+    void verify_acceptsTokensMintedWithoutAUserId() {
+        String legacy = Jwts.builder()
+                .subject("user@example.com")
+                .issuer("budget-buddy")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .compact();
+
+        VerifiedToken verified = jwtUtil.verify(legacy).orElseThrow();
+
+        assertNull(verified.userId());
+        assertNull(verified.statusVersion());
+    }
+
+    @Test
+    void verify_rejectsExpiredTokens() {
+        String expired = Jwts.builder()
+                .subject("user@example.com")
+                .issuer("budget-buddy")
+                .expiration(new Date(System.currentTimeMillis() - 60_000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .compact();
+
+        assertTrue(jwtUtil.verify(expired).isEmpty());
+        assertFalse(jwtUtil.validateToken(expired));
+    }
+}
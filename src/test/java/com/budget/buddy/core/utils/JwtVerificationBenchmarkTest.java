@@ -0,0 +1,75 @@
+package com.budget.buddy.core.utils;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Per-request token cost of the authentication filter: the old path built a parser and checked the signature
+ * three times (email, validity, JTI), the new one verifies once with a shared parser.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class JwtVerificationBenchmarkTest {
+
+    private static final Logger logger = LogManager.getLogger(JwtVerificationBenchmarkTest.class);
+
+    private static final int REQUESTS = 20_000;
+
+    private final JwtUtil jwtUtil = JwtUtilTest.jwtUtil("budget-buddy");
+    private final SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(JwtUtilTest.SECRET));
+
+    @Test
+    void singleVerification_beatsThreeParsesPerRequest() {
+        String token = jwtUtil.generateToken(1L, "user@example.com", 0);
+        assertEquals(legacy(token), jwtUtil.verify(token).orElseThrow().jti());
+
+        double legacyNanos = medianNanosPerRequest(() -> legacy(token));
+        double verifyNanos = medianNanosPerRequest(() -> jwtUtil.verify(token).orElseThrow().jti());
+        logger.info("Token cost per request: three parses {} us, single verification {} us",
+                legacyNanos / 1000, verifyNanos / 1000);
+
+        assertTrue(verifyNanos < legacyNanos,
+                "Expected a single verification to be cheaper, saw " + legacyNanos + " -> " + verifyNanos + " ns");
+    }
+
+    // What JwtFilter did before: extractEmail, validateToken and extractJti, each with its own parser
+    private String legacy(String token) {
+        String email = parse(token).getSubject();
+        Claims claims = parse(token);
+        boolean valid = "budget-buddy".equals(claims.getIssuer())
+                && claims.getExpiration().getTime() - 30_000 > new Date().getTime();
+        String jti = parse(token).getId();
+        return email != null && valid ? jti : null;
+    }
+
+    private Claims parse(String token) {
+        return Jwts.parser()
+                .verifyWith(key)
+                .clockSkewSeconds(30)
+                .requireIssuer("budget-buddy")
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    private double medianNanosPerRequest(Runnable request) {
+        // Each sample is a round of requests, since one verification is too short to time on its own
+        return (double) BenchmarkTimer.medianNanos(BenchmarkTimer.SAMPLES, () -> {
+            for (int i = 0; i < REQUESTS; i++) {
+                request.run();
+            }
+        }) / REQUESTS;
+    }
+}
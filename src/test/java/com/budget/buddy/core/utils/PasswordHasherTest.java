@@ -0,0 +1,94 @@
+package com.budget.buddy.core.utils;
+
+import com.budget.buddy.core.config.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHasherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHasher passwordHasher;
+
+    @AfterEach
+    void tearDown() {
+        if (passwordHasher != null) {
+            passwordHasher.shutdown();
+        }
+    }
+
+    @Test
+    void matches_acceptsTheHashItEncoded() {
+        passwordHasher = new PasswordHasher(meterRegistry, 2, 4, 2000, 5, 4, 6, 100);
+
+        String hash = passwordHasher.encode("secret");
+
+        assertTrue(passwordHasher.matches("secret", hash));
+        assertFalse(passwordHasher.matches("wrong", hash));
+        assertFalse(passwordHasher.matches("secret", null));
+        assertEquals(3, meterRegistry.get("auth.password-hashing.duration").timer().count());
+    }
+
+    @Test
+    void needsRehash_onlyForHashesBelowTheConfiguredCost() {
+        passwordHasher = new PasswordHasher(meterRegistry, 1, 4, 2000, 5, 4, 6, 100);
+
+        assertTrue(passwordHasher.needsRehash(new BCryptPasswordEncoder(4).encode("secret")));
+        assertFalse(passwordHasher.needsRehash(new BCryptPasswordEncoder(5).encode("secret")));
+        assertFalse(passwordHasher.needsRehash(new BCryptPasswordEncoder(6).encode("secret")));
+        assertFalse(passwordHasher.needsRehash("not-a-bcrypt-hash"));
+        assertFalse(passwordHasher.needsRehash(null));
+    }
+
+    @Test
+    void calibrate_staysWithinTheConfiguredRange() {
+        assertEquals(6, PasswordHasher.calibrate(4, 6, 60_000));
+        assertEquals(4, PasswordHasher.calibrate(4, 6, 0));
+    }
+
+    @Test
+    void run_rejectsImmediatelyOnceTheQueueIsFull() throws Exception {
+        passwordHasher = new PasswordHasher(meterRegistry, 1, 1, 10_000, 4, 4, 4, 100);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            // One task occupies the only thread and one waits in the queue
+            callers.submit(() -> passwordHasher.run(() -> {
+                release.await();
+                return null;
+            }));
+            callers.submit(() -> passwordHasher.run(() -> {
+                release.await();
+                return null;
+            }));
+            while (passwordHasher.queueDepth() < 1) {
+                Thread.onSpinWait();
+            }
+
+            assertThrows(ServiceUnavailableException.class, () -> passwordHasher.encode("secret"));
+            assertEquals(1, meterRegistry.get("auth.password-hashing").tag("result", "rejected").counter().count());
+            assertEquals(1, meterRegistry.get("auth.password-hashing.queue").gauge().value());
+        } finally {
+            release.countDown();
+            callers.shutdown();
+        }
+    }
+
+    @Test
+    void run_givesUpOnAHashThatWaitsTooLong() {
+        passwordHasher = new PasswordHasher(meterRegistry, 1, 1, 50, 4, 4, 4, 100);
+
+        assertThrows(ServiceUnavailableException.class, () -> passwordHasher.run(() -> {
+            Thread.sleep(5_000);
+            return null;
+        }));
+        assertEquals(1, meterRegistry.get("auth.password-hashing").tag("result", "timeout").counter().count());
+    }
+}
@@ -0,0 +1,139 @@
+package com.budget.buddy.core.utils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Login-storm throughput of the session writes: the six sequential Redis calls login used to make against the
+ * single issueSession script. Needs a disposable Redis; point BENCHMARK_REDIS_URL (redis://host:port) at one and
+ * run {@code mvn test -Pbenchmark}. Only keys of the benchmark's own users are written and they are removed afterwards.
+ */
+@Tag("benchmark")
+class RedisSessionBenchmarkTest {
+
+    private static final Logger logger = LogManager.getLogger(RedisSessionBenchmarkTest.class);
+
+    private static final int THREADS = 32;
+    private static final int LOGINS_PER_THREAD = 500;
+    private static final long ACCESS_TTL_MS = 60_000;
+    private static final long REFRESH_TTL_MS = 120_000;
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redis;
+    private RedisTokenService redisTokenService;
+
+    @BeforeEach
+    void setUp() {
+        String url = System.getenv("BENCHMARK_REDIS_URL");
+        assumeTrue(url != null, "BENCHMARK_REDIS_URL is not set");
+        URI uri = URI.create(url);
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(uri.getHost(), uri.getPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redis = new StringRedisTemplate(connectionFactory);
+        redisTokenService = new RedisTokenService(redis, new SimpleMeterRegistry(), 10_000, 60);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (connectionFactory != null) {
+            redis.delete(redis.keys("*bench-*"));
+            connectionFactory.destroy();
+        }
+    }
+
+    @Test
+    void issueSession_outrunsSequentialCallsUnderALoginStorm() throws Exception {
+        double sequential = loginsPerSecond(this::sequentialLogin);
+        double scripted = loginsPerSecond(this::scriptedLogin);
+        logger.info("{} threads x {} logins: sequential calls {} logins/s, issueSession {} logins/s",
+                THREADS, LOGINS_PER_THREAD, Math.round(sequential), Math.round(scripted));
+
+        // Each user ends with exactly one live access JTI
+        String email = "bench-0@example.com";
+        String current = redis.opsForValue().get("user:accessJti:" + email);
+        assertTrue(redisTokenService.isAccessJtiActive(current, null));
+        assertEquals(1, redis.keys("access:jti:bench-0-*").size());
+
+        assertTrue(scripted > sequential,
+                "Expected the script to be faster, saw " + sequential + " -> " + scripted + " logins/s");
+    }
+
+    // What login did before, replayed with the raw calls: read, revoke and clear the old JTI, then three separate writes
+    private void sequentialLogin(int user, int login) {
+        String email = "bench-" + user + "@example.com";
+        String jti = "bench-" + user + "-" + login;
+        ValueOperations<String, String> values = redis.opsForValue();
+        String existing = values.get("user:accessJti:" + email);
+        if (existing != null) {
+            redis.delete("access:jti:" + existing);
+            redis.convertAndSend(RedisTokenService.REVOCATION_CHANNEL, existing);
+            redis.delete("user:accessJti:" + email);
+        }
+        values.set("access:jti:" + jti, email, ACCESS_TTL_MS, TimeUnit.MILLISECONDS);
+        values.set("user:accessJti:" + email, jti, ACCESS_TTL_MS, TimeUnit.MILLISECONDS);
+        values.set("refresh:" + RedisTokenService.hashToken("bench-refresh-" + UUID.randomUUID()), email,
+                REFRESH_TTL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private void scriptedLogin(int user, int login) {
+        String email = "bench-" + user + "@example.com";
+        redisTokenService.issueSession(email, "bench-" + user + "-" + login, ACCESS_TTL_MS,
+                "bench-refresh-" + UUID.randomUUID(), REFRESH_TTL_MS);
+    }
+
+    private double loginsPerSecond(Login login) throws Exception {
+        // Warm-up for connections and the script cache
+        for (int i = 0; i < 100; i++) {
+            login.run(i % THREADS, -1 - i);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            long started = System.nanoTime();
+            List<Future<?>> runs = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                int user = thread;
+                runs.add(executor.submit(() -> {
+                    for (int i = 0; i < LOGINS_PER_THREAD; i++) {
+                        login.run(user, i);
+                    }
+                }));
+            }
+            for (Future<?> run : runs) {
+                run.get();
+            }
+            return THREADS * LOGINS_PER_THREAD / ((System.nanoTime() - started) / 1e9);
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Login {
+        void run(int user, int login);
+    }
+}
@@ -0,0 +1,127 @@
+package com.budget.buddy.core.utils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Two instances share an in-memory stand-in for Redis: keys live in a set and every published revocation is
+ * delivered to both instances, the way the listener container would.
+ */
+class RedisTokenServiceTest {
+
+    private final Set<String> keys = ConcurrentHashMap.newKeySet();
+    private StringRedisTemplate redis;
+    private RedisTokenService nodeA;
+    private RedisTokenService nodeB;
+
+    @BeforeEach
+    void setUp() {
+        redis = mock(StringRedisTemplate.class);
+        when(redis.hasKey(anyString())).thenAnswer(invocation -> keys.contains(invocation.<String>getArgument(0)));
+
+        nodeA = new RedisTokenService(redis, new SimpleMeterRegistry(), 100, 60);
+        nodeB = new RedisTokenService(redis, new SimpleMeterRegistry(), 100, 60);
+    }
+
+    // What the session scripts' PUBLISH does through the listener container
+    private void publishRevocation(String jti) {
+        DefaultMessage message = new DefaultMessage(RedisTokenService.REVOCATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                jti.getBytes(StandardCharsets.UTF_8));
+        for (RedisTokenService node : List.of(nodeA, nodeB)) {
+            node.onMessage(message, null);
+        }
+    }
+
+    @Test
+    void isAccessJtiActive_servesRepeatChecksLocally() {
+        keys.add("access:jti:jti-1");
+        Instant expiresAt = Instant.now().plusSeconds(60);
+
+        assertTrue(nodeA.isAccessJtiActive("jti-1", expiresAt));
+        assertTrue(nodeA.isAccessJtiActive("jti-1", expiresAt));
+        assertTrue(nodeA.isAccessJtiActive("jti-1", expiresAt));
+
+        verify(redis, times(1)).hasKey("access:jti:jti-1");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void endSession_dropsTheJtiFromEveryInstance() {
+        keys.add("access:jti:jti-1");
+        Instant expiresAt = Instant.now().plusSeconds(60);
+        assertTrue(nodeA.isAccessJtiActive("jti-1", expiresAt));
+        assertTrue(nodeB.isAccessJtiActive("jti-1", expiresAt));
+        when(redis.execute(any(RedisScript.class), eq(List.of("user:accessJti:user@example.com")), any(Object[].class)))
+                .thenAnswer(invocation -> {
+                    keys.remove("access:jti:jti-1");
+                    publishRevocation("jti-1");
+                    return "jti-1";
+                });
+
+        nodeB.endSession("user@example.com", null);
+
+        assertFalse(nodeA.isAccessJtiActive("jti-1", expiresAt));
+        assertFalse(nodeB.isAccessJtiActive("jti-1", expiresAt));
+    }
+
+    @Test
+    void isAccessJtiActive_neverCachesPastTheTokenExpiry() {
+        keys.add("access:jti:jti-1");
+
+        assertTrue(nodeA.isAccessJtiActive("jti-1", Instant.now().minusSeconds(1)));
+        assertTrue(nodeA.isAccessJtiActive("jti-1", Instant.now().minusSeconds(1)));
+
+        verify(redis, times(2)).hasKey("access:jti:jti-1");
+    }
+
+    @Test
+    void isAccessJtiActive_keepsCachedJtisThroughARedisOutage() {
+        keys.add("access:jti:jti-1");
+        Instant expiresAt = Instant.now().plusSeconds(60);
+        assertTrue(nodeA.isAccessJtiActive("jti-1", expiresAt));
+
+        when(redis.hasKey(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertTrue(nodeA.isAccessJtiActive("jti-1", expiresAt));
+        assertFalse(nodeA.isAccessJtiActive("jti-2", expiresAt));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void issueSession_dropsThePreviousJtiLocallyInTheSameRoundTrip() {
+        keys.add("access:jti:jti-1");
+        Instant expiresAt = Instant.now().plusSeconds(60);
+        assertTrue(nodeA.isAccessJtiActive("jti-1", expiresAt));
+        when(redis.execute(any(RedisScript.class), eq(List.of("user:accessJti:user@example.com", "access:jti:jti-2",
+                "refresh:" + RedisTokenService.hashToken("refresh-2"))), any(Object[].class))).thenReturn("jti-1");
+
+        nodeA.issueSession("user@example.com", "jti-2", 60_000, "refresh-2", 120_000);
+        keys.remove("access:jti:jti-1");
+
+        assertFalse(nodeA.isAccessJtiActive("jti-1", expiresAt));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rotateSession_reportsATokenThatWasAlreadyConsumed() {
+        when(redis.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(null);
+
+        assertFalse(nodeA.rotateSession("user@example.com", "refresh-1", "jti-2", 60_000, "refresh-2", 120_000));
+    }
+}
@@ -1,20 +1,27 @@
 package com.budget.buddy.transaction.application.service.impl;
 
+import com.budget.buddy.core.config.exception.BadRequestException;
 import com.budget.buddy.core.config.exception.ConflictException;
 import com.budget.buddy.core.config.exception.ErrorCode;
+import com.budget.buddy.core.config.exception.NotFoundException;
+import com.budget.buddy.transaction.application.dto.account.AccountBalanceHistoryResponse;
+import com.budget.buddy.transaction.application.dto.account.AccountBalancePoint;
 import com.budget.buddy.transaction.application.dto.account.AccountDTO;
 import com.budget.buddy.transaction.application.dto.account.AccountRetrieveResponse;
 import com.budget.buddy.transaction.application.dto.account.AccountTypeRetrieveResponse;
 import com.budget.buddy.transaction.domain.enums.Currency;
+import com.budget.buddy.transaction.domain.service.AccountBalanceData;
 import com.budget.buddy.transaction.domain.service.AccountData;
 import com.budget.buddy.transaction.domain.service.TransactionData;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,13 +33,15 @@ class AccountServiceImplTest {
     private AccountData accountData;
     @Mock
     private TransactionData transactionData;
+    @Mock
+    private AccountBalanceData accountBalanceData;
 
     private AccountServiceImpl service;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        service = new AccountServiceImpl(accountData, transactionData);
+        service = new AccountServiceImpl(accountData, transactionData, accountBalanceData);
     }
 
     @Test
@@ -74,25 +83,24 @@ class AccountServiceImplTest {
     }
 
     @Test
-    void deleteAccount_withTransactions_deletesTransactionsThenAccount() {
-        when(accountData.isTransactionExistedByAccountId(5L)).thenReturn(true);
-
+    void deleteAccount_checksThenDeletesTransactionsThenAccount() {
         service.deleteAccount(5L);
 
-        verify(transactionData).deleteTransactionByAccountId(eq(List.of(5L)));
-        verify(accountData).checkAccountExists(5L);
-        verify(accountData).deleteAccount(5L);
+        InOrder inOrder = inOrder(accountData, transactionData);
+        inOrder.verify(accountData).checkAccountExists(5L);
+        inOrder.verify(transactionData).deleteTransactionByAccountId(eq(List.of(5L)));
+        inOrder.verify(accountData).deleteAccount(5L);
     }
 
     @Test
-    void deleteAccount_withoutTransactions_deletesAccount() {
-        when(accountData.isTransactionExistedByAccountId(6L)).thenReturn(false);
+    void deleteAccount_notFound_doesNotDeleteTransactions() {
+        doThrow(new NotFoundException(ErrorCode.ACCOUNT_NOT_FOUND))
+                .when(accountData).checkAccountExists(6L);
 
-        service.deleteAccount(6L);
+        assertThrows(NotFoundException.class, () -> service.deleteAccount(6L));
 
         verify(transactionData, never()).deleteTransactionByAccountId(any());
-        verify(accountData).checkAccountExists(6L);
-        verify(accountData).deleteAccount(6L);
+        verify(accountData, never()).deleteAccount(anyLong());
     }
 
     @Test
@@ -126,23 +134,47 @@ class AccountServiceImplTest {
     }
 
     @Test
-    void deleteAccountTypeGroup_withTransactions_cascades() {
-        when(accountData.isTransactionExistedByGroupAccountId(3L)).thenReturn(true);
-        when(accountData.getAccountIdsByGroupId(3L)).thenReturn(List.of(1L,2L));
-
+    void deleteAccountTypeGroup_cascadesByGroupId() {
         service.deleteAccountTypeGroup(3L);
 
-        verify(transactionData).deleteTransactionByAccountId(eq(List.of(1L,2L)));
-        verify(accountData).deleteAccountTypeGroups(3L);
+        InOrder inOrder = inOrder(accountData, transactionData);
+        inOrder.verify(transactionData).deleteTransactionByAccountTypeGroupId(3L);
+        inOrder.verify(accountData).deleteAccountTypeGroups(3L);
+        verify(transactionData, never()).deleteTransactionByAccountId(any());
     }
 
     @Test
-    void deleteAccountTypeGroup_noTransactions_simpleDelete() {
-        when(accountData.isTransactionExistedByGroupAccountId(4L)).thenReturn(false);
+    void retrieveBalanceAsOf_checksOwnershipThenReadsCheckpoint() {
+        LocalDate date = LocalDate.of(2025, 1, 31);
+        when(accountBalanceData.getBalanceAsOf(5L, date)).thenReturn(BigDecimal.TEN);
 
-        service.deleteAccountTypeGroup(4L);
+        AccountBalancePoint point = service.retrieveBalanceAsOf(5L, date);
 
-        verify(transactionData, never()).deleteTransactionByAccountId(any());
-        verify(accountData).deleteAccountTypeGroups(4L);
+        assertEquals(new AccountBalancePoint(date, BigDecimal.TEN), point);
+        verify(accountData).checkAccountExists(5L);
+    }
+
+    @Test
+    void retrieveBalanceHistory_valid_delegates() {
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 1, 2);
+        List<AccountBalancePoint> points = List.of(new AccountBalancePoint(from, BigDecimal.ONE), new AccountBalancePoint(to, BigDecimal.TEN));
+        when(accountBalanceData.getBalanceHistory(5L, from, to)).thenReturn(points);
+
+        AccountBalanceHistoryResponse response = service.retrieveBalanceHistory(5L, from, to);
+
+        assertEquals(5L, response.accountId());
+        assertSame(points, response.balances());
+        verify(accountData).checkAccountExists(5L);
+    }
+
+    @Test
+    void retrieveBalanceHistory_rangeTooLarge_throwsBadRequest() {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = from.plusDays(AccountServiceImpl.MAX_BALANCE_HISTORY_DAYS);
+
+        BadRequestException ex = assertThrows(BadRequestException.class, () -> service.retrieveBalanceHistory(5L, from, to));
+        assertEquals(ErrorCode.INVALID_DATE_RANGE.getCode(), ex.getErrorCode());
+        verifyNoInteractions(accountBalanceData);
     }
 }
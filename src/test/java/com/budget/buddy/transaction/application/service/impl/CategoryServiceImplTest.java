@@ -3,6 +3,7 @@ package com.budget.buddy.transaction.application.service.impl;
 import com.budget.buddy.transaction.application.dto.category.CategoryDTO;
 import com.budget.buddy.transaction.domain.service.BudgetData;
 import com.budget.buddy.transaction.domain.service.CategoryData;
+import com.budget.buddy.transaction.domain.service.ThresholdDataService;
 import com.budget.buddy.transaction.domain.service.TransactionData;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -29,6 +30,9 @@ class CategoryServiceImplTest {
     @Mock
     private BudgetData budgetData;
 
+    @Mock
+    private ThresholdDataService thresholdDataService;
+
     @InjectMocks
     private CategoryServiceImpl categoryService;
 
@@ -80,6 +84,7 @@ class CategoryServiceImplTest {
 
         verify(transactionData, times(1)).deleteTransactionByCategoryId(categoryId);
         verify(budgetData, times(1)).deleteBudgetByCategoryId(categoryId);
+        verify(thresholdDataService, times(1)).deleteByCategoryId(categoryId);
         verify(categoryData, times(1)).deleteCategory(categoryId);
     }
 
@@ -7,23 +7,45 @@ import com.budget.buddy.transaction.application.dto.account.AccountRetrieveRespo
 import com.budget.buddy.transaction.application.dto.transaction.RetrieveTransactionsParams;
 import com.budget.buddy.transaction.application.dto.transaction.TransactionDTO;
 import com.budget.buddy.transaction.application.dto.transaction.TransactionFilterCriteria;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionImportReport;
 import com.budget.buddy.transaction.application.dto.transaction.TransactionPagination;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionRow;
 import com.budget.buddy.transaction.domain.enums.CategoryType;
 import com.budget.buddy.transaction.domain.enums.Currency;
+import com.budget.buddy.transaction.domain.enums.TransactionExportFormat;
+import com.budget.buddy.transaction.domain.enums.TransactionImportFormat;
 import com.budget.buddy.transaction.domain.service.AccountData;
 import com.budget.buddy.transaction.domain.service.TransactionData;
+import com.budget.buddy.transaction.domain.service.TransactionInquiryCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +56,15 @@ class TransactionServiceImplTest {
     
     @Mock
     private AccountData accountData;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private TransactionInquiryCache transactionInquiryCache;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
     
     @InjectMocks
     private TransactionServiceImpl transactionServiceImpl;
@@ -206,6 +237,8 @@ class TransactionServiceImplTest {
                 List.of()
         );
         when(transactionData.retrieveTransactions(params, filterCriteria)).thenReturn(expected);
+        when(transactionInquiryCache.getOrLoad(same(params), same(filterCriteria), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<TransactionPagination>>getArgument(2).get());
 
         TransactionPagination result = transactionServiceImpl.retrieveTransactions(params, filterCriteria);
 
@@ -251,4 +284,164 @@ class TransactionServiceImplTest {
 
         verify(transactionData, times(1)).deleteTransaction(transactionId);
     }
-}
\ No newline at end of file
+
+    @Test
+    void importTransactions_shouldCommitInChunksAndReportMalformedLines() {
+        ReflectionTestUtils.setField(transactionServiceImpl, "defaultImportChunkSize", 500);
+        ReflectionTestUtils.setField(transactionServiceImpl, "maxImportChunkSize", 5000);
+        String today = LocalDate.now().toString();
+        String body = String.join("\n",
+                "{\"name\":\"A\",\"amount\":1,\"accountId\":1,\"categoryId\":2,\"date\":\"" + today + "\",\"categoryType\":\"EXPENSE\"}",
+                "{\"name\":\"B\",\"amount\":2,\"accountId\":1,\"categoryId\":2,\"date\":\"" + today + "\",\"categoryType\":\"EXPENSE\"}",
+                "",
+                "{\"name\":\"C\",\"amount\":3,\"accountId\":1,\"categoryId\":2,\"date\":\"" + today + "\",\"categoryType\":\"INCOME\"}",
+                "{not json");
+
+        when(validator.validate(any(TransactionDTO.class))).thenReturn(Set.of());
+        when(transactionData.importTransactions(anyList())).thenReturn(List.of());
+
+        TransactionImportReport report = transactionServiceImpl.importTransactions(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), TransactionImportFormat.NDJSON, 2);
+
+        assertEquals(2, report.chunks().size());
+        assertEquals(4, report.totalRows());
+        assertEquals(3, report.importedRows());
+        assertEquals(1, report.rejectedRows());
+        assertEquals(1, report.chunks().get(1).rejected());
+        assertEquals(5L, report.errors().getFirst().line());
+        verify(transactionData, times(2)).importTransactions(anyList());
+    }
+
+    @Test
+    void importTransactions_shouldListOnlyTheFirstRowErrorsOfTheWholeImport() {
+        ReflectionTestUtils.setField(transactionServiceImpl, "defaultImportChunkSize", 500);
+        ReflectionTestUtils.setField(transactionServiceImpl, "maxImportChunkSize", 5000);
+        String body = String.join("\n", Collections.nCopies(150, "{not json"));
+
+        TransactionImportReport report = transactionServiceImpl.importTransactions(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), TransactionImportFormat.NDJSON, 50);
+
+        assertEquals(150, report.rejectedRows());
+        assertEquals(100, report.errors().size());
+        assertEquals(100L, report.errors().getLast().line());
+        assertEquals(List.of(50, 50, 50), report.chunks().stream().map(TransactionImportReport.ChunkReport::rejected).toList());
+        verifyNoInteractions(transactionData);
+    }
+
+    @Test
+    void importTransactions_shouldRejectCsvWithoutRequiredHeader() {
+        ReflectionTestUtils.setField(transactionServiceImpl, "defaultImportChunkSize", 500);
+        ReflectionTestUtils.setField(transactionServiceImpl, "maxImportChunkSize", 5000);
+        String body = "name,amount\nLunch,10";
+
+        assertThrows(BadRequestException.class, () -> transactionServiceImpl.importTransactions(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), TransactionImportFormat.CSV, null));
+        verifyNoInteractions(transactionData);
+    }
+
+    @Test
+    void exportTransactions_shouldWriteCsvThatTheImporterReadsBack() throws Exception {
+        TransactionRow row = new TransactionRow(7L, "Lunch, \"team\"", new BigDecimal("12.50"), null,
+                LocalDate.of(2025, 3, 1), CategoryType.EXPENSE, 1L, "Wallet", Currency.VND, "Cash", 2L, "Food");
+        doAnswer(invocation -> {
+            Consumer<Stream<TransactionRow>> consumer = invocation.getArgument(1);
+            consumer.accept(Stream.of(row));
+            return null;
+        }).when(transactionData).exportTransactions(isNull(), any());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        transactionServiceImpl.exportTransactions(null, TransactionExportFormat.CSV, () -> output);
+
+        String csv = output.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.startsWith("id,date,name,amount,currency,categoryType,accountId,accountName,accountType,categoryId,categoryName,remarks\r\n"));
+        assertTrue(csv.contains("7,2025-03-01,\"Lunch, \"\"team\"\"\",12.50,VND,EXPENSE,1,Wallet,Cash,2,Food,\r\n"));
+
+        try (TransactionImportReader reader = new TransactionImportReader(
+                new ByteArrayInputStream(output.toByteArray()), TransactionImportFormat.CSV, objectMapper)) {
+            TransactionDTO imported = reader.next().transaction();
+            assertEquals("Lunch, \"team\"", imported.getName());
+            assertEquals(new BigDecimal("12.50"), imported.getAmount());
+            assertEquals(CategoryType.EXPENSE, imported.getCategoryType());
+        }
+    }
+
+    @Test
+    void exportTransactions_shouldRoundTripRemarksThatSpanLines() throws Exception {
+        List<TransactionRow> rows = List.of(
+                new TransactionRow(8L, "Dinner", new BigDecimal("30.00"), "Split with\r\n\"Anna\", paid later",
+                        LocalDate.of(2025, 3, 2), CategoryType.EXPENSE, 1L, "Wallet", Currency.VND, "Cash", 2L, "Food"),
+                new TransactionRow(7L, "Lunch", new BigDecimal("12.50"), null, LocalDate.of(2025, 3, 1),
+                        CategoryType.EXPENSE, 1L, "Wallet", Currency.VND, "Cash", 2L, "Food"));
+        doAnswer(invocation -> {
+            Consumer<Stream<TransactionRow>> consumer = invocation.getArgument(1);
+            consumer.accept(rows.stream());
+            return null;
+        }).when(transactionData).exportTransactions(isNull(), any());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        transactionServiceImpl.exportTransactions(null, TransactionExportFormat.CSV, () -> output);
+
+        try (TransactionImportReader reader = new TransactionImportReader(
+                new ByteArrayInputStream(output.toByteArray()), TransactionImportFormat.CSV, objectMapper)) {
+            TransactionImportReader.ParsedLine dinner = reader.next();
+            assertNull(dinner.error());
+            assertEquals(2, dinner.line());
+            assertEquals("Split with\n\"Anna\", paid later", dinner.transaction().getRemarks());
+            TransactionImportReader.ParsedLine lunch = reader.next();
+            assertEquals(4, lunch.line());
+            assertEquals("Lunch", lunch.transaction().getName());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void importReader_shouldReportAnUnterminatedQuotedField() throws Exception {
+        String csv = "name,amount,accountId,categoryId,date,categoryType,remarks\n"
+                + "Lunch,-10,1,2,2025-03-01,EXPENSE,\"never closed\n"
+                + "Dinner,-20,1,2,2025-03-01,EXPENSE,\n";
+
+        try (TransactionImportReader reader = new TransactionImportReader(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), TransactionImportFormat.CSV, objectMapper)) {
+            TransactionImportReader.ParsedLine line = reader.next();
+            assertEquals(2, line.line());
+            assertEquals("Unterminated quoted field", line.error());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void exportTransactions_shouldWriteOneTransactionPerNdjsonLine() throws Exception {
+        List<TransactionRow> rows = List.of(
+                new TransactionRow(2L, "Salary", new BigDecimal("1000.00"), "March", LocalDate.of(2025, 3, 2),
+                        CategoryType.INCOME, 1L, "Bank", Currency.VND, "Bank", 3L, "Salary"),
+                new TransactionRow(1L, "Lunch", new BigDecimal("12.50"), null, LocalDate.of(2025, 3, 1),
+                        CategoryType.EXPENSE, 1L, "Bank", Currency.VND, "Bank", 2L, "Food"));
+        doAnswer(invocation -> {
+            Consumer<Stream<TransactionRow>> consumer = invocation.getArgument(1);
+            consumer.accept(rows.stream());
+            return null;
+        }).when(transactionData).exportTransactions(isNull(), any());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        transactionServiceImpl.exportTransactions("", TransactionExportFormat.NDJSON, () -> output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        TransactionDTO first = objectMapper.readValue(lines[0], TransactionDTO.class);
+        assertEquals(2L, first.getId());
+        assertEquals(LocalDate.of(2025, 3, 2), first.getDate());
+        assertEquals("March", first.getRemarks());
+        assertEquals(CategoryType.INCOME, first.getCategoryType());
+        assertEquals("Food", objectMapper.readValue(lines[1], TransactionDTO.class).getCategoryName());
+    }
+
+    @Test
+    void exportTransactions_shouldRejectMalformedFilterBeforeOpeningTheOutput() {
+        @SuppressWarnings("unchecked")
+        Supplier<OutputStream> output = mock(Supplier.class);
+
+        assertThrows(BadRequestException.class, () ->
+                transactionServiceImpl.exportTransactions("{not json", TransactionExportFormat.CSV, output));
+        verifyNoInteractions(output, transactionData);
+    }
+}
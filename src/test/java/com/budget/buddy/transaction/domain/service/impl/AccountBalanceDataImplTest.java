@@ -0,0 +1,163 @@
+package com.budget.buddy.transaction.domain.service.impl;
+
+import com.budget.buddy.transaction.application.dto.account.AccountBalanceDriftView;
+import com.budget.buddy.transaction.application.dto.account.AccountBalancePoint;
+import com.budget.buddy.transaction.application.dto.account.AccountLedgerEntry;
+import com.budget.buddy.transaction.application.dto.account.AccountLedgerSumView;
+import com.budget.buddy.transaction.domain.model.account.AccountBalanceCheckpoint;
+import com.budget.buddy.transaction.infrastructure.repository.AccountBalanceCheckpointRepository;
+import com.budget.buddy.transaction.infrastructure.repository.AccountBalanceRepository;
+import com.budget.buddy.transaction.infrastructure.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountBalanceDataImplTest {
+
+    @InjectMocks
+    private AccountBalanceDataImpl accountBalanceData;
+
+    @Mock
+    private AccountBalanceRepository accountBalanceRepository;
+
+    @Mock
+    private AccountBalanceCheckpointRepository checkpointRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Test
+    void recordLedgerEntries_shouldApplyDeltaShiftLaterCheckpointsAndCloseYesterday() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        LocalDate backdated = LocalDate.now().minusDays(5);
+        when(accountBalanceRepository.applyDelta(eq(10L), eq(BigDecimal.valueOf(-30)), any())).thenReturn(1);
+        when(checkpointRepository.existsByAccountIdAndBalanceDate(10L, yesterday)).thenReturn(false);
+        when(checkpointRepository.findFirstByAccountIdAndBalanceDateLessThanEqualOrderByBalanceDateDesc(10L, yesterday))
+                .thenReturn(Optional.of(new AccountBalanceCheckpoint(10L, backdated.minusDays(1), BigDecimal.valueOf(100))));
+        when(transactionRepository.sumAmountBySourceAccountIdBetween(10L, backdated.minusDays(1), yesterday))
+                .thenReturn(BigDecimal.valueOf(-30));
+
+        accountBalanceData.recordLedgerEntries(1L, List.of(
+                new AccountLedgerEntry(10L, backdated, BigDecimal.valueOf(-20)),
+                new AccountLedgerEntry(10L, backdated, BigDecimal.valueOf(-10))));
+
+        verify(checkpointRepository).shiftBalancesFrom(10L, backdated, BigDecimal.valueOf(-30));
+        verify(checkpointRepository).save(argThat(checkpoint -> checkpoint.getBalanceDate().equals(yesterday)
+                && checkpoint.getBalance().compareTo(BigDecimal.valueOf(70)) == 0));
+        verify(accountBalanceRepository, never()).save(any());
+    }
+
+    @Test
+    void recordLedgerEntries_withoutBalanceRow_shouldSeedFromLedger() {
+        LocalDate today = LocalDate.now();
+        when(accountBalanceRepository.applyDelta(eq(10L), any(), any())).thenReturn(0);
+
+        accountBalanceData.recordLedgerEntries(1L, List.of(new AccountLedgerEntry(10L, today, BigDecimal.TEN.negate())));
+
+        // A racing first write lands in the upsert's conflict branch and only adds its delta
+        verify(accountBalanceRepository).seedBalance(eq(10L), eq(1L), eq(BigDecimal.TEN.negate()), any());
+        verify(accountBalanceRepository, never()).save(any());
+        verify(checkpointRepository, never()).save(any());
+    }
+
+    @Test
+    void recordLedgerEntries_netZeroForAccount_shouldOnlyShiftCheckpoints() {
+        LocalDate from = LocalDate.now().minusDays(3);
+        LocalDate to = LocalDate.now().minusDays(1);
+
+        accountBalanceData.recordLedgerEntries(1L, List.of(
+                new AccountLedgerEntry(10L, from, BigDecimal.valueOf(50)),
+                new AccountLedgerEntry(10L, to, BigDecimal.valueOf(-50))));
+
+        verify(accountBalanceRepository, never()).applyDelta(anyLong(), any(), any());
+        verify(checkpointRepository).shiftBalancesFrom(10L, from, BigDecimal.valueOf(50));
+        verify(checkpointRepository).shiftBalancesFrom(10L, to, BigDecimal.valueOf(-50));
+    }
+
+    @Test
+    void getBalanceAsOf_withoutCheckpoint_shouldSumHistoryUntilDate() {
+        LocalDate date = LocalDate.of(2025, 3, 1);
+        when(checkpointRepository.findFirstByAccountIdAndBalanceDateLessThanEqualOrderByBalanceDateDesc(10L, date))
+                .thenReturn(Optional.empty());
+        when(transactionRepository.sumAmountBySourceAccountIdUntil(10L, date)).thenReturn(BigDecimal.valueOf(42));
+
+        assertEquals(BigDecimal.valueOf(42), accountBalanceData.getBalanceAsOf(10L, date));
+    }
+
+    @Test
+    void getBalanceAsOf_onCheckpointDay_shouldNotScanLedger() {
+        LocalDate date = LocalDate.of(2025, 3, 1);
+        when(checkpointRepository.findFirstByAccountIdAndBalanceDateLessThanEqualOrderByBalanceDateDesc(10L, date))
+                .thenReturn(Optional.of(new AccountBalanceCheckpoint(10L, date, BigDecimal.valueOf(7))));
+
+        assertEquals(BigDecimal.valueOf(7), accountBalanceData.getBalanceAsOf(10L, date));
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void getBalanceHistory_shouldAccumulateDailySums() {
+        LocalDate from = LocalDate.of(2025, 3, 1);
+        LocalDate to = LocalDate.of(2025, 3, 3);
+        AccountLedgerSumView march3 = mock(AccountLedgerSumView.class);
+        when(march3.getDate()).thenReturn(to);
+        when(march3.getAmount()).thenReturn(BigDecimal.valueOf(-5));
+        when(checkpointRepository.findFirstByAccountIdAndBalanceDateLessThanEqualOrderByBalanceDateDesc(10L, from))
+                .thenReturn(Optional.of(new AccountBalanceCheckpoint(10L, from, BigDecimal.valueOf(100))));
+        when(transactionRepository.sumDailyAmountsBySourceAccountId(10L, from, to)).thenReturn(List.of(march3));
+
+        List<AccountBalancePoint> history = accountBalanceData.getBalanceHistory(10L, from, to);
+
+        assertEquals(List.of(
+                new AccountBalancePoint(from, BigDecimal.valueOf(100)),
+                new AccountBalancePoint(from.plusDays(1), BigDecimal.valueOf(100)),
+                new AccountBalancePoint(to, BigDecimal.valueOf(95))), history);
+    }
+
+    @Test
+    void verifyBalances_reportOnly_shouldNotWrite() {
+        AccountBalanceDriftView drift = drift(1L, BigDecimal.TEN, BigDecimal.ONE);
+        when(accountBalanceRepository.findDriftedBalances()).thenReturn(List.of(drift));
+        when(accountBalanceRepository.findMissingBalances()).thenReturn(Collections.emptyList());
+
+        List<AccountBalanceDriftView> result = accountBalanceData.verifyBalances(false);
+
+        assertEquals(1, result.size());
+        verify(accountBalanceRepository, never()).applyDelta(anyLong(), any(), any());
+        verify(accountBalanceRepository, never()).seedBalance(anyLong(), anyLong(), any(), any());
+    }
+
+    @Test
+    void verifyBalances_repair_shouldApplyTheDifferenceAndSeedMissing() {
+        AccountBalanceDriftView drifted = drift(1L, BigDecimal.TEN, BigDecimal.ONE);
+        AccountBalanceDriftView missing = drift(2L, null, BigDecimal.valueOf(-5));
+        when(accountBalanceRepository.findDriftedBalances()).thenReturn(List.of(drifted));
+        when(accountBalanceRepository.findMissingBalances()).thenReturn(List.of(missing));
+
+        List<AccountBalanceDriftView> result = accountBalanceData.verifyBalances(true);
+
+        assertEquals(2, result.size());
+        verify(accountBalanceRepository).applyDelta(eq(1L), eq(BigDecimal.valueOf(-9)), any());
+        verify(accountBalanceRepository).seedBalance(eq(2L), eq(99L), eq(BigDecimal.ZERO), any());
+    }
+
+    private AccountBalanceDriftView drift(Long accountId, BigDecimal stored, BigDecimal computed) {
+        AccountBalanceDriftView view = mock(AccountBalanceDriftView.class);
+        lenient().when(view.getAccountId()).thenReturn(accountId);
+        lenient().when(view.getUserId()).thenReturn(99L);
+        lenient().when(view.getStoredBalance()).thenReturn(stored);
+        lenient().when(view.getComputedBalance()).thenReturn(computed);
+        return view;
+    }
+}
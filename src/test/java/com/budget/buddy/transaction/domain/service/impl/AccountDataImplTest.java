@@ -1,22 +1,35 @@
 package com.budget.buddy.transaction.domain.service.impl;
 
+import com.budget.buddy.core.config.exception.NotFoundException;
 import com.budget.buddy.transaction.application.dto.account.AccountDTO;
+import com.budget.buddy.transaction.application.dto.budget.DailySpendEntry;
 import com.budget.buddy.transaction.domain.enums.Currency;
 import com.budget.buddy.transaction.domain.model.account.Account;
 import com.budget.buddy.transaction.domain.model.account.AccountTypeGroup;
+import com.budget.buddy.transaction.domain.service.DailySpendData;
+import com.budget.buddy.transaction.domain.service.TransactionHotStore;
+import com.budget.buddy.transaction.domain.service.TransactionInquiryCache;
 import com.budget.buddy.transaction.domain.utils.TransactionUtils;
+import com.budget.buddy.transaction.infrastructure.repository.AccountBalanceRepository;
 import com.budget.buddy.transaction.infrastructure.repository.AccountRepository;
 import com.budget.buddy.transaction.infrastructure.repository.AccountTypeGroupRepository;
+import com.budget.buddy.transaction.infrastructure.repository.InstallmentRepository;
+import com.budget.buddy.transaction.infrastructure.repository.SavingRepository;
+import com.budget.buddy.transaction.infrastructure.repository.SubscriptionRepository;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 class AccountDataImplTest {
@@ -33,6 +46,27 @@ class AccountDataImplTest {
     @Mock
     private TransactionUtils transactionUtils;
 
+    @Mock
+    private SavingRepository savingRepository;
+
+    @Mock
+    private InstallmentRepository installmentRepository;
+
+    @Mock
+    private SubscriptionRepository subscriptionRepository;
+
+    @Mock
+    private AccountBalanceRepository accountBalanceRepository;
+
+    @Mock
+    private TransactionInquiryCache transactionInquiryCache;
+
+    @Mock
+    private TransactionHotStore transactionHotStore;
+
+    @Mock
+    private DailySpendData dailySpendData;
+
     public AccountDataImplTest() {
         MockitoAnnotations.openMocks(this);
     }
@@ -61,6 +95,8 @@ class AccountDataImplTest {
 
         // Assert
         verify(accountRepository, times(1)).save(any(Account.class));
+        verify(accountBalanceRepository, times(1)).save(argThat(balance ->
+                balance.getUserId().equals(userId) && balance.getBalance().signum() == 0));
     }
 
     @Test
@@ -122,4 +158,71 @@ class AccountDataImplTest {
         verify(accountTypeGroupRepository, times(1)).save(any(AccountTypeGroup.class));
         verify(accountRepository, times(1)).save(any(Account.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testDeleteAccount_bulkDeletesPlansThenAccount() {
+        Long userId = 1L;
+        when(transactionUtils.getCurrentUserId()).thenReturn(userId);
+
+        accountDataImpl.deleteAccount(7L);
+
+        verify(savingRepository).bulkDeleteByAccountId(7L, userId);
+        verify(installmentRepository).bulkDeleteByAccountId(7L, userId);
+        verify(subscriptionRepository).bulkDeleteByAccountId(7L, userId);
+        verify(accountBalanceRepository).bulkDeleteByAccountId(7L, userId);
+        verify(accountRepository).bulkDeleteByIdAndUserId(7L, userId);
+        verify(accountRepository, never()).findAll();
+    }
+
+    @Test
+    void testUpdateAccount_currencyChange_movesDailySpendToTheNewCurrency() {
+        Long userId = 1L;
+        LocalDate day = LocalDate.of(2025, 3, 5);
+        AccountTypeGroup group = new AccountTypeGroup(userId, "CASH", new ArrayList<>());
+        Account account = new Account(group, "Wallet", Currency.SGD, false);
+        DailySpendEntry lunch = new DailySpendEntry(2L, Currency.SGD, day, BigDecimal.valueOf(-20), BigDecimal.valueOf(-15));
+        when(transactionUtils.getCurrentUserId()).thenReturn(userId);
+        when(accountRepository.findAccountByUserIdAndAccountId(userId, 7L)).thenReturn(account);
+        when(dailySpendData.sumAccounts(userId, List.of(7L))).thenReturn(List.of(lunch));
+
+        accountDataImpl.updateAccount(7L, new AccountDTO(7L, "Wallet", null, Currency.VND, "CASH", null, false));
+
+        verify(accountRepository).saveAndFlush(account);
+        verify(dailySpendData).recordSpendEntries(userId, List.of(lunch.reversed(),
+                new DailySpendEntry(2L, Currency.VND, day, BigDecimal.valueOf(-20), BigDecimal.valueOf(-15))));
+        verify(dailySpendData, never()).rebuild(any());
+
+        accountDataImpl.updateAccount(7L, new AccountDTO(7L, "Pocket", null, Currency.VND, "CASH", null, false));
+
+        verifyNoMoreInteractions(dailySpendData);
+    }
+
+    @Test
+    void testDeleteAccountTypeGroups_bulkDeletesAccountsAndGroup() {
+        Long userId = 1L;
+        AccountTypeGroup group = new AccountTypeGroup(userId, "BANK", new ArrayList<>());
+        when(transactionUtils.getCurrentUserId()).thenReturn(userId);
+        when(accountTypeGroupRepository.findBydId(3L, userId)).thenReturn(Optional.of(group));
+        when(accountRepository.bulkDeleteByAccountTypeGroupId(3L)).thenReturn(2);
+
+        accountDataImpl.deleteAccountTypeGroups(3L);
+
+        verify(savingRepository).bulkDeleteByAccountTypeGroupId(3L, userId);
+        verify(installmentRepository).bulkDeleteByAccountTypeGroupId(3L, userId);
+        verify(subscriptionRepository).bulkDeleteByAccountTypeGroupId(3L, userId);
+        verify(accountRepository).bulkDeleteByAccountTypeGroupId(3L);
+        verify(accountTypeGroupRepository).bulkDeleteByIdAndUserId(3L, userId);
+    }
+
+    @Test
+    void testDeleteAccountTypeGroups_notFound_throws() {
+        Long userId = 1L;
+        when(transactionUtils.getCurrentUserId()).thenReturn(userId);
+        when(accountTypeGroupRepository.findBydId(4L, userId)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> accountDataImpl.deleteAccountTypeGroups(4L));
+
+        verify(accountRepository, never()).bulkDeleteByAccountTypeGroupId(anyLong());
+        verify(accountTypeGroupRepository, never()).bulkDeleteByIdAndUserId(anyLong(), anyLong());
+    }
+}
@@ -1,14 +1,23 @@
 package com.budget.buddy.transaction.domain.service.impl;
 
+import com.budget.buddy.core.config.exception.BadRequestException;
 import com.budget.buddy.core.config.exception.ConflictException;
 import com.budget.buddy.core.config.exception.NotFoundException;
+import com.budget.buddy.transaction.application.dto.budget.BudgetCycleSettingDTO;
+import com.budget.buddy.transaction.application.dto.budget.BudgetCycleTotalRow;
 import com.budget.buddy.transaction.application.dto.budget.BudgetDTO;
+import com.budget.buddy.transaction.application.dto.budget.BudgetTrendDTO;
+import com.budget.buddy.transaction.domain.enums.BudgetCyclePeriod;
 import com.budget.buddy.transaction.domain.enums.Currency;
 import com.budget.buddy.transaction.domain.model.budget.Budget;
+import com.budget.buddy.transaction.domain.model.budget.BudgetCycleSetting;
 import com.budget.buddy.transaction.domain.model.category.Category;
+import com.budget.buddy.transaction.domain.service.BudgetSummaryCache;
 import com.budget.buddy.transaction.domain.utils.TransactionUtils;
+import com.budget.buddy.transaction.domain.vo.BudgetCycleVO;
 import com.budget.buddy.transaction.domain.vo.CategoryVO;
 import com.budget.buddy.transaction.domain.vo.MoneyVO;
+import com.budget.buddy.transaction.infrastructure.repository.BudgetCycleSettingRepository;
 import com.budget.buddy.transaction.infrastructure.repository.BudgetRepository;
 import com.budget.buddy.transaction.infrastructure.repository.CategoryRepository;
 import org.junit.jupiter.api.Test;
@@ -18,10 +27,16 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -40,11 +55,22 @@ class BudgetDataImplTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private BudgetCycleSettingRepository budgetCycleSettingRepository;
+
+    @Mock
+    private BudgetSummaryCache budgetSummaryCache;
+
     @InjectMocks
     private BudgetDataImpl budgetDataImpl;
 
     private static final Long USER_ID = 1L;
 
+    private void givenCacheMiss() {
+        when(budgetSummaryCache.getOrLoad(anyLong(), any(LocalDate.class), any(LocalDate.class), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<List<BudgetDTO>>>getArgument(4).get());
+    }
+
     @Test
     void saveBudget_whenBudgetDoesNotExist_shouldSaveBudget() {
         // Arrange
@@ -116,6 +142,7 @@ class BudgetDataImplTest {
     void getAllBudgetsForCurrentUser_withoutCurrency_callsRepositoryWithCalculatedDates() {
         Long userId = 5L;
         when(transactionUtils.getCurrentUserId()).thenReturn(userId);
+        givenCacheMiss();
 
         List<BudgetDTO> expected = List.of(new BudgetDTO(1L, 2L, "Cat", new BigDecimal("10"), null, null, "SGD", null, null));
         when(budgetRepository.findAllBudgetsForUser(anyLong(), any(LocalDate.class), any(LocalDate.class)))
@@ -136,10 +163,10 @@ class BudgetDataImplTest {
         LocalDate expectedEnd;
         if (today.getDayOfMonth() >= 5) {
             expectedStart = today.withDayOfMonth(5);
-            expectedEnd = today.plusMonths(1).withDayOfMonth(5);
+            expectedEnd = today.plusMonths(1).withDayOfMonth(4);
         } else {
             expectedStart = today.minusMonths(1).withDayOfMonth(5);
-            expectedEnd = today.withDayOfMonth(5);
+            expectedEnd = today.withDayOfMonth(4);
         }
         assertEquals(expectedStart, startCaptor.getValue());
         assertEquals(expectedEnd, endCaptor.getValue());
@@ -150,6 +177,7 @@ class BudgetDataImplTest {
         Long userId = 7L;
         String currency = "SGD";
         when(transactionUtils.getCurrentUserId()).thenReturn(userId);
+        givenCacheMiss();
 
         List<BudgetDTO> expected = List.of(new BudgetDTO(3L, 4L, "Cat2", new BigDecimal("20"), null, null, currency, null, null));
         when(budgetRepository.findAllBudgetsForUserAndCurrency(anyLong(), eq(currency), any(LocalDate.class), any(LocalDate.class)))
@@ -172,15 +200,109 @@ class BudgetDataImplTest {
         LocalDate expectedEnd;
         if (today.getDayOfMonth() >= 5) {
             expectedStart = today.withDayOfMonth(5);
-            expectedEnd = today.plusMonths(1).withDayOfMonth(5);
+            expectedEnd = today.plusMonths(1).withDayOfMonth(4);
         } else {
             expectedStart = today.minusMonths(1).withDayOfMonth(5);
-            expectedEnd = today.withDayOfMonth(5);
+            expectedEnd = today.withDayOfMonth(4);
         }
         assertEquals(expectedStart, startCaptor.getValue());
         assertEquals(expectedEnd, endCaptor.getValue());
     }
 
+    @Test
+    void getAllBudgetsForCurrentUser_withWeeklySetting_usesCurrentWeekInUserTimezone() {
+        when(transactionUtils.getCurrentUserId()).thenReturn(USER_ID);
+        when(budgetCycleSettingRepository.findById(USER_ID))
+                .thenReturn(Optional.of(new BudgetCycleSetting(USER_ID, BudgetCyclePeriod.WEEKLY, 1, "Pacific/Kiritimati")));
+        givenCacheMiss();
+
+        budgetDataImpl.getAllBudgetsForCurrentUser(null, null, null);
+
+        LocalDate monday = LocalDate.now(ZoneId.of("Pacific/Kiritimati")).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        verify(budgetRepository).findAllBudgetsForUser(USER_ID, monday, monday.plusDays(6));
+    }
+
+    @Test
+    void getAllBudgetsForCurrentUser_whenCached_shouldNotAggregate() {
+        LocalDate start = LocalDate.of(2025, 3, 5);
+        LocalDate end = LocalDate.of(2025, 4, 4);
+        List<BudgetDTO> cached = List.of(new BudgetDTO(1L, 2L, "Cat", new BigDecimal("10"), null, null, "SGD", null, null));
+        when(transactionUtils.getCurrentUserId()).thenReturn(USER_ID);
+        when(budgetSummaryCache.getOrLoad(eq(USER_ID), eq(start), eq(end), isNull(), any())).thenReturn(cached);
+
+        assertSame(cached, budgetDataImpl.getAllBudgetsForCurrentUser(null, start, end));
+        verifyNoInteractions(budgetRepository, budgetCycleSettingRepository);
+    }
+
+    @Test
+    void getBudgetTrend_shouldSplitOneGroupedQueryIntoCycles() {
+        BudgetCycleSetting setting = new BudgetCycleSetting(USER_ID, BudgetCyclePeriod.WEEKLY, 1, "UTC");
+        BudgetCycleVO current = setting.currentCycle();
+        BudgetCycleVO previous = setting.previousCycle(current);
+        when(transactionUtils.getCurrentUserId()).thenReturn(USER_ID);
+        when(budgetCycleSettingRepository.findById(USER_ID)).thenReturn(Optional.of(setting));
+        when(budgetSummaryCache.getOrLoadAll(eq(USER_ID), eq(List.of(previous, current)), isNull(), any()))
+                .thenAnswer(invocation -> invocation.<Function<List<BudgetCycleVO>, Map<BudgetCycleVO, List<BudgetDTO>>>>getArgument(3)
+                        .apply(List.of(previous, current)));
+        BigDecimal amount = new BigDecimal("100.00");
+        when(budgetRepository.findCycleTotals(USER_ID, null, List.of(previous, current))).thenReturn(List.of(
+                new BudgetCycleTotalRow(5L, 2L, "Food", amount, "SGD", null, null, 0, new BigDecimal("-30.00"), new BigDecimal("-20.00")),
+                new BudgetCycleTotalRow(6L, 3L, "Rent", amount, "SGD", null, null, null, BigDecimal.ZERO, BigDecimal.ZERO)));
+
+        List<BudgetTrendDTO> trend = budgetDataImpl.getBudgetTrend(null, 2);
+
+        assertEquals(2, trend.size());
+        BudgetTrendDTO food = trend.getFirst();
+        assertEquals(5L, food.id());
+        assertEquals(2, food.cycles().size());
+        assertEquals(previous.startDate(), food.cycles().get(0).startDate());
+        assertTrue(food.cycles().get(0).closed());
+        assertEquals(new BigDecimal("-30.00"), food.cycles().get(0).spentAmount());
+        assertEquals(new BigDecimal("70.00"), food.cycles().get(0).remainingAmount());
+        assertFalse(food.cycles().get(1).closed());
+        assertEquals(BigDecimal.ZERO, food.cycles().get(1).spentAmount());
+        assertEquals(2, trend.get(1).cycles().size());
+    }
+
+    @Test
+    void budgetCycleSetting_cycleContaining_shouldCutMonthlyAndWeeklyCycles() {
+        BudgetCycleSetting monthly = new BudgetCycleSetting(USER_ID, BudgetCyclePeriod.MONTHLY, 28, "UTC");
+        assertEquals(new BudgetCycleVO(LocalDate.of(2025, 1, 28), LocalDate.of(2025, 2, 27)),
+                monthly.cycleContaining(LocalDate.of(2025, 2, 27)));
+        assertEquals(new BudgetCycleVO(LocalDate.of(2025, 2, 28), LocalDate.of(2025, 3, 27)),
+                monthly.cycleContaining(LocalDate.of(2025, 2, 28)));
+
+        BudgetCycleSetting weekly = new BudgetCycleSetting(USER_ID, BudgetCyclePeriod.WEEKLY, 7, "UTC");
+        BudgetCycleVO week = weekly.cycleContaining(LocalDate.of(2025, 3, 5));
+        assertEquals(new BudgetCycleVO(LocalDate.of(2025, 3, 2), LocalDate.of(2025, 3, 8)), week);
+        assertEquals(new BudgetCycleVO(LocalDate.of(2025, 2, 23), LocalDate.of(2025, 3, 1)), weekly.previousCycle(week));
+    }
+
+    @Test
+    void updateCycleSetting_shouldSaveNormalizedSetting() {
+        when(transactionUtils.getCurrentUserId()).thenReturn(USER_ID);
+        when(budgetCycleSettingRepository.save(any(BudgetCycleSetting.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BudgetCycleSettingDTO result = budgetDataImpl.updateCycleSetting(
+                new BudgetCycleSettingDTO(BudgetCyclePeriod.MONTHLY, 1, "Asia/Singapore", null, null));
+
+        assertEquals(1, result.currentStartDate().getDayOfMonth());
+        assertEquals(result.currentStartDate().plusMonths(1).minusDays(1), result.currentEndDate());
+        verify(budgetCycleSettingRepository).save(argThat(setting -> setting.getUserId().equals(USER_ID)
+                && setting.getTimezone().equals("Asia/Singapore")));
+    }
+
+    @Test
+    void updateCycleSetting_shouldReject_invalidWeekdayOrTimezone() {
+        when(transactionUtils.getCurrentUserId()).thenReturn(USER_ID);
+
+        assertThrows(BadRequestException.class, () -> budgetDataImpl.updateCycleSetting(
+                new BudgetCycleSettingDTO(BudgetCyclePeriod.WEEKLY, 8, "UTC", null, null)));
+        assertThrows(BadRequestException.class, () -> budgetDataImpl.updateCycleSetting(
+                new BudgetCycleSettingDTO(BudgetCyclePeriod.MONTHLY, 5, "Mars/Olympus", null, null)));
+        verify(budgetCycleSettingRepository, never()).save(any());
+    }
+
     @Test
     void updateBudget_shouldThrow_whenBudgetNotFound() {
         Long budgetId = 99L;
@@ -259,35 +381,22 @@ class BudgetDataImplTest {
         budgetDataImpl.deleteBudget(budgetId);
 
         verify(budgetRepository).deleteById(budgetId);
+        verify(budgetSummaryCache).evictAll(USER_ID);
     }
 
     @Test
-    void deleteBudgetByCategoryId_shouldDoNothing_whenNoBudgetsExist() {
+    void deleteBudgetByCategoryId_shouldBulkDeleteForCurrentUser() {
         Long categoryId = 2L;
         when(transactionUtils.getCurrentUserId()).thenReturn(USER_ID);
-        when(budgetRepository.findAllByUserIdAndCategoryId(USER_ID, categoryId)).thenReturn(Collections.emptyList());
+        when(budgetRepository.bulkDeleteByCategoryId(categoryId, USER_ID)).thenReturn(1);
 
         budgetDataImpl.deleteBudgetByCategoryId(categoryId);
 
+        verify(budgetRepository).bulkDeleteByCategoryId(categoryId, USER_ID);
+        verify(budgetRepository, never()).findAllByUserIdAndCategoryId(anyLong(), anyLong());
         verify(budgetRepository, never()).deleteAll(anyList());
     }
 
-    @Test
-    void deleteBudgetByCategoryId_shouldDeleteAll_whenBudgetsExist() {
-        Long categoryId = 2L;
-        when(transactionUtils.getCurrentUserId()).thenReturn(USER_ID);
-        
-        Category category = new Category(new CategoryVO("TEST"), USER_ID);
-        Budget budget = new Budget(USER_ID, category, new MoneyVO(new BigDecimal("100.00"), Currency.SGD), null);
-        List<Budget> budgets = List.of(budget);
-        
-        when(budgetRepository.findAllByUserIdAndCategoryId(USER_ID, categoryId)).thenReturn(budgets);
-
-        budgetDataImpl.deleteBudgetByCategoryId(categoryId);
-
-        verify(budgetRepository).deleteAll(budgets);
-    }
-
     @Test
     void getBudgetById_shouldThrow_whenNotFound() {
         Long budgetId = 99L;
@@ -0,0 +1,156 @@
+package com.budget.buddy.transaction.domain.service.impl;
+
+import com.budget.buddy.core.config.other.ObjectMapperConfig;
+import com.budget.buddy.transaction.application.dto.budget.BudgetDTO;
+import com.budget.buddy.transaction.application.dto.threshold.ThresholdSeriesDTO;
+import com.budget.buddy.transaction.application.dto.threshold.ThresholdTransactionResponseDTO;
+import com.budget.buddy.transaction.domain.vo.BudgetCycleVO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BudgetSummaryCacheImplTest {
+
+    private static final Long USER_ID = 1L;
+    private static final String KEY = "budget:summary:1";
+    private static final String GENERATION_KEY = "budget:summary:generation:1";
+    private static final List<String> KEYS = List.of(KEY, GENERATION_KEY);
+    private static final String TTL_MS = "3600000";
+    private static final LocalDate MARCH = LocalDate.of(2025, 3, 5);
+    private static final LocalDate APRIL = LocalDate.of(2025, 4, 5);
+
+    @Mock
+    private StringRedisTemplate redis;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private final ObjectMapper objectMapper = new ObjectMapperConfig().objectMapper();
+
+    private BudgetSummaryCacheImpl cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new BudgetSummaryCacheImpl(redis, objectMapper, new SimpleMeterRegistry(), true, 3600);
+        lenient().when(redis.opsForHash()).thenReturn(hashOperations);
+        lenient().when(redis.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    void getOrLoad_hitIsServedWithoutLoading() throws Exception {
+        List<BudgetDTO> summaries = List.of(new BudgetDTO(1L, 2L, "Food", new BigDecimal("500.00"),
+                new BigDecimal("-75.00"), new BigDecimal("425.00"), "SGD", null, null));
+        when(hashOperations.get(KEY, "2025-03-05|2025-04-04|SGD")).thenReturn(objectMapper.writeValueAsString(summaries));
+
+        List<BudgetDTO> result = cache.getOrLoad(USER_ID, MARCH, APRIL.minusDays(1), "SGD", () -> {
+            throw new AssertionError("should not load");
+        });
+
+        assertEquals(summaries, result);
+    }
+
+    @Test
+    void getOrLoad_missLoadsAndStoresTheWindowUnderTheGenerationReadBeforeLoading() {
+        when(hashOperations.get(KEY, "2025-03-05|2025-04-04|ALL")).thenReturn(null);
+        when(valueOperations.get(GENERATION_KEY)).thenReturn("4");
+
+        List<BudgetDTO> result = cache.getOrLoad(USER_ID, MARCH, APRIL.minusDays(1), null, List::of);
+
+        assertEquals(List.of(), result);
+        verify(redis).execute(any(RedisScript.class), eq(KEYS), eq("4"), eq(TTL_MS), eq("2025-03-05|2025-04-04|ALL"), eq("[]"));
+    }
+
+    @Test
+    void getOrLoad_withoutAReadableGeneration_loadsWithoutCaching() {
+        when(valueOperations.get(GENERATION_KEY)).thenThrow(new RedisConnectionFailureException("down"));
+
+        List<BudgetDTO> result = cache.getOrLoad(USER_ID, MARCH, APRIL.minusDays(1), null, List::of);
+
+        assertEquals(List.of(), result);
+        verify(redis, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    @Test
+    void getOrLoadThresholdSeries_roundTripsThroughTheUsersHash() throws Exception {
+        List<ThresholdSeriesDTO> series = List.of(new ThresholdSeriesDTO(10L, 2L, "Food", new BigDecimal("20.00"), "SGD", 1,
+                List.of(new ThresholdTransactionResponseDTO.DailyThresholdSummary(MARCH, new BigDecimal("-25.30"),
+                        new BigDecimal("20.00"), new BigDecimal("-5.30")))));
+        String field = "2025-03-05|2025-04-04|THRESHOLDS";
+        when(hashOperations.get(KEY, field)).thenReturn(null, objectMapper.writeValueAsString(series));
+
+        cache.getOrLoadThresholdSeries(USER_ID, MARCH, APRIL.minusDays(1), () -> series);
+        List<ThresholdSeriesDTO> cached = cache.getOrLoadThresholdSeries(USER_ID, MARCH, APRIL.minusDays(1), () -> {
+            throw new AssertionError("should not load");
+        });
+
+        verify(redis).execute(any(RedisScript.class), eq(KEYS), eq("0"), eq(TTL_MS), eq(field),
+                eq(objectMapper.writeValueAsString(series)));
+        assertEquals(series, cached);
+    }
+
+    @Test
+    void getOrLoadAll_loadsOnlyTheWindowsThatAreNotCached() {
+        BudgetCycleVO closed = new BudgetCycleVO(MARCH, APRIL.minusDays(1));
+        BudgetCycleVO current = new BudgetCycleVO(APRIL, APRIL.plusMonths(1).minusDays(1));
+        when(hashOperations.multiGet(KEY, List.of("2025-03-05|2025-04-04|SGD", "2025-04-05|2025-05-04|SGD")))
+                .thenReturn(Arrays.asList("[]", null));
+
+        Map<BudgetCycleVO, List<BudgetDTO>> result = cache.getOrLoadAll(USER_ID, List.of(closed, current), "SGD", missing -> {
+            assertEquals(List.of(current), missing);
+            return Map.of(current, List.of());
+        });
+
+        assertEquals(List.of(closed, current), List.copyOf(result.keySet()));
+        verify(redis).execute(any(RedisScript.class), eq(KEYS), eq("0"), eq(TTL_MS), eq("2025-04-05|2025-05-04|SGD"), eq("[]"));
+    }
+
+    @Test
+    void evictDates_dropsOnlyWindowsContainingTheDates() {
+        Set<Object> fields = new LinkedHashSet<>(List.of(
+                "2025-03-05|2025-04-04|ALL", "2025-03-05|2025-04-04|SGD", "2025-04-05|2025-05-04|ALL"));
+        when(hashOperations.keys(KEY)).thenReturn(fields);
+
+        cache.evictDates(USER_ID, List.of(APRIL.minusDays(1)));
+
+        // The generation moves first, so a load already in flight cannot store the old totals afterwards
+        InOrder inOrder = inOrder(valueOperations, hashOperations);
+        inOrder.verify(valueOperations).increment(GENERATION_KEY);
+        inOrder.verify(hashOperations).delete(KEY, "2025-03-05|2025-04-04|ALL", "2025-03-05|2025-04-04|SGD");
+        verify(redis, never()).delete(anyString());
+    }
+
+    @Test
+    void evictDates_whenRedisFailsWhileScanning_dropsEverything() {
+        when(hashOperations.keys(KEY)).thenThrow(new RedisConnectionFailureException("down"));
+
+        cache.evictDates(USER_ID, List.of(MARCH));
+
+        verify(redis).delete(KEY);
+    }
+}
@@ -3,6 +3,9 @@ package com.budget.buddy.transaction.domain.service.impl;
 import com.budget.buddy.transaction.application.dto.category.CategoryDTO;
 import com.budget.buddy.transaction.application.mapper.CategoryMapper;
 import com.budget.buddy.transaction.domain.model.category.Category;
+import com.budget.buddy.transaction.domain.service.BudgetSummaryCache;
+import com.budget.buddy.transaction.domain.service.TransactionHotStore;
+import com.budget.buddy.transaction.domain.service.TransactionInquiryCache;
 import com.budget.buddy.transaction.domain.utils.TransactionUtils;
 import com.budget.buddy.transaction.domain.vo.CategoryVO;
 import com.budget.buddy.transaction.infrastructure.repository.CategoryRepository;
@@ -28,6 +31,15 @@ class CategoryDataImplTest {
     @Mock
     private TransactionUtils transactionUtils;
 
+    @Mock
+    private TransactionInquiryCache transactionInquiryCache;
+
+    @Mock
+    private TransactionHotStore transactionHotStore;
+
+    @Mock
+    private BudgetSummaryCache budgetSummaryCache;
+
     @InjectMocks
     private CategoryDataImpl categoryData;
 
@@ -0,0 +1,97 @@
+package com.budget.buddy.transaction.domain.service.impl;
+
+import com.budget.buddy.transaction.application.dto.budget.DailySpendDriftView;
+import com.budget.buddy.transaction.application.dto.budget.DailySpendEntry;
+import com.budget.buddy.transaction.domain.enums.Currency;
+import com.budget.buddy.transaction.domain.service.BudgetSummaryCache;
+import com.budget.buddy.transaction.infrastructure.repository.DailySpendRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DailySpendDataImplTest {
+
+    @InjectMocks
+    private DailySpendDataImpl dailySpendData;
+
+    @Mock
+    private DailySpendRepository dailySpendRepository;
+
+    @Mock
+    private BudgetSummaryCache budgetSummaryCache;
+
+    @Test
+    void recordSpendEntries_shouldMergeEntriesPerDayAndSkipNetZeroDays() {
+        LocalDate day = LocalDate.of(2025, 3, 5);
+        DailySpendEntry lunch = DailySpendEntry.booked(2L, Currency.SGD, day, BigDecimal.valueOf(-20));
+        DailySpendEntry refund = DailySpendEntry.booked(2L, Currency.SGD, day, BigDecimal.valueOf(5));
+        DailySpendEntry moved = DailySpendEntry.booked(3L, Currency.SGD, day, BigDecimal.valueOf(-8));
+        when(dailySpendRepository.applyDelta(eq(1L), eq(2L), eq(Currency.SGD), eq(day), any(), any())).thenReturn(1);
+
+        dailySpendData.recordSpendEntries(1L, List.of(lunch, refund, moved, moved.reversed()));
+
+        verify(dailySpendRepository).applyDelta(1L, 2L, Currency.SGD, day, BigDecimal.valueOf(-20), BigDecimal.valueOf(-15));
+        verify(dailySpendRepository, never()).applyDelta(eq(1L), eq(3L), any(), any(), any(), any());
+        verify(dailySpendRepository, never()).seedDay(any(), any(), any(), any(), any(), any());
+        verify(budgetSummaryCache).evictDates(1L, List.of(day));
+    }
+
+    @Test
+    void recordSpendEntries_withoutRow_shouldSeedTheDayWithAnUpsert() {
+        LocalDate day = LocalDate.of(2025, 3, 5);
+        when(dailySpendRepository.applyDelta(eq(1L), eq(2L), eq(Currency.SGD), eq(day), any(), any())).thenReturn(0);
+
+        dailySpendData.recordSpendEntries(1L, List.of(DailySpendEntry.booked(2L, Currency.SGD, day, BigDecimal.TEN.negate())));
+
+        // A racing first write of the same day lands in the upsert's conflict branch instead of failing the insert
+        verify(dailySpendRepository).seedDay(1L, 2L, "SGD", day, BigDecimal.TEN.negate(), BigDecimal.TEN.negate());
+        verify(dailySpendRepository, never()).save(any());
+    }
+
+    @Test
+    void verifyRollup_withRepair_shouldRebuildEachAffectedUserOnce() {
+        DailySpendDriftView first = mock(DailySpendDriftView.class);
+        DailySpendDriftView second = mock(DailySpendDriftView.class);
+        when(first.getUserId()).thenReturn(4L);
+        when(second.getUserId()).thenReturn(4L);
+        when(dailySpendRepository.findDriftedDays()).thenReturn(List.of(first));
+        when(dailySpendRepository.findMissingDays(any())).thenReturn(List.of(second));
+
+        List<DailySpendDriftView> drifts = dailySpendData.verifyRollup(true);
+
+        assertEquals(2, drifts.size());
+        InOrder inOrder = inOrder(dailySpendRepository);
+        inOrder.verify(dailySpendRepository).bulkDeleteByUserId(4L);
+        inOrder.verify(dailySpendRepository).insertFromLedger(4L);
+        verify(dailySpendRepository, times(1)).bulkDeleteByUserId(anyLong());
+        verify(budgetSummaryCache).evictAll(4L);
+    }
+
+    @Test
+    void backfillMissingDays_shouldSeedEachMissingDayAndEvictItsDates() {
+        LocalDate day = LocalDate.of(2025, 3, 5);
+        DailySpendDriftView missing = mock(DailySpendDriftView.class);
+        when(missing.getUserId()).thenReturn(4L);
+        when(missing.getCategoryId()).thenReturn(2L);
+        when(missing.getCurrency()).thenReturn(Currency.SGD);
+        when(missing.getSpendDate()).thenReturn(day);
+        when(dailySpendRepository.findMissingDays(any())).thenReturn(List.of(missing));
+
+        assertEquals(1, dailySpendData.backfillMissingDays(50));
+
+        verify(dailySpendRepository).seedDay(4L, 2L, "SGD", day, BigDecimal.ZERO, BigDecimal.ZERO);
+        verify(dailySpendRepository, never()).bulkDeleteByUserId(anyLong());
+        verify(budgetSummaryCache).evictDates(4L, List.of(day));
+    }
+}
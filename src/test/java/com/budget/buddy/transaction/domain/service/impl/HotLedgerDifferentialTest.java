@@ -0,0 +1,279 @@
+package com.budget.buddy.transaction.domain.service.impl;
+
+import com.budget.buddy.core.config.audit.AuditConfig;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionFilterCriteria;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionFilterNode;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionRow;
+import com.budget.buddy.transaction.domain.enums.CategoryType;
+import com.budget.buddy.transaction.domain.enums.Currency;
+import com.budget.buddy.transaction.domain.model.account.Account;
+import com.budget.buddy.transaction.domain.model.account.AccountTypeGroup;
+import com.budget.buddy.transaction.domain.model.category.Category;
+import com.budget.buddy.transaction.domain.model.transaction.Transaction;
+import com.budget.buddy.transaction.domain.service.TransactionHotStore;
+import com.budget.buddy.transaction.domain.utils.TransactionUtils;
+import com.budget.buddy.transaction.domain.vo.CategoryVO;
+import com.budget.buddy.transaction.infrastructure.repository.TransactionRepository;
+import com.budget.buddy.transaction.infrastructure.repository.custom.TransactionSpecificationImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the same random filters, sorts and pages against the SQL path and an in-memory ledger loaded
+ * from it, before and after replaying writes, and requires identical rows and totals.
+ */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import(AuditConfig.class)
+class HotLedgerDifferentialTest {
+
+    private static final Long USER_ID = 9001L;
+    private static final Long OTHER_USER_ID = 9002L;
+    private static final int ROWS = 600;
+    private static final int QUERIES = 300;
+    private static final List<String> NAMES = List.of("Grab ride", "GRAB food", "Coffee", "coffee beans", "50% Off sale",
+            "a_b test", "Salary", "Rent", "Électricité", "Back\\slash");
+    private static final List<String> NEEDLES = List.of("grab", "Coffee", "50%", "_", "a_b", "rent", "salary",
+            "é", "\\", "off", " beans ", "x");
+    private static final List<String> SORTS = List.of("id,desc", "id,asc", "date,desc", "date,asc", "amount,asc",
+            "amount,desc;date,asc", "date,desc;amount,desc", "amount,asc;id,desc");
+    private static final List<String> TEXT_OPERATORS = List.of("is", "is not", "contains", "does not contain",
+            "starts with", "ends with");
+    private static final List<String> AMOUNT_OPERATORS = List.of("=", "!=", ">", "<", ">=", "<=");
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private TransactionSpecificationImpl transactionSpecification;
+
+    private final Random random = new Random(42);
+    private final List<Account> accounts = new ArrayList<>();
+    private final List<Category> categories = new ArrayList<>();
+    private final LocalDate today = LocalDate.of(2025, 9, 30);
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 4; i++) {
+            AccountTypeGroup group = new AccountTypeGroup(USER_ID, "Group " + i, new ArrayList<>());
+            Account account = new Account(group, "Account " + i, i % 2 == 0 ? Currency.SGD : Currency.VND, false);
+            entityManager.persist(group);
+            entityManager.persist(account);
+            accounts.add(account);
+        }
+        for (int i = 0; i < 5; i++) {
+            Category category = new Category(new CategoryVO("Category " + i), USER_ID);
+            entityManager.persist(category);
+            categories.add(category);
+        }
+        for (int i = 0; i < ROWS; i++) {
+            entityManager.persist(randomTransaction(USER_ID));
+        }
+
+        // Another ledger in the same table must never leak into the user's results
+        AccountTypeGroup otherGroup = new AccountTypeGroup(OTHER_USER_ID, "Other", new ArrayList<>());
+        Account otherAccount = new Account(otherGroup, "Other", Currency.SGD, false);
+        Category otherCategory = new Category(new CategoryVO("Other"), OTHER_USER_ID);
+        entityManager.persist(otherGroup);
+        entityManager.persist(otherAccount);
+        entityManager.persist(otherCategory);
+        for (int i = 0; i < 50; i++) {
+            entityManager.persist(new Transaction(OTHER_USER_ID, otherAccount, otherCategory, "Grab ride",
+                    BigDecimal.valueOf(-10), today, CategoryType.EXPENSE, null));
+        }
+        entityManager.flush();
+
+        TransactionUtils transactionUtils = mock(TransactionUtils.class);
+        when(transactionUtils.getCurrentUserId()).thenReturn(USER_ID);
+        transactionSpecification = new TransactionSpecificationImpl(transactionUtils);
+    }
+
+    @Test
+    void query_matchesSqlForRandomFiltersSortsAndPages() {
+        HotLedger ledger = loadLedger();
+
+        assertMatchesSql(ledger);
+    }
+
+    @Test
+    void query_matchesSqlAfterReplayingWrites() {
+        HotLedger ledger = loadLedger();
+
+        List<Transaction> created = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Transaction transaction = randomTransaction(USER_ID);
+            entityManager.persist(transaction);
+            created.add(transaction);
+        }
+        ledger.upsert(created.stream().map(TransactionHotStoreImpl::toRow).toList());
+
+        Transaction updated = created.getFirst();
+        updated.setName("Coffee refund");
+        updated.setAmount(new BigDecimal("12.35"));
+        updated.setDate(today.minusDays(3));
+        updated.setCategory(categories.getLast());
+        ledger.upsert(List.of(TransactionHotStoreImpl.toRow(updated)));
+
+        Transaction deleted = created.getLast();
+        entityManager.remove(deleted);
+        ledger.remove(List.of(deleted.getId()));
+        entityManager.flush();
+
+        assertTrue(ledger.isAt(3), "Each replayed write advances the expected version once");
+        assertMatchesSql(ledger);
+    }
+
+    private HotLedger loadLedger() {
+        Specification<Transaction> all = transactionSpecification.buildSpecification(null, "id,asc");
+        return new HotLedger(transactionRepository.findRows(all, 0, Integer.MAX_VALUE), 0);
+    }
+
+    private void assertMatchesSql(HotLedger ledger) {
+        for (int i = 0; i < QUERIES; i++) {
+            TransactionFilterCriteria criteria = randomCriteria();
+            String sort = SORTS.get(random.nextInt(SORTS.size()));
+            Specification<Transaction> specification = transactionSpecification.buildSpecification(criteria, sort);
+            long total = transactionRepository.count(specification);
+            long offset = random.nextInt(4) == 0 ? random.nextLong(total + 5) : 0;
+            int limit = 1 + random.nextInt(60);
+
+            List<TransactionRow> expected = transactionRepository.findRows(specification, offset, limit);
+            TransactionHotStore.HotPage actual = ledger.query(criteria.toFilterTree(),
+                    transactionSpecification.resolveSort(sort), offset, limit);
+
+            String message = "criteria=" + criteria + ", sort=" + sort + ", offset=" + offset + ", limit=" + limit;
+            assertNotNull(actual, message);
+            assertEquals(total, actual.total(), message);
+            assertEquals(expected, actual.rows(), message);
+        }
+    }
+
+    private Transaction randomTransaction(Long userId) {
+        CategoryType type = CategoryType.values()[random.nextInt(CategoryType.values().length)];
+        // Few distinct dates and amounts, so sorts hit plenty of ties
+        BigDecimal amount = BigDecimal.valueOf(random.nextInt(4001) - 2000, 2).multiply(BigDecimal.valueOf(random.nextInt(3) + 1));
+        String remarks = random.nextInt(3) == 0 ? null : NAMES.get(random.nextInt(NAMES.size())).toUpperCase(Locale.ROOT);
+        return new Transaction(userId, accounts.get(random.nextInt(accounts.size())),
+                categories.get(random.nextInt(categories.size())), NAMES.get(random.nextInt(NAMES.size())),
+                amount, today.minusDays(random.nextInt(45)), type, remarks);
+    }
+
+    private TransactionFilterCriteria randomCriteria() {
+        TransactionFilterCriteria criteria = new TransactionFilterCriteria();
+        if (random.nextInt(4) == 0) {
+            criteria.setAccounts(idsFilter(accounts.stream().map(Account::getId).toList()));
+        }
+        if (random.nextInt(4) == 0) {
+            criteria.setCategories(idsFilter(categories.stream().map(Category::getId).toList()));
+        }
+        if (random.nextInt(3) == 0) {
+            criteria.setName(textFilter());
+        }
+        if (random.nextInt(4) == 0) {
+            criteria.setRemarks(textFilter());
+        }
+        if (random.nextInt(3) == 0) {
+            TransactionFilterCriteria.DateFilter date = new TransactionFilterCriteria.DateFilter();
+            LocalDate start = today.minusDays(random.nextInt(45));
+            boolean between = random.nextBoolean();
+            date.setOperator(between ? "is between" : "is");
+            date.setStartDate(start);
+            date.setEndDate(between ? start.plusDays(random.nextInt(20)) : null);
+            criteria.setDate(date);
+        }
+        if (random.nextInt(3) == 0) {
+            TransactionFilterCriteria.AmountFilter amount = new TransactionFilterCriteria.AmountFilter();
+            amount.setOperator(pick(AMOUNT_OPERATORS));
+            amount.setValue(randomAmountValue());
+            criteria.setAmount(amount);
+        }
+        if (random.nextInt(4) == 0) {
+            TransactionFilterCriteria.CurrenciesFilter currencies = new TransactionFilterCriteria.CurrenciesFilter();
+            currencies.setOperator(random.nextBoolean() ? "is" : "is not");
+            currencies.setCurrencies(random.nextBoolean() ? List.of("SGD") : List.of("VND", "USD"));
+            criteria.setCurrencies(currencies);
+        }
+        if (random.nextInt(4) == 0) {
+            TransactionFilterCriteria.TypesFilter types = new TransactionFilterCriteria.TypesFilter();
+            types.setOperator(random.nextBoolean() ? "is" : "is not");
+            types.setTypes(List.of(pick(List.of(CategoryType.values()))));
+            criteria.setTypes(types);
+        }
+        if (random.nextInt(3) == 0) {
+            criteria.setWhere(randomGroup(1));
+        }
+        return criteria;
+    }
+
+    private TransactionFilterNode randomGroup(int depth) {
+        List<TransactionFilterNode> children = new ArrayList<>();
+        int count = 1 + random.nextInt(3);
+        for (int i = 0; i < count; i++) {
+            children.add(depth < 3 && random.nextInt(3) == 0 ? randomGroup(depth + 1) : randomCondition());
+        }
+        return random.nextBoolean()
+                ? new TransactionFilterNode.Group(null, children)
+                : new TransactionFilterNode.Group(children, null);
+    }
+
+    private TransactionFilterNode randomCondition() {
+        return switch (random.nextInt(7)) {
+            case 0 -> new TransactionFilterNode.Condition("name", pick(TEXT_OPERATORS), pick(NEEDLES), null, null);
+            case 1 -> new TransactionFilterNode.Condition("Remarks", pick(TEXT_OPERATORS), pick(NEEDLES), null, null);
+            case 2 -> new TransactionFilterNode.Condition("amount", pick(AMOUNT_OPERATORS), randomAmountValue().toPlainString(), null, null);
+            case 3 -> new TransactionFilterNode.Condition("date", "is between",
+                    today.minusDays(30).toString(), today.minusDays(random.nextInt(30)).toString(), null);
+            case 4 -> new TransactionFilterNode.Condition("category", random.nextBoolean() ? "is" : "IS NOT", null, null,
+                    List.of(String.valueOf(pick(categories).getId()), String.valueOf(pick(categories).getId())));
+            case 5 -> new TransactionFilterNode.Condition("type", "is", null, null, List.of("income", "TRANSFER"));
+            default -> new TransactionFilterNode.Condition("currency", random.nextBoolean() ? "is" : "is not", null, null,
+                    List.of(random.nextBoolean() ? "vnd" : "XYZ"));
+        };
+    }
+
+    private TransactionFilterCriteria.IdsFilter idsFilter(List<Long> ids) {
+        TransactionFilterCriteria.IdsFilter filter = new TransactionFilterCriteria.IdsFilter();
+        filter.setOperator(random.nextBoolean() ? "is" : "is not");
+        filter.setIds(List.of(pick(ids), pick(ids)));
+        return filter;
+    }
+
+    private TransactionFilterCriteria.StringFilter textFilter() {
+        TransactionFilterCriteria.StringFilter filter = new TransactionFilterCriteria.StringFilter();
+        filter.setOperator(pick(TEXT_OPERATORS));
+        filter.setValue(pick(NEEDLES));
+        return filter;
+    }
+
+    // Whole cents, fractions of a cent and zero, so the cents comparison is exercised on both sides
+    private BigDecimal randomAmountValue() {
+        return switch (random.nextInt(3)) {
+            case 0 -> BigDecimal.valueOf(random.nextInt(4001) - 2000, 2);
+            case 1 -> BigDecimal.valueOf(random.nextInt(40001) - 20000, 3);
+            default -> BigDecimal.ZERO;
+        };
+    }
+
+    private <T> T pick(List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
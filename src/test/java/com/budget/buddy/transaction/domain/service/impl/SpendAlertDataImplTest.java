@@ -0,0 +1,142 @@
+package com.budget.buddy.transaction.domain.service.impl;
+
+import com.budget.buddy.core.dto.BudgetBreachedEvent;
+import com.budget.buddy.core.dto.ThresholdBreachedEvent;
+import com.budget.buddy.transaction.application.dto.budget.DailySpendEntry;
+import com.budget.buddy.transaction.application.dto.budget.DailySpendSumView;
+import com.budget.buddy.transaction.domain.enums.BudgetCyclePeriod;
+import com.budget.buddy.transaction.domain.enums.Currency;
+import com.budget.buddy.transaction.domain.model.budget.Budget;
+import com.budget.buddy.transaction.domain.model.budget.BudgetCycleSetting;
+import com.budget.buddy.transaction.domain.model.category.Category;
+import com.budget.buddy.transaction.domain.model.threshold.Threshold;
+import com.budget.buddy.transaction.domain.vo.CategoryVO;
+import com.budget.buddy.transaction.domain.vo.MoneyVO;
+import com.budget.buddy.transaction.infrastructure.repository.BudgetCycleSettingRepository;
+import com.budget.buddy.transaction.infrastructure.repository.BudgetRepository;
+import com.budget.buddy.transaction.infrastructure.repository.DailySpendRepository;
+import com.budget.buddy.transaction.infrastructure.repository.ThresholdRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SpendAlertDataImplTest {
+
+    private static final Long USER_ID = 1L;
+    private static final Long CATEGORY_ID = 2L;
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    @Mock
+    private BudgetRepository budgetRepository;
+
+    @Mock
+    private ThresholdRepository thresholdRepository;
+
+    @Mock
+    private DailySpendRepository dailySpendRepository;
+
+    @Mock
+    private BudgetCycleSettingRepository budgetCycleSettingRepository;
+
+    @Mock
+    private StringRedisTemplate redis;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    private SpendAlertDataImpl spendAlertData;
+
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        spendAlertData = new SpendAlertDataImpl(budgetRepository, thresholdRepository, dailySpendRepository,
+                budgetCycleSettingRepository, redis, applicationEventPublisher, new SimpleMeterRegistry(), true);
+        category = new Category(new CategoryVO("Food"), USER_ID);
+        category.setId(CATEGORY_ID);
+        lenient().when(redis.opsForValue()).thenReturn(valueOperations);
+        lenient().when(budgetCycleSettingRepository.findById(USER_ID))
+                .thenReturn(Optional.of(new BudgetCycleSetting(USER_ID, BudgetCyclePeriod.MONTHLY, 5, "UTC")));
+    }
+
+    private void givenTotals(LocalDate start, LocalDate end, String spent, String net) {
+        DailySpendSumView sum = mock(DailySpendSumView.class);
+        lenient().when(sum.getSpent()).thenReturn(new BigDecimal(spent));
+        lenient().when(sum.getNet()).thenReturn(new BigDecimal(net));
+        when(dailySpendRepository.sumRange(USER_ID, CATEGORY_ID, Currency.SGD, start, end)).thenReturn(sum);
+    }
+
+    @Test
+    void detectBreaches_shouldReportThresholdOncePerDay() {
+        Threshold threshold = new Threshold(USER_ID, category, new BigDecimal("20.00"), Currency.SGD);
+        threshold.setId(9L);
+        when(thresholdRepository.findByCategoryIdAndUserIdAndCurrency(CATEGORY_ID, USER_ID, Currency.SGD))
+                .thenReturn(Optional.of(threshold));
+        givenTotals(DAY, DAY, "-25.00", "-25.00");
+        when(valueOperations.setIfAbsent(eq("threshold:breach:1:9:2025-03-10"), eq("1"), any(Duration.class)))
+                .thenReturn(true, false);
+
+        List<DailySpendEntry> entries = List.of(DailySpendEntry.booked(CATEGORY_ID, Currency.SGD, DAY, new BigDecimal("-10.00")));
+        spendAlertData.detectBreaches(USER_ID, entries);
+        spendAlertData.detectBreaches(USER_ID, entries);
+
+        verify(applicationEventPublisher, times(1)).publishEvent(new ThresholdBreachedEvent(USER_ID, 9L, CATEGORY_ID,
+                "SGD", DAY, new BigDecimal("20.00"), new BigDecimal("-25.00")));
+    }
+
+    @Test
+    void detectBreaches_shouldReportBudgetWhenCycleSpendExceedsAmount() {
+        Budget budget = new Budget(USER_ID, category, new MoneyVO(new BigDecimal("100.00"), Currency.SGD), null);
+        budget.setId(4L);
+        when(budgetRepository.findByCategoryIdAndMoney_CurrencyAndUserId(CATEGORY_ID, "SGD", USER_ID))
+                .thenReturn(Optional.of(budget));
+        LocalDate start = LocalDate.of(2025, 3, 5);
+        LocalDate end = LocalDate.of(2025, 4, 4);
+        givenTotals(start, end, "-130.00", "-110.00");
+        when(valueOperations.setIfAbsent(eq("budget:breach:1:4:2025-03-05"), eq("1"), any(Duration.class))).thenReturn(true);
+
+        spendAlertData.detectBreaches(USER_ID, List.of(
+                DailySpendEntry.booked(CATEGORY_ID, Currency.SGD, DAY, new BigDecimal("-30.00")),
+                DailySpendEntry.booked(CATEGORY_ID, Currency.SGD, DAY.plusDays(1), new BigDecimal("-20.00"))));
+
+        verify(applicationEventPublisher).publishEvent(new BudgetBreachedEvent(USER_ID, 4L, CATEGORY_ID, "SGD",
+                start, end, new BigDecimal("100.00"), new BigDecimal("-130.00")));
+        verify(dailySpendRepository, times(1)).sumRange(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void detectBreaches_backUnderBudget_shouldClearMarkerWithoutReporting() {
+        Budget budget = new Budget(USER_ID, category, new MoneyVO(new BigDecimal("100.00"), Currency.SGD), null);
+        budget.setId(4L);
+        when(budgetRepository.findByCategoryIdAndMoney_CurrencyAndUserId(CATEGORY_ID, "SGD", USER_ID))
+                .thenReturn(Optional.of(budget));
+        givenTotals(LocalDate.of(2025, 3, 5), LocalDate.of(2025, 4, 4), "-80.00", "-80.00");
+
+        // A deleted expense shows up as a positive spent delta
+        spendAlertData.detectBreaches(USER_ID, List.of(
+                DailySpendEntry.booked(CATEGORY_ID, Currency.SGD, DAY, new BigDecimal("-30.00")).reversed()));
+
+        verify(redis).delete("budget:breach:1:4:2025-03-05");
+        verify(applicationEventPublisher, never()).publishEvent(any());
+    }
+}
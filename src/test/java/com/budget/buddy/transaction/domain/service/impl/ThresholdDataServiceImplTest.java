@@ -0,0 +1,104 @@
+package com.budget.buddy.transaction.domain.service.impl;
+
+import com.budget.buddy.transaction.application.dto.threshold.ThresholdDayView;
+import com.budget.buddy.transaction.application.dto.threshold.ThresholdSeriesDTO;
+import com.budget.buddy.transaction.domain.enums.Currency;
+import com.budget.buddy.transaction.domain.model.category.Category;
+import com.budget.buddy.transaction.domain.model.threshold.Threshold;
+import com.budget.buddy.transaction.domain.service.BudgetSummaryCache;
+import com.budget.buddy.transaction.domain.utils.TransactionUtils;
+import com.budget.buddy.transaction.domain.vo.CategoryVO;
+import com.budget.buddy.transaction.infrastructure.repository.CategoryRepository;
+import com.budget.buddy.transaction.infrastructure.repository.ThresholdRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ThresholdDataServiceImplTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 3, 1);
+    private static final LocalDate END = LocalDate.of(2025, 3, 31);
+
+    @InjectMocks
+    private ThresholdDataServiceImpl thresholdDataService;
+
+    @Mock
+    private ThresholdRepository thresholdRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private TransactionUtils transactionUtils;
+
+    @Mock
+    private BudgetSummaryCache budgetSummaryCache;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getDailySeries_shouldEvaluateEveryThresholdFromOneDailyQuery() {
+        Threshold food = threshold(10L, 2L, "Food", "20.00");
+        Threshold idle = threshold(11L, 3L, "Rent", "0.00");
+        when(transactionUtils.getCurrentUserId()).thenReturn(1L);
+        when(budgetSummaryCache.getOrLoadThresholdSeries(eq(1L), eq(START), eq(END), any()))
+                .thenAnswer(invocation -> ((Supplier<List<ThresholdSeriesDTO>>) invocation.getArgument(3)).get());
+        when(thresholdRepository.findAllByUserIdOrderByIdAsc(1L)).thenReturn(List.of(food, idle));
+        when(thresholdRepository.findDailyTotalsForUser(1L, START, END)).thenReturn(List.of(
+                day(10L, START, "-25.30"),
+                day(10L, START.plusDays(1), "-5.00"),
+                day(11L, START, "-900.00")));
+
+        List<ThresholdSeriesDTO> series = thresholdDataService.getDailySeries(START, END);
+
+        assertEquals(2, series.size());
+        assertEquals(1, series.getFirst().breachedDays());
+        assertEquals(0, new BigDecimal("-5.30").compareTo(series.getFirst().days().getFirst().exceededAmount()));
+        assertEquals(0, new BigDecimal("15.00").compareTo(series.getFirst().days().getLast().exceededAmount()));
+        assertEquals(0, series.getLast().breachedDays());
+        assertEquals(BigDecimal.ZERO, series.getLast().days().getFirst().exceededAmount());
+        verify(thresholdRepository, times(1)).findDailyTotalsForUser(any(), any(), any());
+    }
+
+    @Test
+    void delete_shouldEvictCachedSeries() {
+        Threshold food = threshold(10L, 2L, "Food", "20.00");
+        when(transactionUtils.getCurrentUserId()).thenReturn(1L);
+        when(thresholdRepository.findByIdAndUserId(10L, 1L)).thenReturn(Optional.of(food));
+
+        thresholdDataService.delete(10L);
+
+        InOrder inOrder = inOrder(thresholdRepository, budgetSummaryCache);
+        inOrder.verify(thresholdRepository).delete(food);
+        inOrder.verify(budgetSummaryCache).evictAll(1L);
+    }
+
+    private Threshold threshold(Long id, Long categoryId, String categoryName, String amount) {
+        Category category = new Category(new CategoryVO(categoryName), 1L);
+        category.setId(categoryId);
+        Threshold threshold = new Threshold(1L, category, new BigDecimal(amount), Currency.SGD);
+        threshold.setId(id);
+        return threshold;
+    }
+
+    private ThresholdDayView day(Long thresholdId, LocalDate date, String amount) {
+        ThresholdDayView day = mock(ThresholdDayView.class);
+        when(day.getThresholdId()).thenReturn(thresholdId);
+        lenient().when(day.getDate()).thenReturn(date);
+        lenient().when(day.getAmount()).thenReturn(new BigDecimal(amount));
+        return day;
+    }
+}
@@ -1,11 +1,30 @@
 package com.budget.buddy.transaction.domain.service.impl;
 
 import com.budget.buddy.core.config.exception.NotFoundException;
+import com.budget.buddy.transaction.application.dto.account.AccountLedgerEntry;
+import com.budget.buddy.transaction.application.dto.account.AccountLedgerSumView;
+import com.budget.buddy.transaction.application.dto.budget.DailySpendEntry;
+import com.budget.buddy.transaction.application.dto.budget.SpendRecordedEvent;
+import com.budget.buddy.transaction.application.dto.threshold.DailyAmountView;
+import com.budget.buddy.transaction.application.dto.threshold.ThresholdTransactionQuery;
+import com.budget.buddy.transaction.application.dto.threshold.ThresholdTransactionResponseDTO;
+import com.budget.buddy.transaction.application.dto.transaction.RetrieveTransactionsParams;
 import com.budget.buddy.transaction.application.dto.transaction.TransactionDTO;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionFilterCriteria;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionImportReport;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionImportRow;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionPagination;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionRow;
 import com.budget.buddy.transaction.domain.enums.CategoryType;
+import com.budget.buddy.transaction.domain.enums.Currency;
+import com.budget.buddy.transaction.domain.enums.TransactionTotalMode;
 import com.budget.buddy.transaction.domain.model.account.Account;
 import com.budget.buddy.transaction.domain.model.category.Category;
 import com.budget.buddy.transaction.domain.model.transaction.Transaction;
+import com.budget.buddy.transaction.domain.service.AccountBalanceData;
+import com.budget.buddy.transaction.domain.service.DailySpendData;
+import com.budget.buddy.transaction.domain.service.TransactionHotStore;
+import com.budget.buddy.transaction.domain.service.TransactionInquiryCache;
 import com.budget.buddy.transaction.domain.utils.TransactionUtils;
 import com.budget.buddy.transaction.domain.vo.CategoryVO;
 import com.budget.buddy.transaction.infrastructure.repository.AccountRepository;
@@ -17,12 +36,25 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
-
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
@@ -47,6 +79,21 @@ class TransactionDataImplTest {
     @Mock
     private TransactionSpecification transactionSpecification;
 
+    @Mock
+    private AccountBalanceData accountBalanceData;
+
+    @Mock
+    private TransactionInquiryCache transactionInquiryCache;
+
+    @Mock
+    private TransactionHotStore transactionHotStore;
+
+    @Mock
+    private DailySpendData dailySpendData;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
     @Test
     void testCreateTransaction_withValidIncomeTransaction_shouldSaveTransaction() {
         Long userId = 1L;
@@ -170,4 +217,373 @@ class TransactionDataImplTest {
         assertThrows(NotFoundException.class, () -> transactionData.createTransaction(transactionDTO));
         verify(transactionRepository, never()).saveAll(anyList());
     }
-}
\ No newline at end of file
+
+    @Test
+    void importTransactions_shouldSaveOwnedRowsAndReportRejectedOnes() {
+        Long userId = 5L;
+        Account account = new Account();
+        account.setId(50L);
+        Category category = new Category(new CategoryVO("Food"), userId);
+        category.setId(500L);
+
+        TransactionDTO valid = TransactionDTO.builder()
+                .name("Lunch").amount(BigDecimal.TEN).accountId(50L).categoryId(500L)
+                .date(LocalDate.now()).categoryType(CategoryType.EXPENSE).build();
+        TransactionDTO foreignAccount = TransactionDTO.builder()
+                .name("Dinner").amount(BigDecimal.ONE).accountId(99L).categoryId(500L)
+                .date(LocalDate.now()).categoryType(CategoryType.EXPENSE).build();
+
+        when(transactionUtils.getCurrentUserId()).thenReturn(userId);
+        when(accountRepository.findAccountByUserIdAndAccountIdIn(eq(userId), anyList())).thenReturn(List.of(account));
+        when(categoryRepository.findByIdInAndUserId(anyList(), eq(userId))).thenReturn(List.of(category));
+
+        List<TransactionImportReport.RowError> errors = transactionData.importTransactions(List.of(
+                new TransactionImportRow(2L, valid),
+                new TransactionImportRow(3L, foreignAccount)));
+
+        assertEquals(1, errors.size());
+        assertEquals(3L, errors.get(0).line());
+        verify(transactionRepository, times(1)).saveAll(argThat(list -> ((List<?>) list).size() == 1));
+    }
+
+    @Test
+    void deleteTransactionByCategoryId_shouldIssueSingleBulkDelete() {
+        when(transactionUtils.getCurrentUserId()).thenReturn(1L);
+        when(transactionRepository.bulkDeleteByCategoryId(5L, 1L)).thenReturn(3);
+
+        transactionData.deleteTransactionByCategoryId(5L);
+
+        verify(transactionRepository).bulkDeleteByCategoryId(5L, 1L);
+        verify(transactionRepository, never()).deleteAll(anyList());
+    }
+
+    @Test
+    void deleteTransactionByAccountTypeGroupId_shouldIssueSingleBulkDelete() {
+        when(transactionUtils.getCurrentUserId()).thenReturn(1L);
+
+        transactionData.deleteTransactionByAccountTypeGroupId(3L);
+
+        verify(transactionRepository).bulkDeleteByAccountTypeGroupId(3L, 1L);
+    }
+
+    @Test
+    void createTransaction_transfer_shouldRecordLedgerEntriesForBothAccounts() {
+        Account source = new Account();
+        source.setId(20L);
+        Account target = new Account();
+        target.setId(30L);
+        Category out = new Category(new CategoryVO("Out"), 1L);
+        out.setId(200L);
+        Category in = new Category(new CategoryVO("In"), 1L);
+        in.setId(201L);
+        LocalDate today = LocalDate.now();
+
+        TransactionDTO transfer = TransactionDTO.builder()
+                .name("Transfer").amount(BigDecimal.valueOf(1000))
+                .accountId(20L).targetAccountId(30L).categoryId(200L).targetCategoryId(201L)
+                .date(today).categoryType(CategoryType.TRANSFER).build();
+
+        when(transactionUtils.getCurrentUserId()).thenReturn(1L);
+        when(accountRepository.findAccountByUserIdAndAccountIdIn(eq(1L), anyList())).thenReturn(List.of(source, target));
+        when(categoryRepository.findByIdInAndUserId(anyList(), eq(1L))).thenReturn(List.of(out, in));
+
+        transactionData.createTransaction(transfer);
+
+        verify(accountBalanceData).recordLedgerEntries(1L, List.of(
+                new AccountLedgerEntry(20L, today, BigDecimal.valueOf(-1000)),
+                new AccountLedgerEntry(30L, today, BigDecimal.valueOf(1000))));
+    }
+
+    @Test
+    void updateTransaction_shouldReverseOldEntryAndRecordNewOne() {
+        Account oldAccount = new Account();
+        oldAccount.setId(1L);
+        Account newAccount = new Account();
+        newAccount.setId(2L);
+        Category category = new Category(new CategoryVO("Food"), 1L);
+        category.setId(100L);
+        LocalDate oldDate = LocalDate.now().minusDays(10);
+        LocalDate newDate = LocalDate.now().minusDays(2);
+        Transaction existing = new Transaction(1L, oldAccount, category, "Lunch", BigDecimal.valueOf(-50),
+                oldDate, CategoryType.EXPENSE, null);
+
+        TransactionDTO update = TransactionDTO.builder()
+                .name("Dinner").amount(BigDecimal.valueOf(80)).accountId(2L).categoryId(100L)
+                .date(newDate).categoryType(CategoryType.EXPENSE).build();
+
+        when(transactionUtils.getCurrentUserId()).thenReturn(1L);
+        when(transactionRepository.findByIdAndUserId(7L, 1L)).thenReturn(Optional.of(existing));
+        when(accountRepository.findAccountByUserIdAndAccountId(1L, 2L)).thenReturn(newAccount);
+        when(categoryRepository.findByIdAndUserId(100L, 1L)).thenReturn(Optional.of(category));
+
+        transactionData.updateTransaction(7L, update);
+
+        verify(accountBalanceData).recordLedgerEntries(1L, List.of(
+                new AccountLedgerEntry(1L, oldDate, BigDecimal.valueOf(50)),
+                new AccountLedgerEntry(2L, newDate, BigDecimal.valueOf(-80))));
+        List<DailySpendEntry> spendEntries = List.of(
+                new DailySpendEntry(100L, null, oldDate, BigDecimal.valueOf(50), BigDecimal.valueOf(50)),
+                new DailySpendEntry(100L, null, newDate, BigDecimal.valueOf(-80), BigDecimal.valueOf(-80)));
+        verify(dailySpendData).recordSpendEntries(1L, spendEntries);
+        verify(applicationEventPublisher).publishEvent(new SpendRecordedEvent(1L, spendEntries));
+        verify(transactionInquiryCache).bumpLedgerVersion(1L);
+        verify(transactionHotStore).recordSaved(1L, List.of(existing));
+    }
+
+    @Test
+    void deleteTransaction_shouldRecordReversal() {
+        Account account = new Account();
+        account.setId(1L);
+        Category category = new Category(new CategoryVO("Food"), 1L);
+        LocalDate date = LocalDate.now();
+        Transaction existing = new Transaction(1L, account, category, "Lunch", BigDecimal.valueOf(-50),
+                date, CategoryType.EXPENSE, null);
+        existing.setId(7L);
+
+        when(transactionUtils.getCurrentUserId()).thenReturn(1L);
+        when(transactionRepository.findByIdAndUserId(7L, 1L)).thenReturn(Optional.of(existing));
+
+        transactionData.deleteTransaction(7L);
+
+        verify(transactionRepository).delete(existing);
+        verify(accountBalanceData).recordLedgerEntries(1L, List.of(new AccountLedgerEntry(1L, date, BigDecimal.valueOf(50))));
+        verify(dailySpendData).recordSpendEntries(eq(1L), argThat(entries -> entries.size() == 1
+                && entries.getFirst().spent().compareTo(BigDecimal.valueOf(50)) == 0));
+        verify(transactionInquiryCache).bumpLedgerVersion(1L);
+        verify(transactionHotStore).recordDeleted(1L, List.of(7L));
+    }
+
+    @Test
+    void deleteTransactionByCategoryId_shouldReverseDailySumsPerAccount() {
+        LocalDate date = LocalDate.now();
+        AccountLedgerSumView sum = mock(AccountLedgerSumView.class);
+        when(sum.getAccountId()).thenReturn(10L);
+        when(sum.getDate()).thenReturn(date);
+        when(sum.getAmount()).thenReturn(BigDecimal.valueOf(-120));
+
+        when(transactionUtils.getCurrentUserId()).thenReturn(1L);
+        when(transactionRepository.sumAmountBySourceAccountAndDateForCategory(5L, 1L)).thenReturn(List.of(sum));
+
+        transactionData.deleteTransactionByCategoryId(5L);
+
+        verify(accountBalanceData).recordLedgerEntries(1L, List.of(new AccountLedgerEntry(10L, date, BigDecimal.valueOf(120))));
+        verify(dailySpendData).deleteCategory(5L, 1L);
+    }
+
+    @Test
+    void deleteTransactionByAccountId_shouldResetBalancesAndSubtractTheirDailySpend() {
+        DailySpendEntry day = new DailySpendEntry(5L, Currency.SGD, LocalDate.of(2025, 3, 5),
+                BigDecimal.valueOf(-30), BigDecimal.valueOf(-10));
+        when(transactionUtils.getCurrentUserId()).thenReturn(1L);
+        when(dailySpendData.sumAccounts(1L, List.of(10L, 11L))).thenReturn(List.of(day));
+
+        transactionData.deleteTransactionByAccountId(List.of(10L, 11L));
+
+        verify(accountBalanceData).resetAccounts(List.of(10L, 11L), 1L);
+        verify(dailySpendData).recordSpendEntries(1L, List.of(day.reversed()));
+        verify(dailySpendData, never()).rebuild(any());
+        verify(transactionInquiryCache).bumpLedgerVersion(1L);
+        verify(transactionHotStore).evict(1L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void retrieveTransactions_withCursor_shouldSeekWithoutCountingAndReturnNextCursor() {
+        Specification<Transaction> specification = mock(Specification.class);
+        TransactionFilterCriteria criteria = new TransactionFilterCriteria();
+        criteria.setSort("date,desc");
+        List<TransactionRow> rows = List.of(row(3L), row(2L), row(1L));
+
+        when(transactionSpecification.buildKeysetSpecification(criteria, "date,desc", "abc")).thenReturn(specification);
+        when(transactionRepository.findRows(specification, 0, 3)).thenReturn(rows);
+        when(transactionSpecification.buildCursor(rows.get(1), "date,desc")).thenReturn("next");
+
+        TransactionPagination result = transactionData.retrieveTransactions(
+                RetrieveTransactionsParams.builder().size(2).cursor("abc").build(), criteria);
+
+        assertEquals(List.of(3L, 2L), result.getTransactions().stream().map(TransactionDTO::getId).toList());
+        assertEquals("next", result.getPagination().getNextCursor());
+        assertNull(result.getPagination().getTotalElements());
+        verify(transactionRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void retrieveTransactions_withCursorOnLastPage_shouldNotReturnNextCursor() {
+        Specification<Transaction> specification = mock(Specification.class);
+        TransactionFilterCriteria criteria = new TransactionFilterCriteria();
+
+        when(transactionSpecification.buildKeysetSpecification(criteria, "id,desc", "")).thenReturn(specification);
+        when(transactionRepository.findRows(specification, 0, 3)).thenReturn(List.of(row(1L)));
+
+        TransactionPagination result = transactionData.retrieveTransactions(
+                RetrieveTransactionsParams.builder().size(2).cursor("").build(), criteria);
+
+        assertEquals(1, result.getTransactions().size());
+        assertNull(result.getPagination().getNextCursor());
+        verify(transactionSpecification, never()).buildCursor(any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void retrieveTransactions_withNoTotal_shouldUseSliceAndSkipCount() {
+        Specification<Transaction> specification = mock(Specification.class);
+        TransactionFilterCriteria criteria = new TransactionFilterCriteria();
+        Pageable pageable = PageRequest.of(3, 2);
+
+        when(transactionSpecification.buildSpecification(criteria, "id,desc")).thenReturn(specification);
+        when(transactionRepository.findSlice(specification, pageable))
+                .thenReturn(new SliceImpl<>(List.of(row(8L), row(7L)), pageable, true));
+
+        TransactionPagination result = transactionData.retrieveTransactions(
+                RetrieveTransactionsParams.builder().page(3).size(2).totalMode(TransactionTotalMode.NONE).build(), criteria);
+
+        assertEquals(TransactionTotalMode.NONE, result.getPagination().getTotalMode());
+        assertTrue(result.getPagination().getHasNext());
+        assertNull(result.getPagination().getTotalElements());
+        verify(transactionRepository, never()).count(any(Specification.class));
+        verify(transactionRepository, never()).estimateCount(any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void retrieveTransactions_withEstimatedTotal_shouldUsePlannerEstimate() {
+        Specification<Transaction> specification = mock(Specification.class);
+        TransactionFilterCriteria criteria = new TransactionFilterCriteria();
+        Pageable pageable = PageRequest.of(0, 2);
+
+        when(transactionUtils.getCurrentUserId()).thenReturn(1L);
+        when(transactionSpecification.buildSpecification(criteria, "id,desc")).thenReturn(specification);
+        when(transactionRepository.findSlice(specification, pageable))
+                .thenReturn(new SliceImpl<>(List.of(row(8L), row(7L)), pageable, true));
+        when(transactionRepository.estimateCount(criteria, 1L)).thenReturn(OptionalLong.of(41));
+
+        TransactionPagination result = transactionData.retrieveTransactions(
+                RetrieveTransactionsParams.builder().page(0).size(2).totalMode(TransactionTotalMode.ESTIMATED).build(), criteria);
+
+        assertEquals(TransactionTotalMode.ESTIMATED, result.getPagination().getTotalMode());
+        assertEquals(41L, result.getPagination().getTotalElements());
+        assertEquals(21, result.getPagination().getTotalPages());
+        verify(transactionRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void retrieveTransactions_withEstimatedTotalWithoutPlanner_shouldFallBackToCount() {
+        Specification<Transaction> specification = mock(Specification.class);
+        TransactionFilterCriteria criteria = new TransactionFilterCriteria();
+        Pageable pageable = PageRequest.of(0, 2);
+
+        when(transactionUtils.getCurrentUserId()).thenReturn(1L);
+        when(transactionSpecification.buildSpecification(criteria, "id,desc")).thenReturn(specification);
+        when(transactionRepository.findSlice(specification, pageable))
+                .thenReturn(new SliceImpl<>(List.of(row(8L), row(7L)), pageable, true));
+        when(transactionRepository.estimateCount(criteria, 1L)).thenReturn(OptionalLong.empty());
+        when(transactionRepository.count(specification)).thenReturn(5L);
+
+        TransactionPagination result = transactionData.retrieveTransactions(
+                RetrieveTransactionsParams.builder().page(0).size(2).totalMode(TransactionTotalMode.ESTIMATED).build(), criteria);
+
+        assertEquals(5L, result.getPagination().getTotalElements());
+        assertEquals(3, result.getPagination().getTotalPages());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void retrieveTransactions_withEstimatedTotalOnLastPage_shouldNotQueryForTotal() {
+        Specification<Transaction> specification = mock(Specification.class);
+        TransactionFilterCriteria criteria = new TransactionFilterCriteria();
+        Pageable pageable = PageRequest.of(2, 2);
+
+        when(transactionSpecification.buildSpecification(criteria, "id,desc")).thenReturn(specification);
+        when(transactionRepository.findSlice(specification, pageable))
+                .thenReturn(new SliceImpl<>(List.of(row(1L)), pageable, false));
+
+        TransactionPagination result = transactionData.retrieveTransactions(
+                RetrieveTransactionsParams.builder().page(2).size(2).totalMode(TransactionTotalMode.ESTIMATED).build(), criteria);
+
+        assertEquals(5L, result.getPagination().getTotalElements());
+        assertFalse(result.getPagination().getHasNext());
+        verify(transactionRepository, never()).estimateCount(any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void retrieveTransactions_withExactTotal_shouldMapProjectedRows() {
+        Specification<Transaction> specification = mock(Specification.class);
+        TransactionFilterCriteria criteria = new TransactionFilterCriteria();
+
+        when(transactionSpecification.buildSpecification(criteria, "id,desc")).thenReturn(specification);
+        when(transactionRepository.findRows(specification, 20, 10)).thenReturn(List.of(row(9L), row(8L)));
+
+        TransactionPagination result = transactionData.retrieveTransactions(
+                RetrieveTransactionsParams.builder().page(2).size(10).build(), criteria);
+
+        TransactionDTO dto = result.getTransactions().getFirst();
+        assertEquals(9L, dto.getId());
+        assertEquals("Wallet", dto.getSourceAccountName());
+        assertEquals("Cash", dto.getSourceAccountType());
+        assertEquals("Food", dto.getCategoryName());
+        assertEquals("SGD", dto.getCurrency());
+        // A short page already tells the total, so no COUNT(*) is issued
+        assertEquals(22L, result.getPagination().getTotalElements());
+        verify(transactionRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void retrieveTransactions_withHotLedger_shouldServeFromMemory() {
+        Specification<Transaction> specification = mock(Specification.class);
+        TransactionFilterCriteria criteria = new TransactionFilterCriteria();
+        Sort sort = Sort.by(Sort.Order.desc("id"));
+
+        when(transactionUtils.getCurrentUserId()).thenReturn(1L);
+        when(transactionSpecification.buildSpecification(criteria, "id,desc")).thenReturn(specification);
+        when(transactionSpecification.resolveSort("id,desc")).thenReturn(sort);
+        when(transactionHotStore.query(1L, criteria, sort, 10, 10))
+                .thenReturn(Optional.of(new TransactionHotStore.HotPage(List.of(row(9L), row(8L)), 25)));
+
+        TransactionPagination result = transactionData.retrieveTransactions(
+                RetrieveTransactionsParams.builder().page(1).size(10).build(), criteria);
+
+        assertEquals(List.of(9L, 8L), result.getTransactions().stream().map(TransactionDTO::getId).toList());
+        assertEquals(25L, result.getPagination().getTotalElements());
+        assertEquals(3, result.getPagination().getTotalPages());
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void getTransactionsByDateGrouped_shouldMapDailyAggregatesAndCloseTheStream() {
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        LocalDate end = LocalDate.of(2025, 12, 31);
+        DailyAmountView day = mock(DailyAmountView.class);
+        when(day.getDate()).thenReturn(start);
+        when(day.getAmount()).thenReturn(new BigDecimal("-25.30"));
+        boolean[] closed = {false};
+        when(transactionUtils.getCurrentUserId()).thenReturn(1L);
+        when(transactionRepository.streamDailyAmountsForCategory(1L, 100L, Currency.SGD, start, end))
+                .thenReturn(Stream.of(day).onClose(() -> closed[0] = true));
+
+        List<ThresholdTransactionResponseDTO.DailyThresholdSummary> result = transactionData.getTransactionsByDateGrouped(
+                new ThresholdTransactionQuery(100L, start, end, "SGD", new BigDecimal("20.00")));
+
+        assertEquals(List.of(new ThresholdTransactionResponseDTO.DailyThresholdSummary(
+                start, new BigDecimal("-25.30"), new BigDecimal("20.00"), new BigDecimal("-5.30"))), result);
+        assertTrue(closed[0]);
+        verify(transactionRepository, never()).findAll(any(Specification.class));
+    }
+
+    @Test
+    void getTransactionsByDateGrouped_withUnknownCurrency_shouldReturnNothing() {
+        when(transactionUtils.getCurrentUserId()).thenReturn(1L);
+
+        assertTrue(transactionData.getTransactionsByDateGrouped(new ThresholdTransactionQuery(100L,
+                LocalDate.now(), LocalDate.now(), "USD", BigDecimal.TEN)).isEmpty());
+        verifyNoInteractions(transactionRepository);
+    }
+
+    private TransactionRow row(Long id) {
+        return new TransactionRow(id, "Lunch", BigDecimal.valueOf(-5), null, LocalDate.now(), CategoryType.EXPENSE,
+                10L, "Wallet", Currency.SGD, "Cash", 100L, "Food");
+    }
+}
@@ -0,0 +1,178 @@
+package com.budget.buddy.transaction.domain.service.impl;
+
+import com.budget.buddy.core.config.other.ObjectMapperConfig;
+import com.budget.buddy.transaction.application.dto.transaction.RetrieveTransactionsParams;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionDTO;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionFilterCriteria;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionPagination;
+import com.budget.buddy.transaction.domain.utils.TransactionUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionInquiryCacheImplTest {
+
+    private static final Long USER_ID = 1L;
+    private static final String VERSION_KEY = "ledger:version:1";
+
+    @Mock
+    private StringRedisTemplate redis;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private TransactionUtils transactionUtils;
+
+    private final ObjectMapper objectMapper = new ObjectMapperConfig().objectMapper();
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TransactionInquiryCacheImpl cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new TransactionInquiryCacheImpl(redis, objectMapper, transactionUtils, meterRegistry, true, 2, 300);
+        lenient().when(redis.opsForValue()).thenReturn(valueOperations);
+        lenient().when(transactionUtils.getCurrentUserId()).thenReturn(USER_ID);
+    }
+
+    @Test
+    void getOrLoad_secondCallIsServedLocally() {
+        givenLedgerVersion("3");
+        CountingLoader loader = new CountingLoader();
+
+        TransactionPagination first = cache.getOrLoad(new RetrieveTransactionsParams(0, 20), null, loader);
+        TransactionPagination second = cache.getOrLoad(new RetrieveTransactionsParams(0, 20), null, loader);
+
+        assertSame(first, second);
+        assertEquals(1, loader.calls.get());
+        verify(valueOperations).set(startsWith("inquiry:1:3:"), anyString(), eq(Duration.ofSeconds(300)));
+        assertEquals(1.0, count("local", "hit"));
+        assertEquals(1.0, count("redis", "miss"));
+    }
+
+    @Test
+    void getOrLoad_newLedgerVersionMissesOldEntries() {
+        givenLedgerVersion("3", "4");
+        CountingLoader loader = new CountingLoader();
+
+        cache.getOrLoad(new RetrieveTransactionsParams(0, 20), null, loader);
+        cache.getOrLoad(new RetrieveTransactionsParams(0, 20), null, loader);
+
+        assertEquals(2, loader.calls.get());
+        assertEquals(0.0, count("local", "hit"));
+    }
+
+    @Test
+    void getOrLoad_equivalentFiltersShareAnEntry() {
+        givenLedgerVersion("0");
+        CountingLoader loader = new CountingLoader();
+
+        cache.getOrLoad(new RetrieveTransactionsParams(0, 20), accounts("is", 2L, 1L, 2L), loader);
+        cache.getOrLoad(new RetrieveTransactionsParams(0, 20), accounts(" IS ", 1L, 2L), loader);
+        cache.getOrLoad(new RetrieveTransactionsParams(1, 20), accounts("is", 1L, 2L), loader);
+
+        assertEquals(2, loader.calls.get());
+    }
+
+    @Test
+    void getOrLoad_redisHitSkipsTheDatabase() throws Exception {
+        TransactionPagination stored = page("Lunch");
+        givenLedgerVersion("5");
+        when(valueOperations.get(startsWith("inquiry:1:5:"))).thenReturn(objectMapper.writeValueAsString(stored));
+        CountingLoader loader = new CountingLoader();
+
+        TransactionPagination result = cache.getOrLoad(new RetrieveTransactionsParams(0, 20), null, loader);
+
+        assertEquals(0, loader.calls.get());
+        assertEquals("Lunch", result.getTransactions().getFirst().getName());
+        assertEquals(1.0, count("redis", "hit"));
+    }
+
+    @Test
+    void getOrLoad_bypassesCacheWhenRedisIsDown() {
+        when(valueOperations.get(VERSION_KEY)).thenThrow(new RedisConnectionFailureException("down"));
+        CountingLoader loader = new CountingLoader();
+
+        cache.getOrLoad(new RetrieveTransactionsParams(0, 20), null, loader);
+        cache.getOrLoad(new RetrieveTransactionsParams(0, 20), null, loader);
+
+        assertEquals(2, loader.calls.get());
+        verify(valueOperations, never()).set(anyString(), anyString(), any(Duration.class));
+        assertEquals(2.0, count("redis", "error"));
+    }
+
+    @Test
+    void getOrLoad_evictsLeastRecentlyUsedBeyondLocalLimit() {
+        givenLedgerVersion("0");
+        CountingLoader loader = new CountingLoader();
+
+        for (int page = 0; page < 3; page++) {
+            cache.getOrLoad(new RetrieveTransactionsParams(page, 20), null, loader);
+        }
+
+        assertEquals(1.0, count("local", "eviction"));
+        assertEquals(2.0, meterRegistry.get("transaction.inquiry.cache.size").gauge().value());
+    }
+
+    @Test
+    void bumpLedgerVersion_incrementsImmediatelyOutsideTransaction() {
+        cache.bumpLedgerVersion(USER_ID);
+
+        verify(valueOperations).increment(VERSION_KEY);
+    }
+
+    // Lenient because page lookups are left unstubbed and simply miss
+    private void givenLedgerVersion(String version, String... next) {
+        lenient().when(valueOperations.get(VERSION_KEY)).thenReturn(version, next);
+    }
+
+    private double count(String tier, String result) {
+        return meterRegistry.get("transaction.inquiry.cache").tag("tier", tier).tag("result", result).counter().count();
+    }
+
+    private static TransactionFilterCriteria accounts(String operator, Long... ids) {
+        TransactionFilterCriteria.IdsFilter filter = new TransactionFilterCriteria.IdsFilter();
+        filter.setOperator(operator);
+        filter.setIds(List.of(ids));
+        TransactionFilterCriteria criteria = new TransactionFilterCriteria();
+        criteria.setAccounts(filter);
+        return criteria;
+    }
+
+    private static TransactionPagination page(String name) {
+        return new TransactionPagination(new TransactionPagination.Pagination(0, 20, 1, 1),
+                List.of(TransactionDTO.builder().id(1L).name(name).build()));
+    }
+
+    private static class CountingLoader implements Supplier<TransactionPagination> {
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public TransactionPagination get() {
+            calls.incrementAndGet();
+            return page("Row");
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.budget.buddy.transaction.infrastructure.repository;
+
+import com.budget.buddy.core.config.audit.AuditConfig;
+import com.budget.buddy.transaction.application.dto.budget.BudgetCycleTotalRow;
+import com.budget.buddy.transaction.application.dto.budget.BudgetDTO;
+import com.budget.buddy.transaction.application.dto.budget.DailySpendDayView;
+import com.budget.buddy.transaction.application.dto.budget.DailySpendDriftView;
+import com.budget.buddy.transaction.application.dto.threshold.ThresholdDayView;
+import com.budget.buddy.transaction.domain.enums.CategoryType;
+import com.budget.buddy.transaction.domain.enums.Currency;
+import com.budget.buddy.transaction.domain.model.account.Account;
+import com.budget.buddy.transaction.domain.model.account.AccountTypeGroup;
+import com.budget.buddy.transaction.domain.model.budget.Budget;
+import com.budget.buddy.transaction.domain.model.category.Category;
+import com.budget.buddy.transaction.domain.model.threshold.Threshold;
+import com.budget.buddy.transaction.domain.model.transaction.Transaction;
+import com.budget.buddy.transaction.domain.vo.BudgetCycleVO;
+import com.budget.buddy.transaction.domain.vo.CategoryVO;
+import com.budget.buddy.transaction.domain.vo.MoneyVO;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The rollup has to reproduce exactly what the budget summaries used to compute from the
+ * transaction table, and the drift queries have to notice when it does not.
+ */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import(AuditConfig.class)
+class DailySpendRepositoryTest {
+
+    private static final Long USER_ID = 1L;
+    private static final LocalDate START = LocalDate.of(2025, 3, 5);
+    private static final LocalDate END = LocalDate.of(2025, 4, 5);
+
+    @Autowired
+    private DailySpendRepository dailySpendRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private ThresholdRepository thresholdRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Account sgdAccount;
+    private Category food;
+
+    @BeforeEach
+    void setUp() {
+        AccountTypeGroup group = new AccountTypeGroup(USER_ID, "Cash", new ArrayList<>());
+        sgdAccount = new Account(group, "Wallet", Currency.SGD, false);
+        Account vndAccount = new Account(group, "Travel", Currency.VND, false);
+        food = new Category(new CategoryVO("Food"), USER_ID);
+        entityManager.persist(group);
+        entityManager.persist(sgdAccount);
+        entityManager.persist(vndAccount);
+        entityManager.persist(food);
+        entityManager.persist(new Budget(USER_ID, food, new MoneyVO(new BigDecimal("500.00"), Currency.SGD), null));
+
+        persist(sgdAccount, "-40.00", START);
+        persist(sgdAccount, "-10.00", START);
+        persist(sgdAccount, "15.00", START.plusDays(3));
+        persist(sgdAccount, "-25.00", END);
+        // Outside the cycle or in another currency, so never part of the SGD budget
+        persist(sgdAccount, "-99.00", START.minusDays(1));
+        persist(vndAccount, "-70000.00", START.plusDays(1));
+        entityManager.flush();
+
+        dailySpendRepository.insertFromLedger(USER_ID);
+        entityManager.clear();
+    }
+
+    private void persist(Account account, String amount, LocalDate date) {
+        entityManager.persist(new Transaction(USER_ID, account, food, "Meal", new BigDecimal(amount), date,
+                CategoryType.EXPENSE, null));
+    }
+
+    @Test
+    void insertFromLedger_writesOneRowPerCategoryCurrencyAndDay() {
+        assertEquals(5, dailySpendRepository.count());
+        assertTrue(dailySpendRepository.findDriftedDays().isEmpty());
+        assertTrue(dailySpendRepository.findMissingDays(Pageable.unpaged()).isEmpty());
+    }
+
+    @Test
+    void budgetSummaries_sumRollupDaysInsideTheCycle() {
+        BudgetDTO all = budgetRepository.findAllBudgetsForUser(USER_ID, START, END).getFirst();
+        assertEquals(0, new BigDecimal("-75.00").compareTo(all.spentAmount()));
+        assertEquals(0, new BigDecimal("425.00").compareTo(all.remainingAmount()));
+
+        BudgetDTO sgd = budgetRepository.findAllBudgetsForUserAndCurrency(USER_ID, "SGD", START, END).getFirst();
+        assertEquals(0, new BigDecimal("-60.00").compareTo(sgd.spentAmount()));
+        assertEquals(0, new BigDecimal("440.00").compareTo(sgd.remainingAmount()));
+    }
+
+    @Test
+    void findCycleTotals_bucketsRollupDaysByCycleInOneQuery() {
+        List<BudgetCycleVO> cycles = List.of(
+                new BudgetCycleVO(START.minusMonths(1), START.minusDays(1)),
+                new BudgetCycleVO(START, END.minusDays(1)),
+                new BudgetCycleVO(END, END.plusMonths(1).minusDays(1)));
+
+        List<BudgetCycleTotalRow> rows = budgetRepository.findCycleTotals(USER_ID, "SGD", cycles);
+
+        assertEquals(3, rows.size());
+        BudgetCycleTotalRow previous = rows.stream().filter(row -> row.cycle() == 0).findFirst().orElseThrow();
+        BudgetCycleTotalRow current = rows.stream().filter(row -> row.cycle() == 1).findFirst().orElseThrow();
+        BudgetCycleTotalRow next = rows.stream().filter(row -> row.cycle() == 2).findFirst().orElseThrow();
+        assertEquals(0, new BigDecimal("-99.00").compareTo(previous.spent()));
+        assertEquals(0, new BigDecimal("-50.00").compareTo(current.spent()));
+        assertEquals(0, new BigDecimal("-35.00").compareTo(current.net()));
+        assertEquals(0, new BigDecimal("-25.00").compareTo(next.spent()));
+        assertEquals("Food", current.categoryName());
+    }
+
+    @Test
+    void findDailyTotalsForUser_readsEachThresholdsCurrencyDaysInOrder() {
+        Threshold sgd = thresholdRepository.save(new Threshold(USER_ID, food, new BigDecimal("20.00"), Currency.SGD));
+        Threshold vnd = thresholdRepository.save(new Threshold(USER_ID, food, new BigDecimal("50000.00"), Currency.VND));
+
+        List<ThresholdDayView> days = thresholdRepository.findDailyTotalsForUser(USER_ID, START, END);
+
+        assertEquals(List.of(sgd.getId(), sgd.getId(), sgd.getId(), vnd.getId()),
+                days.stream().map(ThresholdDayView::getThresholdId).toList());
+        assertEquals(List.of(START, START.plusDays(3), END, START.plusDays(1)),
+                days.stream().map(ThresholdDayView::getDate).toList());
+        assertEquals(0, new BigDecimal("-50.00").compareTo(days.getFirst().getAmount()));
+        assertEquals(0, new BigDecimal("-70000.00").compareTo(days.getLast().getAmount()));
+    }
+
+    @Test
+    void findDailyTotalsForUser_skipsDaysLeftEmptyButKeepsOffsettingDays() {
+        Threshold sgd = thresholdRepository.save(new Threshold(USER_ID, food, new BigDecimal("20.00"), Currency.SGD));
+        // The refund day loses its only transaction; the first day nets to zero but still has spending
+        dailySpendRepository.applyDelta(USER_ID, food.getId(), Currency.SGD, START.plusDays(3), BigDecimal.ZERO, new BigDecimal("-15.00"));
+        dailySpendRepository.applyDelta(USER_ID, food.getId(), Currency.SGD, START, BigDecimal.ZERO, new BigDecimal("50.00"));
+
+        List<ThresholdDayView> days = thresholdRepository.findDailyTotalsForUser(USER_ID, START, END);
+
+        assertEquals(List.of(START, END), days.stream()
+                .filter(day -> day.getThresholdId().equals(sgd.getId()))
+                .map(ThresholdDayView::getDate)
+                .toList());
+        assertEquals(0, BigDecimal.ZERO.compareTo(days.getFirst().getAmount()));
+    }
+
+    @Test
+    void sumLedgerByAccountIds_matchesTheRollupShareOfTheAccount() {
+        List<DailySpendDayView> days = dailySpendRepository.sumLedgerByAccountIds(USER_ID, List.of(sgdAccount.getId()));
+
+        assertEquals(4, days.size());
+        DailySpendDayView start = days.stream().filter(day -> day.getSpendDate().equals(START)).findFirst().orElseThrow();
+        assertEquals(Currency.SGD, start.getCurrency());
+        assertEquals(0, new BigDecimal("-50.00").compareTo(start.getSpent()));
+        DailySpendDayView refund = days.stream().filter(day -> day.getSpendDate().equals(START.plusDays(3))).findFirst().orElseThrow();
+        assertEquals(0, BigDecimal.ZERO.compareTo(refund.getSpent()));
+        assertEquals(0, new BigDecimal("15.00").compareTo(refund.getNet()));
+    }
+
+    @Test
+    void driftQueries_reportChangedAndMissingDays() {
+        dailySpendRepository.applyDelta(USER_ID, food.getId(), Currency.SGD, START, new BigDecimal("-1.00"), new BigDecimal("-1.00"));
+        persist(sgdAccount, "-5.00", START.plusDays(10));
+        entityManager.flush();
+
+        List<DailySpendDriftView> drifted = dailySpendRepository.findDriftedDays();
+        List<DailySpendDriftView> missing = dailySpendRepository.findMissingDays(Pageable.unpaged());
+
+        assertEquals(1, drifted.size());
+        assertEquals(START, drifted.getFirst().getSpendDate());
+        assertEquals(0, new BigDecimal("-50.00").compareTo(drifted.getFirst().getComputedSpent()));
+        assertEquals(1, missing.size());
+        assertEquals(START.plusDays(10), missing.getFirst().getSpendDate());
+        assertNull(missing.getFirst().getStoredSpent());
+    }
+
+    @Test
+    void findMissingDays_findsDaysOfUsersWhoAlreadyHaveRollupRows() {
+        // The user has rollup rows for other days, which a per-user "no rows at all" check would miss
+        persist(sgdAccount, "-5.00", START.plusDays(12));
+        persist(sgdAccount, "-7.00", START.plusDays(11));
+        entityManager.flush();
+
+        List<DailySpendDriftView> first = dailySpendRepository.findMissingDays(PageRequest.of(0, 1));
+        List<DailySpendDriftView> all = dailySpendRepository.findMissingDays(PageRequest.of(0, 10));
+
+        assertEquals(List.of(START.plusDays(11)), first.stream().map(DailySpendDriftView::getSpendDate).toList());
+        assertEquals(List.of(START.plusDays(11), START.plusDays(12)),
+                all.stream().map(DailySpendDriftView::getSpendDate).toList());
+    }
+}
@@ -0,0 +1,132 @@
+package com.budget.buddy.transaction.infrastructure.repository;
+
+import com.budget.buddy.core.config.audit.AuditConfig;
+import com.budget.buddy.core.utils.BenchmarkTimer;
+import com.budget.buddy.transaction.application.dto.threshold.DailyAmountView;
+import com.budget.buddy.transaction.domain.enums.CategoryType;
+import com.budget.buddy.transaction.domain.enums.Currency;
+import com.budget.buddy.transaction.domain.model.account.Account;
+import com.budget.buddy.transaction.domain.model.account.AccountTypeGroup;
+import com.budget.buddy.transaction.domain.model.category.Category;
+import com.budget.buddy.transaction.domain.model.transaction.Transaction;
+import com.budget.buddy.transaction.domain.vo.CategoryVO;
+import jakarta.persistence.EntityManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the threshold inquiry's old shape (load every transaction of the category in the range, filter on the
+ * lazily loaded account's currency and group in Java) with the per-day SQL aggregate that replaced it, on a
+ * year of 100k transactions. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=500",
+        "spring.jpa.properties.hibernate.order_inserts=true"
+})
+@Import(AuditConfig.class)
+class ThresholdAggregationBenchmarkTest {
+
+    private static final Logger logger = LogManager.getLogger(ThresholdAggregationBenchmarkTest.class);
+
+    private static final int ROWS = 100_000;
+    private static final Long USER_ID = 1L;
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+    private static final LocalDate END = LocalDate.of(2025, 12, 31);
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void dailyAggregate_shouldMatchAndBeatLoadingEveryTransaction() {
+        Category category = seed();
+
+        Map<LocalDate, BigDecimal> legacy = loadAndGroup(category.getId());
+        Map<LocalDate, BigDecimal> aggregated = aggregate(category.getId());
+        assertEquals(legacy.size(), aggregated.size());
+        legacy.forEach((date, amount) -> assertEquals(0, amount.compareTo(aggregated.get(date)), "Total differs on " + date));
+
+        double legacyMillis = BenchmarkTimer.medianMillis(() -> loadAndGroup(category.getId()));
+        double aggregateMillis = BenchmarkTimer.medianMillis(() -> aggregate(category.getId()));
+        logger.info("{} rows over {} days: load and group {} ms, SQL aggregate {} ms",
+                ROWS, aggregated.size(), legacyMillis, aggregateMillis);
+
+        assertTrue(aggregateMillis < legacyMillis,
+                "Expected the aggregate to be faster, saw " + legacyMillis + " -> " + aggregateMillis + " ms");
+    }
+
+    // Two thirds of the rows are in the queried category and currency, spread over every day of the year
+    private Category seed() {
+        AccountTypeGroup group = new AccountTypeGroup(USER_ID, "Cash", new ArrayList<>());
+        Account sgd = new Account(group, "Wallet", Currency.SGD, false);
+        Account vnd = new Account(group, "Travel", Currency.VND, false);
+        Category food = new Category(new CategoryVO("Food"), USER_ID);
+        Category rent = new Category(new CategoryVO("Rent"), USER_ID);
+        entityManager.persist(group);
+        entityManager.persist(sgd);
+        entityManager.persist(vnd);
+        entityManager.persist(food);
+        entityManager.persist(rent);
+
+        int days = (int) (END.toEpochDay() - START.toEpochDay()) + 1;
+        for (int i = 0; i < ROWS; i++) {
+            Account account = i % 3 == 0 ? vnd : sgd;
+            Category category = i % 5 == 0 ? rent : food;
+            entityManager.persist(new Transaction(USER_ID, account, category, "Payment " + i,
+                    BigDecimal.valueOf(-(i % 97) - 1, 2), START.plusDays(i % days), CategoryType.EXPENSE, null));
+            if (i % 1000 == 999) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return entityManager.getReference(Category.class, food.getId());
+    }
+
+    private Map<LocalDate, BigDecimal> loadAndGroup(Long categoryId) {
+        List<Transaction> transactions = entityManager.createQuery(
+                        "SELECT t FROM Transaction t WHERE t.userId = :userId AND t.category.id = :categoryId " +
+                                "AND t.date >= :startDate AND t.date <= :endDate", Transaction.class)
+                .setParameter("userId", USER_ID)
+                .setParameter("categoryId", categoryId)
+                .setParameter("startDate", START)
+                .setParameter("endDate", END)
+                .getResultList();
+        Map<LocalDate, BigDecimal> totals = transactions.stream()
+                .filter(transaction -> transaction.getSourceAccount().getCurrency() == Currency.SGD)
+                .collect(Collectors.groupingBy(Transaction::getDate, TreeMap::new,
+                        Collectors.reducing(BigDecimal.ZERO, Transaction::getAmount, BigDecimal::add)));
+        entityManager.clear();
+        return totals;
+    }
+
+    private Map<LocalDate, BigDecimal> aggregate(Long categoryId) {
+        try (Stream<DailyAmountView> days = transactionRepository.streamDailyAmountsForCategory(USER_ID, categoryId,
+                Currency.SGD, START, END)) {
+            return days.collect(Collectors.toMap(DailyAmountView::getDate, DailyAmountView::getAmount,
+                    BigDecimal::add, TreeMap::new));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.budget.buddy.transaction.infrastructure.repository;
+
+import com.budget.buddy.core.config.audit.AuditConfig;
+import com.budget.buddy.transaction.domain.enums.CategoryType;
+import com.budget.buddy.transaction.domain.enums.Currency;
+import com.budget.buddy.transaction.domain.model.account.Account;
+import com.budget.buddy.transaction.domain.model.account.AccountTypeGroup;
+import com.budget.buddy.transaction.domain.model.category.Category;
+import com.budget.buddy.transaction.domain.model.transaction.Transaction;
+import com.budget.buddy.transaction.domain.vo.CategoryVO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Inserts a 10k-row collection the way {@code TransactionDataImpl.createTransactions} does and
+ * checks that Hibernate batches the INSERTs instead of issuing one round trip per row.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true"
+})
+@Import(AuditConfig.class)
+class TransactionBatchInsertBenchmarkTest {
+
+    private static final Logger logger = LogManager.getLogger(TransactionBatchInsertBenchmarkTest.class);
+
+    private static final int ROWS = 10_000;
+    private static final Long USER_ID = 1L;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void saveAll_10kTransactions_shouldUseBatchedInserts() {
+        AccountTypeGroup group = new AccountTypeGroup(USER_ID, "Bank", new ArrayList<>());
+        Account account = new Account(group, "Main", Currency.SGD, false);
+        Category category = new Category(new CategoryVO("Food"), USER_ID);
+        entityManager.persist(group);
+        entityManager.persist(account);
+        entityManager.persist(category);
+        entityManager.flush();
+        entityManager.clear();
+
+        Account accountRef = entityManager.getReference(Account.class, account.getId());
+        Category categoryRef = entityManager.getReference(Category.class, category.getId());
+        LocalDate today = LocalDate.now();
+        List<Transaction> transactions = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            transactions.add(new Transaction(USER_ID, accountRef, categoryRef, "Row " + i,
+                    BigDecimal.valueOf(-(i % 100) - 1L), today, CategoryType.EXPENSE, null));
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        long startNs = System.nanoTime();
+        transactionRepository.saveAll(transactions);
+        entityManager.flush();
+        long elapsedMs = (System.nanoTime() - startNs) / 1_000_000L;
+
+        long statements = statistics.getPrepareStatementCount();
+        logger.info("Inserted {} transactions in {} ms using {} JDBC statements ({} rows/s)",
+                ROWS, elapsedMs, statements, ROWS * 1000L / Math.max(elapsedMs, 1));
+
+        assertEquals(ROWS, statistics.getEntityInsertCount());
+        // Batches of 50 INSERTs plus one sequence call per 50 ids; IDENTITY would need one per row
+        assertTrue(statements < ROWS / 10,
+                "Expected batched inserts but saw " + statements + " JDBC statements");
+    }
+}
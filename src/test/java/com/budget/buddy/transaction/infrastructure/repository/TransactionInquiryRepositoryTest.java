@@ -0,0 +1,201 @@
+package com.budget.buddy.transaction.infrastructure.repository;
+
+import com.budget.buddy.core.config.audit.AuditConfig;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionFilterCriteria;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionFilterNode;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionRow;
+import com.budget.buddy.transaction.domain.enums.CategoryType;
+import com.budget.buddy.transaction.domain.enums.Currency;
+import com.budget.buddy.transaction.domain.model.account.Account;
+import com.budget.buddy.transaction.domain.model.account.AccountTypeGroup;
+import com.budget.buddy.transaction.domain.model.category.Category;
+import com.budget.buddy.transaction.domain.model.transaction.Transaction;
+import com.budget.buddy.transaction.domain.utils.TransactionUtils;
+import com.budget.buddy.transaction.domain.vo.CategoryVO;
+import com.budget.buddy.transaction.infrastructure.repository.custom.TransactionSpecificationImpl;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The listing must cost one SELECT per page however many accounts and categories the rows touch,
+ * which is what the flat {@link TransactionRow} projection buys over walking lazy associations.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(AuditConfig.class)
+class TransactionInquiryRepositoryTest {
+
+    private static final Long USER_ID = 1L;
+    private static final int ROWS = 40;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TransactionSpecificationImpl transactionSpecification;
+
+    private Statistics statistics;
+
+    private final List<Category> categories = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            AccountTypeGroup group = new AccountTypeGroup(USER_ID, "Group " + i, new ArrayList<>());
+            Account account = new Account(group, "Account " + i, Currency.SGD, false);
+            Category category = new Category(new CategoryVO("Category " + i), USER_ID);
+            entityManager.persist(group);
+            entityManager.persist(account);
+            entityManager.persist(category);
+            accounts.add(account);
+            categories.add(category);
+        }
+
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < ROWS; i++) {
+            entityManager.persist(new Transaction(USER_ID, accounts.get(i % 4), categories.get((i / 4) % 4), "Row " + i,
+                    BigDecimal.valueOf(-i - 1L), today.minusDays(i % 7), CategoryType.EXPENSE, null));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        TransactionUtils transactionUtils = mock(TransactionUtils.class);
+        when(transactionUtils.getCurrentUserId()).thenReturn(USER_ID);
+        transactionSpecification = new TransactionSpecificationImpl(transactionUtils);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void findRows_issuesOneStatementRegardlessOfPageSize() {
+        Specification<Transaction> specification = transactionSpecification.buildSpecification(null, "date,desc");
+
+        for (int size : new int[]{5, 20, ROWS}) {
+            entityManager.clear();
+            statistics.clear();
+
+            List<TransactionRow> rows = transactionRepository.findRows(specification, 0, size);
+
+            assertEquals(size, rows.size());
+            assertEquals(1, statistics.getPrepareStatementCount(), "Page of " + size + " should be a single SELECT");
+            assertEquals(0, statistics.getEntityLoadCount());
+        }
+    }
+
+    @Test
+    void findRows_projectsAccountAndCategoryColumns() {
+        Specification<Transaction> specification = transactionSpecification.buildSpecification(null, "amount,desc");
+
+        TransactionRow first = transactionRepository.findRows(specification, 0, 1).getFirst();
+
+        assertEquals("Row 0", first.name());
+        assertEquals("Account 0", first.accountName());
+        assertEquals("Group 0", first.accountTypeName());
+        assertEquals("Category 0", first.categoryName());
+        assertEquals(Currency.SGD, first.currency());
+    }
+
+    @Test
+    void findRows_withCursor_continuesAfterLastRowInOneStatement() {
+        String sort = "date,desc";
+        List<TransactionRow> firstPage = transactionRepository.findRows(
+                transactionSpecification.buildKeysetSpecification(null, sort, ""), 0, 15);
+        String cursor = transactionSpecification.buildCursor(firstPage.getLast(), sort);
+
+        statistics.clear();
+        List<TransactionRow> secondPage = transactionRepository.findRows(
+                transactionSpecification.buildKeysetSpecification(null, sort, cursor), 0, ROWS);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(ROWS - 15, secondPage.size());
+        List<Long> firstIds = firstPage.stream().map(TransactionRow::id).toList();
+        assertTrue(secondPage.stream().map(TransactionRow::id).noneMatch(firstIds::contains));
+    }
+
+    @Test
+    void findRows_treatsLikeWildcardsInSearchTextLiterally() {
+        TransactionFilterCriteria.StringFilter name = new TransactionFilterCriteria.StringFilter();
+        name.setOperator("contains");
+        name.setValue("w_1");
+        TransactionFilterCriteria criteria = new TransactionFilterCriteria();
+        criteria.setName(name);
+
+        List<TransactionRow> rows = transactionRepository.findRows(
+                transactionSpecification.buildSpecification(criteria, "id,desc"), 0, ROWS);
+
+        assertTrue(rows.isEmpty(), "'_' must not match the space in 'Row 1'");
+    }
+
+    @Test
+    void findRows_matchesNestedOrGroupInOneStatement() {
+        // (category 0 AND name contains "row 1") OR amount <= -39
+        TransactionFilterNode.Group categoryAndName = new TransactionFilterNode.Group(List.of(
+                new TransactionFilterNode.Condition("category", "is", null, null, List.of(String.valueOf(categories.getFirst().getId()))),
+                new TransactionFilterNode.Condition("name", "contains", "row 1", null, null)), null);
+        TransactionFilterNode.Group where = new TransactionFilterNode.Group(null, List.of(
+                categoryAndName,
+                new TransactionFilterNode.Condition("amount", "<=", "-39", null, null)));
+        TransactionFilterCriteria criteria = new TransactionFilterCriteria();
+        criteria.setWhere(where);
+
+        statistics.clear();
+        List<TransactionRow> rows = transactionRepository.findRows(
+                transactionSpecification.buildSpecification(criteria, "id,asc"), 0, ROWS);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(List.of("Row 1", "Row 16", "Row 17", "Row 18", "Row 19", "Row 38", "Row 39"),
+                rows.stream().map(TransactionRow::name).toList());
+    }
+
+    @Test
+    void streamRows_readsTheWholeLedgerInOrderFromOneStatement() {
+        Specification<Transaction> specification = transactionSpecification.buildSpecification(null, "id,desc");
+
+        entityManager.clear();
+        statistics.clear();
+        List<Long> ids;
+        try (Stream<TransactionRow> rows = transactionRepository.streamRows(specification, 8)) {
+            ids = rows.map(TransactionRow::id).toList();
+        }
+
+        assertEquals(ROWS, ids.size());
+        assertEquals(ids.stream().sorted(Comparator.reverseOrder()).toList(), ids);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void estimateCount_leavesNonPostgresDatabasesToTheExactCount() {
+        statistics.clear();
+
+        assertTrue(transactionRepository.estimateCount(new TransactionFilterCriteria(), USER_ID).isEmpty());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,230 @@
+package com.budget.buddy.transaction.infrastructure.repository;
+
+import com.budget.buddy.core.config.audit.AuditConfig;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionFilterCriteria;
+import com.budget.buddy.transaction.domain.utils.TransactionUtils;
+import com.budget.buddy.transaction.infrastructure.repository.custom.TransactionSpecificationImpl;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Plan regression suite for the hot ledger queries. The indexes are created straight from the
+ * Liquibase changelogs, the SQL Hibernate generates for each repository method is captured, and
+ * its EXPLAIN output must name the index the query is supposed to use. Dropping or reshaping an
+ * index, or rewriting a query so it no longer matches one, fails the build.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.budget.buddy.transaction.infrastructure.repository.TransactionQueryPlanTest$CapturingStatementInspector"
+})
+@Import(AuditConfig.class)
+class TransactionQueryPlanTest {
+
+    private static final List<String> INDEX_CHANGELOGS = List.of(
+            "db/changelog/changes/011-create-account-balance-checkpoint.yaml",
+            "db/changelog/changes/013-create-query-indexes.yaml");
+
+    private static final Long ID = 1L;
+    private static final LocalDate FROM = LocalDate.of(2025, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 1, 31);
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private TransactionSpecificationImpl transactionSpecification;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        for (String changelog : INDEX_CHANGELOGS) {
+            for (String ddl : createIndexStatements(changelog)) {
+                entityManager.createNativeQuery(ddl).executeUpdate();
+            }
+        }
+
+        TransactionUtils transactionUtils = mock(TransactionUtils.class);
+        when(transactionUtils.getCurrentUserId()).thenReturn(ID);
+        transactionSpecification = new TransactionSpecificationImpl(transactionUtils);
+    }
+
+    @Test
+    void listing_usesUserIndex() {
+        String plan = explain(() -> transactionRepository.findRows(
+                transactionSpecification.buildSpecification(null, "id,desc"), 0, 20), ID);
+
+        assertUsesIndex(plan, "IDX_TRANSACTION_USER_ID");
+    }
+
+    @Test
+    void listingByDateRange_usesUserDateIndex() {
+        TransactionFilterCriteria.DateFilter date = new TransactionFilterCriteria.DateFilter();
+        date.setOperator("is between");
+        date.setStartDate(FROM);
+        date.setEndDate(TO);
+        TransactionFilterCriteria criteria = new TransactionFilterCriteria();
+        criteria.setDate(date);
+
+        String plan = explain(() -> transactionRepository.findRows(
+                transactionSpecification.buildSpecification(criteria, "date,desc"), 0, 20), ID, FROM, TO);
+
+        assertUsesIndex(plan, "IDX_TRANSACTION_USER_ID_DATE");
+    }
+
+    @Test
+    void existsByCategory_usesUserCategoryIndex() {
+        String plan = explain(() -> transactionRepository.existsByCategoryIdAndUserId(ID, ID), ID, ID);
+
+        assertUsesIndex(plan, "IDX_TRANSACTION_USER_ID_CATEGORY_ID_DATE");
+    }
+
+    @Test
+    void categoryDailySums_useUserCategoryIndex() {
+        String plan = explain(() -> transactionRepository.sumAmountBySourceAccountAndDateForCategory(ID, ID), ID, ID);
+
+        assertUsesIndex(plan, "IDX_TRANSACTION_USER_ID_CATEGORY_ID_DATE");
+    }
+
+    @Test
+    void accountLedgerSums_useAccountDateIndex() {
+        String plan = explain(() -> transactionRepository.sumAmountBySourceAccountIdBetween(ID, FROM, TO), ID, FROM, TO);
+
+        assertUsesIndex(plan, "IDX_TRANSACTION_SOURCE_ACCOUNT_ID_DATE");
+    }
+
+    @Test
+    void budgetSummary_usesBudgetAndUserCategoryIndexes() {
+        // The join's date bounds come before the WHERE clause's user id in the generated SQL
+        String plan = explain(() -> budgetRepository.findAllBudgetsForUser(ID, FROM, TO), FROM, TO, ID);
+
+        assertUsesIndex(plan, "IDX_BUDGET_USER_ID_CATEGORY_ID");
+        assertUsesIndex(plan, "IDX_TRANSACTION_USER_ID_CATEGORY_ID_DATE");
+    }
+
+    @Test
+    void accountList_usesGroupUserIndex() {
+        String plan = explain(() -> accountRepository.retrieveAllAccounts(ID), ID);
+
+        assertUsesIndex(plan, "IDX_ACCOUNT_TYPE_GROUP_USER_ID");
+    }
+
+    /**
+     * Runs the repository call, takes the SQL Hibernate sent for it and returns the EXPLAIN of that
+     * statement with the given values inlined in order. Any remaining placeholders are row limits.
+     */
+    private String explain(Runnable repositoryCall, Object... parameters) {
+        CapturingStatementInspector.STATEMENTS.clear();
+        repositoryCall.run();
+        String sql = CapturingStatementInspector.STATEMENTS.stream()
+                .filter(statement -> statement.trim().toLowerCase(Locale.ROOT).startsWith("select"))
+                .reduce((first, second) -> second)
+                .orElseThrow(() -> new AssertionError("No SELECT was captured"));
+
+        String inlined = inline(sql, parameters);
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("EXPLAIN " + inlined)) {
+                StringBuilder plan = new StringBuilder();
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+                return plan.toString();
+            }
+        });
+    }
+
+    private String inline(String sql, Object[] parameters) {
+        StringBuilder inlined = new StringBuilder();
+        int next = 0;
+        for (char c : sql.toCharArray()) {
+            if (c != '?') {
+                inlined.append(c);
+            } else if (next < parameters.length) {
+                inlined.append(literal(parameters[next++]));
+            } else {
+                inlined.append(20);
+            }
+        }
+        return inlined.toString();
+    }
+
+    private String literal(Object value) {
+        if (value instanceof LocalDate date) {
+            return "DATE '" + date + "'";
+        }
+        return String.valueOf(value);
+    }
+
+    private void assertUsesIndex(String plan, String index) {
+        String normalized = plan.replace("\"", "").toUpperCase(Locale.ROOT);
+        assertTrue(normalized.contains(index), "Expected " + index + " in plan:\n" + plan);
+        assertFalse(normalized.contains(".TRANSACTION.TABLESCAN"), "Full scan of transaction in plan:\n" + plan);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> createIndexStatements(String changelog) throws IOException {
+        List<String> statements = new ArrayList<>();
+        try (InputStream input = getClass().getClassLoader().getResourceAsStream(changelog)) {
+            Map<String, Object> root = new Yaml().load(input);
+            for (Map<String, Object> entry : (List<Map<String, Object>>) root.get("databaseChangeLog")) {
+                Map<String, Object> changeSet = (Map<String, Object>) entry.get("changeSet");
+                if (changeSet == null || changeSet.get("dbms") != null) {
+                    continue;
+                }
+                for (Map<String, Object> change : (List<Map<String, Object>>) changeSet.get("changes")) {
+                    Map<String, Object> createIndex = (Map<String, Object>) change.get("createIndex");
+                    if (createIndex != null) {
+                        String columns = ((List<Map<String, Map<String, Object>>>) createIndex.get("columns")).stream()
+                                .map(column -> String.valueOf(column.get("column").get("name")))
+                                .collect(Collectors.joining(", "));
+                        statements.add("CREATE INDEX IF NOT EXISTS " + createIndex.get("indexName")
+                                + " ON " + createIndex.get("tableName") + " (" + columns + ")");
+                    }
+                }
+            }
+        }
+        return statements;
+    }
+
+    public static class CapturingStatementInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.budget.buddy.transaction.infrastructure.repository;
+
+import com.budget.buddy.core.utils.BenchmarkTimer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Measures contains/starts-with latency on a multi-million-row ledger before and after the pg_trgm
+ * indexes from changelog 012. Needs a PostgreSQL with pg_trgm available; point it at one with
+ * BENCHMARK_POSTGRES_URL (plus _USER/_PASSWORD) and run {@code mvn test -Pbenchmark}.
+ * Everything lives in a throwaway schema that is dropped afterwards.
+ */
+@Tag("benchmark")
+class TransactionTextSearchBenchmarkTest {
+
+    private static final Logger logger = LogManager.getLogger(TransactionTextSearchBenchmarkTest.class);
+
+    private static final String SCHEMA = "text_search_bench";
+    private static final int ROWS = Integer.parseInt(System.getenv().getOrDefault("BENCHMARK_ROWS", "2000000"));
+    private static final int SAMPLES = 15;
+    private static final long HEAVY_USER_ID = 1L;
+
+    // Same shape Hibernate renders for TransactionSpecificationImpl's text filters
+    private static final String SEARCH_SQL = "SELECT t.id FROM transaction t " +
+            "WHERE t.user_id = ? AND lower(t.name) LIKE ? ESCAPE '\\' ORDER BY t.id DESC LIMIT 20";
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        String url = System.getenv("BENCHMARK_POSTGRES_URL");
+        assumeTrue(url != null, "BENCHMARK_POSTGRES_URL is not set");
+        connection = DriverManager.getConnection(url,
+                System.getenv("BENCHMARK_POSTGRES_USER"), System.getenv("BENCHMARK_POSTGRES_PASSWORD"));
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            statement.execute("CREATE SCHEMA " + SCHEMA);
+            statement.execute("SET search_path TO " + SCHEMA + ", public");
+            statement.execute("CREATE TABLE transaction (id bigint PRIMARY KEY, user_id bigint NOT NULL, " +
+                    "name varchar(200) NOT NULL, remarks varchar(255))");
+            // Half of the ledger belongs to one heavy user, the rest is spread over a thousand others
+            statement.execute("INSERT INTO transaction (id, user_id, name, remarks) " +
+                    "SELECT g, CASE WHEN g % 2 = 0 THEN " + HEAVY_USER_ID + " ELSE g % 1000 + 2 END, " +
+                    "'Payment ' || md5(g::text), CASE WHEN g % 3 = 0 THEN NULL ELSE 'note ' || md5((g * 7)::text) END " +
+                    "FROM generate_series(1, " + ROWS + ") g");
+            statement.execute("CREATE INDEX idx_transaction_user_id ON transaction (user_id)");
+            statement.execute("ANALYZE transaction");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        if (connection != null) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            }
+            connection.close();
+        }
+    }
+
+    @Test
+    void containsAndStartsWith_shouldUseTrigramIndex() throws SQLException {
+        String fragment = md5Fragment();
+        String contains = "%" + fragment + "%";
+        String startsWith = "payment " + fragment.substring(0, 4) + "%";
+
+        double containsBefore = medianMillis(contains);
+        double startsWithBefore = medianMillis(startsWith);
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX idx_transaction_name_trgm ON transaction USING gin (lower(name) gin_trgm_ops)");
+            statement.execute("ANALYZE transaction");
+        }
+
+        double containsAfter = medianMillis(contains);
+        double startsWithAfter = medianMillis(startsWith);
+
+        logger.info("{} rows: contains {} ms -> {} ms, starts with {} ms -> {} ms",
+                ROWS, containsBefore, containsAfter, startsWithBefore, startsWithAfter);
+
+        assertTrue(explain(contains).contains("idx_transaction_name_trgm"), "contains search should use the trigram index");
+        assertTrue(containsAfter < containsBefore,
+                "Expected the trigram index to speed up contains, saw " + containsBefore + " -> " + containsAfter + " ms");
+    }
+
+    // A substring of one heavy-user row's name, so the search is selective
+    private String md5Fragment() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT substr(md5('" + (ROWS / 2 * 2) + "'), 5, 8)")) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+    private double medianMillis(String pattern) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(SEARCH_SQL)) {
+            statement.setLong(1, HEAVY_USER_ID);
+            statement.setString(2, pattern);
+            return BenchmarkTimer.medianMillis(SAMPLES, () -> runQuery(statement));
+        }
+    }
+
+    private void runQuery(PreparedStatement statement) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                resultSet.getLong(1);
+            }
+        }
+    }
+
+    private String explain(String pattern) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + SEARCH_SQL)) {
+            statement.setLong(1, HEAVY_USER_ID);
+            statement.setString(2, pattern);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+            }
+        }
+        return plan.toString();
+    }
+}
@@ -0,0 +1,133 @@
+package com.budget.buddy.transaction.infrastructure.repository.custom;
+
+import com.budget.buddy.core.config.exception.BadRequestException;
+import com.budget.buddy.core.config.exception.ErrorCode;
+import com.budget.buddy.core.config.other.ObjectMapperConfig;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionFilterCriteria;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionFilterNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionFilterCompilerTest {
+
+    private final TransactionFilterCompiler compiler = new TransactionFilterCompiler();
+
+    private final ObjectMapper objectMapper = new ObjectMapperConfig().objectMapper();
+
+    @Test
+    void bind_reusesPlanForSameShapeWithDifferentValues() {
+        TransactionFilterCompiler.BoundFilter first = compiler.bind(criteria(or(
+                condition("category", "is", null, List.of("1", "2")),
+                condition("amount", "<=", "-100", null))));
+        TransactionFilterCompiler.BoundFilter second = compiler.bind(criteria(or(
+                condition("category", "is", null, List.of("7")),
+                condition("amount", "<=", "-5.50", null))));
+
+        assertSame(first.plan(), second.plan());
+        assertEquals(1, compiler.cachedPlans());
+        assertEquals(List.of(7L), second.parameters()[0]);
+    }
+
+    @Test
+    void bind_compilesNewPlanForDifferentOperator() {
+        compiler.bind(criteria(condition("name", "contains", "grab", null)));
+        compiler.bind(criteria(condition("name", "starts with", "grab", null)));
+
+        assertEquals(2, compiler.cachedPlans());
+    }
+
+    @Test
+    void bind_flatFiltersAndTreeShareTheSameBinding() {
+        TransactionFilterCriteria.StringFilter name = new TransactionFilterCriteria.StringFilter();
+        name.setOperator("Contains");
+        name.setValue(" 50%_Off ");
+        TransactionFilterCriteria criteria = new TransactionFilterCriteria();
+        criteria.setName(name);
+
+        TransactionFilterCompiler.BoundFilter bound = compiler.bind(criteria);
+
+        assertEquals("%50\\%\\_off%", bound.parameters()[0]);
+    }
+
+    @Test
+    void bind_readsTreeFromJson() throws Exception {
+        TransactionFilterCriteria criteria = objectMapper.readValue("""
+                {"where": {"or": [
+                  {"field": "category", "operator": "is", "values": [10, 12]},
+                  {"and": [
+                    {"field": "date", "operator": "is between", "value": "2025-09-01", "to": "2025-09-30"},
+                    {"field": "type", "operator": "is not", "values": ["transfer"]}
+                  ]}
+                ]}}
+                """, TransactionFilterCriteria.class);
+
+        TransactionFilterCompiler.BoundFilter bound = compiler.bind(criteria);
+
+        assertInstanceOf(TransactionFilterNode.Group.class, criteria.getWhere());
+        assertEquals(3, bound.parameters().length);
+        assertArrayEquals(new LocalDate[]{LocalDate.of(2025, 9, 1), LocalDate.of(2025, 9, 30)},
+                (LocalDate[]) bound.parameters()[1]);
+    }
+
+    @Test
+    void bind_rejectsTreesDeeperThanLimit() {
+        TransactionFilterNode node = condition("name", "is", "x", null);
+        for (int i = 0; i < TransactionFilterCompiler.MAX_DEPTH; i++) {
+            node = or(node);
+        }
+        TransactionFilterCriteria criteria = criteria(node);
+
+        BadRequestException ex = assertThrows(BadRequestException.class, () -> compiler.bind(criteria));
+        assertEquals(ErrorCode.INVALID_FILTER.getCode(), ex.getErrorCode());
+    }
+
+    @Test
+    void bind_rejectsGroupWithBothAndAndOr() {
+        TransactionFilterNode.Group group = new TransactionFilterNode.Group(
+                List.of(condition("name", "is", "a", null)), List.of(condition("name", "is", "b", null)));
+
+        assertThrows(BadRequestException.class, () -> compiler.bind(criteria(group)));
+    }
+
+    @Test
+    void bind_rejectsUnparsableValue() {
+        TransactionFilterCriteria criteria = criteria(condition("amount", ">", "ten", null));
+
+        BadRequestException ex = assertThrows(BadRequestException.class, () -> compiler.bind(criteria));
+        assertEquals(ErrorCode.INVALID_FILTER.getCode(), ex.getErrorCode());
+    }
+
+    @Test
+    void bind_rejectsReversedDateRange() {
+        TransactionFilterCriteria criteria = criteria(
+                new TransactionFilterNode.Condition("date", "is between", "2025-09-30", "2025-09-01", null));
+
+        BadRequestException ex = assertThrows(BadRequestException.class, () -> compiler.bind(criteria));
+        assertEquals(ErrorCode.INVALID_DATE_RANGE.getCode(), ex.getErrorCode());
+    }
+
+    @Test
+    void bind_withoutFiltersHasNoPredicate() {
+        assertNull(compiler.bind(new TransactionFilterCriteria()).plan());
+        assertNull(compiler.bind(null).plan());
+    }
+
+    private static TransactionFilterCriteria criteria(TransactionFilterNode where) {
+        TransactionFilterCriteria criteria = new TransactionFilterCriteria();
+        criteria.setWhere(where);
+        return criteria;
+    }
+
+    private static TransactionFilterNode.Group or(TransactionFilterNode... children) {
+        return new TransactionFilterNode.Group(null, List.of(children));
+    }
+
+    private static TransactionFilterNode.Condition condition(String field, String operator, String value, List<String> values) {
+        return new TransactionFilterNode.Condition(field, operator, value, null, values);
+    }
+}
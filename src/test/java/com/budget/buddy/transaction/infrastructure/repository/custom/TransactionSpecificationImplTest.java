@@ -0,0 +1,60 @@
+package com.budget.buddy.transaction.infrastructure.repository.custom;
+
+import com.budget.buddy.core.config.exception.BadRequestException;
+import com.budget.buddy.core.config.exception.ErrorCode;
+import com.budget.buddy.transaction.application.dto.transaction.TransactionRow;
+import com.budget.buddy.transaction.domain.enums.CategoryType;
+import com.budget.buddy.transaction.domain.enums.Currency;
+import com.budget.buddy.transaction.domain.utils.TransactionUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionSpecificationImplTest {
+
+    @InjectMocks
+    private TransactionSpecificationImpl transactionSpecification;
+
+    @Mock
+    private TransactionUtils transactionUtils;
+
+    @Test
+    void buildKeysetSpecification_acceptsCursorIssuedForSameSort() {
+        String cursor = transactionSpecification.buildCursor(transaction(), "amount,asc;name");
+
+        assertNotNull(transactionSpecification.buildKeysetSpecification(null, "amount:asc|name,desc", cursor));
+    }
+
+    @Test
+    void buildKeysetSpecification_rejectsCursorIssuedForDifferentSort() {
+        String cursor = transactionSpecification.buildCursor(transaction(), "date,desc");
+
+        BadRequestException ex = assertThrows(BadRequestException.class,
+                () -> transactionSpecification.buildKeysetSpecification(null, "date,asc", cursor));
+        assertEquals(ErrorCode.INVALID_CURSOR.getCode(), ex.getErrorCode());
+    }
+
+    @Test
+    void buildKeysetSpecification_rejectsMalformedCursor() {
+        assertThrows(BadRequestException.class,
+                () -> transactionSpecification.buildKeysetSpecification(null, "date,desc", "not a cursor"));
+    }
+
+    @Test
+    void buildKeysetSpecification_blankCursorStartsFromFirstPage() {
+        assertNotNull(transactionSpecification.buildKeysetSpecification(null, null, ""));
+    }
+
+    private TransactionRow transaction() {
+        return new TransactionRow(42L, "Coffee. Large", BigDecimal.valueOf(-4.5), null, LocalDate.of(2025, 3, 1),
+                CategoryType.EXPENSE, 10L, "Wallet", Currency.SGD, "Cash", 100L, "Food");
+    }
+}
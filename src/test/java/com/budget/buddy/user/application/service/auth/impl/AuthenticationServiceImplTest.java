@@ -1,9 +1,14 @@
 package com.budget.buddy.user.application.service.auth.impl;
 
 import com.budget.buddy.core.config.exception.AuthException;
+import com.budget.buddy.core.config.exception.ErrorCode;
+import com.budget.buddy.core.config.exception.ServiceUnavailableException;
 import com.budget.buddy.core.dto.SendVerificationEmailEvent;
 import com.budget.buddy.core.utils.JwtUtil;
+import com.budget.buddy.core.utils.PasswordHasher;
 import com.budget.buddy.core.utils.RedisTokenService;
+import com.budget.buddy.core.utils.VerifiedToken;
+import com.budget.buddy.user.application.dto.LoginResponse;
 import com.budget.buddy.user.domain.model.User;
 import com.budget.buddy.user.domain.service.UserData;
 import com.budget.buddy.user.domain.vo.EmailAddressVO;
@@ -15,8 +20,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.Optional;
 
@@ -33,7 +38,7 @@ public class AuthenticationServiceImplTest {
     private ApplicationEventPublisher applicationEventPublisher;
 
     @Mock
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
     @Mock
     private JwtUtil jwtUtil;
@@ -48,7 +53,7 @@ public class AuthenticationServiceImplTest {
     void shouldGenerateTokenForExistingUser() {
         // Arrange
         String email = "existinguser@example.com";
-        User existingUser = new User(new EmailAddressVO(email, true), null, 0, false);
+        User existingUser = new User(new EmailAddressVO(email, true), null, 0, false, 0);
         existingUser.setId(1L);
         existingUser.setEmailAddress(new EmailAddressVO(email, true));
         when(userData.findUserByEmail(email)).thenReturn(Optional.of(existingUser));
@@ -73,7 +78,7 @@ public class AuthenticationServiceImplTest {
     void shouldGenerateTokenForNewUser() {
         // Arrange
         String email = "newuser@example.com";
-        User newUser = new User(new EmailAddressVO(email, true), null, 0, false);
+        User newUser = new User(new EmailAddressVO(email, true), null, 0, false, 0);
         newUser.setId(2L);
         newUser.setEmailAddress(new EmailAddressVO(email, false));
         when(userData.findUserByEmail(email)).thenReturn(Optional.empty());
@@ -99,7 +104,7 @@ public class AuthenticationServiceImplTest {
     void shouldThrowExceptionWhenEventPublishingFails() {
         // Arrange
         String email = "user@example.com";
-        User user = new User(new EmailAddressVO(email, true), null, 0, false);
+        User user = new User(new EmailAddressVO(email, true), null, 0, false, 0);
         user.setId(3L);
         user.setEmailAddress(new EmailAddressVO(email, true));
         when(userData.findUserByEmail(email)).thenReturn(Optional.of(user));
@@ -121,4 +126,100 @@ public class AuthenticationServiceImplTest {
         verify(userData, times(0)).saveNewUserVerificationToken(any(), any());
         verify(applicationEventPublisher, times(0)).publishEvent(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldRevokeTheLiveAccessTokenWhenTheAccountLocks() {
+        String email = "user@example.com";
+        User user = new User(new EmailAddressVO(email, true), "hash", 4, false, 0);
+        when(userData.findUserByEmail(email)).thenReturn(Optional.of(user));
+        when(passwordHasher.matches("wrong", "hash")).thenReturn(false);
+
+        assertThrows(AuthException.class, () -> authenticationService.login(email, "wrong"));
+
+        assertTrue(user.isLocked());
+        assertEquals(1, user.getStatusVersion());
+        verify(redisTokenService).endSession(email, null);
+    }
+
+    @Test
+    void shouldUpgradeAnOutdatedPasswordHashOnLogin() {
+        String email = "user@example.com";
+        User user = new User(new EmailAddressVO(email, true), "cost-10-hash", 0, false, 0);
+        user.setId(5L);
+        when(userData.findUserByEmail(email)).thenReturn(Optional.of(user));
+        when(passwordHasher.matches("secret", "cost-10-hash")).thenReturn(true);
+        when(passwordHasher.needsRehash("cost-10-hash")).thenReturn(true);
+        when(passwordHasher.encode("secret")).thenReturn("cost-12-hash");
+        when(jwtUtil.generateToken(5L, email, 0)).thenReturn("access");
+
+        authenticationService.login(email, "secret");
+
+        assertEquals("cost-12-hash", user.getPassword());
+        verify(userData).saveUser(user);
+    }
+
+    @Test
+    void shouldStillLogInWhenTheRehashIsRejected() {
+        String email = "user@example.com";
+        User user = new User(new EmailAddressVO(email, true), "cost-10-hash", 0, false, 0);
+        user.setId(5L);
+        when(userData.findUserByEmail(email)).thenReturn(Optional.of(user));
+        when(passwordHasher.matches("secret", "cost-10-hash")).thenReturn(true);
+        when(passwordHasher.needsRehash("cost-10-hash")).thenReturn(true);
+        when(passwordHasher.encode("secret")).thenThrow(new ServiceUnavailableException(ErrorCode.PASSWORD_HASHING_BUSY));
+        when(jwtUtil.generateToken(5L, email, 0)).thenReturn("access");
+
+        LoginResponse response = authenticationService.login(email, "secret");
+
+        assertEquals("access", response.token());
+        assertEquals("cost-10-hash", user.getPassword());
+    }
+
+    @Test
+    void shouldRefuseRefreshTokensIssuedBeforeAStatusChange() {
+        String email = "user@example.com";
+        User user = new User(new EmailAddressVO(email, true), null, 0, false, 2);
+        when(jwtUtil.verify("refresh")).thenReturn(Optional.of(new VerifiedToken(email, "r-1", 5L, 1, Instant.now())));
+        when(userData.findActiveUser(email)).thenReturn(Optional.of(user));
+
+        assertThrows(AuthException.class, () -> authenticationService.refreshToken("refresh"));
+
+        verify(redisTokenService).deleteRefreshToken("refresh");
+        verify(jwtUtil, never()).generateToken(any(), any(), anyInt());
+    }
+
+    @Test
+    void shouldMintTokensCarryingTheUserIdOnRefresh() {
+        String email = "user@example.com";
+        User user = new User(new EmailAddressVO(email, true), null, 0, false, 2);
+        user.setId(5L);
+        when(jwtUtil.verify("refresh")).thenReturn(Optional.of(new VerifiedToken(email, "r-1", 5L, 2, Instant.now())));
+        when(userData.findActiveUser(email)).thenReturn(Optional.of(user));
+        when(jwtUtil.generateToken(5L, email, 2)).thenReturn("access");
+        when(jwtUtil.generateRefreshToken(5L, email, 2)).thenReturn("refresh-2");
+        when(jwtUtil.extractJti("access")).thenReturn("a-2");
+        when(jwtUtil.getAccessTtlMs()).thenReturn(1000L);
+        when(jwtUtil.getRefreshTtlMs()).thenReturn(5000L);
+        when(redisTokenService.rotateSession(email, "refresh", "a-2", 1000L, "refresh-2", 5000L)).thenReturn(true);
+
+        LoginResponse response = authenticationService.refreshToken("refresh");
+
+        assertEquals("access", response.token());
+    }
+
+    @Test
+    void shouldRefuseARefreshTokenThatWasAlreadyRotated() {
+        String email = "user@example.com";
+        User user = new User(new EmailAddressVO(email, true), null, 0, false, 2);
+        user.setId(5L);
+        when(jwtUtil.verify("refresh")).thenReturn(Optional.of(new VerifiedToken(email, "r-1", 5L, 2, Instant.now())));
+        when(userData.findActiveUser(email)).thenReturn(Optional.of(user));
+        when(jwtUtil.generateToken(5L, email, 2)).thenReturn("access");
+        when(jwtUtil.generateRefreshToken(5L, email, 2)).thenReturn("refresh-2");
+        when(jwtUtil.extractJti("access")).thenReturn("a-2");
+        when(redisTokenService.rotateSession(eq(email), eq("refresh"), eq("a-2"), anyLong(), eq("refresh-2"), anyLong()))
+                .thenReturn(false);
+
+        assertThrows(AuthException.class, () -> authenticationService.refreshToken("refresh"));
+    }
+}